@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.analysis.core.tests.perf;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.analysis.profiling.core.tree.WeightedTree;
+import org.eclipse.tracecompass.incubator.analysis.core.weighted.tree.diff.DifferentialWeightedTree;
+import org.eclipse.tracecompass.incubator.analysis.core.weighted.tree.diff.WeightedTreeUtils;
+import org.junit.Test;
+
+/**
+ * Benchmarks the differential of weighted trees, like the differential flame
+ * graph does, on synthetic trees that are either wide (thousands of callees
+ * per node) or deep (long call chains).
+ */
+public class WeightedTreeDiffBenchmark {
+
+    private static final String TEST_ID = "org.eclipse.tracecompass.incubator.analysis#Weighted tree diff#";
+    private static final int LOOP_COUNT = 10;
+
+    /**
+     * Benchmark the differential of wide trees
+     */
+    @Test
+    public void testWideTrees() {
+        benchmark("Wide", 3, 5000, 5);
+    }
+
+    /**
+     * Benchmark the differential of deep trees
+     */
+    @Test
+    public void testDeepTrees() {
+        benchmark("Deep", 12, 3, 5);
+    }
+
+    private static void benchmark(String name, int depth, int width, int leafWidth) {
+        List<WeightedTree<Integer>> first = Collections.singletonList(createTree(new Random(1), depth, width, leafWidth));
+        List<WeightedTree<Integer>> second = Collections.singletonList(createTree(new Random(2), depth, width, leafWidth));
+
+        Performance perf = Performance.getDefault();
+        PerformanceMeter pm = perf.createPerformanceMeter(TEST_ID + name);
+        perf.tagAsSummary(pm, "Weighted Tree Diff " + name, Dimension.CPU_TIME);
+
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            pm.start();
+            Collection<DifferentialWeightedTree<Integer>> diffTrees = WeightedTreeUtils.diffTrees(first, second, null);
+            pm.stop();
+            assertEquals(1, diffTrees.size());
+        }
+        pm.commit();
+    }
+
+    /**
+     * Create a tree whose first level has <code>width</code> children and
+     * whose deeper levels have up to <code>leafWidth</code> children, with
+     * objects shared between trees so that most subtrees are paired.
+     */
+    private static WeightedTree<Integer> createTree(Random random, int depth, int width, int leafWidth) {
+        WeightedTree<Integer> root = new WeightedTree<>(0, 0);
+        List<WeightedTree<Integer>> level = new ArrayList<>();
+        level.add(root);
+        for (int d = 0; d < depth; d++) {
+            List<WeightedTree<Integer>> nextLevel = new ArrayList<>();
+            int levelWidth = (d == 0) ? width : leafWidth;
+            for (WeightedTree<Integer> parent : level) {
+                for (int i = 0; i < levelWidth; i++) {
+                    // Skip some children so that the trees are not identical
+                    if (random.nextInt(10) == 0) {
+                        continue;
+                    }
+                    WeightedTree<Integer> child = new WeightedTree<>(i, 1 + random.nextInt(100));
+                    parent.addChild(child);
+                    nextLevel.add(child);
+                }
+            }
+            level = nextLevel;
+        }
+        return root;
+    }
+}
@@ -135,6 +135,41 @@ public class WeightedTreeUtilsTest {
 
     }
 
+    /**
+     * Test the {@link WeightedTreeUtils#diffTrees(Collection, Collection, String)}
+     * method with wide trees, whose children are not in the same order in both
+     * trees
+     */
+    @Test
+    public void testDiffTreeWide() {
+        int width = 500;
+        WeightedTree<Integer> root1 = new WeightedTree<>(VALUE1, 10 * width);
+        WeightedTree<Integer> root2 = new WeightedTree<>(VALUE1, 20 * width);
+        for (int i = 0; i < width; i++) {
+            WeightedTree<Integer> child1 = new WeightedTree<>(i, 10);
+            child1.addChild(new WeightedTree<>(VALUE2, 5));
+            root1.addChild(child1);
+        }
+        // Add the children in reverse order, with new children in between
+        for (int i = width - 1; i >= 0; i--) {
+            WeightedTree<Integer> child2 = new WeightedTree<>(i, 20);
+            child2.addChild(new WeightedTree<>(VALUE2, 10));
+            root2.addChild(child2);
+            root2.addChild(new WeightedTree<>(width + i, 20));
+        }
+
+        Collection<DifferentialWeightedTree<Integer>> diffTrees = WeightedTreeUtils.diffTrees(List.of(root1), List.of(root2), null);
+        assertEquals("Number of differential trees", 1, diffTrees.size());
+        Collection<DifferentialWeightedTree<Integer>> children = getAndVerifyTree(diffTrees, VALUE1, 20 * width, 1.0);
+        assertEquals("Number of children", 2 * width, children.size());
+        for (int i = 0; i < width; i++) {
+            Collection<DifferentialWeightedTree<Integer>> grandChildren = getAndVerifyTree(children, i, 20, 1.0);
+            assertEquals("Number of grand children", 1, grandChildren.size());
+            getAndVerifyTree(grandChildren, VALUE2, 10, 1.0);
+            assertTrue(getAndVerifyTree(children, width + i, 20, Double.NaN).isEmpty());
+        }
+    }
+
     /**
      * Test the
      * {@link WeightedTreeUtils#diffTreeSets(IWeightedTreeProvider, IWeightedTreeSet, IWeightedTreeSet)}
@@ -14,7 +14,13 @@ package org.eclipse.tracecompass.incubator.analysis.core.weighted.tree.diff;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -35,6 +41,13 @@ import com.google.common.collect.ImmutableList;
 @SuppressWarnings("restriction")
 public final class WeightedTreeUtils {
 
+    /**
+     * Depth of the trees up to which the subtrees are differentiated in
+     * parallel. Deeper subtrees are usually too small to be worth it.
+     */
+    private static final int PARALLEL_DEPTH = 4;
+    private static final boolean PARALLEL = ForkJoinPool.getCommonPoolParallelism() > 1;
+
     private WeightedTreeUtils() {
         // Nothing to do
     }
@@ -56,27 +69,44 @@ public final class WeightedTreeUtils {
      * @return The differential weighted tree
      */
     public static <@NonNull T> Collection<DifferentialWeightedTree<T>> diffTrees(Collection<WeightedTree<T>> first, Collection<WeightedTree<T>> second, @Nullable String statisticType) {
-        List<DifferentialWeightedTree<T>> diffTrees = new ArrayList<>();
-        for (WeightedTree<T> base : second) {
-            T object = base.getObject();
-            // Find the equivalent tree in the first collection
-            WeightedTree<T> other = findObject(first, object);
-            DifferentialWeightedTree<@NonNull T> diffTree = calculateDiffTree(object, base, other, statisticType);
-            diffTrees.add(diffTree);
+        return diffTrees(first, second, statisticType == null ? null : getWeightFunction(statisticType), 0);
+    }
 
-            // Make the differential of the children
-            for (DifferentialWeightedTree<T> childTree : diffTrees(other == null ? Collections.<WeightedTree<T>> emptyList() : other.getChildren(), base.getChildren(), null)) {
-                diffTree.addChild(childTree);
-            }
+    /**
+     * Does the differential of the trees of a level. The trees of the first
+     * collection are indexed by object so that each tree of the second
+     * collection is paired in constant time. The first levels of independent
+     * subtrees are differentiated in parallel.
+     */
+    private static <@NonNull T> List<DifferentialWeightedTree<T>> diffTrees(Collection<WeightedTree<T>> first, Collection<WeightedTree<T>> second, @Nullable ToLongFunction<AggregatedCalledFunction> weightFunction, int depth) {
+        if (second.isEmpty()) {
+            return new ArrayList<>(0);
+        }
+        Map<T, WeightedTree<T>> others = new HashMap<>();
+        for (WeightedTree<T> other : first) {
+            // Keep the first tree for an object, like a linear search would
+            others.putIfAbsent(other.getObject(), other);
         }
-        return diffTrees;
+        Stream<WeightedTree<T>> bases = (PARALLEL && depth < PARALLEL_DEPTH && second.size() > 1) ? second.parallelStream() : second.stream();
+        return bases.map(base -> diffTree(base, others.get(base.getObject()), weightFunction, depth))
+                .collect(Collectors.toList());
     }
 
-    private static <T> DifferentialWeightedTree<@NonNull T> calculateDiffTree(@NonNull T object, WeightedTree<@NonNull T> base, @Nullable WeightedTree<@NonNull T> other, @Nullable String statisticType) {
+    private static <@NonNull T> DifferentialWeightedTree<T> diffTree(WeightedTree<T> base, @Nullable WeightedTree<T> other, @Nullable ToLongFunction<AggregatedCalledFunction> weightFunction, int depth) {
+        DifferentialWeightedTree<@NonNull T> diffTree = calculateDiffTree(base.getObject(), base, other, weightFunction);
+
+        // Make the differential of the children
+        for (DifferentialWeightedTree<T> childTree : diffTrees(other == null ? Collections.<WeightedTree<T>> emptyList() : other.getChildren(), base.getChildren(), null, depth + 1)) {
+            diffTree.addChild(childTree);
+        }
+        return diffTree;
+    }
+
+    private static <T> DifferentialWeightedTree<@NonNull T> calculateDiffTree(@NonNull T object, WeightedTree<@NonNull T> base, @Nullable WeightedTree<@NonNull T> other, @Nullable ToLongFunction<AggregatedCalledFunction> weightFunction) {
         double diffWeight;
         double nullDiff = Double.NaN;
         DifferentialWeightedTree<@NonNull T> diffTree;
-        if (statisticType == null) {
+        if (weightFunction == null) {
             diffWeight = other == null ? nullDiff : (double) (base.getWeight() - other.getWeight()) / other.getWeight();
             diffTree = new DifferentialWeightedTree<>(base, object, base.getWeight(), diffWeight);
 
@@ -84,9 +114,8 @@ public final class WeightedTreeUtils {
             long baseWeight = 0;
             long otherWeight = 0;
             if (base instanceof AggregatedCalledFunction) {
-                long[] weightsArray = calculateWeights(base, other, statisticType);
-                baseWeight = weightsArray[0];
-                otherWeight = weightsArray[1];
+                baseWeight = weightFunction.applyAsLong((AggregatedCalledFunction) base);
+                otherWeight = other == null ? 0 : weightFunction.applyAsLong((AggregatedCalledFunction) other);
             } else {
                 baseWeight = base.getWeight();
                 otherWeight = other == null ? 0 : other.getWeight();
@@ -102,29 +131,15 @@ public final class WeightedTreeUtils {
         return diffTree;
     }
 
-    private static <T> long[] calculateWeights(WeightedTree<@NonNull T> base, @Nullable WeightedTree<@NonNull T> other, String statisticType) {
-        long baseWeight = 0;
-        long otherWeight = 0;
-        long[] weightsArray = new long[2];
+    private static ToLongFunction<AggregatedCalledFunction> getWeightFunction(String statisticType) {
         switch (statisticType) {
         case "Self Time": //$NON-NLS-1$
-        {
-            baseWeight = ((AggregatedCalledFunction) base).getSelfTime();
-            otherWeight = other == null ? 0 : ((AggregatedCalledFunction) other).getSelfTime();
-            break;
-        }
+            return AggregatedCalledFunction::getSelfTime;
         case "Duration": //$NON-NLS-1$
-        {
-            baseWeight = ((AggregatedCalledFunction) base).getWeight();
-            otherWeight = other == null ? 0 : ((AggregatedCalledFunction) other).getWeight();
-            break;
-        }
+            return AggregatedCalledFunction::getWeight;
         default:
-            break;
+            return function -> 0;
         }
-        weightsArray[0] = baseWeight;
-        weightsArray[1] = otherWeight;
-        return weightsArray;
     }
 
     /**
@@ -257,13 +272,4 @@ public final class WeightedTreeUtils {
         return pairedElements;
     }
 
-    private static @Nullable <@NonNull T> WeightedTree<T> findObject(Collection<WeightedTree<T>> tree, @NonNull T object) {
-        for (WeightedTree<T> other : tree) {
-            if (other.getObject().equals(object)) {
-                return other;
-            }
-        }
-        return null;
-    }
-
 }
@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.executioncomparison.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.tracecompass.analysis.profiling.core.base.ICallStackSymbol;
+import org.eclipse.tracecompass.analysis.profiling.core.tree.WeightedTree;
+import org.eclipse.tracecompass.analysis.profiling.core.tree.WeightedTreeSet;
+import org.eclipse.tracecompass.incubator.internal.executioncomparison.core.DifferentialSeqCallGraphAnalysis;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventTrace;
+import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalManager;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceClosedSignal;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceOpenedSignal;
+import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the cache of the merged call graphs of the
+ * {@link DifferentialSeqCallGraphAnalysis}
+ */
+public class DifferentialSeqCallGraphAnalysisTest {
+
+    private static final String TRACE_PATH = "traces/tracecompassLog_small.json";
+    private static final String TRACE_NAME = "tracecompassLog_small.json";
+    private static final String TRACE_TYPE_ID = "org.eclipse.tracecompass.incubator.traceevent.core.trace";
+    private static final String MERGE = "Merge";
+
+    private TraceEventTrace fTrace;
+    private DifferentialSeqCallGraphAnalysis fAnalysis;
+
+    /**
+     * Open the trace and register its call stack analysis
+     *
+     * @throws TmfTraceException
+     *             If the trace cannot be opened
+     */
+    @Before
+    public void setUp() throws TmfTraceException {
+        TraceEventTrace trace = new TraceEventTrace();
+        trace.initTrace(null, TRACE_PATH, TmfEvent.class, TRACE_NAME, TRACE_TYPE_ID);
+        fTrace = trace;
+        TmfSignalManager.dispatchSignal(new TmfTraceOpenedSignal(this, trace, null));
+        trace.indexTrace(true);
+
+        fAnalysis = new DifferentialSeqCallGraphAnalysis();
+        assertNotNull(fAnalysis.getDifferentialTreeProvider(new NullProgressMonitor()));
+    }
+
+    /**
+     * Dispose the analysis and close the trace
+     */
+    @After
+    public void tearDown() {
+        fAnalysis.dispose();
+        TmfSignalManager.dispatchSignal(new TmfTraceClosedSignal(this, fTrace));
+        fTrace.dispose();
+    }
+
+    /**
+     * Flatten the merged trees into the weights of the paths of their symbols
+     */
+    private static Map<String, Long> flatten(WeightedTreeSet<ICallStackSymbol, Object> treeSet) {
+        Map<String, Long> weights = new HashMap<>();
+        for (Object tree : treeSet.getTreesForNamed(MERGE)) {
+            flatten(Collections.singletonList((WeightedTree<?>) tree), "", weights);
+        }
+        return weights;
+    }
+
+    private static void flatten(Collection<? extends WeightedTree<?>> trees, String prefix, Map<String, Long> weights) {
+        for (WeightedTree<?> tree : trees) {
+            String path = prefix + '/' + tree.getObject();
+            weights.merge(path, tree.getWeight(), Long::sum);
+            flatten(tree.getChildren(), path, weights);
+        }
+    }
+
+    /**
+     * Test that changing the time range of one group does not compute the
+     * merged call graph of the other group again, and that the cached call
+     * graphs are the same as the ones computed without cache
+     */
+    @Test
+    public void testMergeCache() {
+        List<String> traces = Collections.singletonList(TRACE_NAME);
+        ITmfTimestamp start = fTrace.getStartTime();
+        ITmfTimestamp end = fTrace.getEndTime();
+        ITmfTimestamp middle = TmfTimestamp.fromNanos((start.toNanos() + end.toNanos()) / 2);
+
+        WeightedTreeSet<ICallStackSymbol, Object> groupA = fAnalysis.mergeCallGraph(start, end, traces);
+        WeightedTreeSet<ICallStackSymbol, Object> groupB = fAnalysis.mergeCallGraph(start, middle, traces);
+        assertFalse(flatten(groupA).isEmpty());
+        assertSame(groupA, fAnalysis.mergeCallGraph(start, end, traces));
+        assertSame(groupB, fAnalysis.mergeCallGraph(start, middle, traces));
+
+        // Change the time range of group B, the groups are merged in order
+        assertSame(groupA, fAnalysis.mergeCallGraph(start, end, traces));
+        WeightedTreeSet<ICallStackSymbol, Object> newGroupB = fAnalysis.mergeCallGraph(middle, end, traces);
+        assertNotSame(groupB, newGroupB);
+        assertSame(groupA, fAnalysis.mergeCallGraph(start, end, traces));
+
+        // A new analysis computes the call graphs without cache
+        DifferentialSeqCallGraphAnalysis uncached = new DifferentialSeqCallGraphAnalysis();
+        assertEquals(flatten(uncached.mergeCallGraph(start, end, traces)), flatten(groupA));
+        assertEquals(flatten(uncached.mergeCallGraph(middle, end, traces)), flatten(newGroupB));
+        uncached.dispose();
+    }
+
+    /**
+     * Test that a merged call graph with a trace that is not available is not
+     * cached, since the trace may be available later
+     */
+    @Test
+    public void testMissingTrace() {
+        List<String> traces = Arrays.asList(TRACE_NAME, "missing");
+        ITmfTimestamp start = fTrace.getStartTime();
+        ITmfTimestamp end = fTrace.getEndTime();
+        WeightedTreeSet<ICallStackSymbol, Object> merged = fAnalysis.mergeCallGraph(start, end, traces);
+        assertNotSame(merged, fAnalysis.mergeCallGraph(start, end, traces));
+        assertEquals(flatten(merged), flatten(fAnalysis.mergeCallGraph(start, end, Collections.singletonList(TRACE_NAME))));
+    }
+}
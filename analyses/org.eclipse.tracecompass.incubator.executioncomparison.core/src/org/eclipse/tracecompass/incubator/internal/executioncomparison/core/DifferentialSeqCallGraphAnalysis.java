@@ -15,10 +15,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -71,8 +75,10 @@ public class DifferentialSeqCallGraphAnalysis extends TmfAbstractAnalysisModule
     public static final String ID = "org.eclipse.tracecompass.incubator.executioncomparison.diffcallgraph"; //$NON-NLS-1$
     private static final Logger LOGGER = TraceCompassLog.getLogger(DifferentialSeqCallGraphAnalysis.class);
     private static final String MERGE = "Merge"; //$NON-NLS-1$
+    /** One merged call graph for each group */
+    private static final int MAX_MERGED_CALL_GRAPHS = 2;
     private static Map<String, String> fCallStackAnalysisMap = new HashMap<>();
-    private static Map<String, ICallGraphProvider2> fTraceCallGraphRegistry = new HashMap<>();
+    private static Map<String, ICallGraphProvider2> fTraceCallGraphRegistry = new ConcurrentHashMap<>();
 
     private @Nullable DifferentialCallGraphProvider fDifferentialCallGraphProvider;
     private ITmfTimestamp fStartA = TmfTimestamp.BIG_BANG;
@@ -83,6 +89,50 @@ public class DifferentialSeqCallGraphAnalysis extends TmfAbstractAnalysisModule
     private List<String> fTraceListA = new ArrayList<>();
     private List<String> fTraceListB = new ArrayList<>();
     private @Nullable Job fDiffJob = null;
+    /**
+     * The last merged call graphs, by trace list and time range, so that only
+     * the group whose parameters changed is computed again
+     */
+    private final Map<MergeKey, WeightedTreeSet<ICallStackSymbol, Object>> fMergedCallGraphs = Collections.synchronizedMap(new LinkedHashMap<MergeKey, WeightedTreeSet<ICallStackSymbol, Object>>(4, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<MergeKey, WeightedTreeSet<ICallStackSymbol, Object>> eldest) {
+            return size() > MAX_MERGED_CALL_GRAPHS;
+        }
+    });
+
+    /**
+     * Key of a merged call graph: the time range and the traces of a group
+     */
+    private static final class MergeKey {
+        private final long fStart;
+        private final long fEnd;
+        private final List<String> fTraces;
+
+        private MergeKey(ITmfTimestamp start, ITmfTimestamp end, List<String> traces) {
+            fStart = start.toNanos();
+            fEnd = end.toNanos();
+            fTraces = new ArrayList<>(traces);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fStart, fEnd, fTraces);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof MergeKey)) {
+                return false;
+            }
+            MergeKey other = (MergeKey) obj;
+            return fStart == other.fStart && fEnd == other.fEnd && fTraces.equals(other.fTraces);
+        }
+    }
 
     /**
      * Constructor
@@ -140,24 +190,35 @@ public class DifferentialSeqCallGraphAnalysis extends TmfAbstractAnalysisModule
      */
     public WeightedTreeSet<ICallStackSymbol, Object> mergeCallGraph(ITmfTimestamp start, ITmfTimestamp end, List<String> traceList) {
         try (ScopeLog sl = new ScopeLog(LOGGER, Level.FINE, "DifferentialSequenceCGA::MergeCallGraph")) { //$NON-NLS-1$
-            WeightedTreeSet<ICallStackSymbol, Object> newTreeSet = new WeightedTreeSet<>();
+            MergeKey key = new MergeKey(start, end, traceList);
+            WeightedTreeSet<ICallStackSymbol, Object> newTreeSet = fMergedCallGraphs.get(key);
+            if (newTreeSet != null) {
+                return newTreeSet;
+            }
+            newTreeSet = new WeightedTreeSet<>();
             String mainGroup = MERGE;
 
-            List<CallGraph> cGList = addToCallGraph(start, end, traceList);
+            // Do not keep a merged call graph missing some traces, they may be
+            // available later. The registered call graphs are completed.
+            boolean complete = traceList.stream().allMatch(traceName -> fTraceCallGraphRegistry.containsKey(traceName) && getTrace(traceName) != null);
 
-            for (CallGraph callGraph : cGList) {
-                Collection<ICallStackElement> elements = getLeafElements(callGraph);
-                for (ICallStackElement element : elements) {
-                    recurseAddElementData(element, mainGroup, callGraph, newTreeSet);
+            for (List<AggregatedCallSite> trees : getCallGraphTrees(start, end, traceList)) {
+                for (AggregatedCallSite tree : trees) {
+                    newTreeSet.addWeightedTree(mainGroup, tree);
                 }
             }
+            if (complete) {
+                fMergedCallGraphs.put(key, newTreeSet);
+            }
             return newTreeSet;
         }
     }
 
     /**
-     * Helper function that adds the call graphs for the specified time range
-     * and trace list to the call graph list.
+     * Helper function that gets the call graphs of the traces for the
+     * specified time range and copies their calling context trees, so that
+     * they can be merged. The call graphs of the traces are computed in
+     * parallel.
      *
      * @param start
      *            the start time of the time range
@@ -165,29 +226,32 @@ public class DifferentialSeqCallGraphAnalysis extends TmfAbstractAnalysisModule
      *            the end time of the time range
      * @param traceList
      *            the list of trace names
-     * @return the list of call graphs
+     * @return the copied trees of each trace, in the order of the trace list,
+     *         empty for the traces that are not available
      */
-    private static List<CallGraph> addToCallGraph(ITmfTimestamp start, ITmfTimestamp end, List<String> traceList) {
-        List<CallGraph> cGList = new ArrayList<>();
-        for (String traceName : traceList) {
+    private static List<List<AggregatedCallSite>> getCallGraphTrees(ITmfTimestamp start, ITmfTimestamp end, List<String> traceList) {
+        return traceList.parallelStream().map(traceName -> {
             ICallGraphProvider2 instrumentedCallStackAnalysis = fTraceCallGraphRegistry.get(traceName);
-            if (instrumentedCallStackAnalysis != null) {
-                ITmfTrace trace = getTrace(traceName);
-                if (trace != null) {
-                    ITmfTimestamp traceStart = start;
-                    ITmfTimestamp traceEnd = end;
-
-                    if (traceStart.getValue() < trace.getStartTime().getValue()) {
-                        traceStart = trace.getStartTime();
-                    }
-                    if (traceEnd.getValue() > trace.getEndTime().getValue()) {
-                        traceEnd = trace.getEndTime();
-                    }
-                    cGList.add(instrumentedCallStackAnalysis.getCallGraph(traceStart, traceEnd));
-                }
+            ITmfTrace trace = getTrace(traceName);
+            if (instrumentedCallStackAnalysis == null || trace == null) {
+                return Collections.<AggregatedCallSite> emptyList();
             }
-        }
-        return cGList;
+            ITmfTimestamp traceStart = start;
+            ITmfTimestamp traceEnd = end;
+
+            if (traceStart.getValue() < trace.getStartTime().getValue()) {
+                traceStart = trace.getStartTime();
+            }
+            if (traceEnd.getValue() > trace.getEndTime().getValue()) {
+                traceEnd = trace.getEndTime();
+            }
+            CallGraph callGraph = instrumentedCallStackAnalysis.getCallGraph(traceStart, traceEnd);
+            List<AggregatedCallSite> trees = new ArrayList<>();
+            for (ICallStackElement element : getLeafElements(callGraph)) {
+                recurseAddElementData(element, callGraph, trees);
+            }
+            return trees;
+        }).collect(Collectors.toList());
     }
 
     /**
@@ -199,26 +263,30 @@ public class DifferentialSeqCallGraphAnalysis extends TmfAbstractAnalysisModule
      */
     public @Nullable DifferentialWeightedTreeProvider<?> getDifferentialTreeProvider(IProgressMonitor monitor) {
         if (fTraceCallGraphRegistry.isEmpty()) {
-            InstrumentedCallStackAnalysis callGraphModule;
+            Map<String, ICallGraphProvider2> callGraphModules = new HashMap<>();
             ITmfTrace trace = TmfTraceManager.getInstance().getActiveTrace();
             Collection<ITmfTrace> traceSet = TmfTraceManager.getTraceSet(trace);
             for (ITmfTrace traceMember : traceSet) {
                 Iterable<InstrumentedCallStackAnalysis> modules = TmfTraceUtils.getAnalysisModulesOfClass(traceMember, InstrumentedCallStackAnalysis.class);
                 for (InstrumentedCallStackAnalysis module : modules) {
                     if (module.getId().equals(fCallStackAnalysisMap.get(traceMember.getTraceTypeId()))) {
-                        callGraphModule = module;
-                        callGraphModule.schedule();
-                        fTraceCallGraphRegistry.put(String.valueOf(traceMember.getName()), callGraphModule);
-                        while (!callGraphModule.waitForCompletion()) {
+                        module.schedule();
+                        while (!module.waitForCompletion()) {
                             if (monitor.isCanceled()) {
-                                callGraphModule.cancel();
+                                module.cancel();
                                 return null;
                             }
                         }
+                        callGraphModules.put(String.valueOf(traceMember.getName()), module);
                         break;
                     }
                 }
             }
+            /*
+             * Register the modules only once they are all completed, a merged
+             * call graph is cached when all its traces are registered
+             */
+            fTraceCallGraphRegistry.putAll(callGraphModules);
         }
 
         refreshDiffCG(monitor);
@@ -245,10 +313,10 @@ public class DifferentialSeqCallGraphAnalysis extends TmfAbstractAnalysisModule
         return leafGroups;
     }
 
-    private static void recurseAddElementData(ICallStackElement element, String group, CallGraph callGraph, WeightedTreeSet<ICallStackSymbol, Object> newTreeSet) {
-        // Add the current level of trees to the new tree set
+    private static void recurseAddElementData(ICallStackElement element, CallGraph callGraph, List<AggregatedCallSite> trees) {
+        // Add a copy of the current level of trees to the list
         for (AggregatedCallSite tree : callGraph.getCallingContextTree(element)) {
-            newTreeSet.addWeightedTree(group, tree.copyOf());
+            trees.add(tree.copyOf());
         }
 
         // Recursively add the next level of elements
@@ -256,7 +324,7 @@ public class DifferentialSeqCallGraphAnalysis extends TmfAbstractAnalysisModule
         Collection<ITree> children = treeEl.getChildren();
         for (ITree child : children) {
             if (child instanceof ICallStackElement) {
-                recurseAddElementData((ICallStackElement) child, group, callGraph, newTreeSet);
+                recurseAddElementData((ICallStackElement) child, callGraph, trees);
             }
         }
     }
@@ -389,6 +457,7 @@ public class DifferentialSeqCallGraphAnalysis extends TmfAbstractAnalysisModule
 
                 // Clear all data structures and fields
                 fTraceCallGraphRegistry.clear();
+                fMergedCallGraphs.clear();
                 fTraceListA.clear();
                 fTraceListB.clear();
                 fDifferentialCallGraphProvider = null;
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.kernel.core.tests.perf;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.ctf.core.tests.shared.CtfBenchmarkTrace;
+import org.eclipse.tracecompass.incubator.internal.kernel.core.io.IoAnalysis;
+import org.eclipse.tracecompass.lttng2.kernel.core.trace.LttngKernelTrace;
+import org.eclipse.tracecompass.testtraces.ctf.CtfTestTrace;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfAnalysisException;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.tests.shared.TmfTestHelper;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.eclipse.tracecompass.tmf.ctf.core.event.CtfTmfEvent;
+import org.junit.Test;
+
+/**
+ * Benchmarks the input/output analysis, whose state provider handles every
+ * file related system call of a kernel trace. The summary shows the number of
+ * events handled per second, from the events read by the analysis and the
+ * elapsed time of the measured runs.
+ */
+public class IoAnalysisBenchmark {
+
+    private static final String TEST_ID = "org.eclipse.tracecompass.incubator.kernel#IO analysis#";
+    private static final int LOOP_COUNT = 25;
+    private static final int LOOP_COUNT_SMALL = 5;
+
+    /**
+     * Benchmark the analysis on a small kernel trace
+     *
+     * @throws IOException
+     *             if an error occurred while getting the test trace path
+     */
+    @Test
+    public void testSmallTrace() throws IOException {
+        String path = FileUtils.toFile(FileLocator.toFileURL(CtfTestTrace.KERNEL.getTraceURL())).getAbsolutePath();
+        benchmark("Small trace", path, LOOP_COUNT);
+    }
+
+    /**
+     * Benchmark the analysis on a large kernel trace
+     */
+    @Test
+    public void testLargeTrace() {
+        benchmark("Large trace", CtfBenchmarkTrace.ALL_OS_ANALYSES.getTracePath().toString(), LOOP_COUNT_SMALL);
+    }
+
+    private static void deleteSupplementaryFiles(@NonNull ITmfTrace trace) {
+        /*
+         * Delete the supplementary files so that the analysis runs again
+         */
+        File suppDir = new File(TmfTraceManager.getSupplementaryFileDir(trace));
+        for (File file : suppDir.listFiles()) {
+            file.delete();
+        }
+    }
+
+    private static void benchmark(String name, String path, int loopCount) {
+        Performance perf = Performance.getDefault();
+        PerformanceMeter pm = perf.createPerformanceMeter(TEST_ID + name);
+        long eventCount = 0;
+        long elapsed = 0;
+
+        for (int i = 0; i < loopCount; i++) {
+            LttngKernelTrace trace = new LttngKernelTrace();
+            IoAnalysis module = null;
+            try {
+                trace.initTrace(null, path, CtfTmfEvent.class);
+                module = new IoAnalysis();
+                module.setTrace(trace);
+
+                long start = System.nanoTime();
+                pm.start();
+                TmfTestHelper.executeAnalysis(module);
+                pm.stop();
+                elapsed += System.nanoTime() - start;
+                // The analysis reads the whole trace, which counts its events
+                eventCount += trace.getNbEvents();
+            } catch (TmfTraceException | TmfAnalysisException e) {
+                fail(e.getMessage());
+            } finally {
+                deleteSupplementaryFiles(trace);
+                if (module != null) {
+                    module.dispose();
+                }
+                trace.dispose();
+            }
+        }
+        assertTrue(eventCount > 0 && elapsed > 0);
+        double eventsPerSecond = eventCount * 1e9 / elapsed;
+        perf.tagAsSummary(pm, String.format("IO Analysis %s (%.0f events/s)", name, eventsPerSecond), Dimension.CPU_TIME);
+        pm.commit();
+    }
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.kernel.core.tests.criticalpath;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.tracecompass.analysis.graph.core.base.IGraphWorker;
+import org.eclipse.tracecompass.analysis.graph.core.graph.ITmfGraph;
+import org.eclipse.tracecompass.analysis.graph.core.graph.ITmfVertex;
+import org.eclipse.tracecompass.analysis.graph.core.graph.TmfGraphFactory;
+import org.eclipse.tracecompass.analysis.os.linux.core.execution.graph.OsWorker;
+import org.eclipse.tracecompass.analysis.os.linux.core.model.HostThread;
+import org.eclipse.tracecompass.analysis.profiling.core.tree.WeightedTree;
+import org.eclipse.tracecompass.incubator.internal.kernel.core.criticalpath.CriticalPathBatchAggregation;
+import org.eclipse.tracecompass.incubator.internal.kernel.core.criticalpath.CriticalPathWeighted;
+import org.eclipse.tracecompass.internal.analysis.graph.core.graph.legacy.OSEdgeContextState;
+import org.eclipse.tracecompass.internal.analysis.graph.core.graph.legacy.OSEdgeContextState.OSEdgeContextEnum;
+import org.junit.Test;
+
+/**
+ * Test the {@link CriticalPathBatchAggregation} class
+ */
+public class CriticalPathBatchAggregationTest {
+
+    private static final String HOST = "host";
+    private static final String NAME = "all";
+    private static final int NB_WORKERS = 16;
+    private static final long[] TIMESTAMPS = { 0, 10, 20, 35, 50, 60 };
+
+    /**
+     * Build an execution graph where the even workers are blocked and woken up
+     * by the next odd worker, some of them are preempted, and the workers
+     * belong to a few processes
+     */
+    private static ITmfGraph buildGraph(List<IGraphWorker> workers) {
+        ITmfGraph graph = TmfGraphFactory.createSimpleGraph();
+        List<List<ITmfVertex>> vertices = new ArrayList<>();
+        for (int i = 0; i < NB_WORKERS; i++) {
+            OsWorker worker = new OsWorker(new HostThread(HOST, 100 + i), "process" + (i % 3), 0);
+            workers.add(worker);
+            List<ITmfVertex> workerVertices = new ArrayList<>();
+            workerVertices.add(graph.createVertex(worker, TIMESTAMPS[0]));
+            graph.add(workerVertices.get(0));
+            for (int j = 1; j < TIMESTAMPS.length; j++) {
+                ITmfVertex vertex = graph.createVertex(worker, TIMESTAMPS[j]);
+                graph.append(vertex, new OSEdgeContextState(getState(i, j)));
+                workerVertices.add(vertex);
+            }
+            vertices.add(workerVertices);
+        }
+        for (int i = 0; i < NB_WORKERS; i += 2) {
+            // The wake up of the blocked worker
+            graph.edgeVertical(vertices.get(i + 1).get(2), vertices.get(i).get(2), new OSEdgeContextState(OSEdgeContextEnum.DEFAULT), null);
+        }
+        return graph;
+    }
+
+    private static OSEdgeContextEnum getState(int worker, int interval) {
+        if (worker % 2 == 0 && interval == 2) {
+            return OSEdgeContextEnum.BLOCKED;
+        }
+        if (worker % 4 < 2 && interval == 4) {
+            return OSEdgeContextEnum.PREEMPTED;
+        }
+        return OSEdgeContextEnum.RUNNING;
+    }
+
+    /**
+     * Flatten the trees of each element of the tree set, at the index of the
+     * element, into the weights of the paths of objects of the trees
+     */
+    private static List<Map<String, Long>> flatten(CriticalPathWeighted treeSet) {
+        List<Map<String, Long>> elements = new ArrayList<>();
+        for (String element : treeSet.getElements()) {
+            Map<String, Long> weights = new HashMap<>();
+            flatten(treeSet.getTreesFor(element), "", weights);
+            elements.add(weights);
+        }
+        return elements;
+    }
+
+    private static void flatten(Iterable<WeightedTree<Object>> trees, String prefix, Map<String, Long> weights) {
+        for (WeightedTree<Object> tree : trees) {
+            String path = prefix + '/' + tree.getObject();
+            weights.merge(path, tree.getWeight(), Long::sum);
+            flatten(tree.getChildren(), path, weights);
+        }
+    }
+
+    private static void add(List<Map<String, Long>> sum, List<Map<String, Long>> elements) {
+        for (int i = 0; i < elements.size(); i++) {
+            if (sum.size() <= i) {
+                sum.add(new HashMap<>());
+            }
+            Map<String, Long> weights = sum.get(i);
+            elements.get(i).forEach((path, weight) -> weights.merge(path, weight, Long::sum));
+        }
+    }
+
+    /**
+     * Test that the aggregation of the critical paths of many workers is the
+     * sum of the critical paths of each worker
+     */
+    @Test
+    public void testAggregation() {
+        List<IGraphWorker> workers = new ArrayList<>();
+        ITmfGraph graph = buildGraph(workers);
+
+        CriticalPathWeighted batch = CriticalPathBatchAggregation.aggregate(graph, NAME, workers, new NullProgressMonitor());
+        assertNotNull(batch);
+        assertEquals(3, batch.getElements().size());
+
+        List<Map<String, Long>> expected = new ArrayList<>();
+        for (IGraphWorker worker : workers) {
+            CriticalPathWeighted single = CriticalPathBatchAggregation.aggregate(graph, NAME, Collections.singletonList(worker), new NullProgressMonitor());
+            assertNotNull(single);
+            add(expected, flatten(single));
+        }
+        List<Map<String, Long>> actual = flatten(batch);
+        assertEquals(expected, actual);
+        for (Map<String, Long> weights : actual) {
+            assertFalse(weights.isEmpty());
+        }
+    }
+
+    /**
+     * Test that a cancelled aggregation returns <code>null</code>
+     */
+    @Test
+    public void testCancel() {
+        List<IGraphWorker> workers = new ArrayList<>();
+        ITmfGraph graph = buildGraph(workers);
+        IProgressMonitor monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+        assertNull(CriticalPathBatchAggregation.aggregate(graph, NAME, workers, monitor));
+    }
+}
@@ -11,12 +11,18 @@
 
 package org.eclipse.tracecompass.incubator.internal.kernel.core.criticalpath;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.analysis.graph.core.base.IGraphWorker;
 import org.eclipse.tracecompass.analysis.graph.core.criticalpath.AbstractCriticalPathModule;
+import org.eclipse.tracecompass.analysis.graph.core.graph.ITmfGraph;
+import org.eclipse.tracecompass.analysis.os.linux.core.execution.graph.OsExecutionGraph;
 import org.eclipse.tracecompass.analysis.profiling.core.base.IDataPalette;
 import org.eclipse.tracecompass.analysis.profiling.core.tree.IWeightedTreeProvider;
 import org.eclipse.tracecompass.analysis.profiling.core.tree.IWeightedTreeSet;
@@ -29,6 +35,7 @@ import org.eclipse.tracecompass.tmf.core.signal.TmfSignalHandler;
 import org.eclipse.tracecompass.tmf.core.signal.TmfStartAnalysisSignal;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
 
 /**
  * Analysis modules that aggregates the states of the critical path into a
@@ -42,7 +49,7 @@ public class CriticalPathAggregatedModule extends TmfAbstractAnalysisModule impl
     private static final MetricType DURATION_METRIC = new MetricType(Objects.requireNonNull(TmfStrings.duration()), DataType.NANOSECONDS, null);
 
     private @Nullable AbstractCriticalPathModule fModule = null;
-    private @Nullable CriticalPathWeighted fCritPathCg = null;
+    private @Nullable IWeightedTreeSet<Object, String, WeightedTree<Object>> fCritPathCg = null;
 
     @Override
     protected boolean executeAnalysis(IProgressMonitor monitor) throws TmfAnalysisException {
@@ -53,8 +60,33 @@ public class CriticalPathAggregatedModule extends TmfAbstractAnalysisModule impl
         if (!module.waitForCompletion(Objects.requireNonNull(monitor))) {
             return false;
         }
-        fCritPathCg = CriticalPathWeighted.create(module.getCriticalPathGraph());
-        return true;
+        IWeightedTreeSet<Object, String, WeightedTree<Object>> critPathCg = computeTreeSet(module, monitor);
+        fCritPathCg = critPathCg;
+        return critPathCg != null;
+    }
+
+    /**
+     * Compute the tree set once the critical path module has completed. By
+     * default, it is the aggregation of the critical path of the module.
+     *
+     * @param module
+     *            The completed critical path module
+     * @param monitor
+     *            The progress monitor
+     * @return The tree set, or <code>null</code> if the computation was
+     *         cancelled
+     */
+    protected @Nullable IWeightedTreeSet<Object, String, WeightedTree<Object>> computeTreeSet(AbstractCriticalPathModule module, IProgressMonitor monitor) {
+        return CriticalPathWeighted.create(module.getCriticalPathGraph());
+    }
+
+    /**
+     * Get the tree set computed by the last execution of the analysis
+     *
+     * @return The tree set, or <code>null</code> if it is not computed yet
+     */
+    protected @Nullable IWeightedTreeSet<Object, String, WeightedTree<Object>> getComputedTreeSet() {
+        return fCritPathCg;
     }
 
     /**
@@ -98,7 +130,7 @@ public class CriticalPathAggregatedModule extends TmfAbstractAnalysisModule impl
 
     @Override
     public IWeightedTreeSet<Object, String, WeightedTree<Object>> getTreeSet() {
-        CriticalPathWeighted critPathCg = fCritPathCg;
+        IWeightedTreeSet<Object, String, WeightedTree<Object>> critPathCg = fCritPathCg;
         if (critPathCg != null) {
             return critPathCg;
         }
@@ -109,6 +141,49 @@ public class CriticalPathAggregatedModule extends TmfAbstractAnalysisModule impl
         return CriticalPathWeighted.create(module.getCriticalPathGraph());
     }
 
+    /**
+     * Compute the critical paths of many workers at once and aggregate them in
+     * one tree set, for instance to see what blocks all the threads of a
+     * process or all the request handler threads of a service, see
+     * {@link CriticalPathBatchAggregation}.
+     *
+     * @param name
+     *            The name of the aggregation, used as prefix of the elements
+     *            of the tree set
+     * @param filter
+     *            Selects the workers of the execution graph whose critical
+     *            paths to aggregate
+     * @param monitor
+     *            The progress monitor
+     * @return The aggregated tree set, or <code>null</code> if the execution
+     *         graph is not available or the computation was cancelled
+     */
+    public @Nullable IWeightedTreeSet<Object, String, WeightedTree<Object>> getAggregatedTreeSet(String name, Predicate<IGraphWorker> filter, IProgressMonitor monitor) {
+        ITmfTrace trace = getTrace();
+        if (trace == null) {
+            return null;
+        }
+        OsExecutionGraph graphModule = TmfTraceUtils.getAnalysisModuleOfClass(trace, OsExecutionGraph.class, OsExecutionGraph.ANALYSIS_ID);
+        if (graphModule == null) {
+            return null;
+        }
+        graphModule.schedule();
+        if (!graphModule.waitForCompletion(monitor)) {
+            return null;
+        }
+        ITmfGraph graph = graphModule.getTmfGraph();
+        if (graph == null) {
+            return null;
+        }
+        List<IGraphWorker> workers = new ArrayList<>();
+        for (IGraphWorker worker : graph.getWorkers()) {
+            if (filter.test(worker)) {
+                workers.add(worker);
+            }
+        }
+        return CriticalPathBatchAggregation.aggregate(graph, name, workers, monitor);
+    }
+
     @Override
     public IDataPalette getPalette() {
         return CriticalPathAggregatedPalette.getInstance();
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.kernel.core.criticalpath;
+
+import java.util.Collection;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.analysis.graph.core.base.IGraphWorker;
+import org.eclipse.tracecompass.analysis.graph.core.criticalpath.CriticalPathAlgorithmException;
+import org.eclipse.tracecompass.analysis.graph.core.graph.ITmfGraph;
+import org.eclipse.tracecompass.analysis.graph.core.graph.ITmfVertex;
+import org.eclipse.tracecompass.analysis.graph.core.graph.TmfGraphFactory;
+import org.eclipse.tracecompass.incubator.internal.kernel.core.Activator;
+import org.eclipse.tracecompass.incubator.internal.kernel.core.criticalpath.CriticalPathWeighted.Aggregation;
+import org.eclipse.tracecompass.internal.analysis.graph.core.criticalpath.OSCriticalPathAlgorithm;
+
+/**
+ * Computes the critical paths of many workers of an execution graph, for
+ * instance all the threads of a process, and aggregates them in a single
+ * weighted tree set showing what all those workers were waiting for.
+ * <p>
+ * The execution graph is not documented as safe for concurrent reads, so the
+ * critical paths are computed one after the other. Each critical path is
+ * summed in the aggregation as soon as it is computed, and the weighted trees
+ * are built once for all the workers.
+ */
+public final class CriticalPathBatchAggregation {
+
+    private CriticalPathBatchAggregation() {
+        // Do nothing
+    }
+
+    private static @Nullable ITmfGraph computeCriticalPath(ITmfGraph graph, IGraphWorker worker) {
+        ITmfVertex head = graph.getHead(worker);
+        if (head == null) {
+            return null;
+        }
+        try {
+            return new OSCriticalPathAlgorithm(graph).computeCriticalPath(TmfGraphFactory.createSimpleGraph(), head, null);
+        } catch (CriticalPathAlgorithmException e) {
+            Activator.getInstance().logWarning("Cannot compute the critical path of " + worker, e); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    /**
+     * Compute the critical paths of the workers and aggregate them in a
+     * weighted tree set
+     *
+     * @param graph
+     *            The execution graph
+     * @param name
+     *            The name of the aggregation, used as prefix of the elements
+     *            of the tree set
+     * @param workers
+     *            The workers whose critical paths to aggregate
+     * @param monitor
+     *            The progress monitor, to cancel the computation
+     * @return The aggregated critical paths, or <code>null</code> if the
+     *         monitor was cancelled
+     */
+    public static @Nullable CriticalPathWeighted aggregate(ITmfGraph graph, String name, Collection<IGraphWorker> workers, IProgressMonitor monitor) {
+        Aggregation aggregation = new Aggregation();
+        for (IGraphWorker worker : workers) {
+            if (monitor.isCanceled()) {
+                return null;
+            }
+            ITmfGraph criticalPath = computeCriticalPath(graph, worker);
+            if (criticalPath != null) {
+                aggregation.add(criticalPath);
+            }
+        }
+        if (monitor.isCanceled()) {
+            return null;
+        }
+        return CriticalPathWeighted.create(name, aggregation);
+    }
+}
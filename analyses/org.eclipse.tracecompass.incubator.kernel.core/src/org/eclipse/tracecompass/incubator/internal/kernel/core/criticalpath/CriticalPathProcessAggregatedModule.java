@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.kernel.core.criticalpath;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.analysis.graph.core.base.IGraphWorker;
+import org.eclipse.tracecompass.analysis.graph.core.criticalpath.AbstractCriticalPathModule;
+import org.eclipse.tracecompass.analysis.graph.core.graph.ITmfGraph;
+import org.eclipse.tracecompass.analysis.graph.core.graph.ITmfVertex;
+import org.eclipse.tracecompass.analysis.os.linux.core.execution.graph.OsWorker;
+import org.eclipse.tracecompass.analysis.os.linux.core.kernel.KernelAnalysisModule;
+import org.eclipse.tracecompass.analysis.profiling.core.tree.IWeightedTreeSet;
+import org.eclipse.tracecompass.analysis.profiling.core.tree.WeightedTree;
+import org.eclipse.tracecompass.internal.analysis.os.linux.core.kernel.Attributes;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
+import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
+
+/**
+ * Analysis module that aggregates the critical paths of all the threads of the
+ * process of the worker of the critical path, to see what the whole process
+ * was waiting for. The threads of the process are the threads of the same host
+ * with the same process ID in the kernel analysis, whatever their name.
+ */
+public class CriticalPathProcessAggregatedModule extends CriticalPathAggregatedModule {
+
+    @Override
+    protected @Nullable IWeightedTreeSet<Object, String, WeightedTree<Object>> computeTreeSet(AbstractCriticalPathModule module, IProgressMonitor monitor) {
+        ITmfGraph criticalPath = module.getCriticalPathGraph();
+        ITmfVertex head = criticalPath == null ? null : criticalPath.getHead();
+        IGraphWorker worker = (criticalPath == null || head == null) ? null : criticalPath.getParentOf(head);
+        if (head == null || !(worker instanceof OsWorker)) {
+            return CriticalPathWeighted.create(null);
+        }
+        String hostId = worker.getHostId();
+        ITmfStateSystem ss = getKernelStateSystem(hostId, monitor);
+        if (ss == null) {
+            return monitor.isCanceled() ? null : CriticalPathWeighted.create(null);
+        }
+        OsWorker osWorker = (OsWorker) worker;
+        Integer pid = getProcessId(ss, osWorker.getHostThread().getTid(), head.getTimestamp());
+        if (pid == null) {
+            return CriticalPathWeighted.create(null);
+        }
+        String name = String.format("%s (%d)", osWorker.getName(), pid); //$NON-NLS-1$
+        return getAggregatedTreeSet(name, other -> other instanceof OsWorker && hostId.equals(other.getHostId())
+                && pid.equals(getProcessId(ss, ((OsWorker) other).getHostThread().getTid(), ((OsWorker) other).getStart())), monitor);
+    }
+
+    /**
+     * Get the state system of the completed kernel analysis of the trace of a
+     * host
+     */
+    private @Nullable ITmfStateSystem getKernelStateSystem(String hostId, IProgressMonitor monitor) {
+        ITmfTrace trace = getTrace();
+        if (trace == null) {
+            return null;
+        }
+        for (ITmfTrace hostTrace : TmfTraceManager.getTraceSet(trace)) {
+            if (!hostId.equals(hostTrace.getHostId())) {
+                continue;
+            }
+            KernelAnalysisModule kernelModule = TmfTraceUtils.getAnalysisModuleOfClass(hostTrace, KernelAnalysisModule.class, KernelAnalysisModule.ID);
+            if (kernelModule == null) {
+                continue;
+            }
+            kernelModule.schedule();
+            if (!kernelModule.waitForCompletion(monitor)) {
+                return null;
+            }
+            return kernelModule.getStateSystem();
+        }
+        return null;
+    }
+
+    /**
+     * Get the process ID of a thread at a time. The process ID of a thread
+     * that started before the trace may only be known later, from the state
+     * dump, so the next value is used if it is not known at that time.
+     */
+    private static @Nullable Integer getProcessId(ITmfStateSystem ss, int tid, long time) {
+        int quark = ss.optQuarkAbsolute(Attributes.THREADS, String.valueOf(tid), Attributes.PID);
+        if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            return null;
+        }
+        try {
+            ITmfStateInterval interval = ss.querySingleState(Math.max(ss.getStartTime(), Math.min(time, ss.getCurrentEndTime())), quark);
+            Object pid = interval.getValue();
+            if (pid == null && interval.getEndTime() < ss.getCurrentEndTime()) {
+                pid = ss.querySingleState(interval.getEndTime() + 1, quark).getValue();
+            }
+            return pid instanceof Integer ? (Integer) pid : null;
+        } catch (StateSystemDisposedException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public IWeightedTreeSet<Object, String, WeightedTree<Object>> getTreeSet() {
+        // The aggregation is too long to compute on demand, it is empty until
+        // the analysis completes
+        IWeightedTreeSet<Object, String, WeightedTree<Object>> treeSet = getComputedTreeSet();
+        return treeSet == null ? CriticalPathWeighted.create(null) : treeSet;
+    }
+
+    @Override
+    public String getTitle() {
+        return "What the threads of the process are waiting for"; //$NON-NLS-1$
+    }
+}
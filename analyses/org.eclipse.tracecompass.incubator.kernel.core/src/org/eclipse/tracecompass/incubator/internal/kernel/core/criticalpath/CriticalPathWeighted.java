@@ -13,7 +13,10 @@ package org.eclipse.tracecompass.incubator.internal.kernel.core.criticalpath;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.jdt.annotation.Nullable;
@@ -58,18 +61,85 @@ public class CriticalPathWeighted implements IWeightedTreeSet<Object, String, We
     private static final String THREAD_SUFFIX = String.valueOf(Messages.CriticalPathWeighted_ByThread);
 
     private final List<String> fElements;
-    private WeightedTree<Object> fAggregatedTree;
-    private WeightedTree<Object> fTree;
-    private WeightedTree<Object> fProcessTree;
+    private final WeightedTree<Object> fAggregatedTree;
+    private final WeightedTree<Object> fTree;
+    private final WeightedTree<Object> fProcessTree;
 
-    private class GraphToCallGraphConverter implements ITmfGraphVisitor {
+    /**
+     * The durations of the states of one or many critical paths, for each of
+     * the trees of the tree set. The durations are summed by object, so that
+     * the weighted trees are built once at the end instead of merging a new
+     * tree for each edge, and the critical paths of many workers can be added
+     * to the same aggregation.
+     */
+    static class Aggregation {
+        private final WeightAccumulator fTreeWeights = new WeightAccumulator();
+        private final WeightAccumulator fAggregatedWeights = new WeightAccumulator();
+        private final WeightAccumulator fProcessWeights = new WeightAccumulator();
+
+        /**
+         * Add the states of a critical path to this aggregation
+         *
+         * @param criticalPath
+         *            The critical path graph
+         */
+        public void add(ITmfGraph criticalPath) {
+            ITmfVertex head = criticalPath.getHead();
+            if (head == null) {
+                return;
+            }
+            IGraphWorker worker = criticalPath.getParentOf(head);
+            if (worker == null) {
+                return;
+            }
+            criticalPath.scanLineTraverse(worker, new GraphToCallGraphConverter(worker, criticalPath, this));
+        }
+    }
+
+    /**
+     * Sums durations for objects at the first level of a tree, and for the
+     * objects at the second level under them
+     */
+    private static class WeightAccumulator {
+        private final Map<Object, long[]> fWeights = new HashMap<>();
+        private final Map<Object, Map<Object, long[]>> fChildWeights = new HashMap<>();
+
+        public void add(Object object, @Nullable Object child, long duration) {
+            fWeights.computeIfAbsent(object, o -> new long[1])[0] += duration;
+            if (child != null) {
+                fChildWeights.computeIfAbsent(object, o -> new HashMap<>()).computeIfAbsent(child, o -> new long[1])[0] += duration;
+            }
+        }
+
+        public WeightedTree<Object> toTree(String name) {
+            WeightedTree<Object> root = new WeightedTree<>(name);
+            for (Entry<Object, long[]> entry : fWeights.entrySet()) {
+                WeightedTree<Object> tree = new WeightedTree<>(entry.getKey());
+                tree.addToWeight(entry.getValue()[0]);
+                Map<Object, long[]> children = fChildWeights.get(entry.getKey());
+                if (children != null) {
+                    for (Entry<Object, long[]> childEntry : children.entrySet()) {
+                        WeightedTree<Object> child = new WeightedTree<>(childEntry.getKey());
+                        child.addToWeight(childEntry.getValue()[0]);
+                        tree.addChild(child);
+                    }
+                }
+                root.addChild(tree);
+            }
+            return root;
+        }
+    }
+
+    private static class GraphToCallGraphConverter implements ITmfGraphVisitor {
 
         private final ITmfGraph fGraph;
         private final IGraphWorker fMainWorker;
+        private final Aggregation fAggregation;
 
-        public GraphToCallGraphConverter(IGraphWorker mainWorker, ITmfGraph graph) {
+        public GraphToCallGraphConverter(IGraphWorker mainWorker, ITmfGraph graph, Aggregation aggregation) {
             fGraph = graph;
             fMainWorker = mainWorker;
+            fAggregation = aggregation;
         }
 
         @Override
@@ -88,89 +158,52 @@ public class CriticalPathWeighted implements IWeightedTreeSet<Object, String, We
             if (edge.getDuration() == 0) {
                 return;
             }
-            addEdgeToElement(edge);
-            addEdgeToAggregatedElement(edge);
-            addEdgeToProcessElement(edge);
-        }
-
-        private void addEdgeToAggregatedElement(ITmfEdge edge) {
             // Get the worker to which to attribute this edge, whether vertical
             // or horizontal
             IGraphWorker worker = fGraph.getParentOf(edge.getVertexTo());
             if (worker == null) {
                 return;
             }
+            addEdgeToElement(edge, worker);
+            addEdgeToAggregatedElement(edge, worker);
+            addEdgeToProcessElement(edge, worker);
+        }
 
+        private void addEdgeToAggregatedElement(ITmfEdge edge, IGraphWorker worker) {
             // If it's another worker that is running, add a other process
             // running state
             if (worker != fMainWorker && edge.getEdgeContextState().getEdgeState().equals(TmfEdgeState.PASS)) {
-                WeightedTree<Object> callSite = new WeightedTree<>(String.valueOf(Messages.CriticalPathWeighted_OtherRunningProcess));
-                callSite.addToWeight(edge.getDuration());
-                fAggregatedTree.addChild(callSite);
+                fAggregation.fAggregatedWeights.add(String.valueOf(Messages.CriticalPathWeighted_OtherRunningProcess), null, edge.getDuration());
                 return;
             }
 
             // Otherwise, add a first level call that corresponds to the worker
-            WeightedTree<Object> callSite = new WeightedTree<>(edge.getEdgeContextState().getContextEnum());
-            callSite.addToWeight(edge.getDuration());
-            fAggregatedTree.addChild(callSite);
-
+            fAggregation.fAggregatedWeights.add(edge.getEdgeContextState().getContextEnum(), null, edge.getDuration());
         }
 
-        private void addEdgeToElement(ITmfEdge edge) {
-            // Get the worker to which to attribute this edge, whether vertical
-            // or horizontal
-            IGraphWorker worker = fGraph.getParentOf(edge.getVertexTo());
-            if (worker == null) {
-                return;
-            }
-
-            WeightedTree<Object> workerTree;
-            if (worker == fMainWorker) {
-                // If it is the main worker, first level will be self
-                workerTree = new WeightedTree<>(String.valueOf(Messages.CriticalPathWeighted_SelfWorker));
-                workerTree.addToWeight(edge.getDuration());
-            } else {
-                // If it's another worker, add a worker as 1st level
-                workerTree = new WeightedTree<>(String.valueOf(worker));
-                workerTree.addToWeight(edge.getDuration());
-            }
+        private void addEdgeToElement(ITmfEdge edge, IGraphWorker worker) {
+            // If it is the main worker, first level will be self, otherwise,
+            // add a worker as 1st level
+            Object workerObject = (worker == fMainWorker) ? String.valueOf(Messages.CriticalPathWeighted_SelfWorker) : String.valueOf(worker);
 
             // Then, add a second level for the edge type if it is not running
-            if (!edge.getEdgeContextState().getEdgeState().equals(TmfEdgeState.PASS)) {
-                WeightedTree<Object> childType = new WeightedTree<>(edge.getEdgeContextState().getContextEnum());
-                childType.addToWeight(edge.getDuration());
-                workerTree.addChild(childType);
-            }
-            fTree.addChild(workerTree);
+            fAggregation.fTreeWeights.add(workerObject, getStateObject(edge), edge.getDuration());
         }
 
-        private void addEdgeToProcessElement(ITmfEdge edge) {
-            // Get the worker to which to attribute this edge, whether vertical
-            // or horizontal
-            IGraphWorker worker = fGraph.getParentOf(edge.getVertexTo());
-            if (worker == null) {
-                return;
-            }
-
-            WeightedTree<Object> workerTree;
-            if (worker == fMainWorker) {
-                // If it is the main worker, first level will be self
-                workerTree = new WeightedTree<>(String.valueOf(Messages.CriticalPathWeighted_SelfWorker));
-                workerTree.addToWeight(edge.getDuration());
-            } else {
-                // If it's another worker, first level is the name of the process
-                workerTree = new WeightedTree<>(((OsWorker) worker).getName());
-                workerTree.addToWeight(edge.getDuration());
-            }
+        private void addEdgeToProcessElement(ITmfEdge edge, IGraphWorker worker) {
+            // If it is the main worker, first level will be self, otherwise,
+            // first level is the name of the process
+            Object workerObject = (worker == fMainWorker) ? String.valueOf(Messages.CriticalPathWeighted_SelfWorker) : ((OsWorker) worker).getName();
 
             // Then add a state for the non-running states
-            if (!edge.getEdgeContextState().getEdgeState().equals(TmfEdgeState.PASS)) {
-                WeightedTree<Object> typeTree = new WeightedTree<>(edge.getEdgeContextState().getContextEnum());
-                typeTree.addToWeight(edge.getDuration());
-                workerTree.addChild(typeTree);
+            fAggregation.fProcessWeights.add(workerObject, getStateObject(edge), edge.getDuration());
+        }
+
+        private static @Nullable Object getStateObject(ITmfEdge edge) {
+            if (edge.getEdgeContextState().getEdgeState().equals(TmfEdgeState.PASS)) {
+                return null;
             }
-            fProcessTree.addChild(workerTree);
+            return edge.getEdgeContextState().getContextEnum();
         }
 
     }
@@ -201,32 +234,43 @@ public class CriticalPathWeighted implements IWeightedTreeSet<Object, String, We
         if (head == null) {
             return EMPTY_CRIT_PATH_CG;
         }
-        return new CriticalPathWeighted(graph);
+        IGraphWorker worker = graph.getParentOf(head);
+        if (worker == null) {
+            throw new NullPointerException("head vertex has no parent"); //$NON-NLS-1$
+        }
+        Aggregation aggregation = new Aggregation();
+        aggregation.add(graph);
+        return new CriticalPathWeighted(String.valueOf(worker), aggregation);
     }
 
     /**
-     * Constructor. It transforms the graph received in parameter into a
-     * weighted tree, merging similar state's durations.
+     * Create a critical path weighted tree set from the aggregation of one or
+     * many critical paths
      *
-     * @param graph
-     *            The graph to flatten as a weighted tree
+     * @param name
+     *            The name of the aggregation, used as prefix of the elements
+     * @param aggregation
+     *            The aggregated critical paths
+     * @return The critical path weighted treeset
      */
-    private CriticalPathWeighted(ITmfGraph graph) {
-        ITmfVertex head = graph.getHead();
-        if (head == null) {
-            throw new NullPointerException("Empty graph"); //$NON-NLS-1$
-        }
+    static CriticalPathWeighted create(String name, Aggregation aggregation) {
+        return new CriticalPathWeighted(name, aggregation);
+    }
 
-        IGraphWorker worker = graph.getParentOf(head);
-        if (worker == null) {
-            throw new NullPointerException("head vertex has no parent"); //$NON-NLS-1$
-        }
-        fElements = ImmutableList.of(String.valueOf(worker) + THREAD_SUFFIX, String.valueOf(worker) + ALL_SUFFIX, String.valueOf(worker) + PROCESS_SUFFIX);
-        fTree = new WeightedTree<>(String.valueOf(worker) + THREAD_SUFFIX);
-        fAggregatedTree = new WeightedTree<>(String.valueOf(worker) + ALL_SUFFIX);
-        fProcessTree = new WeightedTree<>(String.valueOf(worker) + PROCESS_SUFFIX);
-        GraphToCallGraphConverter converter = new GraphToCallGraphConverter(worker, graph);
-        graph.scanLineTraverse(worker, converter);
+    /**
+     * Constructor. It builds the weighted trees from the durations of the
+     * states of the aggregated critical paths.
+     *
+     * @param name
+     *            The name of the aggregation
+     * @param aggregation
+     *            The aggregated critical paths
+     */
+    private CriticalPathWeighted(String name, Aggregation aggregation) {
+        fElements = ImmutableList.of(name + THREAD_SUFFIX, name + ALL_SUFFIX, name + PROCESS_SUFFIX);
+        fTree = aggregation.fTreeWeights.toTree(name + THREAD_SUFFIX);
+        fAggregatedTree = aggregation.fAggregatedWeights.toTree(name + ALL_SUFFIX);
+        fProcessTree = aggregation.fProcessWeights.toTree(name + PROCESS_SUFFIX);
     }
 
     @Override
@@ -161,34 +161,197 @@ public class IoStateProvider extends AbstractTmfStateProvider {
 
     private static final int VERSION = 1;
 
-
-
     private final Map<String, EventConsumer> fHandlers = new HashMap<>();
     private final IKernelAnalysisEventLayout fLayout;
 
-    /*
-     * Nullable to make the jdt be quiet
-     */
-    private final Map<Integer, @Nullable FdRequestWithPools> fToRead = new HashMap<>();
-    private final Map<Integer, @Nullable FdRequestWithPools> fToWrite = new HashMap<>();
-    /* Map a TID to the file being opened */
-    private final Map<Integer, String> fOpening = new HashMap<>();
-    /* Map a TID to the file descriptor being closed */
-    private final Map<Integer, Long> fClosing = new HashMap<>();
-    /* Map a TID to the file descriptor connecting */
-    private final Map<Integer, Long> fConnecting = new HashMap<>();
-    /* Map a quark to attribute pool */
-    private final Map<Integer, TmfAttributePool> fPools = new HashMap<>();
-    /* Map a TID to whether to share the file table (true) or not (false) */
-    private final Map<Integer, Boolean> fCloning = new HashMap<>();
-    /* Map a file table address from statedump to a quark */
-    private final Map<Long, Integer> fFdTblAddresses = new HashMap<>();
+    /* Map a TID to the thread's ongoing requests and attributes */
+    private final Map<Integer, ThreadInfo> fThreads = new HashMap<>();
+    /* Map a file descriptor table number to the table */
+    private final Map<Integer, FdTable> fFdTables = new HashMap<>();
+    /* Map a file table address from statedump to the table */
+    private final Map<Long, FdTable> fFdTblAddresses = new HashMap<>();
     private AtomicInteger fFdCount = new AtomicInteger(0);
 
-
     @FunctionalInterface
     private interface EventConsumer {
-        void handleEvent(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid);
+        void handleEvent(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread);
+    }
+
+    /**
+     * The ongoing requests of a thread, with the quarks of its attributes. The
+     * quarks are resolved the first time they are needed so that the
+     * attribute paths are not built again at each event.
+     */
+    private static class ThreadInfo {
+        private final String fTid;
+        private int fFdTblQuark = ITmfStateSystem.INVALID_ATTRIBUTE;
+        private @Nullable RequestQuarks fReadQuarks;
+        private @Nullable RequestQuarks fWriteQuarks;
+        /* The quarks of the files in the resources section, by name */
+        private final Map<String, ResourceQuarks> fResources = new HashMap<>();
+
+        private @Nullable FdRequestWithPools fToRead;
+        private @Nullable FdRequestWithPools fToWrite;
+        /* The file being opened */
+        private @Nullable String fOpening;
+        /* The file descriptor being closed */
+        private @Nullable Long fClosing;
+        /* The file descriptor connecting */
+        private @Nullable Long fConnecting;
+        /* Whether to share the file table (true) or not (false) */
+        private @Nullable Boolean fCloning;
+
+        public ThreadInfo(String tid) {
+            fTid = tid;
+        }
+
+        /* The attribute linking the thread to its file descriptor table */
+        public int getFdTblQuark(ITmfStateSystemBuilder ssb) {
+            int quark = fFdTblQuark;
+            if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+                quark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, fTid, ATTRIBUTE_FDTBL);
+                fFdTblQuark = quark;
+            }
+            return quark;
+        }
+
+        public RequestQuarks getRequestQuarks(ITmfStateSystemBuilder ssb, String attribute) {
+            boolean isRead = ATTRIBUTE_READ.equals(attribute);
+            RequestQuarks quarks = isRead ? fReadQuarks : fWriteQuarks;
+            if (quarks == null) {
+                quarks = new RequestQuarks(ssb, ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, fTid, attribute));
+                if (isRead) {
+                    fReadQuarks = quarks;
+                } else {
+                    fWriteQuarks = quarks;
+                }
+            }
+            return quarks;
+        }
+
+        public ResourceQuarks getResourceQuarks(ITmfStateSystemBuilder ssb, String filename) {
+            ResourceQuarks quarks = fResources.get(filename);
+            if (quarks == null) {
+                quarks = new ResourceQuarks(ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_RESOURCES, filename, fTid));
+                fResources.put(filename, quarks);
+            }
+            return quarks;
+        }
+
+        public @Nullable ResourceQuarks optResourceQuarks(ITmfStateSystemBuilder ssb, String filename) {
+            ResourceQuarks quarks = fResources.get(filename);
+            if (quarks == null) {
+                int quark = ssb.optQuarkAbsolute(ATTRIBUTE_RESOURCES, filename, fTid);
+                if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+                    return null;
+                }
+                quarks = new ResourceQuarks(quark);
+                fResources.put(filename, quarks);
+            }
+            return quarks;
+        }
+    }
+
+    /* The READ or WRITE attribute of a thread, with its sub-attributes */
+    private static class RequestQuarks {
+        private final int fQuark;
+        private final int fCurrentQuark;
+        private final int fFdQuark;
+
+        public RequestQuarks(ITmfStateSystemBuilder ssb, int quark) {
+            fQuark = quark;
+            fCurrentQuark = ssb.getQuarkRelativeAndAdd(quark, ATTRIBUTE_CURRENT);
+            fFdQuark = ssb.getQuarkRelativeAndAdd(quark, ATTRIBUTE_FD);
+        }
+    }
+
+    /* The attribute of a file for a thread in the resources section */
+    private static class ResourceQuarks {
+        private final int fQuark;
+        private int fOperationQuark = ITmfStateSystem.INVALID_ATTRIBUTE;
+
+        public ResourceQuarks(int quark) {
+            fQuark = quark;
+        }
+
+        public int getOperationQuark(ITmfStateSystemBuilder ssb) {
+            int quark = fOperationQuark;
+            if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+                quark = ssb.getQuarkRelativeAndAdd(fQuark, ATTRIBUTE_OPERATION);
+                fOperationQuark = quark;
+            }
+            return quark;
+        }
+    }
+
+    /* A file descriptor table, with the file descriptors it contains */
+    private static class FdTable {
+        private final int fNumber;
+        private final int fQuark;
+        private final Map<Long, FdInfo> fFds = new HashMap<>();
+
+        public FdTable(int number, int quark) {
+            fNumber = number;
+            fQuark = quark;
+        }
+
+        public FdInfo getFd(ITmfStateSystemBuilder ssb, Long fd) {
+            FdInfo info = fFds.get(fd);
+            if (info == null) {
+                info = new FdInfo(ssb.getQuarkRelativeAndAdd(fQuark, String.valueOf(fd)));
+                fFds.put(fd, info);
+            }
+            return info;
+        }
+
+        public @Nullable FdInfo optFd(ITmfStateSystemBuilder ssb, Long fd) {
+            FdInfo info = fFds.get(fd);
+            if (info == null) {
+                int quark = ssb.optQuarkRelative(fQuark, String.valueOf(fd));
+                if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+                    return null;
+                }
+                info = new FdInfo(quark);
+                fFds.put(fd, info);
+            }
+            return info;
+        }
+    }
+
+    /* A file descriptor in a table, with the pools of its reads and writes */
+    private static class FdInfo {
+        private final int fQuark;
+        private @Nullable RequestPool fReadPool;
+        private @Nullable RequestPool fWritePool;
+
+        public FdInfo(int quark) {
+            fQuark = quark;
+        }
+
+        public RequestPool getPool(ITmfStateSystemBuilder ssb, String attribute) {
+            boolean isRead = ATTRIBUTE_READ.equals(attribute);
+            RequestPool pool = isRead ? fReadPool : fWritePool;
+            if (pool == null) {
+                pool = new RequestPool(ssb, ssb.getQuarkRelativeAndAdd(fQuark, attribute));
+                if (isRead) {
+                    fReadPool = pool;
+                } else {
+                    fWritePool = pool;
+                }
+            }
+            return pool;
+        }
+    }
+
+    /* The READ or WRITE attribute of a file descriptor, with its requests */
+    private static class RequestPool {
+        private final int fQuark;
+        private final TmfAttributePool fPool;
+
+        public RequestPool(ITmfStateSystemBuilder ssb, int quark) {
+            fQuark = quark;
+            fPool = new TmfAttributePool(ssb, quark);
+        }
     }
 
     private static class FdRequestWithPools {
@@ -288,7 +451,16 @@ public class IoStateProvider extends AbstractTmfStateProvider {
             return;
         }
 
-        eventHandler.handleEvent(ssb, event, tid);
+        eventHandler.handleEvent(ssb, event, getThread(tid));
+    }
+
+    private ThreadInfo getThread(Integer tid) {
+        ThreadInfo thread = fThreads.get(tid);
+        if (thread == null) {
+            thread = new ThreadInfo(String.valueOf(tid));
+            fThreads.put(tid, thread);
+        }
+        return thread;
     }
 
     /**
@@ -301,35 +473,35 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         return fLayout;
     }
 
-    private final @Nullable Long isValidFileDescriptor(ITmfStateSystemBuilder ssb, long time, Integer tid, @Nullable Long fd) {
+    private final @Nullable Long isValidFileDescriptor(ITmfStateSystemBuilder ssb, long time, ThreadInfo thread, @Nullable Long fd) {
         if (fd == null) {
             return null;
         }
-        int fdTblQuark = getFdTblQuarkFor(ssb, time, tid);
-        int tidFileQuark = ssb.optQuarkRelative(fdTblQuark, String.valueOf(fd));
-        if (tidFileQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+        FdInfo fdInfo = getFdTableFor(ssb, time, thread).optFd(ssb, fd);
+        if (fdInfo == null) {
             return null;
         }
-        return ssb.queryOngoing(tidFileQuark) != null ? fd : null;
+        return ssb.queryOngoing(fdInfo.fQuark) != null ? fd : null;
     }
 
     /**
      * @param ssb
      */
-    private void openBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void openBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         String filename = event.getContent().getFieldValue(String.class, FIELD_FILENAME);
-        fOpening.put(tid, filename != null ? filename : UNKNOWN_FILE);
+        thread.fOpening = filename != null ? filename : UNKNOWN_FILE;
 
         if (filename != null) {
             // Prepare the file access quark and save a temporary value, to be
             // udpated in case of failure
-            int fileTidQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_RESOURCES, filename, String.valueOf(tid));
+            int fileTidQuark = thread.getResourceQuarks(ssb, filename).fQuark;
             ssb.modifyAttribute(event.getTimestamp().toNanos(), 0L, fileTidQuark);
         }
     }
 
-    private void openEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
-        String filename = fOpening.remove(tid);
+    private void openEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
+        String filename = thread.fOpening;
+        thread.fOpening = null;
 
         Long ret = event.getContent().getFieldValue(Long.class, fLayout.fieldSyscallRet());
         if (ret == null) {
@@ -338,11 +510,11 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         long time = event.getTimestamp().toNanos();
 
         if (ret >= 0) {
-            openFile(ssb, time, tid, ret, filename);
+            openFile(ssb, time, thread, ret, filename);
         } else if (filename != null) {
             // There was an error opening the file, put the return value in
             // this file's resource
-            int fileTidQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_RESOURCES, filename, String.valueOf(tid));
+            int fileTidQuark = thread.getResourceQuarks(ssb, filename).fQuark;
             ssb.updateOngoingState(ret, fileTidQuark);
             ssb.removeAttribute(time, fileTidQuark);
         }
@@ -374,9 +546,9 @@ public class IoStateProvider extends AbstractTmfStateProvider {
     /**
      * @param ssb
      * @param event
-     * @param tid
+     * @param thread
      */
-    private void netBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void netBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         if (event.getName().contains("connect")) { //$NON-NLS-1$
             // Connect a socket to some server
             Long fd = event.getContent().getFieldValue(Long.class, FIELD_DESCRIPTOR);
@@ -384,8 +556,8 @@ public class IoStateProvider extends AbstractTmfStateProvider {
                 // Invalid FD return
                 return;
             }
-            fOpening.put(tid, getV4Or6Address(event));
-            fConnecting.put(tid, fd);
+            thread.fOpening = getV4Or6Address(event);
+            thread.fConnecting = fd;
         }
 
     }
@@ -393,9 +565,9 @@ public class IoStateProvider extends AbstractTmfStateProvider {
     /**
      * @param ssb
      * @param event
-     * @param tid
+     * @param thread
      */
-    private void netEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void netEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         Long ret = event.getContent().getFieldValue(Long.class, fLayout.fieldSyscallRet());
         if (ret == null || ret < 0) {
             // Error or no info, return
@@ -403,24 +575,24 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         }
         if (event.getName().contains("socket")) { //$NON-NLS-1$
             // This is just a socket being opened, save the fd
-            openFile(ssb, event.getTimestamp().toNanos(), tid, ret, "Socket"); //$NON-NLS-1$
+            openFile(ssb, event.getTimestamp().toNanos(), thread, ret, "Socket"); //$NON-NLS-1$
         }
         if (event.getName().contains("connect")) { //$NON-NLS-1$
             // This is just a socket being opened, save the fd
-            Long fd = fConnecting.get(tid);
-            String serverAddr = fOpening.get(tid);
+            Long fd = thread.fConnecting;
+            String serverAddr = thread.fOpening;
             if (fd != null && serverAddr != null) {
-                openFile(ssb, event.getTimestamp().toNanos(), tid, fd, serverAddr);
+                openFile(ssb, event.getTimestamp().toNanos(), thread, fd, serverAddr);
             }
         }
         if (event.getName().contains("accept")) { //$NON-NLS-1$
             // A new socket has been created for direct communication
             String serverAddr = getV4Or6Address(event);
-            openFile(ssb, event.getTimestamp().toNanos(), tid, ret, serverAddr);
+            openFile(ssb, event.getTimestamp().toNanos(), thread, ret, serverAddr);
         }
     }
 
-    private void dupBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void dupBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         Long oldFd = event.getContent().getFieldValue(Long.class, FIELD_OLDFD);
         if (oldFd == null) {
             // Maybe it's the dup syscall with the fildes field
@@ -438,21 +610,21 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         if (oldFd == null) {
             return;
         }
-        int fdTblQuark = getFdTblQuarkFor(ssb, event.getTimestamp().toNanos(), tid);
-        int oldFdQuark = ssb.optQuarkRelative(fdTblQuark, String.valueOf(oldFd));
+        FdInfo oldFdInfo = getFdTableFor(ssb, event.getTimestamp().toNanos(), thread).optFd(ssb, oldFd);
         // Get the file to dup
         String filename = UNKNOWN_FILE;
-        if (oldFdQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
-            Object fileObj = ssb.queryOngoing(oldFdQuark);
+        if (oldFdInfo != null) {
+            Object fileObj = ssb.queryOngoing(oldFdInfo.fQuark);
             if (fileObj instanceof String) {
                 filename = (String) fileObj;
             }
         }
-        fOpening.put(tid, filename);
+        thread.fOpening = filename;
     }
 
-    private void dupEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
-        String filename = fOpening.remove(tid);
+    private void dupEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
+        String filename = thread.fOpening;
+        thread.fOpening = null;
         // ret is the new fd, whether for a dup, dup2 or dup3 call
         Long newFd = event.getContent().getFieldValue(Long.class, fLayout.fieldSyscallRet());
         if (newFd == null || newFd < 0) {
@@ -466,16 +638,16 @@ public class IoStateProvider extends AbstractTmfStateProvider {
 
         // Close the previous fd if required, then add the new file
         long time = event.getTimestamp().toNanos();
-        closeFile(ssb, time, tid, newFd);
-        openFile(ssb, time, tid, newFd, filename);
+        closeFile(ssb, time, thread, newFd);
+        openFile(ssb, time, thread, newFd, filename);
     }
 
     /**
      * @param ssb
      * @param event
-     * @param tid
+     * @param thread
      */
-    private void syncBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void syncBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         // TODO Support sync, there should be disk requests in there, or at
         // least something
     }
@@ -483,9 +655,9 @@ public class IoStateProvider extends AbstractTmfStateProvider {
     /**
      * @param ssb
      * @param event
-     * @param tid
+     * @param thread
      */
-    private void syncEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void syncEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         // TODO Support sync, there should be disk requests in there, or at
         // least something
     }
@@ -493,78 +665,79 @@ public class IoStateProvider extends AbstractTmfStateProvider {
     /**
      * @param ssb
      */
-    private void readBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void readBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         Long fd = (event.getContent().getFieldValue(Long.class, FIELD_DESCRIPTOR));
         Long len = (event.getContent().getFieldValue(Long.class, FIELD_LEN));
         if (fd == null) {
             return;
         }
-        startReadingFd(ssb, event.getTimestamp().toNanos(), tid, fd, len == null ? 0 : len);
+        startReadingFd(ssb, event.getTimestamp().toNanos(), thread, fd, len == null ? 0 : len);
     }
 
-    private void readEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void readEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         long time = event.getTimestamp().toNanos();
         Long count = (event.getContent().getFieldValue(Long.class, getLayout().fieldSyscallRet()));
-        readFromFd(ssb, time, tid, count == null ? 0L: count);
+        readFromFd(ssb, time, thread, count == null ? 0L: count);
     }
 
     /**
      * @param ssb
      */
-    private void writeBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void writeBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         Long fd = (event.getContent().getFieldValue(Long.class, FIELD_DESCRIPTOR));
         Long len = (event.getContent().getFieldValue(Long.class, FIELD_LEN));
         if (fd == null) {
             return;
         }
-        startWritingFd(ssb, event.getTimestamp().toNanos(), tid, fd, len == null ? 0 : len);
+        startWritingFd(ssb, event.getTimestamp().toNanos(), thread, fd, len == null ? 0 : len);
     }
 
-    private void writeEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void writeEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         long time = event.getTimestamp().toNanos();
         Long count = (event.getContent().getFieldValue(Long.class, getLayout().fieldSyscallRet()));
-        writeToFd(ssb, time, tid, count == null ? 0L: count);
+        writeToFd(ssb, time, thread, count == null ? 0L: count);
     }
 
     /**
      * @param ssb
      */
-    private void readWriteBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void readWriteBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         Long fdIn = event.getContent().getFieldValue(Long.class, FIELD_FDIN);
         Long fdOut = event.getContent().getFieldValue(Long.class, FIELD_FDOUT);
         if (fdIn == null || fdOut == null) {
             // We don't know about one of the files
             return;
         }
-        startReadingFd(ssb, event.getTimestamp().toNanos(), tid, fdIn, 0L);
-        startWritingFd(ssb, event.getTimestamp().toNanos(), tid, fdOut, 0L);
+        startReadingFd(ssb, event.getTimestamp().toNanos(), thread, fdIn, 0L);
+        startWritingFd(ssb, event.getTimestamp().toNanos(), thread, fdOut, 0L);
         // TODO add support of sendfile
     }
 
-    private void readWriteEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void readWriteEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         long time = event.getTimestamp().toNanos();
         Long count = (event.getContent().getFieldValue(Long.class, getLayout().fieldSyscallRet()));
-        readFromFd(ssb, time, tid, count == null ? 0L: count);
-        writeToFd(ssb, time, tid, count == null ? 0L: count);
+        readFromFd(ssb, time, thread, count == null ? 0L: count);
+        writeToFd(ssb, time, thread, count == null ? 0L: count);
     }
 
-    private void closeBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void closeBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         Long fd = (event.getContent().getFieldValue(Long.class, FIELD_DESCRIPTOR));
-        fd = isValidFileDescriptor(ssb, event.getTimestamp().toNanos(), tid, fd);
+        fd = isValidFileDescriptor(ssb, event.getTimestamp().toNanos(), thread, fd);
         if (fd == null) {
             return;
         }
-        fClosing.put(tid, fd);
+        thread.fClosing = fd;
     }
 
-    private void closeEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void closeEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         try {
             Long ret = (event.getContent().getFieldValue(Long.class, getLayout().fieldSyscallRet()));
-            Long fd = fClosing.remove(tid);
+            Long fd = thread.fClosing;
+            thread.fClosing = null;
             if (ret == null || fd == null || ret < 0) {
                 return;
             }
-            closeFile(ssb, event.getTimestamp().toNanos(), tid, fd);
+            closeFile(ssb, event.getTimestamp().toNanos(), thread, fd);
         } catch (StateValueTypeException e) {
             Activator.getInstance().logError(e.getMessage(), e);
         }
@@ -573,7 +746,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
     /**
      * @param ssb
      */
-    private void cloneBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void cloneBegin(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         // The clone system call has a flag which tells whether to share the
         // file table with the parent or not
         Long flags = event.getContent().getFieldValue(Long.class, FIELD_CLONE_FLAGS);
@@ -585,43 +758,38 @@ public class IoStateProvider extends AbstractTmfStateProvider {
          * be shared with the child, so we put true, otherwise false will copy
          * the file descriptor table
          */
-        fCloning.put(tid, (flags & CLONE_FILES_FLAG) == 0 ? false : true);
+        thread.fCloning = (flags & CLONE_FILES_FLAG) == 0 ? false : true;
     }
 
     /**
      * @param ssb
      * @param event
-     * @param tid
+     * @param thread
      */
-    private void cloneEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void cloneEnd(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         try {
             Long ret = (event.getContent().getFieldValue(Long.class, getLayout().fieldSyscallRet()));
-            Boolean cloneFiles = fCloning.remove(tid);
+            Boolean cloneFiles = thread.fCloning;
+            thread.fCloning = null;
             if (ret == null || cloneFiles == null || ret <= 0) {
                 return;
             }
             long time = event.getTimestamp().toNanos();
-            int parentFdTblQuark = getFdTblQuarkFor(ssb, time, tid);
+            FdTable parentFdTbl = getFdTableFor(ssb, time, thread);
             // ret is the thread ID of the child
+            ThreadInfo child = getThread(ret.intValue());
             if (cloneFiles) {
                 // Simply point the fdtbl of the child to that of the parent
-                String fdTblId = ssb.getAttributeName(parentFdTblQuark);
-                try {
-                    int fdTblNb = Integer.parseInt(fdTblId);
-                    int tidFdTblQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(ret), ATTRIBUTE_FDTBL);
-                    ssb.modifyAttribute(time, fdTblNb, tidFdTblQuark);
-                } catch (NumberFormatException e) {
-                    // wrong fd table
-                }
+                ssb.modifyAttribute(time, parentFdTbl.fNumber, child.getFdTblQuark(ssb));
                 return;
             }
             // Otherwise, copy all the files from the parent to the child
-            int childFdTblQuark = getFdTblQuarkFor(ssb, time, ret.intValue());
-            for (Integer fdQuark : ssb.getSubAttributes(parentFdTblQuark, false)) {
+            FdTable childFdTbl = getFdTableFor(ssb, time, child);
+            for (Integer fdQuark : ssb.getSubAttributes(parentFdTbl.fQuark, false)) {
                 Object currentFile = ssb.queryOngoing(fdQuark);
                 if (currentFile != null) {
                     // Copy this file to the child fd table
-                    int childFdQuark = ssb.getQuarkRelativeAndAdd(childFdTblQuark, ssb.getAttributeName(fdQuark));
+                    int childFdQuark = ssb.getQuarkRelativeAndAdd(childFdTbl.fQuark, ssb.getAttributeName(fdQuark));
                     ssb.modifyAttribute(time, currentFile, childFdQuark);
                 }
             }
@@ -631,9 +799,9 @@ public class IoStateProvider extends AbstractTmfStateProvider {
     }
 
     /**
-     * @param tid
+     * @param thread
      */
-    private void statedumpHandle(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void statedumpHandle(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         Long pid = (event.getContent().getFieldValue(Long.class, FIELD_PID));
         Long fileTblAddress = event.getContent().getFieldValue(Long.class, FIELD_STATEDUMP_FILE_TABLE);
         Long fd = (event.getContent().getFieldValue(Long.class, FIELD_DESCRIPTOR));
@@ -644,8 +812,8 @@ public class IoStateProvider extends AbstractTmfStateProvider {
 
         // Pre 2.12 have the pid field not null, simply open the file for this thread
         if (pid != null) {
-            openFile(ssb, -1, pid.intValue(), fd, filename);
-            int fileTidQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_RESOURCES, filename, String.valueOf(tid));
+            openFile(ssb, -1, getThread(pid.intValue()), fd, filename);
+            int fileTidQuark = thread.getResourceQuarks(ssb, filename).fQuark;
             // successful open, reset fd to null for before, and update the
             // fd at current time
             ssb.updateOngoingState(fd, fileTidQuark);
@@ -653,8 +821,8 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         }
 
         // LTTng 2.12+ have the file table address field, add this file to that file table
-        Integer tblAddressQuark = fFdTblAddresses.get(fileTblAddress);
-        if (tblAddressQuark == null) {
+        FdTable fdTbl = fFdTblAddresses.get(fileTblAddress);
+        if (fdTbl == null) {
             // No process statedump has advertised this file table address, we
             // wouldn't know which process it's for, log an error and return
             Activator.getInstance().logWarning("Statedump file descriptor has an address field which has not been declared. Make sure to enable the lttng_statedump_process_state event, or maybe there are lost events?"); //$NON-NLS-1$
@@ -662,7 +830,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         }
 
         // Add this file descriptor
-        int fdQuark = ssb.getQuarkRelativeAndAdd(tblAddressQuark, String.valueOf(fd));
+        int fdQuark = fdTbl.getFd(ssb, fd).fQuark;
         ssb.updateOngoingState(filename, fdQuark);
 
         // TODO Handle the RES section when the statedump has the file table
@@ -671,9 +839,9 @@ public class IoStateProvider extends AbstractTmfStateProvider {
     }
 
     /**
-     * @param tid
+     * @param thread
      */
-    private void statedumpProcessHandle(ITmfStateSystemBuilder ssb, ITmfEvent event, Integer tid) {
+    private void statedumpProcessHandle(ITmfStateSystemBuilder ssb, ITmfEvent event, ThreadInfo thread) {
         // As of LTTng 2.12, a field file_table_address has been added and the
         // fd statedump uses this field
         Long fileTblAddress = event.getContent().getFieldValue(Long.class, FIELD_STATEDUMP_FILE_TABLE);
@@ -682,33 +850,28 @@ public class IoStateProvider extends AbstractTmfStateProvider {
             // Older version of lttng or no tid, ignore
             return;
         }
-        Integer fdTblQuark = fFdTblAddresses.get(fileTblAddress);
-        if (fdTblQuark != null) {
+        ThreadInfo procThread = getThread(procTid.intValue());
+        FdTable fdTbl = fFdTblAddresses.get(fileTblAddress);
+        if (fdTbl != null) {
             // This file table already exists from another process, just add the link to the current statedumped thread
-            String fdTblId = ssb.getAttributeName(fdTblQuark);
-            try {
-                int fdTblInt = Integer.parseInt(fdTblId);
-                int tidFdTblQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(procTid), ATTRIBUTE_FDTBL);
-                Object currentTblId = ssb.queryOngoing(tidFdTblQuark);
-                if (currentTblId == null) {
-                    ssb.updateOngoingState(fdTblInt, tidFdTblQuark);
-                } else {
-                    // FIXME: There can be running file requests for the thread that
-                    // should be merged with the new file table
-                    ssb.modifyAttribute(event.getTimestamp().toNanos(), fdTblInt, tidFdTblQuark);
-                }
-            } catch (NumberFormatException e) {
-                Activator.getInstance().logError("The file table ID is not an integer: " + fdTblId); //$NON-NLS-1$
+            int tidFdTblQuark = procThread.getFdTblQuark(ssb);
+            Object currentTblId = ssb.queryOngoing(tidFdTblQuark);
+            if (currentTblId == null) {
+                ssb.updateOngoingState(fdTbl.fNumber, tidFdTblQuark);
+            } else {
+                // FIXME: There can be running file requests for the thread that
+                // should be merged with the new file table
+                ssb.modifyAttribute(event.getTimestamp().toNanos(), fdTbl.fNumber, tidFdTblQuark);
             }
             return;
         }
         int fdTblId = fFdCount.getAndIncrement();
-        fdTblQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_FDTBL, String.valueOf(fdTblId));
-        // Save the table address quark so file descriptor statedump can use it
-        fFdTblAddresses.put(fileTblAddress, fdTblQuark);
+        fdTbl = getFdTable(ssb, fdTblId);
+        // Save the table so file descriptor statedump can use it
+        fFdTblAddresses.put(fileTblAddress, fdTbl);
 
         // Add a link to the file table number in the statedumped process
-        int tidFdTblQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(procTid), ATTRIBUTE_FDTBL);
+        int tidFdTblQuark = procThread.getFdTblQuark(ssb);
         Object currentTblId = ssb.queryOngoing(tidFdTblQuark);
         if (currentTblId == null) {
             ssb.updateOngoingState(fdTblId, tidFdTblQuark);
@@ -720,24 +883,24 @@ public class IoStateProvider extends AbstractTmfStateProvider {
 
     }
 
-    private void closeFile(ITmfStateSystemBuilder ssb, long time, Integer tid, Long fd) {
-        int fdTblQuark = getFdTblQuarkFor(ssb, time, tid);
-        String filename = getFilename(ssb, fd, fdTblQuark);
-        int fdQuark = ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd));
+    private void closeFile(ITmfStateSystemBuilder ssb, long time, ThreadInfo thread, Long fd) {
+        FdTable fdTbl = getFdTableFor(ssb, time, thread);
+        String filename = getFilename(ssb, fd, fdTbl);
+        int fdQuark = fdTbl.getFd(ssb, fd).fQuark;
         ssb.removeAttribute(time, fdQuark);
 
         // Close the file for this thread in the Resources section
         if (filename != null) {
-            int fileTidQuark = ssb.optQuarkAbsolute(ATTRIBUTE_RESOURCES, filename, String.valueOf(tid));
-            if (fileTidQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
-                ssb.removeAttribute(time, fileTidQuark);
+            ResourceQuarks fileTidQuarks = thread.optResourceQuarks(ssb, filename);
+            if (fileTidQuarks != null) {
+                ssb.removeAttribute(time, fileTidQuarks.fQuark);
             }
         }
     }
 
-    private void openFile(ITmfStateSystemBuilder ssb, long time, Integer tid, Long fd, @Nullable String filename) {
-        int fdTblQuark = getFdTblQuarkFor(ssb, time, tid);
-        int fdQuark = ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd));
+    private void openFile(ITmfStateSystemBuilder ssb, long time, ThreadInfo thread, Long fd, @Nullable String filename) {
+        FdTable fdTbl = getFdTableFor(ssb, time, thread);
+        int fdQuark = fdTbl.getFd(ssb, fd).fQuark;
         if (time < 0) {
             ssb.updateOngoingState(filename, fdQuark);
         } else {
@@ -746,7 +909,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
 
         // Add the file to the resources section, whether there was an error or not
         if (filename != null) {
-            int fileTidQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_RESOURCES, filename, String.valueOf(tid));
+            int fileTidQuark = thread.getResourceQuarks(ssb, filename).fQuark;
             // successful open, reset fd to null for before, and update the
             // fd at current time
             ssb.updateOngoingState((Object) null, fileTidQuark);
@@ -754,63 +917,79 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         }
     }
 
-    private int getFdTblQuarkFor(ITmfStateSystemBuilder ssb, long time, Integer tid) {
-        // The fdtbl quark under the tid contains the quark of the actual file descriptor table
-        int tidFdQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(tid), ATTRIBUTE_FDTBL);
-        Object fdTblQuarkObj = ssb.queryOngoing(tidFdQuark);
-        if (fdTblQuarkObj instanceof Integer) {
-            return ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_FDTBL, String.valueOf(fdTblQuarkObj));
+    private FdTable getFdTableFor(ITmfStateSystemBuilder ssb, long time, ThreadInfo thread) {
+        // The fdtbl quark under the tid contains the number of the actual file descriptor table
+        int tidFdQuark = thread.getFdTblQuark(ssb);
+        Object fdTblNumber = ssb.queryOngoing(tidFdQuark);
+        if (fdTblNumber instanceof Integer) {
+            return getFdTable(ssb, (Integer) fdTblNumber);
         }
         // The file descriptor table does not exist yet, add it
-        int fdTblNumber = fFdCount.getAndIncrement();
-        int fdTblQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_FDTBL, String.valueOf(fdTblNumber));
-        ssb.modifyAttribute(time, fdTblNumber, tidFdQuark);
-        return fdTblQuark;
+        int newFdTblNumber = fFdCount.getAndIncrement();
+        FdTable fdTbl = getFdTable(ssb, newFdTblNumber);
+        ssb.modifyAttribute(time, newFdTblNumber, tidFdQuark);
+        return fdTbl;
+    }
+
+    private FdTable getFdTable(ITmfStateSystemBuilder ssb, Integer fdTblNumber) {
+        FdTable fdTbl = fFdTables.get(fdTblNumber);
+        if (fdTbl == null) {
+            fdTbl = new FdTable(fdTblNumber, ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_FDTBL, String.valueOf(fdTblNumber)));
+            fFdTables.put(fdTblNumber, fdTbl);
+        }
+        return fdTbl;
     }
 
-    private void startReadingFd(ITmfStateSystemBuilder ssb, long time, Integer tid, Long fd, Long count) {
-        startRwFd(ssb, time, tid, fd, count, ATTRIBUTE_READ, fToRead);
+    private void startReadingFd(ITmfStateSystemBuilder ssb, long time, ThreadInfo thread, Long fd, Long count) {
+        FdRequestWithPools request = startRwFd(ssb, time, thread, fd, count, ATTRIBUTE_READ);
+        if (request != null) {
+            thread.fToRead = request;
+        }
     }
 
-    private void startWritingFd(ITmfStateSystemBuilder ssb, long time, Integer tid, Long fd, Long count) {
-        startRwFd(ssb, time, tid, fd, count, ATTRIBUTE_WRITE, fToWrite);
+    private void startWritingFd(ITmfStateSystemBuilder ssb, long time, ThreadInfo thread, Long fd, Long count) {
+        FdRequestWithPools request = startRwFd(ssb, time, thread, fd, count, ATTRIBUTE_WRITE);
+        if (request != null) {
+            thread.fToWrite = request;
+        }
     }
 
-    private void writeToFd(ITmfStateSystemBuilder ssb, long time, Integer tid, long count) {
-        FdRequestWithPools fd = fToWrite.remove(tid);
+    private void writeToFd(ITmfStateSystemBuilder ssb, long time, ThreadInfo thread, long count) {
+        FdRequestWithPools fd = thread.fToWrite;
+        thread.fToWrite = null;
         // No write was done
         if (fd == null) {
             return;
         }
-        rwFromFd(ssb, time, tid, fd, count, ATTRIBUTE_WRITE);
+        rwFromFd(ssb, time, thread, fd, count, ATTRIBUTE_WRITE);
     }
 
-    private void readFromFd(ITmfStateSystemBuilder ssb, long time, Integer tid, long count) {
-        FdRequestWithPools fd = fToRead.remove(tid);
+    private void readFromFd(ITmfStateSystemBuilder ssb, long time, ThreadInfo thread, long count) {
+        FdRequestWithPools fd = thread.fToRead;
+        thread.fToRead = null;
         // No read was done
         if (fd == null) {
             return;
         }
-        rwFromFd(ssb, time, tid, fd, count, ATTRIBUTE_READ);
+        rwFromFd(ssb, time, thread, fd, count, ATTRIBUTE_READ);
     }
 
-    private void rwFromFd(ITmfStateSystemBuilder ssb, long time, Integer tid, FdRequestWithPools fd, Long count, String attribute) {
-        Long validFd = isValidFileDescriptor(ssb, time, tid, fd.fFd);
+    private void rwFromFd(ITmfStateSystemBuilder ssb, long time, ThreadInfo thread, FdRequestWithPools fd, long count, String attribute) {
+        Long validFd = isValidFileDescriptor(ssb, time, thread, fd.fFd);
 
         // Complete the attribute for the fd pool and recycle it
         ssb.updateOngoingState(count > 0 ? count : (Object) null, fd.fFdPoolQuark);
         fd.fFdPool.recycle(fd.fFdPoolQuark, time);
         // Update the current request for the thread
-        int currentTidQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(tid), attribute);
-        int currentDataQuark = ssb.getQuarkRelativeAndAdd(currentTidQuark, ATTRIBUTE_CURRENT);
-        ssb.updateOngoingState(count > 0 ? count : (Object) null, currentDataQuark);
-        ssb.removeAttribute(time, currentDataQuark);
+        RequestQuarks requestQuarks = thread.getRequestQuarks(ssb, attribute);
+        ssb.updateOngoingState(count > 0 ? count : (Object) null, requestQuarks.fCurrentQuark);
+        ssb.removeAttribute(time, requestQuarks.fCurrentQuark);
 
         // End this operation in the RESOURCES tree
-        int fdTblQuark = getFdTblQuarkFor(ssb, time, tid);
-        String filename = getFilename(ssb, fd.fFd, fdTblQuark);
+        FdTable fdTbl = getFdTableFor(ssb, time, thread);
+        String filename = getFilename(ssb, fd.fFd, fdTbl);
         if (filename != null) {
-            int resQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_RESOURCES, filename, String.valueOf(tid), ATTRIBUTE_OPERATION);
+            int resQuark = thread.getResourceQuarks(ssb, filename).getOperationQuark(ssb);
             if (count <= 0) {
                 // The operation did not succeed
                 ssb.updateOngoingState((Object) null, resQuark);
@@ -819,7 +998,7 @@ public class IoStateProvider extends AbstractTmfStateProvider {
             }
         }
 
-        int currentFdQuark = ssb.getQuarkRelativeAndAdd(currentTidQuark, ATTRIBUTE_FD);
+        int currentFdQuark = requestQuarks.fFdQuark;
         if (count <= 0) {
             // Return if the count < 0
             ssb.updateOngoingState((Object) null, currentFdQuark);
@@ -831,52 +1010,49 @@ public class IoStateProvider extends AbstractTmfStateProvider {
         if (validFd == null) {
             // The file is not opened in the state system, open it for this
             // thread
-            openFile(ssb, time, tid, fd.fFd, null);
+            openFile(ssb, time, thread, fd.fFd, null);
         }
         try {
             // Add the io specific to this file
-            int fdQuark = ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd.fFd), attribute);
+            int fdQuark = fdTbl.getFd(ssb, fd.fFd).getPool(ssb, attribute).fQuark;
             StateSystemBuilderUtils.incrementAttributeLong(ssb, time, fdQuark, count);
-            StateSystemBuilderUtils.incrementAttributeLong(ssb, time, currentTidQuark, count);
+            StateSystemBuilderUtils.incrementAttributeLong(ssb, time, requestQuarks.fQuark, count);
         } catch (StateValueTypeException e) {
             Activator.getInstance().logError(e.getMessage(), e);
         }
     }
 
-    private void startRwFd(ITmfStateSystemBuilder ssb, long time, Integer tid, Long fd, Long count, String attribute, Map<Integer, @Nullable FdRequestWithPools> tidMap) {
+    private @Nullable FdRequestWithPools startRwFd(ITmfStateSystemBuilder ssb, long time, ThreadInfo thread, Long fd, Long count, String attribute) {
         try {
             // Many threads can share the same fd table, so there can be multiple io requests on the same fd
             // Add the io request under the proper fd attribute
-            int fdTblQuark = getFdTblQuarkFor(ssb, time, tid);
-            int fdQuark = ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd), attribute);
-            TmfAttributePool fdPool = fPools.computeIfAbsent(fdQuark, q -> new TmfAttributePool(ssb, q));
+            FdTable fdTbl = getFdTableFor(ssb, time, thread);
+            TmfAttributePool fdPool = fdTbl.getFd(ssb, fd).getPool(ssb, attribute).fPool;
             int availableFdQuark = fdPool.getAvailable();
             ssb.modifyAttribute(time, count, availableFdQuark);
 
             // Add the current io request for this thread
-            int currentTidQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_TID, String.valueOf(tid), attribute);
-            int currentDataQuark = ssb.getQuarkRelativeAndAdd(currentTidQuark, ATTRIBUTE_CURRENT);
-            ssb.modifyAttribute(time, count, currentDataQuark);
-            int currentFdQuark = ssb.getQuarkRelativeAndAdd(currentTidQuark, ATTRIBUTE_FD);
-            ssb.modifyAttribute(time, fd, currentFdQuark);
+            RequestQuarks requestQuarks = thread.getRequestQuarks(ssb, attribute);
+            ssb.modifyAttribute(time, count, requestQuarks.fCurrentQuark);
+            ssb.modifyAttribute(time, fd, requestQuarks.fFdQuark);
 
             // Record this operation in the RESOURCES tree
-            String filename = getFilename(ssb, fd, fdTblQuark);
+            String filename = getFilename(ssb, fd, fdTbl);
             if (filename != null) {
-                int resQuark = ssb.getQuarkAbsoluteAndAdd(ATTRIBUTE_RESOURCES, filename, String.valueOf(tid), ATTRIBUTE_OPERATION);
+                int resQuark = thread.getResourceQuarks(ssb, filename).getOperationQuark(ssb);
                 ssb.modifyAttribute(time, attribute, resQuark);
             }
 
-            tidMap.put(tid, new FdRequestWithPools(fd, fdPool, availableFdQuark));
+            return new FdRequestWithPools(fd, fdPool, availableFdQuark);
 
         } catch (StateValueTypeException e) {
             Activator.getInstance().logError(e.getMessage(), e);
         }
+        return null;
     }
 
-    private @Nullable
-    static String getFilename(ITmfStateSystemBuilder ssb, long fd, Integer fdTblQuark) {
-        int fileQuark = ssb.getQuarkRelativeAndAdd(fdTblQuark, String.valueOf(fd));
+    private static @Nullable String getFilename(ITmfStateSystemBuilder ssb, Long fd, FdTable fdTbl) {
+        int fileQuark = fdTbl.getFd(ssb, fd).fQuark;
         Object currentFileName = ssb.queryOngoing(fileQuark);
         if (!(currentFileName instanceof String)) {
             return null;
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderQueryExecutor;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link DataProviderQueryExecutor} class
+ */
+public class DataProviderQueryExecutorTest {
+
+    private static final String PROPERTY_POOL_SIZE = "traceserver.queryThreads";
+    private static final String PROPERTY_QUEUE_SIZE = "traceserver.queryQueueSize";
+    private static final UUID EXP_UUID = UUID.randomUUID();
+    private static final String OUTPUT_ID = "output.id";
+    private static final String QUERY_TYPE = "states";
+    private static final String CLIENT_ID = "client";
+    private static final long TIMEOUT = 10;
+
+    private final CountDownLatch fRelease = new CountDownLatch(1);
+
+    /**
+     * Use an executor with one worker and one queued query
+     */
+    @Before
+    public void setUp() {
+        DataProviderQueryExecutor.dispose();
+        System.setProperty(PROPERTY_POOL_SIZE, "1");
+        System.setProperty(PROPERTY_QUEUE_SIZE, "1");
+    }
+
+    /**
+     * Release the blocked queries and restore the default executor
+     */
+    @After
+    public void tearDown() {
+        fRelease.countDown();
+        DataProviderQueryExecutor.dispose();
+        System.clearProperty(PROPERTY_POOL_SIZE);
+        System.clearProperty(PROPERTY_QUEUE_SIZE);
+    }
+
+    /**
+     * A query that signals when it starts, then waits until it is cancelled or
+     * released
+     */
+    private Function<IProgressMonitor, Response> blockingQuery(CountDownLatch started) {
+        return monitor -> {
+            started.countDown();
+            try {
+                while (!monitor.isCanceled() && !fRelease.await(10, TimeUnit.MILLISECONDS)) {
+                    // Wait
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Response.ok(monitor.isCanceled() ? ITmfResponse.Status.CANCELLED : ITmfResponse.Status.COMPLETED).build();
+        };
+    }
+
+    private static Response get(CompletableFuture<Response> future) throws Exception {
+        return future.get(TIMEOUT, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Test that a query of the same client, experiment, output and kind
+     * cancels the running query, and that the other queries do not
+     *
+     * @throws Exception
+     *             If the queries do not complete
+     */
+    @Test
+    public void testSupersede() throws Exception {
+        System.setProperty(PROPERTY_POOL_SIZE, "2");
+        System.setProperty(PROPERTY_QUEUE_SIZE, "4");
+        DataProviderQueryExecutor executor = DataProviderQueryExecutor.getInstance();
+        CountDownLatch started = new CountDownLatch(2);
+        IProgressMonitor first = new NullProgressMonitor();
+        IProgressMonitor otherClient = new NullProgressMonitor();
+        CompletableFuture<Response> firstResult = executor.submit(first, EXP_UUID, OUTPUT_ID, QUERY_TYPE, CLIENT_ID, blockingQuery(started));
+        CompletableFuture<Response> otherResult = executor.submit(otherClient, EXP_UUID, OUTPUT_ID, QUERY_TYPE, "other", blockingQuery(started));
+        assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+
+        // Another kind of query of the same client does not supersede it
+        IProgressMonitor arrows = new NullProgressMonitor();
+        executor.submit(arrows, EXP_UUID, OUTPUT_ID, "arrows", CLIENT_ID, monitor -> Response.ok().build());
+        assertFalse(first.isCanceled());
+
+        IProgressMonitor second = new NullProgressMonitor();
+        CompletableFuture<Response> secondResult = executor.submit(second, EXP_UUID, OUTPUT_ID, QUERY_TYPE, CLIENT_ID, monitor -> Response.ok(ITmfResponse.Status.COMPLETED).build());
+        assertTrue(first.isCanceled());
+        assertEquals(ITmfResponse.Status.CANCELLED, get(firstResult).getEntity());
+        assertEquals(ITmfResponse.Status.COMPLETED, get(secondResult).getEntity());
+        assertFalse(second.isCanceled());
+
+        // The query of the other client is not superseded
+        assertFalse(otherClient.isCanceled());
+        fRelease.countDown();
+        assertEquals(ITmfResponse.Status.COMPLETED, get(otherResult).getEntity());
+    }
+
+    /**
+     * Test that queries without a client ID are never superseded
+     *
+     * @throws Exception
+     *             If the queries do not complete
+     */
+    @Test
+    public void testNoClientId() throws Exception {
+        DataProviderQueryExecutor executor = DataProviderQueryExecutor.getInstance();
+        CountDownLatch started = new CountDownLatch(1);
+        IProgressMonitor first = new NullProgressMonitor();
+        CompletableFuture<Response> firstResult = executor.submit(first, EXP_UUID, OUTPUT_ID, QUERY_TYPE, null, blockingQuery(started));
+        assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+        executor.submit(new NullProgressMonitor(), EXP_UUID, OUTPUT_ID, QUERY_TYPE, null, monitor -> Response.ok().build());
+        assertFalse(first.isCanceled());
+        fRelease.countDown();
+        assertEquals(ITmfResponse.Status.COMPLETED, get(firstResult).getEntity());
+    }
+
+    /**
+     * Test that a query cancelled before it runs is not executed, and that a
+     * running query sees the cancellation of its monitor
+     *
+     * @throws Exception
+     *             If the queries do not complete
+     */
+    @Test
+    public void testCancel() throws Exception {
+        DataProviderQueryExecutor executor = DataProviderQueryExecutor.getInstance();
+        CountDownLatch started = new CountDownLatch(1);
+        IProgressMonitor running = new NullProgressMonitor();
+        CompletableFuture<Response> runningResult = executor.submit(running, EXP_UUID, OUTPUT_ID, QUERY_TYPE, null, blockingQuery(started));
+        assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+
+        // Queued behind the running query, then cancelled
+        IProgressMonitor queued = new NullProgressMonitor();
+        CompletableFuture<Response> queuedResult = executor.submit(queued, EXP_UUID, OUTPUT_ID, QUERY_TYPE, null, monitor -> {
+            throw new IllegalStateException("A cancelled query must not run");
+        });
+        queued.setCanceled(true);
+        running.setCanceled(true);
+
+        assertEquals(ITmfResponse.Status.CANCELLED, get(runningResult).getEntity());
+        Object entity = get(queuedResult).getEntity();
+        assertTrue(entity instanceof TmfModelResponse);
+        assertEquals(ITmfResponse.Status.CANCELLED, ((TmfModelResponse<?>) entity).getStatus());
+    }
+
+    /**
+     * Test that a query is rejected with 503 when the workers are busy and the
+     * queue is full
+     *
+     * @throws Exception
+     *             If the queries do not complete
+     */
+    @Test
+    public void testPoolFull() throws Exception {
+        DataProviderQueryExecutor executor = DataProviderQueryExecutor.getInstance();
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Response> runningResult = executor.submit(new NullProgressMonitor(), EXP_UUID, OUTPUT_ID, QUERY_TYPE, null, blockingQuery(started));
+        assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+        CompletableFuture<Response> queuedResult = executor.submit(new NullProgressMonitor(), EXP_UUID, OUTPUT_ID, QUERY_TYPE, null, monitor -> Response.ok().build());
+
+        CompletableFuture<Response> rejected = executor.submit(new NullProgressMonitor(), EXP_UUID, OUTPUT_ID, QUERY_TYPE, CLIENT_ID, monitor -> Response.ok().build());
+        assertTrue(rejected.isDone());
+        assertEquals(Status.SERVICE_UNAVAILABLE.getStatusCode(), get(rejected).getStatus());
+
+        // The pool accepts queries again once the queries complete
+        fRelease.countDown();
+        get(runningResult);
+        assertEquals(Status.OK.getStatusCode(), get(queuedResult).getStatus());
+        CompletableFuture<Response> accepted = executor.submit(new NullProgressMonitor(), EXP_UUID, OUTPUT_ID, QUERY_TYPE, CLIENT_ID, monitor -> Response.ok().build());
+        assertEquals(Status.OK.getStatusCode(), get(accepted).getStatus());
+    }
+}
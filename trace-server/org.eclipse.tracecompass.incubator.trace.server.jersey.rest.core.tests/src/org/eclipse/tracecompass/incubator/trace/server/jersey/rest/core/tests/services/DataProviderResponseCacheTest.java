@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderResponseCache;
+import org.eclipse.tracecompass.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test the {@link DataProviderResponseCache} class
+ */
+public class DataProviderResponseCacheTest {
+
+    private static final UUID EXP_UUID = UUID.randomUUID();
+    private static final String OUTPUT_ID = "output.id";
+    private static final String QUERY_TYPE = "states";
+    private static final String REQUESTED_TIMERANGE = "requested_timerange";
+    private static final String REQUESTED_ITEMS = "requested_items";
+    private static final String START = "start";
+    private static final String END = "end";
+
+    private final AtomicInteger fQueryCount = new AtomicInteger();
+
+    private TmfModelResponse<List<String>> query(ITmfResponse.Status status) {
+        fQueryCount.incrementAndGet();
+        return new TmfModelResponse<>(Collections.singletonList("model"), status, CommonStatusMessage.COMPLETED);
+    }
+
+    /**
+     * Test that identical queries are served from the cache
+     */
+    @Test
+    public void testHitAndMiss() {
+        DataProviderResponseCache cache = new DataProviderResponseCache(1);
+        Map<String, Object> params = ImmutableMap.of(REQUESTED_TIMERANGE, ImmutableMap.of(START, 0, END, 100), REQUESTED_ITEMS, Arrays.asList(1, 2));
+        TmfModelResponse<List<String>> first = cache.get(EXP_UUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.COMPLETED));
+        TmfModelResponse<List<String>> second = cache.get(EXP_UUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.COMPLETED));
+        assertSame(first, second);
+        assertEquals(1, fQueryCount.get());
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(1, cache.getStats().missCount());
+
+        // Another output or kind of query is not a hit
+        cache.get(EXP_UUID, "other.output.id", QUERY_TYPE, params, () -> query(ITmfResponse.Status.COMPLETED));
+        cache.get(EXP_UUID, OUTPUT_ID, "xy", params, () -> query(ITmfResponse.Status.COMPLETED));
+        assertEquals(3, fQueryCount.get());
+        assertEquals(3, cache.size());
+    }
+
+    /**
+     * Test that equivalent query parameters produce the same key
+     */
+    @Test
+    public void testNormalizedParameters() {
+        DataProviderResponseCache cache = new DataProviderResponseCache(1);
+        Map<String, Object> params = ImmutableMap.of(REQUESTED_TIMERANGE, ImmutableMap.of(START, 0, END, 100), REQUESTED_ITEMS, Arrays.asList(1, 2));
+        Map<String, Object> sameParams = ImmutableMap.of(REQUESTED_ITEMS, Arrays.asList(1L, 2L), REQUESTED_TIMERANGE, ImmutableMap.of(END, 100L, START, 0L));
+        cache.get(EXP_UUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.COMPLETED));
+        cache.get(EXP_UUID, OUTPUT_ID, QUERY_TYPE, sameParams, () -> query(ITmfResponse.Status.COMPLETED));
+        assertEquals(1, fQueryCount.get());
+    }
+
+    /**
+     * Test that only completed responses are cached
+     */
+    @Test
+    public void testRunningNotCached() {
+        DataProviderResponseCache cache = new DataProviderResponseCache(1);
+        Map<String, Object> params = ImmutableMap.of(REQUESTED_ITEMS, Arrays.asList(1, 2));
+        cache.get(EXP_UUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.RUNNING));
+        cache.get(EXP_UUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.CANCELLED));
+        cache.get(EXP_UUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.COMPLETED));
+        assertEquals(3, fQueryCount.get());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Test the invalidation of an experiment's responses
+     */
+    @Test
+    public void testInvalidate() {
+        DataProviderResponseCache cache = new DataProviderResponseCache(1);
+        UUID otherUUID = UUID.randomUUID();
+        Map<String, Object> params = ImmutableMap.of(REQUESTED_ITEMS, Arrays.asList(1, 2));
+        cache.get(EXP_UUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.COMPLETED));
+        cache.get(otherUUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.COMPLETED));
+        assertEquals(2, cache.size());
+
+        cache.invalidate(EXP_UUID);
+        assertEquals(1, cache.size());
+        cache.get(otherUUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.COMPLETED));
+        assertEquals(2, fQueryCount.get());
+        cache.get(EXP_UUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.COMPLETED));
+        assertEquals(3, fQueryCount.get());
+    }
+
+    /**
+     * Test that a cache of size 0 is disabled
+     */
+    @Test
+    public void testDisabled() {
+        DataProviderResponseCache cache = new DataProviderResponseCache(0);
+        Map<String, Object> params = ImmutableMap.of(REQUESTED_ITEMS, Arrays.asList(1, 2));
+        cache.get(EXP_UUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.COMPLETED));
+        cache.get(EXP_UUID, OUTPUT_ID, QUERY_TYPE, params, () -> query(ITmfResponse.Status.COMPLETED));
+        assertEquals(2, fQueryCount.get());
+        assertEquals(0, cache.size());
+    }
+}
@@ -16,17 +16,32 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.BatchQueryParameters;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.BatchQueryParameters.BatchRequest;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderQueryExecutor;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants;
 import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
 import org.eclipse.tracecompass.incubator.tsp.client.core.ApiException;
 import org.eclipse.tracecompass.incubator.tsp.client.core.model.DataProvider;
 import org.eclipse.tracecompass.incubator.tsp.client.core.model.Experiment;
 import org.eclipse.tracecompass.incubator.tsp.client.core.model.MarkerSet;
 import org.eclipse.tracecompass.incubator.tsp.client.core.model.MarkerSetsResponse;
+import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
 import org.junit.Test;
 
+import com.fasterxml.jackson.databind.JsonNode;
+
 /**
  * Test the {@link DataProviderService} with focus root level endpoints
  *
@@ -36,6 +51,8 @@ import org.junit.Test;
  */
 public class DataProviderServiceTest extends RestServerTest {
 
+    private static final String EVENTS_TABLE_DATAPROVIDER_ID = "org.eclipse.tracecompass.internal.provisional.tmf.core.model.events.TmfEventTableDataProvider";
+
     /**
      * Test getting the data provider descriptors
      *
@@ -87,4 +104,74 @@ public class DataProviderServiceTest extends RestServerTest {
         assertEquals("Example", markerSets.get(0).getName());
         assertEquals("example.id", markerSets.get(0).getId());
     }
+
+    /**
+     * Test executing a batch of queries, with valid and invalid requests
+     */
+    @Test
+    public void testBatch() {
+        Experiment exp = assertPostExperiment(sfContextSwitchesUstNotInitializedStub.getName(), sfContextSwitchesUstNotInitializedStub);
+        WebTarget endpoint = getBatchEndpoint(exp.getUUID().toString());
+
+        BatchQueryParameters batch = new BatchQueryParameters(List.of(
+                new BatchRequest("styles", "style", CALL_STACK_DATAPROVIDER_ID, Collections.emptyMap()),
+                new BatchRequest("columns", "columns", EVENTS_TABLE_DATAPROVIDER_ID, Collections.emptyMap()),
+                new BatchRequest("unknown", "unknown", CALL_STACK_DATAPROVIDER_ID, Collections.emptyMap()),
+                new BatchRequest("noProvider", "columns", "no.such.provider", Collections.emptyMap())));
+        try (Response response = endpoint.request().post(Entity.json(batch))) {
+            assertEquals(Status.OK.getStatusCode(), response.getStatus());
+            JsonNode responses = response.readEntity(JsonNode.class).get("responses");
+            assertNotNull(responses);
+            assertEquals(4, responses.size());
+
+            JsonNode styles = responses.get(0);
+            assertEquals("styles", styles.get("id").asText());
+            assertEquals(Status.OK.getStatusCode(), styles.get("status").asInt());
+            assertTrue(styles.get("body").has("model"));
+
+            JsonNode columns = responses.get(1);
+            assertEquals("columns", columns.get("id").asText());
+            assertEquals(Status.OK.getStatusCode(), columns.get("status").asInt());
+            assertFalse(columns.get("body").get("model").isEmpty());
+
+            JsonNode unknown = responses.get(2);
+            assertEquals("unknown", unknown.get("id").asText());
+            assertEquals(Status.BAD_REQUEST.getStatusCode(), unknown.get("status").asInt());
+            assertEquals(EndpointConstants.UNKNOWN_REQUEST_TYPE, unknown.get("body").get("title").asText());
+
+            JsonNode noProvider = responses.get(3);
+            assertEquals("noProvider", noProvider.get("id").asText());
+            assertEquals(Status.METHOD_NOT_ALLOWED.getStatusCode(), noProvider.get("status").asInt());
+        }
+
+        try (Response response = endpoint.request().post(Entity.json(new BatchQueryParameters(Collections.emptyList())))) {
+            assertEquals(Status.BAD_REQUEST.getStatusCode(), response.getStatus());
+        }
+    }
+
+    /**
+     * Test that the requests of a batch with the same type and output do not
+     * supersede each other
+     */
+    @Test
+    public void testBatchSameOutput() {
+        Experiment exp = assertPostExperiment(sfContextSwitchesUstNotInitializedStub.getName(), sfContextSwitchesUstNotInitializedStub);
+        WebTarget endpoint = getBatchEndpoint(exp.getUUID().toString());
+
+        Map<String, Object> parameters = Map.of(DataProviderParameterUtils.REQUESTED_TABLE_INDEX_KEY, 0, DataProviderParameterUtils.REQUESTED_TABLE_COUNT_KEY, 1000);
+        BatchQueryParameters batch = new BatchQueryParameters(List.of(
+                new BatchRequest("first", "lines", EVENTS_TABLE_DATAPROVIDER_ID, parameters),
+                new BatchRequest("second", "lines", EVENTS_TABLE_DATAPROVIDER_ID, parameters)));
+        try (Response response = endpoint.request().header(DataProviderQueryExecutor.CLIENT_ID_HEADER, "client").post(Entity.json(batch))) {
+            assertEquals(Status.OK.getStatusCode(), response.getStatus());
+            JsonNode responses = response.readEntity(JsonNode.class).get("responses");
+            assertNotNull(responses);
+            assertEquals(2, responses.size());
+            for (JsonNode lines : responses) {
+                assertEquals(Status.OK.getStatusCode(), lines.get("status").asInt());
+                assertEquals(ITmfResponse.Status.COMPLETED.name(), lines.get("body").get("status").asText());
+                assertEquals(1000, lines.get("body").get("model").get("lines").size());
+            }
+        }
+    }
 }
@@ -13,6 +13,7 @@ package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.s
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -20,6 +21,10 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.core.Response.Status;
 
@@ -203,6 +208,77 @@ public class ExperimentManagerServiceTest extends RestServerTest {
         assertEquals("Deleting an experiment should not change the trace set", traceList, getTraces());
     }
 
+    /**
+     * Test that the traces of an experiment, which are opened in parallel,
+     * keep the order in which they were posted
+     *
+     * @throws ApiException
+     *             if an error occurs
+     */
+    @Test
+    public void testExperimentTraceOrder() throws ApiException {
+        Trace ustStub = assertPost(sfContextSwitchesUstNotInitializedStub);
+        Trace kernelStub = assertPost(sfContextSwitchesKernelNotInitializedStub);
+
+        Experiment ustFirst = assertPostExperiment("ustFirst", ustStub, kernelStub);
+        Experiment kernelFirst = assertPostExperiment("kernelFirst", kernelStub, ustStub);
+        assertEquals(List.of(ustStub.getUUID(), kernelStub.getUUID()), new ArrayList<>(ExperimentManagerService.getTraceInstances(ustFirst.getUUID()).keySet()));
+        assertEquals(List.of(kernelStub.getUUID(), ustStub.getUUID()), new ArrayList<>(ExperimentManagerService.getTraceInstances(kernelFirst.getUUID()).keySet()));
+
+        // The member traces report their own indexing status
+        for (Trace trace : sfExpApi.getExperiment(ustFirst.getUUID()).getTraces()) {
+            assertEquals(IndexingStatusEnum.COMPLETED.getValue(), trace.getIndexingStatus().getValue());
+        }
+        deleteExperiment(ustFirst.getUUID());
+        deleteExperiment(kernelFirst.getUUID());
+    }
+
+    /**
+     * Test deleting and posting again an experiment while other clients open
+     * it. The experiment and its traces must be unregistered together.
+     *
+     * @throws Exception
+     *             if an error occurs
+     */
+    @Test
+    public void testConcurrentOpenAndDelete() throws Exception {
+        Trace ustStub = assertPost(sfContextSwitchesUstNotInitializedStub);
+        Trace kernelStub = assertPost(sfContextSwitchesKernelNotInitializedStub);
+        UUID expUUID = assertPostExperiment(TEST, ustStub, kernelStub).getUUID();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 5; i++) {
+                List<Future<Integer>> lookups = new ArrayList<>();
+                for (int j = 0; j < 4; j++) {
+                    lookups.add(executor.submit(() -> {
+                        try {
+                            sfExpApi.getExperiment(expUUID);
+                            return Status.OK.getStatusCode();
+                        } catch (ApiException e) {
+                            return e.getCode();
+                        }
+                    }));
+                }
+                assertEquals("Failed to DELETE the experiment", EXPECTED, deleteExperiment(expUUID));
+                for (Future<Integer> lookup : lookups) {
+                    int code = lookup.get(30, TimeUnit.SECONDS);
+                    assertTrue("Unexpected status " + code, code == Status.OK.getStatusCode() || code == Status.NOT_FOUND.getStatusCode());
+                }
+                assertEquals("experiment set should be empty at this point", Collections.emptyList(), getExperiments());
+                assertTrue(ExperimentManagerService.getTraceUUIDs(expUUID).isEmpty());
+                assertNull(ExperimentManagerService.getTraceAnnotationProvider(expUUID));
+
+                assertEquals("Failed to POST the experiment again", EXPECTED, assertPostExperiment(TEST, ustStub, kernelStub));
+                assertEquals(2, ExperimentManagerService.getTraceUUIDs(expUUID).size());
+                assertNotNull(ExperimentManagerService.getTraceAnnotationProvider(expUUID));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals("Failed to DELETE the experiment", EXPECTED, deleteExperiment(expUUID));
+    }
+
     /**
      * Test workspace structure for experiments
      *
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.MetricsService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ServerMetrics;
+import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
+import org.eclipse.tracecompass.incubator.tsp.client.core.ApiException;
+import org.eclipse.tracecompass.incubator.tsp.client.core.api.DiagnosticApi;
+import org.junit.Test;
+
+/**
+ * Test the {@link MetricsService} and the {@link ServerMetrics}
+ */
+public class MetricsServiceTest extends RestServerTest {
+
+    private static final DiagnosticApi sfDiagnosticApi = new DiagnosticApi(sfApiClient);
+    private static final String METRICS_PATH = "metrics";
+    private static final String LABELS = "{method=\"POST\",endpoint=\"experiments/{expUUID}/outputs/timeGraph/{outputId}/states\",output=\"my.output\"";
+
+    /**
+     * Test that the requests to the server are reported by the metrics
+     * endpoint
+     *
+     * @throws ApiException
+     *             if such exception occurs
+     */
+    @Test
+    public void testMetrics() throws ApiException {
+        sfDiagnosticApi.getHealthStatus();
+        try (Response response = getApplicationEndpoint().path(METRICS_PATH).request().get()) {
+            assertEquals(Status.OK.getStatusCode(), response.getStatus());
+            String metrics = response.readEntity(String.class);
+            assertTrue(metrics, metrics.contains("tsp_http_request_duration_seconds_count{method=\"GET\",endpoint=\"health\",output=\"\"}"));
+            assertTrue(metrics, metrics.contains("tsp_http_response_bytes_total{method=\"GET\",endpoint=\"health\",output=\"\"}"));
+            assertTrue(metrics, metrics.contains("tsp_experiments_opened 0"));
+            assertTrue(metrics, metrics.contains("tsp_jvm_memory_used_bytes{area=\"heap\"}"));
+        }
+    }
+
+    /**
+     * Test the histograms and counters of the server metrics
+     */
+    @Test
+    public void testServerMetrics() {
+        ServerMetrics serverMetrics = new ServerMetrics();
+        String endpoint = "experiments/{expUUID}/outputs/timeGraph/{outputId}/states";
+        serverMetrics.requestStarted();
+        serverMetrics.requestStarted();
+        serverMetrics.requestStarted();
+        serverMetrics.requestCompleted("POST", endpoint, "my.output", 200, TimeUnit.MILLISECONDS.toNanos(3));
+        serverMetrics.requestCompleted("POST", endpoint, "my.output", 404, TimeUnit.MILLISECONDS.toNanos(200));
+        serverMetrics.requestFinished();
+        serverMetrics.requestFinished();
+        serverMetrics.responseWritten("POST", endpoint, "my.output", 1000);
+        serverMetrics.responseWritten("POST", endpoint, "my.output", 24);
+        serverMetrics.stateSystemBuilt("my.analysis", TimeUnit.SECONDS.toNanos(2));
+        serverMetrics.stateSystemBuilt("my.analysis", TimeUnit.SECONDS.toNanos(4));
+
+        List<String> lines = Arrays.asList(serverMetrics.toPrometheusText(2).split("\n"));
+        assertTrue(lines.contains("tsp_http_requests_in_flight 1"));
+        assertTrue(lines.contains("tsp_http_request_duration_seconds_bucket" + LABELS + ",le=\"0.005\"} 1"));
+        assertTrue(lines.contains("tsp_http_request_duration_seconds_bucket" + LABELS + ",le=\"0.1\"} 1"));
+        assertTrue(lines.contains("tsp_http_request_duration_seconds_bucket" + LABELS + ",le=\"0.25\"} 2"));
+        assertTrue(lines.contains("tsp_http_request_duration_seconds_bucket" + LABELS + ",le=\"+Inf\"} 2"));
+        assertTrue(lines.contains("tsp_http_request_duration_seconds_count" + LABELS + "} 2"));
+        assertTrue(lines.contains("tsp_http_request_errors_total" + LABELS + "} 1"));
+        assertTrue(lines.contains("tsp_http_response_bytes_total" + LABELS + "} 1024"));
+        assertTrue(lines.contains("tsp_experiments_opened 2"));
+        assertTrue(lines.contains("tsp_state_system_build_seconds_sum{analysis=\"my.analysis\"} 6.0"));
+        assertTrue(lines.contains("tsp_state_system_build_seconds_count{analysis=\"my.analysis\"} 2"));
+        assertTrue(lines.contains("tsp_state_system_build_seconds_max{analysis=\"my.analysis\"} 4.0"));
+
+        // A request that failed without a response leaves the requests in flight
+        serverMetrics.requestFinished();
+        lines = Arrays.asList(serverMetrics.toPrometheusText(2).split("\n"));
+        assertTrue(lines.contains("tsp_http_requests_in_flight 0"));
+        assertTrue(lines.contains("tsp_http_request_duration_seconds_count" + LABELS + "} 2"));
+    }
+}
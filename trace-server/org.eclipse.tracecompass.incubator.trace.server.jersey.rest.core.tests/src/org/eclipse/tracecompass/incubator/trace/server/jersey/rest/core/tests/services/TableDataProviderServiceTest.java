@@ -15,11 +15,24 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.QueryParameters;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderService;
 import org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.utils.RestServerTest;
 import org.eclipse.tracecompass.incubator.tsp.client.core.ApiException;
@@ -33,8 +46,11 @@ import org.eclipse.tracecompass.incubator.tsp.client.core.model.TableColumnHeade
 import org.eclipse.tracecompass.incubator.tsp.client.core.model.VirtualTableLine;
 import org.eclipse.tracecompass.incubator.tsp.client.core.model.VirtualTableModel;
 import org.eclipse.tracecompass.incubator.tsp.client.core.model.VirtualTableResponse;
+import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils;
 import org.junit.Test;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 /**
  * Test the {@link DataProviderService} with focus on table tndpoint
  *
@@ -48,6 +64,7 @@ public class TableDataProviderServiceTest extends RestServerTest {
 
     private static final long TABLE_INDEX = 0L;
     private static final int TABLE_COUNT = 100;
+    private static final int STREAM_COUNT = 1500;
 
     private static final VirtualTablesApi sfTableApi = new VirtualTablesApi(sfApiClient);
 
@@ -124,5 +141,37 @@ public class TableDataProviderServiceTest extends RestServerTest {
         Experiment exp = assertPostExperiment(sfArm64KernelNotIntitialzedStub.getName(), sfArm64KernelNotIntitialzedStub);
         executePostErrorTests(exp.getUUID(), RestServerTest::getTableColumnsEndpoint, EVENTS_TABLE_DATAPROVIDER_ID, false);
         executePostErrorTests(exp.getUUID(), RestServerTest::getTableLinesEndpoint, EVENTS_TABLE_DATAPROVIDER_ID, true);
+        executePostErrorTests(exp.getUUID(), RestServerTest::getTableLinesStreamEndpoint, EVENTS_TABLE_DATAPROVIDER_ID, true);
+    }
+
+    /**
+     * Ensure that the table lines can be streamed as newline-delimited JSON,
+     * across several chunks of lines
+     *
+     * @throws IOException
+     *             if the streamed lines cannot be read
+     */
+    @Test
+    public void testStreamLines() throws IOException {
+        Experiment exp = assertPostExperiment(sfArm64KernelNotIntitialzedStub.getName(), sfArm64KernelNotIntitialzedStub);
+
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(DataProviderParameterUtils.REQUESTED_TABLE_INDEX_KEY, TABLE_INDEX);
+        parameters.put(DataProviderParameterUtils.REQUESTED_TABLE_COUNT_KEY, STREAM_COUNT);
+        WebTarget endpoint = getTableLinesStreamEndpoint(exp.getUUID().toString(), EVENTS_TABLE_DATAPROVIDER_ID);
+        try (Response response = endpoint.request().post(Entity.json(new QueryParameters(parameters, Collections.emptyList())))) {
+            assertEquals(Status.OK.getStatusCode(), response.getStatus());
+            ObjectMapper mapper = new ObjectMapper();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(response.readEntity(InputStream.class), StandardCharsets.UTF_8))) {
+                List<String> lines = reader.lines().collect(Collectors.toList());
+                assertEquals(STREAM_COUNT, lines.size());
+                long expectedIndex = TABLE_INDEX;
+                for (String line : lines) {
+                    VirtualTableLine tableLine = mapper.readValue(line, VirtualTableLine.class);
+                    assertEquals(expectedIndex++, tableLine.getIndex().longValue());
+                    assertFalse(tableLine.getCells().isEmpty());
+                }
+            }
+        }
     }
 }
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.services;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.VirtualTableLinesStreamingOutput;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableDataProvider;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.TmfVirtualTableModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.VirtualTableCell;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.VirtualTableLine;
+import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils;
+import org.eclipse.tracecompass.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.tmf.core.model.tree.TmfTreeDataModel;
+import org.eclipse.tracecompass.tmf.core.model.tree.TmfTreeModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.junit.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Test the {@link VirtualTableLinesStreamingOutput} class
+ */
+public class VirtualTableLinesStreamingOutputTest {
+
+    private static final int NB_EVENTS = 5000;
+    /** Only the events with an index multiple of this value match the filter */
+    private static final int FILTER_MODULO = 3;
+    private static final String NEXT = "NEXT";
+    private static final String PREVIOUS = "PREVIOUS";
+
+    private final ObjectMapper fMapper = new ObjectMapper();
+
+    /**
+     * A table whose lines are filtered, so that the indexes of the returned
+     * lines are not contiguous. Searches return the matching lines from the
+     * requested index in the search direction.
+     */
+    private static class FilteredTableProvider implements ITmfVirtualTableDataProvider<TmfTreeDataModel, VirtualTableLine> {
+
+        private final List<Map<String, Object>> fQueries = new ArrayList<>();
+        private @Nullable IProgressMonitor fMonitor;
+
+        @Override
+        public TmfModelResponse<TmfTreeModel<TmfTreeDataModel>> fetchTree(Map<String, Object> fetchParameters, @Nullable IProgressMonitor monitor) {
+            return new TmfModelResponse<>(null, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+        }
+
+        @Override
+        public TmfModelResponse<ITmfVirtualTableModel<VirtualTableLine>> fetchLines(Map<String, Object> fetchParameters, @Nullable IProgressMonitor monitor) {
+            fQueries.add(new HashMap<>(fetchParameters));
+            fMonitor = monitor;
+            long index = ((Number) fetchParameters.get(DataProviderParameterUtils.REQUESTED_TABLE_INDEX_KEY)).longValue();
+            int count = ((Number) fetchParameters.get(DataProviderParameterUtils.REQUESTED_TABLE_COUNT_KEY)).intValue();
+            boolean backward = PREVIOUS.equals(fetchParameters.get(DataProviderParameterUtils.TABLE_SEARCH_DIRECTION_KEY));
+            List<VirtualTableLine> lines = new ArrayList<>();
+            long step = backward ? -1 : 1;
+            for (long i = index; i >= 0 && i < NB_EVENTS && lines.size() < count; i += step) {
+                if (i % FILTER_MODULO == 0) {
+                    lines.add(new VirtualTableLine(i, Collections.singletonList(new VirtualTableCell(String.valueOf(i)))));
+                }
+            }
+            if (backward) {
+                Collections.reverse(lines);
+            }
+            long first = lines.isEmpty() ? index : lines.get(0).getIndex();
+            return new TmfModelResponse<>(new TmfVirtualTableModel<>(Collections.emptyList(), lines, first, NB_EVENTS), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+        }
+
+        @Override
+        public String getId() {
+            return "filtered.table";
+        }
+    }
+
+    private static Map<String, Object> getParameters(long index, @Nullable Integer count, String direction) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put(DataProviderParameterUtils.REQUESTED_TABLE_INDEX_KEY, index);
+        if (count != null) {
+            parameters.put(DataProviderParameterUtils.REQUESTED_TABLE_COUNT_KEY, count);
+        }
+        parameters.put(DataProviderParameterUtils.TABLE_SEARCH_DIRECTION_KEY, direction);
+        parameters.put(DataProviderParameterUtils.TABLE_SEARCH_EXPRESSIONS_KEY, Collections.singletonMap("1", "filter"));
+        return parameters;
+    }
+
+    private List<Long> stream(FilteredTableProvider provider, Map<String, Object> parameters) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new VirtualTableLinesStreamingOutput(provider, parameters, fMapper, new NullProgressMonitor()).write(output);
+        List<Long> indexes = new ArrayList<>();
+        for (String line : new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                JsonNode node = fMapper.readTree(line);
+                indexes.add(node.get("index").asLong());
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Test that the lines of a filtered table are streamed across chunks
+     * without gaps or duplicates, keeping the filter and the direction
+     *
+     * @throws IOException
+     *             If the lines cannot be written
+     */
+    @Test
+    public void testFilteredContinuation() throws IOException {
+        FilteredTableProvider provider = new FilteredTableProvider();
+        List<Long> indexes = stream(provider, getParameters(0, null, NEXT));
+
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < NB_EVENTS; i += FILTER_MODULO) {
+            expected.add(i);
+        }
+        assertEquals(expected, indexes);
+        assertTrue(provider.fQueries.size() > 1);
+        for (Map<String, Object> query : provider.fQueries) {
+            assertEquals(NEXT, query.get(DataProviderParameterUtils.TABLE_SEARCH_DIRECTION_KEY));
+            assertEquals(Collections.singletonMap("1", "filter"), query.get(DataProviderParameterUtils.TABLE_SEARCH_EXPRESSIONS_KEY));
+        }
+    }
+
+    /**
+     * Test that a backward search continues before the first streamed line
+     * and stops at the start of the table
+     *
+     * @throws IOException
+     *             If the lines cannot be written
+     */
+    @Test
+    public void testBackwardContinuation() throws IOException {
+        FilteredTableProvider provider = new FilteredTableProvider();
+        List<Long> indexes = stream(provider, getParameters(NB_EVENTS - 1, 1500, PREVIOUS));
+
+        // Each chunk is in table order, the chunks go backward
+        List<Long> firstChunk = indexes.subList(0, 1000);
+        List<Long> secondChunk = indexes.subList(1000, indexes.size());
+        assertEquals(1500, indexes.size());
+        assertEquals(Long.valueOf(NB_EVENTS - 1 - (NB_EVENTS - 1) % FILTER_MODULO), firstChunk.get(firstChunk.size() - 1));
+        assertEquals(Long.valueOf(firstChunk.get(0) - FILTER_MODULO), secondChunk.get(secondChunk.size() - 1));
+        assertEquals(2, provider.fQueries.size());
+        assertEquals(firstChunk.get(0) - 1, ((Number) provider.fQueries.get(1).get(DataProviderParameterUtils.REQUESTED_TABLE_INDEX_KEY)).longValue());
+        assertEquals(PREVIOUS, provider.fQueries.get(1).get(DataProviderParameterUtils.TABLE_SEARCH_DIRECTION_KEY));
+
+        // Stop at the start of the table, once every matching line is streamed
+        provider = new FilteredTableProvider();
+        indexes = new ArrayList<>(stream(provider, getParameters(NB_EVENTS - 1, null, PREVIOUS)));
+        Collections.sort(indexes);
+        List<Long> expected = new ArrayList<>();
+        for (long i = 0; i < NB_EVENTS; i += FILTER_MODULO) {
+            expected.add(i);
+        }
+        assertEquals(expected, indexes);
+    }
+
+    /**
+     * Test that the fetching is cancelled when the client disconnects
+     */
+    @Test
+    public void testDisconnect() {
+        FilteredTableProvider provider = new FilteredTableProvider();
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+        try {
+            new VirtualTableLinesStreamingOutput(provider, getParameters(0, null, NEXT), fMapper, new NullProgressMonitor()).write(disconnected);
+            fail("The write should fail");
+        } catch (IOException e) {
+            // Expected
+        }
+        assertEquals(1, provider.fQueries.size());
+        IProgressMonitor monitor = provider.fMonitor;
+        assertTrue(monitor != null && monitor.isCanceled());
+    }
+}
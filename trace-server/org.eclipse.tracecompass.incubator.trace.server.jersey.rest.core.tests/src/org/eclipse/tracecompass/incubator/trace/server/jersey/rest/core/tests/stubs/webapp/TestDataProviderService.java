@@ -15,6 +15,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.core.Response;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -64,7 +65,7 @@ public class TestDataProviderService extends DataProviderService {
     public static final String ENTRY_NAME_WITHOUT_METADATA = "test-without-metadata";
 
     @Override
-    public Response getTimeGraphTree(UUID expUUID, String outputId, QueryParameters queryParameters) {
+    public void getTimeGraphTree(UUID expUUID, String outputId, QueryParameters queryParameters, String clientId, AsyncResponse asyncResponse) {
         if (outputId.equals(INVALID_ENTRY_METADATA)) {
             TestTimeGraphEntryModel entry = new TestTimeGraphEntryModel(1, 0, ENTRY_NAME_WITH_METADATA, 0, 100, true);
             @NonNull List<@NonNull ITmfTreeDataModel> list = new ArrayList<>();
@@ -72,9 +73,10 @@ public class TestDataProviderService extends DataProviderService {
             entry = new TestTimeGraphEntryModel(1, 0, ENTRY_NAME_WITHOUT_METADATA, 0, 100, false);
             list.add(entry);
             TmfTreeModel<@NonNull ITmfTreeDataModel> model = new TmfTreeModel<>(ImmutableList.of("test"), list);
-            return Response.ok(new TmfModelResponse<>(new TreeModelWrapper(model), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED)).build();
+            asyncResponse.resume(Response.ok(new TmfModelResponse<>(new TreeModelWrapper(model), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED)).build());
+            return;
         }
-        return super.getTimeGraphTree(expUUID, outputId, queryParameters);
+        super.getTimeGraphTree(expUUID, outputId, queryParameters, clientId, asyncResponse);
     }
 
     private static class TestTimeGraphEntryModel extends TimeGraphEntryModel {
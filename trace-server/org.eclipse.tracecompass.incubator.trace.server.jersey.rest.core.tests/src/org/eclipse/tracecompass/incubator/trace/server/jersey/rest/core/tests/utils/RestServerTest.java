@@ -256,6 +256,16 @@ public abstract class RestServerTest {
      */
     public static final String TABLE_LINE_PATH = "lines";
 
+    /**
+     * Stream path segment
+     */
+    public static final String STREAM_PATH = "stream";
+
+    /**
+     * Batch path segment
+     */
+    public static final String BATCH_PATH = "batch";
+
     /**
      * ConfigTypes path
      */
@@ -609,6 +619,20 @@ public abstract class RestServerTest {
         return client.target(SERVER);
     }
 
+    /**
+     * Get the {@link WebTarget} for the batch endpoint.
+     *
+     * @param expUUID
+     *            Experiment UUID
+     * @return The batch endpoint
+     */
+    public static WebTarget getBatchEndpoint(String expUUID) {
+        return getApplicationEndpoint().path(EXPERIMENTS)
+                .path(expUUID)
+                .path(OUTPUTS_PATH)
+                .path(BATCH_PATH);
+    }
+
     /**
      * Get the {@link WebTarget} for the table columns endpoint.
      *
@@ -645,6 +669,19 @@ public abstract class RestServerTest {
                 .path(TABLE_LINE_PATH);
     }
 
+    /**
+     * Get the {@link WebTarget} for the table lines streaming endpoint.
+     *
+     * @param expUUID
+     *            Experiment UUID
+     * @param dataProviderId
+     *            Data provider ID
+     * @return The table lines streaming endpoint
+     */
+    public static WebTarget getTableLinesStreamEndpoint(String expUUID, String dataProviderId) {
+        return getTableLinesEndpoint(expUUID, dataProviderId).path(STREAM_PATH);
+    }
+
 
     /**
      * Get the {@link WebTarget} for the data-tree tree endpoint.
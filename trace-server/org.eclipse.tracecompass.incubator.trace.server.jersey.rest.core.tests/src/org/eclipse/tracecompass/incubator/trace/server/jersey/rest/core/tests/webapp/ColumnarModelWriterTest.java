@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.trace.server.jersey.rest.core.tests.webapp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.ColumnarModelWriter;
+import org.eclipse.tracecompass.internal.tmf.core.model.TmfXyResponseFactory;
+import org.eclipse.tracecompass.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.tmf.core.model.ISampling;
+import org.eclipse.tracecompass.tmf.core.model.OutputElementStyle;
+import org.eclipse.tracecompass.tmf.core.model.SeriesModel.SeriesModelBuilder;
+import org.eclipse.tracecompass.tmf.core.model.StyleProperties;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Test the {@link ColumnarModelWriter}
+ */
+@SuppressWarnings("null")
+public class ColumnarModelWriterTest {
+
+    private static final String TITLE = "title";
+
+    /**
+     * Verify that time graph states are written as columns with shared style
+     * and label tables
+     *
+     * @throws IOException
+     *             if an error occurs
+     */
+    @Test
+    public void testTimeGraphModel() throws IOException {
+        OutputElementStyle colorStyle = new OutputElementStyle("parent", ImmutableMap.of(StyleProperties.BACKGROUND_COLOR, "#ff0000"));
+        OutputElementStyle heightStyle = new OutputElementStyle(null, ImmutableMap.of(StyleProperties.HEIGHT, 0.5f));
+        ITimeGraphRowModel row1 = new TimeGraphRowModel(1, List.of(
+                new TimeGraphState(100, 10, "label", colorStyle),
+                new TimeGraphState(110, 5, 3),
+                new TimeGraphState(115, 20, "label", colorStyle)));
+        ITimeGraphRowModel row2 = new TimeGraphRowModel(-2, List.of(
+                new TimeGraphState(90, 1, Integer.MIN_VALUE),
+                new TimeGraphState(91, 4, null, heightStyle)));
+        TmfModelResponse<TimeGraphModel> response = new TmfModelResponse<>(new TimeGraphModel(List.of(row1, row2)), ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+
+        ByteBuffer buffer = write(response);
+        readHeader(buffer, 1);
+
+        // Style table
+        assertEquals(3, readVarint(buffer));
+        assertEquals("parent", readString(buffer));
+        assertEquals(1, readVarint(buffer));
+        assertEquals(StyleProperties.BACKGROUND_COLOR, readString(buffer));
+        assertEquals(0, buffer.get());
+        assertEquals("#ff0000", readString(buffer));
+        assertEquals("3", readString(buffer));
+        assertEquals(0, readVarint(buffer));
+        assertEquals("", readString(buffer));
+        assertEquals(1, readVarint(buffer));
+        assertEquals(StyleProperties.HEIGHT, readString(buffer));
+        assertEquals(2, buffer.get());
+        assertEquals(0.5, buffer.getDouble(), 0.0);
+
+        // Label table
+        assertEquals(1, readVarint(buffer));
+        assertEquals("label", readString(buffer));
+
+        // Rows
+        assertEquals(2, readVarint(buffer));
+        assertEquals(1, readZigzag(buffer));
+        assertEquals(3, readVarint(buffer));
+        assertEquals(100, readZigzag(buffer));
+        assertEquals(10, readZigzag(buffer));
+        assertEquals(5, readZigzag(buffer));
+        assertEquals(10, readVarint(buffer));
+        assertEquals(5, readVarint(buffer));
+        assertEquals(20, readVarint(buffer));
+        assertEquals(1, readVarint(buffer));
+        assertEquals(2, readVarint(buffer));
+        assertEquals(1, readVarint(buffer));
+        assertEquals(1, readVarint(buffer));
+        assertEquals(0, readVarint(buffer));
+        assertEquals(1, readVarint(buffer));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, readVarint(buffer));
+        }
+
+        assertEquals(-2, readZigzag(buffer));
+        assertEquals(2, readVarint(buffer));
+        assertEquals(90, readZigzag(buffer));
+        assertEquals(1, readZigzag(buffer));
+        assertEquals(1, readVarint(buffer));
+        assertEquals(4, readVarint(buffer));
+        assertEquals(0, readVarint(buffer));
+        assertEquals(3, readVarint(buffer));
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, readVarint(buffer));
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    /**
+     * Verify that XY series are written as packed arrays
+     *
+     * @throws IOException
+     *             if an error occurs
+     */
+    @Test
+    public void testXyModel() throws IOException {
+        long[] xValues = { 0, 10, 20, Long.MAX_VALUE };
+        double[] yValues = { 0.1, -2.5, 3.0, Double.NaN };
+        ISeriesModel series = new SeriesModelBuilder(5, "series", new ISampling.Timestamps(xValues), yValues).build();
+        TmfModelResponse<ITmfXyModel> response = TmfXyResponseFactory.create(TITLE, List.of(series), true);
+
+        ByteBuffer buffer = write(response);
+        readHeader(buffer, 2);
+
+        assertEquals(TITLE, readString(buffer));
+        assertEquals(1, readVarint(buffer));
+        assertEquals(5, readZigzag(buffer));
+        assertEquals("series", readString(buffer));
+        assertEquals("line", readString(buffer));
+        assertEquals(0, buffer.get());
+        assertEquals(xValues.length, readVarint(buffer));
+        for (long x : xValues) {
+            assertEquals(x, buffer.getLong());
+        }
+        assertEquals(yValues.length, readVarint(buffer));
+        for (double y : yValues) {
+            assertEquals(y, buffer.getDouble(), 0.0);
+        }
+    }
+
+    /**
+     * Verify that a response without model only contains the header
+     *
+     * @throws IOException
+     *             if an error occurs
+     */
+    @Test
+    public void testNoModel() throws IOException {
+        TmfModelResponse<TimeGraphModel> response = new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED);
+        ByteBuffer buffer = write(response);
+        assertEquals('T', buffer.get());
+        assertEquals('S', buffer.get());
+        assertEquals('P', buffer.get());
+        assertEquals('C', buffer.get());
+        assertEquals(1, buffer.get());
+        assertEquals(ITmfResponse.Status.CANCELLED.name(), readString(buffer));
+        assertEquals(CommonStatusMessage.TASK_CANCELLED, readString(buffer));
+        assertEquals(0, buffer.get());
+        assertFalse(buffer.hasRemaining());
+    }
+
+    private static ByteBuffer write(TmfModelResponse<?> response) throws IOException {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new ColumnarModelWriter().writeTo(response, response.getClass(), null, null, null, null, stream);
+        return ByteBuffer.wrap(stream.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static void readHeader(ByteBuffer buffer, int expectedKind) {
+        byte[] magic = new byte[4];
+        buffer.get(magic);
+        assertEquals("TSPC", new String(magic, StandardCharsets.US_ASCII));
+        assertEquals(1, buffer.get());
+        assertEquals(ITmfResponse.Status.COMPLETED.name(), readString(buffer));
+        assertEquals(CommonStatusMessage.COMPLETED, readString(buffer));
+        assertEquals(expectedKind, buffer.get());
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long readZigzag(ByteBuffer buffer) {
+        long value = readVarint(buffer);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[(int) readVarint(buffer)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+/**
+ * Contributes to the model used for TSP swagger-core annotations.
+ */
+public interface BatchQueryParameters {
+
+    /**
+     * @return The requests.
+     */
+    @NonNull
+    @Schema(description = "The requests of the batch, executed in parallel", requiredMode = RequiredMode.REQUIRED)
+    List<BatchRequest> getRequests();
+
+    /**
+     * A single request of the batch
+     */
+    interface BatchRequest {
+
+        /**
+         * @return The request ID.
+         */
+        @Schema(description = "The ID of the request, returned with its response", requiredMode = RequiredMode.REQUIRED)
+        String getId();
+
+        /**
+         * @return The request type.
+         */
+        @Schema(description = "The type of the request", requiredMode = RequiredMode.REQUIRED, allowableValues = {
+                "tree", "xy", "genericXY", "states", "arrows", "lines", "tooltip", "annotations", "columns", "style" })
+        String getType();
+
+        /**
+         * @return The output ID.
+         */
+        @Schema(description = "The ID of the queried output", requiredMode = RequiredMode.REQUIRED)
+        String getOutputId();
+
+        /**
+         * @return The parameters.
+         */
+        @Schema(description = "The query parameters of the request, as for the endpoint of the same type")
+        Map<String, Object> getParameters();
+    }
+}
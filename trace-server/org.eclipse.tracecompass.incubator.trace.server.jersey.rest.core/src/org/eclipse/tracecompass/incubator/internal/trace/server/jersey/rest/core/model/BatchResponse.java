@@ -0,0 +1,56 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model;
+
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNull;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+/**
+ * Contributes to the model used for TSP swagger-core annotations.
+ */
+public interface BatchResponse {
+
+    /**
+     * @return The responses.
+     */
+    @NonNull
+    @Schema(description = "The responses, in the order of the requests", requiredMode = RequiredMode.REQUIRED)
+    List<BatchItemResponse> getResponses();
+
+    /**
+     * The response to a single request of the batch
+     */
+    interface BatchItemResponse {
+
+        /**
+         * @return The request ID.
+         */
+        @Schema(description = "The ID of the request", requiredMode = RequiredMode.REQUIRED)
+        String getId();
+
+        /**
+         * @return The HTTP status.
+         */
+        @Schema(description = "The HTTP status code that the endpoint of the same type would have returned", requiredMode = RequiredMode.REQUIRED)
+        int getStatus();
+
+        /**
+         * @return The response body.
+         */
+        @Schema(description = "The body that the endpoint of the same type would have returned: a generic response on success or an error response")
+        Object getBody();
+    }
+}
@@ -0,0 +1,45 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+/**
+ * Contributes to the model used for TSP swagger-core annotations.
+ */
+public interface ResponseCacheStatistics {
+
+    /**
+     * @return The number of cached responses.
+     */
+    @Schema(description = "The number of responses currently in the cache", requiredMode = RequiredMode.REQUIRED)
+    long getSize();
+
+    /**
+     * @return The number of hits.
+     */
+    @Schema(description = "The number of queries served from the cache", requiredMode = RequiredMode.REQUIRED)
+    long getHits();
+
+    /**
+     * @return The number of misses.
+     */
+    @Schema(description = "The number of queries that were not found in the cache", requiredMode = RequiredMode.REQUIRED)
+    long getMisses();
+
+    /**
+     * @return The number of evictions.
+     */
+    @Schema(description = "The number of responses evicted from the cache because of its size limit", requiredMode = RequiredMode.REQUIRED)
+    long getEvictions();
+}
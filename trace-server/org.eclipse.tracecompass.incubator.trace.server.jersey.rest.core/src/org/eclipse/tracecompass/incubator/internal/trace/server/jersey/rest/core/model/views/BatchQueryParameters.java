@@ -0,0 +1,145 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+
+import io.swagger.v3.oas.annotations.Hidden;
+
+/**
+ * Definition of a batch of data provider queries received by the server from
+ * a client.
+ */
+public class BatchQueryParameters {
+    private @Nullable List<BatchRequest> requests;
+
+    /**
+     * A single query of a batch
+     */
+    public static class BatchRequest {
+        private @Nullable String id;
+        private @Nullable String type;
+        private @Nullable String outputId;
+        private @Nullable Map<String, Object> parameters;
+
+        /**
+         * Constructor for Jackson
+         */
+        public BatchRequest() {
+            // Default constructor for Jackson
+        }
+
+        /**
+         * Constructor.
+         *
+         * @param id
+         *            ID of the request, returned with its response
+         * @param type
+         *            Type of the request, e.g. "states"
+         * @param outputId
+         *            ID of the queried output
+         * @param parameters
+         *            Map of parameters
+         */
+        public BatchRequest(String id, String type, String outputId, Map<String, Object> parameters) {
+            this.id = id;
+            this.type = type;
+            this.outputId = outputId;
+            this.parameters = parameters;
+        }
+
+        /**
+         * @return ID of the request
+         */
+        @Hidden
+        public @Nullable String getId() {
+            return id;
+        }
+
+        /**
+         * @return Type of the request
+         */
+        @Hidden
+        public @Nullable String getType() {
+            return type;
+        }
+
+        /**
+         * @return ID of the queried output
+         */
+        @Hidden
+        public @Nullable String getOutputId() {
+            return outputId;
+        }
+
+        /**
+         * @return Map of parameters
+         */
+        @Hidden
+        public @Nullable Map<String, Object> getParameters() {
+            return parameters;
+        }
+
+        /**
+         * @return The query parameters of this request
+         */
+        @Hidden
+        public @NonNull QueryParameters toQueryParameters() {
+            Map<String, Object> params = parameters;
+            return new QueryParameters(params != null ? params : new HashMap<>(), null);
+        }
+
+        @SuppressWarnings("nls")
+        @Override
+        public String toString() {
+            return "BatchRequest [id=" + id + ", type=" + type + ", outputId=" + outputId + ", parameters=" + parameters + "]";
+        }
+    }
+
+    /**
+     * Constructor for Jackson
+     */
+    public BatchQueryParameters() {
+        // Default constructor for Jackson
+        this.requests = new ArrayList<>();
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param requests
+     *            List of requests
+     */
+    public BatchQueryParameters(List<BatchRequest> requests) {
+        this.requests = requests;
+    }
+
+    /**
+     * @return List of requests
+     */
+    @Hidden
+    public @Nullable List<BatchRequest> getRequests() {
+        return requests;
+    }
+
+    @SuppressWarnings("nls")
+    @Override
+    public String toString() {
+        return "BatchQueryParameters [requests=" + requests + "]";
+    }
+}
@@ -0,0 +1,261 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ConnectionCallback;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.Activator;
+import org.eclipse.tracecompass.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+/**
+ * Executes data provider queries on a bounded thread pool and resumes the
+ * suspended {@link AsyncResponse} with the result.
+ * <p>
+ * Each query is given its own {@link IProgressMonitor}. The monitor is
+ * cancelled when the client disconnects, or when a newer query of the same kind
+ * is submitted for the same experiment, output and client, so that data
+ * providers can abandon stale requests (e.g. superseded zoom requests) instead
+ * of computing them to completion.
+ * <p>
+ * The number of worker threads can be configured with the
+ * {@value #PROPERTY_POOL_SIZE} system property and the number of queued queries
+ * with the {@value #PROPERTY_QUEUE_SIZE} system property.
+ */
+public final class DataProviderQueryExecutor {
+
+    /** HTTP header used by clients to identify themselves */
+    public static final String CLIENT_ID_HEADER = "X-Client-Id"; //$NON-NLS-1$
+
+    private static final String PROPERTY_POOL_SIZE = "traceserver.queryThreads"; //$NON-NLS-1$
+    private static final String PROPERTY_QUEUE_SIZE = "traceserver.queryQueueSize"; //$NON-NLS-1$
+    private static final int DEFAULT_QUEUE_SIZE = 256;
+    private static final String THREAD_NAME = "Trace Server Query Worker "; //$NON-NLS-1$
+    private static final String TOO_MANY_QUERIES = "Too many pending queries"; //$NON-NLS-1$
+
+    private static @Nullable DataProviderQueryExecutor fInstance;
+
+    private final ThreadPoolExecutor fExecutor;
+    private final Map<QueryKey, IProgressMonitor> fRunningQueries = new ConcurrentHashMap<>();
+
+    /**
+     * Key identifying the queries that supersede each other
+     */
+    private static final class QueryKey {
+        private final UUID fExpUUID;
+        private final String fOutputId;
+        private final String fQueryType;
+        private final String fClientId;
+
+        public QueryKey(UUID expUUID, String outputId, String queryType, String clientId) {
+            fExpUUID = expUUID;
+            fOutputId = outputId;
+            fQueryType = queryType;
+            fClientId = clientId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fExpUUID, fOutputId, fQueryType, fClientId);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof QueryKey)) {
+                return false;
+            }
+            QueryKey other = (QueryKey) obj;
+            return fExpUUID.equals(other.fExpUUID) && fOutputId.equals(other.fOutputId)
+                    && fQueryType.equals(other.fQueryType) && fClientId.equals(other.fClientId);
+        }
+    }
+
+    private DataProviderQueryExecutor() {
+        int poolSize = getIntProperty(PROPERTY_POOL_SIZE, Runtime.getRuntime().availableProcessors());
+        int queueSize = getIntProperty(PROPERTY_QUEUE_SIZE, DEFAULT_QUEUE_SIZE);
+        AtomicInteger threadCount = new AtomicInteger();
+        fExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), r -> {
+            Thread thread = new Thread(r, THREAD_NAME + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        fExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the instance of the query executor
+     *
+     * @return The query executor
+     */
+    public static synchronized DataProviderQueryExecutor getInstance() {
+        DataProviderQueryExecutor instance = fInstance;
+        if (instance == null) {
+            instance = new DataProviderQueryExecutor();
+            fInstance = instance;
+        }
+        return instance;
+    }
+
+    /**
+     * Cancel all running queries and stop the worker threads
+     */
+    public static synchronized void dispose() {
+        DataProviderQueryExecutor instance = fInstance;
+        if (instance != null) {
+            instance.fRunningQueries.values().forEach(monitor -> monitor.setCanceled(true));
+            instance.fRunningQueries.clear();
+            instance.fExecutor.shutdownNow();
+            fInstance = null;
+        }
+    }
+
+    /**
+     * Submit a query to be executed asynchronously. The async response is
+     * resumed with the response returned by the query, or with an error
+     * response if the query could not be scheduled.
+     *
+     * @param asyncResponse
+     *            the suspended response to resume
+     * @param expUUID
+     *            the UUID of the queried experiment
+     * @param outputId
+     *            the ID of the queried output
+     * @param queryType
+     *            the kind of query, e.g. the endpoint name. Only queries of
+     *            the same kind supersede each other.
+     * @param clientId
+     *            the ID of the client, or <code>null</code> if the client did
+     *            not identify itself, in which case the query is never
+     *            superseded
+     * @param query
+     *            the query to execute, given the progress monitor to pass to
+     *            the data provider
+     */
+    public void submit(AsyncResponse asyncResponse, UUID expUUID, String outputId, String queryType, @Nullable String clientId, Function<IProgressMonitor, Response> query) {
+        IProgressMonitor monitor = new NullProgressMonitor();
+        ConnectionCallback disconnectCallback = disconnected -> monitor.setCanceled(true);
+        asyncResponse.register(disconnectCallback);
+        submit(monitor, expUUID, outputId, queryType, clientId, query).whenComplete((response, e) -> {
+            if (e != null) {
+                asyncResponse.resume(e);
+            } else {
+                asyncResponse.resume(response);
+            }
+        });
+    }
+
+    /**
+     * Submit a query to be executed asynchronously, with a given progress
+     * monitor. Cancelling the monitor cancels the query.
+     *
+     * @param monitor
+     *            the progress monitor to pass to the query
+     * @param expUUID
+     *            the UUID of the queried experiment
+     * @param outputId
+     *            the ID of the queried output
+     * @param queryType
+     *            the kind of query, e.g. the endpoint name. Only queries of
+     *            the same kind supersede each other.
+     * @param clientId
+     *            the ID of the client, or <code>null</code> if the client did
+     *            not identify itself, in which case the query is never
+     *            superseded
+     * @param query
+     *            the query to execute, given the progress monitor to pass to
+     *            the data provider
+     * @return a future completed with the response returned by the query, or
+     *         with an error response if the query could not be scheduled. It
+     *         is completed exceptionally if the query throws an exception.
+     */
+    public CompletableFuture<Response> submit(IProgressMonitor monitor, UUID expUUID, String outputId, String queryType, @Nullable String clientId, Function<IProgressMonitor, Response> query) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        QueryKey key = (clientId == null || clientId.isEmpty()) ? null : new QueryKey(expUUID, outputId, queryType, clientId);
+        if (key != null) {
+            IProgressMonitor previous = fRunningQueries.put(key, monitor);
+            if (previous != null && previous != monitor) {
+                previous.setCanceled(true);
+            }
+        }
+        try {
+            fExecutor.execute(() -> {
+                try {
+                    if (monitor.isCanceled()) {
+                        future.complete(Response.ok(new TmfModelResponse<>(null, ITmfResponse.Status.CANCELLED, CommonStatusMessage.TASK_CANCELLED)).build());
+                        return;
+                    }
+                    future.complete(query.apply(monitor));
+                } catch (RuntimeException e) {
+                    Activator.getInstance().logError("Error executing query for output " + outputId, e); //$NON-NLS-1$
+                    future.completeExceptionally(e);
+                } finally {
+                    if (key != null) {
+                        fRunningQueries.remove(key, monitor);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (key != null) {
+                fRunningQueries.remove(key, monitor);
+            }
+            future.complete(ErrorResponseUtil.newErrorResponse(Status.SERVICE_UNAVAILABLE, TOO_MANY_QUERIES));
+        }
+        return future;
+    }
+
+    /**
+     * Get the value of a positive integer system property
+     *
+     * @param property
+     *            the name of the property
+     * @param defaultValue
+     *            the value to use if the property is not set or invalid
+     * @return the value of the property
+     */
+    static int getIntProperty(String property, int defaultValue) {
+        String value = System.getProperty(property);
+        if (value != null && !value.isEmpty()) {
+            try {
+                int intValue = Integer.parseInt(value);
+                if (intValue > 0) {
+                    return intValue;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the default value
+            }
+            Activator.getInstance().logWarning(String.format("Invalid value specified for %s: %s. Will use default value %d", property, value, defaultValue)); //$NON-NLS-1$
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.Activator;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+/**
+ * Bounded cache of completed data provider responses, shared by all the
+ * clients of the server. Identical queries (same experiment, output, kind of
+ * query and query parameters) are served from the cache without querying the
+ * data provider again.
+ * <p>
+ * Only responses with status {@link ITmfResponse.Status#COMPLETED} are cached.
+ * The cache is bounded by the estimated size of the cached models, which can be
+ * configured in megabytes with the {@value #PROPERTY_CACHE_SIZE} system
+ * property. A size of 0 disables the cache.
+ * <p>
+ * The entries of an experiment must be invalidated with
+ * {@link #invalidate(UUID)} when the experiment is closed or re-opened, or when
+ * its outputs change.
+ */
+public final class DataProviderResponseCache {
+
+    private static final String PROPERTY_CACHE_SIZE = "traceserver.responseCacheSize"; //$NON-NLS-1$
+    private static final long DEFAULT_CACHE_SIZE_MB = 256;
+
+    /* Rough estimates of the memory used by the cached models, in bytes */
+    private static final int ENTRY_OVERHEAD = 256;
+    private static final int STATE_SIZE = 96;
+    private static final int ROW_SIZE = 64;
+    private static final int POINT_SIZE = 16;
+    private static final int SERIES_SIZE = 128;
+
+    private static final DataProviderResponseCache INSTANCE = new DataProviderResponseCache(getCacheSize());
+
+    private final Cache<CacheKey, TmfModelResponse<?>> fCache;
+    private final boolean fEnabled;
+
+    /**
+     * Key of a cached response
+     */
+    private static final class CacheKey {
+        private final UUID fExpUUID;
+        private final String fOutputId;
+        private final String fQueryType;
+        private final Object fParameters;
+
+        public CacheKey(UUID expUUID, String outputId, String queryType, Map<String, Object> parameters) {
+            fExpUUID = expUUID;
+            fOutputId = outputId;
+            fQueryType = queryType;
+            fParameters = normalize(parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fExpUUID, fOutputId, fQueryType, fParameters);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return fExpUUID.equals(other.fExpUUID) && fOutputId.equals(other.fOutputId)
+                    && fQueryType.equals(other.fQueryType) && fParameters.equals(other.fParameters);
+        }
+    }
+
+    /**
+     * Constructor
+     *
+     * @param maxSizeMB
+     *            the maximum estimated size of the cached models, in megabytes
+     */
+    @VisibleForTesting
+    public DataProviderResponseCache(long maxSizeMB) {
+        fEnabled = maxSizeMB > 0;
+        fCache = CacheBuilder.newBuilder()
+                .maximumWeight(Math.max(0, maxSizeMB) * 1024)
+                .weigher((CacheKey key, TmfModelResponse<?> value) -> estimateSizeKB(value))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get the instance of the response cache
+     *
+     * @return The response cache
+     */
+    public static DataProviderResponseCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Get the cached response for a query, or execute the query and cache its
+     * response if it is completed.
+     *
+     * @param <T>
+     *            the type of model
+     * @param expUUID
+     *            the UUID of the queried experiment
+     * @param outputId
+     *            the ID of the queried output
+     * @param queryType
+     *            the kind of query, e.g. the endpoint name
+     * @param parameters
+     *            the query parameters
+     * @param query
+     *            the query to execute if the response is not cached
+     * @return the response
+     */
+    @SuppressWarnings("unchecked")
+    public <T> TmfModelResponse<T> get(UUID expUUID, String outputId, String queryType, Map<String, Object> parameters, Supplier<TmfModelResponse<T>> query) {
+        if (!fEnabled) {
+            return query.get();
+        }
+        CacheKey key = new CacheKey(expUUID, outputId, queryType, parameters);
+        TmfModelResponse<?> cached = fCache.getIfPresent(key);
+        if (cached != null) {
+            return (TmfModelResponse<T>) cached;
+        }
+        TmfModelResponse<T> response = query.get();
+        if (response.getStatus() == ITmfResponse.Status.COMPLETED && response.getModel() != null) {
+            fCache.put(key, response);
+        }
+        return response;
+    }
+
+    /**
+     * Invalidate all the cached responses of an experiment
+     *
+     * @param expUUID
+     *            the UUID of the experiment
+     */
+    public void invalidate(UUID expUUID) {
+        fCache.asMap().keySet().removeIf(key -> key.fExpUUID.equals(expUUID));
+    }
+
+    /**
+     * Invalidate all the cached responses
+     */
+    public void invalidateAll() {
+        fCache.invalidateAll();
+    }
+
+    /**
+     * Get the statistics of the cache
+     *
+     * @return the cache statistics
+     */
+    public CacheStats getStats() {
+        return fCache.stats();
+    }
+
+    /**
+     * Get the number of cached responses
+     *
+     * @return the number of cached responses
+     */
+    public long size() {
+        return fCache.size();
+    }
+
+    private static int estimateSizeKB(TmfModelResponse<?> response) {
+        long size = ENTRY_OVERHEAD;
+        Object model = response.getModel();
+        if (model instanceof TimeGraphModel) {
+            for (ITimeGraphRowModel row : ((TimeGraphModel) model).getRows()) {
+                size += ROW_SIZE + (long) row.getStates().size() * STATE_SIZE;
+            }
+        } else if (model instanceof ITmfXyModel) {
+            for (ISeriesModel series : ((ITmfXyModel) model).getSeriesData()) {
+                size += SERIES_SIZE + (long) series.getData().length * POINT_SIZE;
+            }
+        } else if (model instanceof Collection) {
+            size += (long) ((Collection<?>) model).size() * STATE_SIZE;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, size / 1024 + 1);
+    }
+
+    /**
+     * Normalize the deserialized query parameters, so that equivalent queries
+     * produce equal keys regardless of the order of the map entries or the
+     * boxed type of the numbers.
+     */
+    private static Object normalize(@Nullable Object value) {
+        if (value instanceof Map) {
+            Map<String, Object> normalized = new TreeMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                normalized.put(String.valueOf(entry.getKey()), normalize(entry.getValue()));
+            }
+            return normalized;
+        }
+        if (value instanceof Collection) {
+            List<Object> normalized = new ArrayList<>();
+            for (Object element : (Collection<?>) value) {
+                normalized.add(normalize(element));
+            }
+            return normalized;
+        }
+        if (value instanceof Float || value instanceof Double) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return String.valueOf(value);
+    }
+
+    private static long getCacheSize() {
+        String value = System.getProperty(PROPERTY_CACHE_SIZE);
+        if (value != null && !value.isEmpty()) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                Activator.getInstance().logWarning(String.format("Invalid value specified for %s: %s. Will use default value %d", PROPERTY_CACHE_SIZE, value, DEFAULT_CACHE_SIZE_MB)); //$NON-NLS-1$
+            }
+        }
+        return DEFAULT_CACHE_SIZE_MB;
+    }
+}
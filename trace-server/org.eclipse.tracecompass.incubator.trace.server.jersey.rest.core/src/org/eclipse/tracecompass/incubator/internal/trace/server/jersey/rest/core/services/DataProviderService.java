@@ -11,11 +11,14 @@
 
 package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
 
+import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderQueryExecutor.CLIENT_ID_HEADER;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.ANN;
+import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.BAT;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.CFG_CREATE_DESC;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.CFG_KEYS_DESC;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.CFG_OUTPUT_ID;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.CFG_TYPE_ID;
+import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.CLIENT_ID;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.COLUMNS;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.COLUMNS_EX;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.CONSISTENT_PARENT;
@@ -73,8 +76,11 @@ import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.re
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.TIMES_EX_TT;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.TIMES_TT;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.TREE_ENTRIES;
+import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.UNKNOWN_REQUEST_TYPE;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.VTB;
 import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.EndpointConstants.X_Y;
+import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.VirtualTableLinesStreamingOutput.APPLICATION_NDJSON;
+import static org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.ColumnarModelWriter.APPLICATION_COLUMNAR;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -88,21 +94,32 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ConnectionCallback;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Providers;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.common.core.log.TraceCompassLog;
@@ -110,6 +127,7 @@ import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.AnnotationResponse;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.AnnotationsQueryParameters;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.ArrowsQueryParameters;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.BatchResponse;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.DataProvider;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.DataTreeResponse;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.ErrorResponse;
@@ -129,12 +147,15 @@ import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.VirtualTableResponse;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.XYResponse;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.XYTreeResponse;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.BatchQueryParameters;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.BatchQueryParameters.BatchRequest;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.ConfigurationQueryParameters;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.OutputConfigurationQueryParameters;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.QueryParameters;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.TableColumnHeader;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.TreeModelWrapper;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.views.VirtualTableModelWrapper;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp.JacksonObjectMapperProvider;
 import org.eclipse.tracecompass.internal.analysis.timing.core.event.matching.EventMatchingLatencyAnalysis;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableDataProvider;
 import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableModel;
@@ -177,6 +198,7 @@ import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
 import org.eclipse.tracecompass.traceeventlogger.LogUtils.FlowScopeLog;
 import org.eclipse.tracecompass.traceeventlogger.LogUtils.FlowScopeLogBuilder;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
@@ -208,6 +230,28 @@ public class DataProviderService {
 
     private static final @NonNull Logger LOGGER = TraceCompassLog.getLogger(DataProviderService.class);
 
+    // Kinds of queries that supersede each other, see DataProviderQueryExecutor
+    private static final String TREE_QUERY = "tree"; //$NON-NLS-1$
+    private static final String XY_QUERY = "xy"; //$NON-NLS-1$
+    private static final String STATES_QUERY = "states"; //$NON-NLS-1$
+    private static final String ARROWS_QUERY = "arrows"; //$NON-NLS-1$
+    private static final String LINES_QUERY = "lines"; //$NON-NLS-1$
+
+    // Types of the requests of a batch, other than the kinds of queries above
+    private static final String GENERIC_XY_REQUEST = "genericXY"; //$NON-NLS-1$
+    private static final String TOOLTIP_REQUEST = "tooltip"; //$NON-NLS-1$
+    private static final String ANNOTATIONS_REQUEST = "annotations"; //$NON-NLS-1$
+    private static final String COLUMNS_REQUEST = "columns"; //$NON-NLS-1$
+    private static final String STYLE_REQUEST = "style"; //$NON-NLS-1$
+
+    // Keys of the batch response
+    private static final String RESPONSES_KEY = "responses"; //$NON-NLS-1$
+    private static final String ID_KEY = "id"; //$NON-NLS-1$
+    private static final String STATUS_KEY = "status"; //$NON-NLS-1$
+    private static final String BODY_KEY = "body"; //$NON-NLS-1$
+    // Separates the client ID and the position of a request of a batch
+    private static final String BATCH_CLIENT_ID_SEPARATOR = "#batch"; //$NON-NLS-1$
+
     private final DataProviderManager manager = DataProviderManager.getInstance();
     private final XmlDataProviderManager xmlManager = XmlDataProviderManager.getInstance();
 
@@ -298,8 +342,13 @@ public class DataProviderService {
      * @param queryParameters
      *            Parameters to fetch a data tree as described by
      *            {@link QueryParameters}
-     * @return a {@link Response} with the result, if successful a
-     *         {@link TmfModelResponse} with a {@link TreeModelWrapper}
+     * @param clientId
+     *            optional ID of the client, used to cancel the superseded
+     *            queries of this client
+     * @param asyncResponse
+     *            the async response, resumed with a {@link Response} with the
+     *            result, if successful a
+     *            {@link TmfModelResponse} with a {@link TreeModelWrapper}
      */
     @POST
     @Path("/data/{outputId}/tree")
@@ -313,14 +362,16 @@ public class DataProviderService {
             @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public Response getDataTree(
+    public void getDataTree(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
             @Parameter(description = OUTPUT_ID) @PathParam("outputId") String outputId,
             @RequestBody(description = "Query parameters to fetch the data tree entries. " + TIMERANGE_TREE, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_EX_TREE +
                             "}}"), schema = @Schema(implementation = TreeQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
-        return getTree(expUUID, outputId, queryParameters);
+            }, required = true) QueryParameters queryParameters,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) String clientId,
+            @Suspended AsyncResponse asyncResponse) {
+        getTree(expUUID, outputId, queryParameters, clientId, asyncResponse);
     }
 
     /**
@@ -333,8 +384,13 @@ public class DataProviderService {
      * @param queryParameters
      *            Parameters to fetch an XY tree as described by
      *            {@link QueryParameters}
-     * @return a {@link Response} with the result, if successful a
-     *         {@link TmfModelResponse} with a {@link TreeModelWrapper}
+     * @param clientId
+     *            optional ID of the client, used to cancel the superseded
+     *            queries of this client
+     * @param asyncResponse
+     *            the async response, resumed with a {@link Response} with the
+     *            result, if successful a
+     *            {@link TmfModelResponse} with a {@link TreeModelWrapper}
      */
     @POST
     @Path("/XY/{outputId}/tree")
@@ -348,14 +404,16 @@ public class DataProviderService {
             @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public Response getXYTree(
+    public void getXYTree(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
             @Parameter(description = OUTPUT_ID) @PathParam("outputId") String outputId,
             @RequestBody(description = "Query parameters to fetch the XY tree. " + TIMERANGE_TREE, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_EX_TREE +
                             "}}"), schema = @Schema(implementation = TreeQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
-        return getTree(expUUID, outputId, queryParameters);
+            }, required = true) QueryParameters queryParameters,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) String clientId,
+            @Suspended AsyncResponse asyncResponse) {
+        getTree(expUUID, outputId, queryParameters, clientId, asyncResponse);
     }
 
     /**
@@ -367,14 +425,19 @@ public class DataProviderService {
      *            Output ID for the data provider to query
      * @param queryParameters
      *            Parameters to fetch XY as described by {@link QueryParameters}
-     * @return a {@link Response} with the result, if successful a
-     *         {@link TmfModelResponse} with a {@link ITmfXyModel}
+     * @param clientId
+     *            optional ID of the client, used to cancel the superseded
+     *            queries of this client
+     * @param asyncResponse
+     *            the async response, resumed with a {@link Response} with the
+     *            result, if successful a
+     *            {@link TmfModelResponse} with a {@link ITmfXyModel}
      */
     @POST
     @Path("/XY/{outputId}/xy")
     @Tag(name = X_Y)
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, APPLICATION_COLUMNAR })
     @Operation(summary = "API to get the XY model", description = "Unique endpoint for all xy models, " +
             "ensures that the same template is followed for all endpoints.", responses = {
                     @ApiResponse(responseCode = "200", description = "Return the queried XYResponse", content = @Content(schema = @Schema(implementation = XYResponse.class))),
@@ -382,18 +445,26 @@ public class DataProviderService {
                     @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                     @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
-    public Response getXY(
+    public void getXY(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
             @Parameter(description = OUTPUT_ID) @PathParam("outputId") String outputId,
             @RequestBody(description = "Query parameters to fetch the XY model. " + TIMERANGE + " " + ITEMS_XY, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_EX + "," + ITEMS_EX +
                             "}}"), schema = @Schema(implementation = RequestedQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
+            }, required = true) QueryParameters queryParameters,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) String clientId,
+            @Suspended AsyncResponse asyncResponse) {
 
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
-            return errorResponse;
+            asyncResponse.resume(errorResponse);
+            return;
         }
+        DataProviderQueryExecutor.getInstance().submit(asyncResponse, expUUID, outputId, XY_QUERY, clientId,
+                monitor -> fetchXY(expUUID, outputId, queryParameters, monitor));
+    }
+
+    private Response fetchXY(UUID expUUID, String outputId, QueryParameters queryParameters, IProgressMonitor monitor) {
         try (FlowScopeLog scope = new FlowScopeLogBuilder(LOGGER, Level.FINE, "DataProviderService#getXY") //$NON-NLS-1$
                 .setCategory(outputId).build()) {
             TmfExperiment experiment = ExperimentManagerService.getExperimentByUUID(expUUID);
@@ -420,7 +491,9 @@ public class DataProviderService {
                 return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage);
             }
 
-            TmfModelResponse<@NonNull ITmfXyModel> response = provider.fetchXY(params, null);
+            ITmfTreeXYDataProvider<@NonNull ITmfTreeDataModel> xyProvider = provider;
+            TmfModelResponse<@NonNull ITmfXyModel> response = DataProviderResponseCache.getInstance().get(expUUID, outputId, XY_QUERY, params,
+                    () -> xyProvider.fetchXY(params, monitor));
             return Response.ok(response).build();
         }
     }
@@ -435,8 +508,13 @@ public class DataProviderService {
      * @param queryParameters
      *            Parameters used to request the tree and axis descriptions, as
      *            defined in {@link QueryParameters}
-     * @return a {@link Response} with the result, if successful a
-     *         {@link TmfModelResponse} with a {@link TreeModelWrapper}
+     * @param clientId
+     *            optional ID of the client, used to cancel the superseded
+     *            queries of this client
+     * @param asyncResponse
+     *            the async response, resumed with a {@link Response} with the
+     *            result, if successful a
+     *            {@link TmfModelResponse} with a {@link TreeModelWrapper}
      */
     @POST
     @Path("/genericXY/{outputId}/tree")
@@ -450,14 +528,16 @@ public class DataProviderService {
             @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public Response getGenericXYChartTree(
+    public void getGenericXYChartTree(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
             @Parameter(description = OUTPUT_ID) @PathParam("outputId") String outputId,
             @RequestBody(description = "Query parameters to fetch the generic XY tree. " + TIMERANGE_TREE, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_EX_TREE +
                             "}}"), schema = @Schema(implementation = TreeQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
-        return getTree(expUUID, outputId, queryParameters);
+            }, required = true) QueryParameters queryParameters,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) String clientId,
+            @Suspended AsyncResponse asyncResponse) {
+        getTree(expUUID, outputId, queryParameters, clientId, asyncResponse);
     }
 
     /**
@@ -469,14 +549,19 @@ public class DataProviderService {
      *            Output ID for the data provider to query
      * @param queryParameters
      *            Parameters to fetch xy as described by {@link QueryParameters}
-     * @return a {@link Response} with the result, if successful a
-     *         {@link TmfModelResponse} with a {@link ITmfXyModel}
+     * @param clientId
+     *            optional ID of the client, used to cancel the superseded
+     *            queries of this client
+     * @param asyncResponse
+     *            the async response, resumed with a {@link Response} with the
+     *            result, if successful a
+     *            {@link TmfModelResponse} with a {@link ITmfXyModel}
      */
     @POST
     @Path("/genericXY/{outputId}/xy")
     @Tag(name = GXY)
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, APPLICATION_COLUMNAR })
     @Operation(summary = "API to get the xy model", description = "Unique endpoint for all xy models, " +
             "ensures that the same template is followed for all endpoints.", responses = {
                     @ApiResponse(responseCode = "200", description = "Return the queried xy response", content = @Content(schema = @Schema(implementation = XYResponse.class))),
@@ -484,18 +569,26 @@ public class DataProviderService {
                     @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                     @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
-    public Response getGenericXY(
+    public void getGenericXY(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
             @Parameter(description = OUTPUT_ID) @PathParam("outputId") String outputId,
             @RequestBody(description = "Query parameters to fetch the xy model. " + TIMERANGE + " " + ITEMS_XY, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_SAMPLING_EX + "," + ITEMS_EX +
                             "}}"), schema = @Schema(implementation = GenericXYQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
+            }, required = true) QueryParameters queryParameters,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) String clientId,
+            @Suspended AsyncResponse asyncResponse) {
 
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
-            return errorResponse;
+            asyncResponse.resume(errorResponse);
+            return;
         }
+        DataProviderQueryExecutor.getInstance().submit(asyncResponse, expUUID, outputId, XY_QUERY, clientId,
+                monitor -> fetchGenericXY(expUUID, outputId, queryParameters, monitor));
+    }
+
+    private Response fetchGenericXY(UUID expUUID, String outputId, QueryParameters queryParameters, IProgressMonitor monitor) {
         try (FlowScopeLog scope = new FlowScopeLogBuilder(LOGGER, Level.FINE, "DataProviderService#fetchXY") //$NON-NLS-1$
                 .setCategory(outputId).build()) {
             TmfExperiment experiment = ExperimentManagerService.getExperimentByUUID(expUUID);
@@ -516,7 +609,8 @@ public class DataProviderService {
             if (errorMessage != null) {
                 return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage);            }
 
-            TmfModelResponse<@NonNull ITmfXyModel> response = provider.fetchXY(params, null);
+            TmfModelResponse<@NonNull ITmfXyModel> response = DataProviderResponseCache.getInstance().get(expUUID, outputId, XY_QUERY, params,
+                    () -> provider.fetchXY(params, monitor));
             return Response.ok(response).build();
         }
     }
@@ -559,8 +653,13 @@ public class DataProviderService {
      * @param queryParameters
      *            Parameters to fetch time graph tree as described by
      *            {@link QueryParameters}
-     * @return a {@link Response} with the result, if successful a
-     *         {@link TmfModelResponse} with a {@link TreeModelWrapper}
+     * @param clientId
+     *            optional ID of the client, used to cancel the superseded
+     *            queries of this client
+     * @param asyncResponse
+     *            the async response, resumed with a {@link Response} with the
+     *            result, if successful a
+     *            {@link TmfModelResponse} with a {@link TreeModelWrapper}
      */
     @POST
     @Path("/timeGraph/{outputId}/tree")
@@ -574,14 +673,16 @@ public class DataProviderService {
             @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public Response getTimeGraphTree(
+    public void getTimeGraphTree(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
             @Parameter(description = OUTPUT_ID) @PathParam("outputId") String outputId,
             @RequestBody(description = "Query parameters to fetch the timegraph tree. " + TIMERANGE_TREE, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_EX_TREE +
                             "}}"), schema = @Schema(implementation = TreeQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
-        return getTree(expUUID, outputId, queryParameters);
+            }, required = true) QueryParameters queryParameters,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) String clientId,
+            @Suspended AsyncResponse asyncResponse) {
+        getTree(expUUID, outputId, queryParameters, clientId, asyncResponse);
     }
 
     /**
@@ -594,32 +695,45 @@ public class DataProviderService {
      * @param queryParameters
      *            Parameters to fetch time graph states as described by
      *            {@link QueryParameters}
-     * @return a {@link Response} with the result, if successful a
-     *         {@link TmfModelResponse} with a {@link TimeGraphModel}
+     * @param clientId
+     *            optional ID of the client, used to cancel the superseded
+     *            queries of this client
+     * @param asyncResponse
+     *            the async response, resumed with a {@link Response} with the
+     *            result, if successful a
+     *            {@link TmfModelResponse} with a {@link TimeGraphModel}
      */
     @POST
     @Path("/timeGraph/{outputId}/states")
     @Tag(name = TGR)
     @Consumes(MediaType.APPLICATION_JSON)
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({ MediaType.APPLICATION_JSON, APPLICATION_COLUMNAR })
     @Operation(summary = "API to get the Time Graph states", description = "Unique entry point for all TimeGraph states, ensures that the same template is followed for all views", responses = {
             @ApiResponse(responseCode = "200", description = "Returns a list of time graph rows", content = @Content(schema = @Schema(implementation = TimeGraphStatesResponse.class))),
             @ApiResponse(responseCode = "400", description = MISSING_PARAMETERS, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public Response getStates(
+    public void getStates(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
             @Parameter(description = OUTPUT_ID) @PathParam("outputId") String outputId,
             @RequestBody(description = "Query parameters to fetch the timegraph states. " + TIMERANGE + " " + ITEMS + " " + FILTER_QUERY_PARAMETERS, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_EX + "," + ITEMS_EX + "," + FILTER_QUERY_PARAMETERS_EX +
                             "}}"), schema = @Schema(implementation = RequestedQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
+            }, required = true) QueryParameters queryParameters,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) String clientId,
+            @Suspended AsyncResponse asyncResponse) {
 
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
-            return errorResponse;
+            asyncResponse.resume(errorResponse);
+            return;
         }
+        DataProviderQueryExecutor.getInstance().submit(asyncResponse, expUUID, outputId, STATES_QUERY, clientId,
+                monitor -> fetchStates(expUUID, outputId, queryParameters, monitor));
+    }
+
+    private Response fetchStates(UUID expUUID, String outputId, QueryParameters queryParameters, IProgressMonitor monitor) {
         try (FlowScopeLog scope = new FlowScopeLogBuilder(LOGGER, Level.FINE, "DataProviderService#getStates") //$NON-NLS-1$
                 .setCategory(outputId).build()) {
             TmfExperiment experiment = ExperimentManagerService.getExperimentByUUID(expUUID);
@@ -645,7 +759,8 @@ public class DataProviderService {
                 return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage);
             }
 
-            TmfModelResponse<TimeGraphModel> response = provider.fetchRowModel(params, null);
+            TmfModelResponse<TimeGraphModel> response = DataProviderResponseCache.getInstance().get(expUUID, outputId, STATES_QUERY, params,
+                    () -> provider.fetchRowModel(params, monitor));
             return Response.ok(response).build();
         }
     }
@@ -660,8 +775,13 @@ public class DataProviderService {
      * @param queryParameters
      *            Parameters to fetch time graph arrows as described by
      *            {@link QueryParameters}
-     * @return a {@link Response} with the result, if successful a
-     *         {@link TmfModelResponse} with a list of {@link ITimeGraphArrow}
+     * @param clientId
+     *            optional ID of the client, used to cancel the superseded
+     *            queries of this client
+     * @param asyncResponse
+     *            the async response, resumed with a {@link Response} with the
+     *            result, if successful a
+     *            {@link TmfModelResponse} with a list of {@link ITimeGraphArrow}
      */
     @POST
     @Path("/timeGraph/{outputId}/arrows")
@@ -675,18 +795,26 @@ public class DataProviderService {
                     @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
                     @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
             })
-    public Response getArrows(
+    public void getArrows(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
             @Parameter(description = OUTPUT_ID) @PathParam("outputId") String outputId,
             @RequestBody(description = "Query parameters to fetch the timegraph arrows. " + TIMERANGE, content = {
                     @Content(examples = @ExampleObject("{\"parameters\":{" + TIMERANGE_EX +
                             "}}"), schema = @Schema(implementation = ArrowsQueryParameters.class))
-            }, required = true) QueryParameters queryParameters) {
+            }, required = true) QueryParameters queryParameters,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) String clientId,
+            @Suspended AsyncResponse asyncResponse) {
 
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
-            return errorResponse;
+            asyncResponse.resume(errorResponse);
+            return;
         }
+        DataProviderQueryExecutor.getInstance().submit(asyncResponse, expUUID, outputId, ARROWS_QUERY, clientId,
+                monitor -> fetchArrows(expUUID, outputId, queryParameters, monitor));
+    }
+
+    private Response fetchArrows(UUID expUUID, String outputId, QueryParameters queryParameters, IProgressMonitor monitor) {
         try (FlowScopeLog scope = new FlowScopeLogBuilder(LOGGER, Level.FINE, "DataProviderService#getArrows") //$NON-NLS-1$
                 .setCategory(outputId).build()) {
             TmfExperiment experiment = ExperimentManagerService.getExperimentByUUID(expUUID);
@@ -707,7 +835,7 @@ public class DataProviderService {
                 return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage);
             }
 
-            TmfModelResponse<@NonNull List<@NonNull ITimeGraphArrow>> response = provider.fetchArrows(params, null);
+            TmfModelResponse<@NonNull List<@NonNull ITimeGraphArrow>> response = provider.fetchArrows(params, monitor);
             return Response.ok(response).build();
         }
     }
@@ -1058,8 +1186,13 @@ public class DataProviderService {
      * @param queryParameters
      *            Parameters to fetch table lines as described by
      *            {@link QueryParameters}
-     * @return a {@link Response} with the result, if successful a
-     *         {@link TmfModelResponse} with a {@link VirtualTableModelWrapper}
+     * @param clientId
+     *            optional ID of the client, used to cancel the superseded
+     *            queries of this client
+     * @param asyncResponse
+     *            the async response, resumed with a {@link Response} with the
+     *            result, if successful a
+     *            {@link TmfModelResponse} with a {@link VirtualTableModelWrapper}
      */
     @POST
     @Path("/table/{outputId}/lines")
@@ -1073,7 +1206,7 @@ public class DataProviderService {
             @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
             @ApiResponse(responseCode = "500", description = "Error reading the experiment", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
-    public Response getLines(
+    public void getLines(
             @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
             @Parameter(description = OUTPUT_ID) @PathParam("outputId") String outputId,
             @RequestBody(description = "Query parameters to fetch the table lines. " + ONE_OF +
@@ -1081,12 +1214,20 @@ public class DataProviderService {
                             @Content(examples = @ExampleObject("{\"parameters\":{" +
                                     INDEX_EX + COUNT_EX + COLUMNS_EX + EXPRESSIONS_EX + DIRECTION_EX +
                                     "}}"), schema = @Schema(implementation = LinesQueryParameters.class))
-                    }, required = true) QueryParameters queryParameters) {
+                    }, required = true) QueryParameters queryParameters,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) String clientId,
+            @Suspended AsyncResponse asyncResponse) {
 
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
-            return errorResponse;
+            asyncResponse.resume(errorResponse);
+            return;
         }
+        DataProviderQueryExecutor.getInstance().submit(asyncResponse, expUUID, outputId, LINES_QUERY, clientId,
+                monitor -> fetchLines(expUUID, outputId, queryParameters, monitor));
+    }
+
+    private Response fetchLines(UUID expUUID, String outputId, QueryParameters queryParameters, IProgressMonitor monitor) {
         try (FlowScopeLog scope = new FlowScopeLogBuilder(LOGGER, Level.FINE, "DataProviderService#getLines") //$NON-NLS-1$
                 .setCategory(outputId).build()) {
             TmfExperiment experiment = ExperimentManagerService.getExperimentByUUID(expUUID);
@@ -1105,7 +1246,7 @@ public class DataProviderService {
                 return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage);
             }
 
-            TmfModelResponse<?> response = provider.fetchLines(params, null);
+            TmfModelResponse<?> response = provider.fetchLines(params, monitor);
             if (response.getStatus() == ITmfResponse.Status.FAILED) {
                 return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, response.getStatusMessage());
             }
@@ -1113,16 +1254,215 @@ public class DataProviderService {
         }
     }
 
-    private Response getTree(UUID expUUID, String outputId, QueryParameters queryParameters) {
+    /**
+     * Stream the table lines of a provider as newline-delimited JSON, one line
+     * object per line of the response. Unlike {@link #getLines}, the lines are
+     * fetched and written incrementally, so that any number of lines can be
+     * requested.
+     *
+     * @param expUUID
+     *            desired experiment UUID
+     * @param outputId
+     *            Output ID for the data provider to query
+     * @param queryParameters
+     *            Parameters to fetch table lines as described by
+     *            {@link QueryParameters}. If no count is given, the lines are
+     *            streamed until the end of the table.
+     * @param providers
+     *            the JAX-RS providers, used to get the object mapper
+     * @return a {@link Response} streaming the lines, or an error response
+     */
+    @POST
+    @Path("/table/{outputId}/lines/stream")
+    @Tag(name = VTB)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(APPLICATION_NDJSON)
+    @Operation(summary = "API to stream virtual table lines as newline-delimited JSON", responses = {
+            @ApiResponse(responseCode = "200", description = "Returns the table lines, one JSON object per line", content = @Content(mediaType = APPLICATION_NDJSON)),
+            @ApiResponse(responseCode = "400", description = INVALID_PARAMETERS, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = PROVIDER_NOT_FOUND, content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "405", description = NO_PROVIDER, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    public Response streamLines(
+            @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
+            @Parameter(description = OUTPUT_ID) @PathParam("outputId") String outputId,
+            @RequestBody(description = "Query parameters to stream the table lines. " + ONE_OF +
+                    INDEX + TABLE_TIMES + COUNT + COLUMNS + EXPRESSIONS + DIRECTION + DIRECTION_COUNT, content = {
+                            @Content(examples = @ExampleObject("{\"parameters\":{" +
+                                    INDEX_EX + COUNT_EX + COLUMNS_EX + EXPRESSIONS_EX + DIRECTION_EX +
+                                    "}}"), schema = @Schema(implementation = LinesQueryParameters.class))
+                    }, required = true) QueryParameters queryParameters,
+            @Context Providers providers) {
+
         Response errorResponse = validateParameters(outputId, queryParameters);
         if (errorResponse != null) {
             return errorResponse;
         }
-        Map<String, Object> params = queryParameters.getParameters();
-        String errorMessage = QueryParametersUtil.validateTreeQueryParameters(params);
+        try (FlowScopeLog scope = new FlowScopeLogBuilder(LOGGER, Level.FINE, "DataProviderService#streamLines") //$NON-NLS-1$
+                .setCategory(outputId).build()) {
+            TmfExperiment experiment = ExperimentManagerService.getExperimentByUUID(expUUID);
+            if (experiment == null) {
+                return ErrorResponseUtil.newErrorResponse(Status.NOT_FOUND, NO_SUCH_TRACE);
+            }
+
+            ITmfVirtualTableDataProvider<?, ?> provider = manager.fetchOrCreateDataProvider(experiment, outputId, ITmfVirtualTableDataProvider.class);
+            if (provider == null) {
+                return ErrorResponseUtil.newErrorResponse(Status.METHOD_NOT_ALLOWED, NO_PROVIDER);
+            }
+
+            Map<String, Object> params = queryParameters.getParameters();
+            String errorMessage = QueryParametersUtil.validateLinesQueryParameters(params);
+            if (errorMessage != null) {
+                return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage);
+            }
+
+            ContextResolver<ObjectMapper> resolver = providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE);
+            ObjectMapper mapper = resolver != null ? resolver.getContext(IVirtualTableLine.class) : new JacksonObjectMapperProvider().getContext(IVirtualTableLine.class);
+            return Response.ok(new VirtualTableLinesStreamingOutput(provider, params, mapper, new NullProgressMonitor()), APPLICATION_NDJSON).build();
+        }
+    }
+
+    /**
+     * Execute a batch of queries to the outputs of an experiment. The queries
+     * are executed in parallel and their responses are returned together, so
+     * that a client refreshing several views needs a single round trip.
+     *
+     * @param expUUID
+     *            desired experiment UUID
+     * @param batchParameters
+     *            the requests of the batch, as described by
+     *            {@link BatchQueryParameters}
+     * @param clientId
+     *            optional ID of the client, used to cancel the superseded
+     *            queries of this client
+     * @param asyncResponse
+     *            the async response, resumed with a {@link Response} with the
+     *            result, if successful the list of the responses, in the order
+     *            of the requests
+     */
+    @POST
+    @Path("/batch")
+    @Tag(name = BAT)
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "API to execute several output queries at once", description = "The requests are executed in parallel. " +
+            "Each response contains the HTTP status and the body that the endpoint of the same type would have returned.", responses = {
+                    @ApiResponse(responseCode = "200", description = "Returns the response of each request", content = @Content(schema = @Schema(implementation = BatchResponse.class))),
+                    @ApiResponse(responseCode = "400", description = MISSING_PARAMETERS, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+            })
+    public void getBatch(
+            @Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID,
+            @RequestBody(description = "The requests of the batch. The parameters of each request are the same as for the endpoint of the same type.", content = {
+                    @Content(examples = @ExampleObject("{\"requests\":[{\"id\":\"1\",\"type\":\"states\",\"outputId\":\"output.id\",\"parameters\":{" + TIMERANGE_EX + "," + ITEMS_EX +
+                            "}}]}"), schema = @Schema(implementation = org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.BatchQueryParameters.class))
+            }, required = true) BatchQueryParameters batchParameters,
+            @Parameter(description = CLIENT_ID) @HeaderParam(CLIENT_ID_HEADER) String clientId,
+            @Suspended AsyncResponse asyncResponse) {
+
+        List<BatchRequest> requests = batchParameters == null ? null : batchParameters.getRequests();
+        if (requests == null || requests.isEmpty()) {
+            asyncResponse.resume(ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, MISSING_PARAMETERS));
+            return;
+        }
+        List<IProgressMonitor> monitors = new ArrayList<>();
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            BatchRequest request = requests.get(i);
+            IProgressMonitor monitor = new NullProgressMonitor();
+            monitors.add(monitor);
+            /*
+             * The requests of a batch do not supersede each other, even if they
+             * have the same type and output, but they supersede the request at
+             * the same position of the previous batch of the client
+             */
+            @Nullable String requestClientId = clientId == null ? null : clientId + BATCH_CLIENT_ID_SEPARATOR + i;
+            futures.add(executeBatchRequest(expUUID, request, requestClientId, monitor)
+                    .exceptionally(e -> ErrorResponseUtil.newErrorResponse(Status.INTERNAL_SERVER_ERROR, String.valueOf(e.getMessage())))
+                    .thenApply(response -> {
+                        Map<String, Object> item = new LinkedHashMap<>();
+                        item.put(ID_KEY, request.getId());
+                        item.put(STATUS_KEY, response.getStatus());
+                        item.put(BODY_KEY, response.getEntity());
+                        return item;
+                    }));
+        }
+        ConnectionCallback disconnectCallback = disconnected -> monitors.forEach(monitor -> monitor.setCanceled(true));
+        asyncResponse.register(disconnectCallback);
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).thenRun(() -> {
+            List<Map<String, Object>> responses = new ArrayList<>();
+            futures.forEach(future -> responses.add(future.join()));
+            asyncResponse.resume(Response.ok(ImmutableMap.of(RESPONSES_KEY, responses)).build());
+        });
+    }
+
+    private CompletableFuture<Response> executeBatchRequest(UUID expUUID, BatchRequest request, @Nullable String clientId, IProgressMonitor monitor) {
+        String outputId = request.getOutputId();
+        if (outputId == null) {
+            return CompletableFuture.completedFuture(ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, MISSING_OUTPUTID));
+        }
+        QueryParameters queryParameters = request.toQueryParameters();
+        String type = String.valueOf(request.getType());
+        String queryType = type;
+        Function<IProgressMonitor, Response> query;
+        switch (type) {
+        case TREE_QUERY:
+            String errorMessage = QueryParametersUtil.validateTreeQueryParameters(queryParameters.getParameters());
+            if (errorMessage != null) {
+                return CompletableFuture.completedFuture(ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage));
+            }
+            query = m -> fetchTree(expUUID, outputId, queryParameters, m);
+            break;
+        case XY_QUERY:
+            query = m -> fetchXY(expUUID, outputId, queryParameters, m);
+            break;
+        case GENERIC_XY_REQUEST:
+            queryType = XY_QUERY;
+            query = m -> fetchGenericXY(expUUID, outputId, queryParameters, m);
+            break;
+        case STATES_QUERY:
+            query = m -> fetchStates(expUUID, outputId, queryParameters, m);
+            break;
+        case ARROWS_QUERY:
+            query = m -> fetchArrows(expUUID, outputId, queryParameters, m);
+            break;
+        case LINES_QUERY:
+            query = m -> fetchLines(expUUID, outputId, queryParameters, m);
+            break;
+        case TOOLTIP_REQUEST:
+            query = m -> getTimeGraphTooltip(expUUID, outputId, queryParameters);
+            break;
+        case ANNOTATIONS_REQUEST:
+            query = m -> getAnnotations(expUUID, outputId, queryParameters);
+            break;
+        case COLUMNS_REQUEST:
+            query = m -> getColumns(expUUID, outputId, queryParameters);
+            break;
+        case STYLE_REQUEST:
+            query = m -> getStyles(expUUID, outputId, queryParameters);
+            break;
+        default:
+            return CompletableFuture.completedFuture(ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, UNKNOWN_REQUEST_TYPE, type));
+        }
+        return DataProviderQueryExecutor.getInstance().submit(monitor, expUUID, outputId, queryType, clientId, query);
+    }
+
+    private void getTree(UUID expUUID, String outputId, QueryParameters queryParameters, String clientId, AsyncResponse asyncResponse) {
+        Response errorResponse = validateParameters(outputId, queryParameters);
+        if (errorResponse != null) {
+            asyncResponse.resume(errorResponse);
+            return;
+        }
+        String errorMessage = QueryParametersUtil.validateTreeQueryParameters(queryParameters.getParameters());
         if (errorMessage != null) {
-            return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage);
+            asyncResponse.resume(ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, errorMessage));
+            return;
         }
+        DataProviderQueryExecutor.getInstance().submit(asyncResponse, expUUID, outputId, TREE_QUERY, clientId,
+                monitor -> fetchTree(expUUID, outputId, queryParameters, monitor));
+    }
+
+    private Response fetchTree(UUID expUUID, String outputId, QueryParameters queryParameters, IProgressMonitor monitor) {
+        Map<String, Object> params = queryParameters.getParameters();
         try (FlowScopeLog scope = new FlowScopeLogBuilder(LOGGER, Level.FINE, "DataProviderService#getTree") //$NON-NLS-1$
                 .setCategory(outputId).build()) {
             TmfExperiment experiment = ExperimentManagerService.getExperimentByUUID(expUUID);
@@ -1149,7 +1489,7 @@ public class DataProviderService {
                 timeRequested = ImmutableList.of(experiment.getStartTime().toNanos(), experiment.getEndTime().toNanos());
                 params.put(DataProviderParameterUtils.REQUESTED_TIME_KEY, timeRequested);
             }
-            TmfModelResponse<?> treeResponse = provider.fetchTree(params, null);
+            TmfModelResponse<?> treeResponse = provider.fetchTree(params, monitor);
             Object model = treeResponse.getModel();
             return Response.ok(model instanceof TmfTreeModel ? new TmfModelResponse<>(new TreeModelWrapper((TmfTreeModel<@NonNull ITmfTreeDataModel>) model), treeResponse.getStatus(), treeResponse.getStatusMessage()) : treeResponse).build();
         }
@@ -1387,6 +1727,7 @@ public class DataProviderService {
                 return ErrorResponseUtil.newErrorResponse(Status.NOT_FOUND, NO_SUCH_CONFIGURATION_TYPE);
             }
             IDataProviderDescriptor returnDescr = configurator.createDataProviderDescriptors(experiment, inputConfig);
+            DataProviderResponseCache.getInstance().invalidate(expUUID);
             return Response.ok(returnDescr).build();
         } catch (TmfConfigurationException e) {
             return ErrorResponseUtil.newErrorResponse(Status.BAD_REQUEST, e.getMessage());
@@ -1462,6 +1803,7 @@ public class DataProviderService {
 
             // Clean-up configuration
             configurator.removeDataProviderDescriptor(experiment, derivedDescriptor);
+            DataProviderResponseCache.getInstance().invalidate(expUUID);
 
             return Response.ok(derivedDescriptor).build();
         } catch (TmfConfigurationException e) {
@@ -58,6 +58,9 @@ public final class EndpointConstants {
     /** Error message returned for a request with missing output Id */
     public static final String MISSING_OUTPUTID = "Missing parameter outputId"; //$NON-NLS-1$
 
+    /** Error message returned for a batch request of an unknown type */
+    public static final String UNKNOWN_REQUEST_TYPE = "Unknown request type"; //$NON-NLS-1$
+
     /** Query parameter key for requested time range */
     private static final String REQUESTED_TIMERANGE_KEY = "requested_timerange"; //$NON-NLS-1$
 
@@ -92,6 +95,7 @@ public final class EndpointConstants {
      * 3-letters so they align in {@link DataProviderService}; readability.
      */
     static final String ANN = "Annotations"; //$NON-NLS-1$
+    static final String BAT = "Batch"; //$NON-NLS-1$
     static final String BKM = "Bookmarks"; //$NON-NLS-1$
     static final String CFG = "Configurations"; //$NON-NLS-1$
     static final String DIA = "Diagnostic"; //$NON-NLS-1$
@@ -113,6 +117,7 @@ public final class EndpointConstants {
     static final String CFG_CONFIG_ID = "The configuration instance ID"; //$NON-NLS-1$
     static final String CFG_OUTPUT_ID = "ID of the output provider to create a derived output from"; //$NON-NLS-1$
     static final String CFG_TYPE_ID = "The configuration source type ID"; //$NON-NLS-1$
+    static final String CLIENT_ID = "Optional ID of the client. A newer query of the same kind for the same output and client cancels the previous one."; //$NON-NLS-1$
     static final String DERIVED_OUTPUT_ID = "ID of the derived output provider"; //$NON-NLS-1$
     static final String EXP_UUID = "UUID of the experiment to query"; //$NON-NLS-1$
     static final String MARKER_SET_ID = "The optional requested marker set's id"; //$NON-NLS-1$
@@ -34,6 +34,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
@@ -100,17 +108,39 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = EndpointConstants.EXP)
 public class ExperimentManagerService {
 
-    private static final Map<UUID, List<UUID>> TRACE_UUIDS = Collections.synchronizedMap(new HashMap<>());
-    private static final Map<UUID, Map<UUID, ITmfTrace>> TRACE_INSTANCES = Collections.synchronizedMap(new HashMap<>());
-    private static final Map<UUID, IResource> EXPERIMENT_RESOURCES = Collections.synchronizedMap(initExperimentResources());
-    private static final Map<UUID, TmfExperiment> EXPERIMENTS = Collections.synchronizedMap(new HashMap<>());
-    private static final Map<UUID, TraceAnnotationProvider> TRACE_ANNOTATION_PROVIDERS = Collections.synchronizedMap(new HashMap<>());
+    private static final Map<UUID, List<UUID>> TRACE_UUIDS = new ConcurrentHashMap<>();
+    private static final Map<UUID, IResource> EXPERIMENT_RESOURCES = new ConcurrentHashMap<>(initExperimentResources());
+    private static final Map<UUID, CompletableFuture<@Nullable OpenedExperiment>> EXPERIMENTS = new ConcurrentHashMap<>();
 
     private static final String EXPERIMENTS_FOLDER = "Experiments"; //$NON-NLS-1$
     private static final String TRACES_FOLDER = "Traces"; //$NON-NLS-1$
     private static final String SUFFIX = "_exp"; //$NON-NLS-1$
     private static final String BOOKMARKS_HIDDEN_FILE = ".bookmarks"; //$NON-NLS-1$
     private static final String EXPERIMENT_EDITOR_INPUT_TYPE = "editorInputType.experiment"; //$NON-NLS-1$
+    private static final String PROPERTY_OPEN_THREADS = "traceserver.openThreads"; //$NON-NLS-1$
+    private static final String OPEN_THREAD_NAME = "Trace Server Trace Opener "; //$NON-NLS-1$
+
+    /**
+     * Bounded pool used to validate and initialize the traces of the
+     * experiments in parallel
+     */
+    private static final ExecutorService OPEN_EXECUTOR = createOpenExecutor();
+
+    /**
+     * An opened experiment, with the trace instances and annotation provider
+     * created along with it, so that they are published together
+     */
+    private static final class OpenedExperiment {
+        private final TmfExperiment fExperiment;
+        private final Map<UUID, ITmfTrace> fTraceInstances;
+        private final TraceAnnotationProvider fAnnotationProvider;
+
+        public OpenedExperiment(TmfExperiment experiment, Map<UUID, ITmfTrace> traceInstances) {
+            fExperiment = experiment;
+            fTraceInstances = Collections.unmodifiableMap(traceInstances);
+            fAnnotationProvider = new TraceAnnotationProvider(experiment);
+        }
+    }
 
     /**
      * Getter for the list of experiments from the trace manager
@@ -123,18 +153,16 @@ public class ExperimentManagerService {
             @ApiResponse(responseCode = "200", description = "Returns a list of experiments", content = @Content(array = @ArraySchema(schema = @Schema(implementation = org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.Experiment.class))))
     })
     public Response getExperiments() {
-        synchronized (EXPERIMENT_RESOURCES) {
-            List<Experiment> experiments = Lists.transform(new ArrayList<>(EXPERIMENT_RESOURCES.entrySet()), e -> {
-                UUID expUUID = e.getKey();
-                TmfExperiment experiment = EXPERIMENTS.get(expUUID);
-                if (experiment != null) {
-                    return Experiment.from(experiment, expUUID);
-                }
-                IResource experimentResource = e.getValue();
-                return Experiment.from(experimentResource, expUUID);
-            });
-            return Response.ok(experiments).build();
-        }
+        List<Experiment> experiments = Lists.transform(new ArrayList<>(EXPERIMENT_RESOURCES.entrySet()), e -> {
+            UUID expUUID = e.getKey();
+            TmfExperiment experiment = getOpenedExperiment(expUUID);
+            if (experiment != null) {
+                return Experiment.from(experiment, expUUID);
+            }
+            IResource experimentResource = e.getValue();
+            return Experiment.from(experimentResource, expUUID);
+        });
+        return Response.ok(experiments).build();
     }
 
     private static Map<UUID, IResource> initExperimentResources() {
@@ -216,26 +244,48 @@ public class ExperimentManagerService {
             @ApiResponse(responseCode = "404", description = NO_SUCH_EXPERIMENT, content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     public Response deleteExperiment(@Parameter(description = EXP_UUID) @PathParam("expUUID") UUID expUUID) {
-        IResource resource = EXPERIMENT_RESOURCES.remove(expUUID);
+        /*
+         * Unregister the experiment atomically with the lookups that open it
+         * and with the posts that register it again
+         */
+        AtomicReference<@Nullable IResource> resourceRef = new AtomicReference<>();
+        AtomicReference<@Nullable CompletableFuture<@Nullable OpenedExperiment>> futureRef = new AtomicReference<>();
+        EXPERIMENTS.compute(expUUID, (uuid, future) -> {
+            IResource removed = EXPERIMENT_RESOURCES.remove(uuid);
+            if (removed == null) {
+                return future;
+            }
+            resourceRef.set(removed);
+            futureRef.set(future);
+            return null;
+        });
+        IResource resource = resourceRef.get();
         if (resource == null) {
             return ErrorResponseUtil.newErrorResponse(Status.NOT_FOUND, "No experiment found with uuid " + expUUID); //$NON-NLS-1$
         }
-        TmfExperiment experiment = EXPERIMENTS.remove(expUUID);
+        // Wait for the experiment to be opened if it is being opened
+        CompletableFuture<@Nullable OpenedExperiment> future = futureRef.get();
+        OpenedExperiment opened = future != null ? future.join() : null;
+        TmfExperiment experiment = opened != null ? opened.fExperiment : null;
         Experiment experimentModel = experiment != null ? Experiment.from(experiment, expUUID) : Experiment.from(resource, expUUID);
+        DataProviderResponseCache.getInstance().invalidate(expUUID);
         if (experiment != null) {
             TmfSignalManager.dispatchSignal(new TmfTraceClosedSignal(this, experiment));
             experiment.dispose();
         }
-        TRACE_ANNOTATION_PROVIDERS.remove(expUUID);
-        TRACE_UUIDS.remove(expUUID);
-        TRACE_INSTANCES.remove(expUUID);
+        // Keep the traces of the experiment if it was posted again meanwhile
+        EXPERIMENTS.compute(expUUID, (uuid, newFuture) -> {
+            if (!EXPERIMENT_RESOURCES.containsKey(uuid)) {
+                TRACE_UUIDS.remove(uuid);
+            }
+            return newFuture;
+        });
         boolean deleteResources = true;
-        synchronized (EXPERIMENTS) {
-            for (TmfExperiment e : EXPERIMENTS.values()) {
-                if (resource.equals(e.getResource())) {
-                    deleteResources = false;
-                    break;
-                }
+        for (UUID uuid : EXPERIMENTS.keySet()) {
+            TmfExperiment e = getOpenedExperiment(uuid);
+            if (e != null && resource.equals(e.getResource())) {
+                deleteResources = false;
+                break;
             }
         }
         if (deleteResources) {
@@ -320,7 +370,7 @@ public class ExperimentManagerService {
                 Multiset<IResource> newTraceResources = HashMultiset.create(traceResources);
                 if (!oldTraceResources.equals(newTraceResources)) {
                     // It's a different experiment, return a conflict
-                    TmfExperiment oldExperiment = EXPERIMENTS.get(expUUID);
+                    TmfExperiment oldExperiment = getOpenedExperiment(expUUID);
                     boolean dispose = false;
                     if (oldExperiment == null) {
                         // should not happen
@@ -334,7 +384,7 @@ public class ExperimentManagerService {
                     return ErrorResponseUtil.newErrorResponse(Status.CONFLICT, EXPERIMENT_NAME_EXISTS, EXPERIMENT_NAME_EXISTS_DETAIL, entity);
                 }
                 // It's the same experiment, check if it is opened already
-                TmfExperiment experiment = EXPERIMENTS.get(expUUID);
+                TmfExperiment experiment = getOpenedExperiment(expUUID);
                 if (experiment != null) {
                     // It's already opened, return it
                     return Response.ok(Experiment.from(experiment, expUUID)).build();
@@ -348,9 +398,14 @@ public class ExperimentManagerService {
             return ErrorResponseUtil.newErrorResponse(Status.INTERNAL_SERVER_ERROR, e.getMessage());
         }
 
-        TRACE_UUIDS.put(expUUID, traceUUIDs);
-        EXPERIMENT_RESOURCES.put(expUUID, resource);
-        TmfExperiment experiment = createExperimentInstance(expUUID);
+        // Register the experiment atomically with a concurrent delete
+        IFolder experimentResource = resource;
+        EXPERIMENTS.compute(expUUID, (uuid, future) -> {
+            TRACE_UUIDS.put(uuid, traceUUIDs);
+            EXPERIMENT_RESOURCES.put(uuid, experimentResource);
+            return future;
+        });
+        TmfExperiment experiment = getExperimentByUUID(expUUID);
         if (experiment == null) {
             return ErrorResponseUtil.newErrorResponse(Status.INTERNAL_SERVER_ERROR, "Failed to instantiate experiment"); //$NON-NLS-1$
         }
@@ -358,7 +413,7 @@ public class ExperimentManagerService {
         return Response.ok(Experiment.from(experiment, expUUID)).build();
     }
 
-    private static @Nullable TmfExperiment createExperimentInstance(UUID expUUID) {
+    private static @Nullable OpenedExperiment createExperimentInstance(UUID expUUID) {
         List<UUID> traceUUIDs = TRACE_UUIDS.get(expUUID);
         IResource resource = EXPERIMENT_RESOURCES.get(expUUID);
         if (traceUUIDs == null || resource == null) {
@@ -367,22 +422,41 @@ public class ExperimentManagerService {
         // Create and set the supplementary folder
         createSupplementaryFolder(resource);
 
-        // Instantiate the experiment and return it
-        Map<UUID, ITmfTrace> uuidToTraceInstances = new LinkedHashMap<>();
+        // Instantiate the traces in parallel, keeping their order
+        List<CompletableFuture<@Nullable ITmfTrace>> traceFutures = new ArrayList<>();
         for (UUID uuid : traceUUIDs) {
-            ITmfTrace trace = TraceManagerService.createTraceInstance(uuid);
-            uuidToTraceInstances.put(uuid, trace);
+            traceFutures.add(CompletableFuture.supplyAsync(() -> TraceManagerService.createTraceInstance(uuid), OPEN_EXECUTOR)
+                    .exceptionally(e -> {
+                        Activator.getInstance().logError("Failed to create trace instance for " + uuid, e); //$NON-NLS-1$
+                        return null;
+                    }));
         }
+        Map<UUID, ITmfTrace> uuidToTraceInstances = new LinkedHashMap<>();
+        boolean failed = false;
+        for (int i = 0; i < traceUUIDs.size(); i++) {
+            ITmfTrace trace = traceFutures.get(i).join();
+            if (trace == null) {
+                failed = true;
+            } else {
+                uuidToTraceInstances.put(traceUUIDs.get(i), trace);
+            }
+        }
+        if (failed) {
+            Activator.getInstance().logWarning("Error instantiating the traces of experiment " + expUUID); //$NON-NLS-1$
+            uuidToTraceInstances.values().forEach(ITmfTrace::dispose);
+            return null;
+        }
+
         // Determine cache size for experiments
         int cacheSize = Integer.MAX_VALUE;
         for (ITmfTrace trace : uuidToTraceInstances.values()) {
             cacheSize = Math.min(cacheSize, trace.getCacheSize());
         }
-        TmfExperiment experiment = null;
         try {
+            // Instantiate the experiment and return it
             ITmfTrace[] traces = uuidToTraceInstances.values().toArray(new ITmfTrace[0]);
             String experimentTypeId = getOrDetectExerimentType(resource, traces);
-            experiment = TmfTraceType.instantiateExperiment(experimentTypeId);
+            TmfExperiment experiment = TmfTraceType.instantiateExperiment(experimentTypeId);
             if (experiment != null) {
                 experiment.initExperiment(ITmfEvent.class, resource.getLocation().toOSString(), traces, cacheSize, resource, experimentTypeId);
                 experiment.indexTrace(false);
@@ -393,15 +467,25 @@ public class ExperimentManagerService {
 
                 TmfSignalManager.dispatchSignal(new TmfTraceOpenedSignal(ExperimentManagerService.class, experiment, createBookmarksFile(resource)));
 
-                EXPERIMENTS.put(expUUID, experiment);
-                TRACE_INSTANCES.put(expUUID, uuidToTraceInstances);
-                TRACE_ANNOTATION_PROVIDERS.put(expUUID, new TraceAnnotationProvider(experiment));
-                return experiment;
+                DataProviderResponseCache.getInstance().invalidate(expUUID);
+                return new OpenedExperiment(experiment, uuidToTraceInstances);
             }
         } catch (CoreException e) {
             Activator.getInstance().logWarning("Error instantiating experiment"); //$NON-NLS-1$
         }
-        return experiment;
+        return null;
+    }
+
+    private static ExecutorService createOpenExecutor() {
+        int poolSize = DataProviderQueryExecutor.getIntProperty(PROPERTY_OPEN_THREADS, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, OPEN_THREAD_NAME + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     /**
@@ -541,18 +625,67 @@ public class ExperimentManagerService {
 
     /**
      * Try and find an experiment with the queried UUID in the experiment
-     * manager.
+     * manager, opening it if it is not opened yet.
+     * <p>
+     * Looking up an opened experiment does not block. An experiment is opened
+     * only once: concurrent lookups of an experiment being opened wait for it
+     * to be opened, while experiments with other UUIDs can be opened in
+     * parallel.
      *
      * @param expUUID
      *            queried {@link UUID}
      * @return the experiment or null if none match.
      */
-    public static synchronized @Nullable TmfExperiment getExperimentByUUID(UUID expUUID) {
-        TmfExperiment experiment = EXPERIMENTS.get(expUUID);
-        if (experiment == null) {
-            experiment = createExperimentInstance(expUUID);
+    public static @Nullable TmfExperiment getExperimentByUUID(UUID expUUID) {
+        CompletableFuture<@Nullable OpenedExperiment> future = EXPERIMENTS.get(expUUID);
+        if (future == null) {
+            CompletableFuture<@Nullable OpenedExperiment> newFuture = new CompletableFuture<>();
+            future = EXPERIMENTS.putIfAbsent(expUUID, newFuture);
+            if (future == null) {
+                future = newFuture;
+                OpenedExperiment opened = null;
+                try {
+                    opened = createExperimentInstance(expUUID);
+                } finally {
+                    if (opened == null) {
+                        // Allow a later lookup to try again
+                        EXPERIMENTS.remove(expUUID, newFuture);
+                    }
+                    newFuture.complete(opened);
+                }
+            }
+        }
+        OpenedExperiment opened = future.join();
+        return opened != null ? opened.fExperiment : null;
+    }
+
+    /**
+     * Get an experiment only if it is already opened, without waiting
+     */
+    private static @Nullable TmfExperiment getOpenedExperiment(UUID expUUID) {
+        OpenedExperiment opened = getOpenedExperimentNow(expUUID);
+        return opened != null ? opened.fExperiment : null;
+    }
+
+    private static @Nullable OpenedExperiment getOpenedExperimentNow(UUID expUUID) {
+        CompletableFuture<@Nullable OpenedExperiment> future = EXPERIMENTS.get(expUUID);
+        return future != null ? future.getNow(null) : null;
+    }
+
+    /**
+     * Get the number of opened experiments, excluding the experiments being
+     * opened.
+     *
+     * @return the number of opened experiments
+     */
+    public static int getOpenedExperimentCount() {
+        int count = 0;
+        for (CompletableFuture<@Nullable OpenedExperiment> future : EXPERIMENTS.values()) {
+            if (future.isDone() && !future.isCompletedExceptionally() && future.join() != null) {
+                count++;
+            }
         }
-        return experiment;
+        return count;
     }
 
     /**
@@ -574,7 +707,8 @@ public class ExperimentManagerService {
      * @return the map from of trace UUID to trace instance.
      */
     public static Map<UUID, ITmfTrace> getTraceInstances(UUID expUUID) {
-        return TRACE_INSTANCES.getOrDefault(expUUID, Collections.emptyMap());
+        OpenedExperiment opened = getOpenedExperimentNow(expUUID);
+        return opened != null ? opened.fTraceInstances : Collections.emptyMap();
     }
 
     /**
@@ -585,9 +719,7 @@ public class ExperimentManagerService {
      * @return true if the given trace is in use by any experiment
      */
     public static boolean isTraceInUse(UUID uuid) {
-        synchronized (TRACE_UUIDS) {
-            return TRACE_UUIDS.values().stream().anyMatch(traceUUIDs -> traceUUIDs.contains(uuid));
-        }
+        return TRACE_UUIDS.values().stream().anyMatch(traceUUIDs -> traceUUIDs.contains(uuid));
     }
 
     /**
@@ -595,17 +727,20 @@ public class ExperimentManagerService {
      *
      * @param uuid
      *  the trace UUID
-     * @return {@link TraceAnnotationProvider}
+     * @return {@link TraceAnnotationProvider}, or null if the experiment is not
+     *         opened
      */
-    public static TraceAnnotationProvider getTraceAnnotationProvider(UUID uuid) {
-        return TRACE_ANNOTATION_PROVIDERS.get(uuid);
+    public static @Nullable TraceAnnotationProvider getTraceAnnotationProvider(UUID uuid) {
+        OpenedExperiment opened = getOpenedExperimentNow(uuid);
+        return opened != null ? opened.fAnnotationProvider : null;
     }
 
     /**
      * Dispose method to be only called at server shutdown. It disposes experiments, traces etc.
      */
     public static void dispose() {
-        for (TmfExperiment experiment : EXPERIMENTS.values()) {
+        for (UUID expUUID : EXPERIMENTS.keySet()) {
+            TmfExperiment experiment = getOpenedExperiment(expUUID);
             if (experiment != null) {
                 TmfSignalManager.dispatchSignal(new TmfTraceClosedSignal(experiment, experiment));
                 // Experiment dispose() will dispose its traces as well.
@@ -613,9 +748,8 @@ public class ExperimentManagerService {
             }
         }
         EXPERIMENTS.clear();
+        DataProviderResponseCache.getInstance().invalidateAll();
         TRACE_UUIDS.clear();
-        TRACE_INSTANCES.clear();
         EXPERIMENT_RESOURCES.clear();
-        TRACE_ANNOTATION_PROVIDERS.clear();
     }
 }
@@ -18,8 +18,10 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.ErrorResponse;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.ResponseCacheStatistics;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.model.ServerStatus;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableMap;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,6 +40,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class HealthService {
 
     private static final String STATUS_KEY = "status"; //$NON-NLS-1$
+    private static final String SIZE_KEY = "size"; //$NON-NLS-1$
+    private static final String HITS_KEY = "hits"; //$NON-NLS-1$
+    private static final String MISSES_KEY = "misses"; //$NON-NLS-1$
+    private static final String EVICTIONS_KEY = "evictions"; //$NON-NLS-1$
 
     /**
      * Getter for the health status
@@ -54,4 +60,25 @@ public class HealthService {
         // If the server can answer this call, it is up!!
         return Response.ok(ImmutableMap.of(STATUS_KEY, ServerStatus.Status.UP.name())).build();
     }
+
+    /**
+     * Getter for the statistics of the data provider response cache
+     *
+     * @return the cache statistics
+     */
+    @GET
+    @Path("/cache")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Get the statistics of the server's data provider response cache", responses = {
+            @ApiResponse(responseCode = "200", description = "Returns the number of cached responses, hits, misses and evictions", content = @Content(schema = @Schema(implementation = ResponseCacheStatistics.class)))
+    })
+    public Response getCacheStatistics() {
+        DataProviderResponseCache cache = DataProviderResponseCache.getInstance();
+        CacheStats stats = cache.getStats();
+        return Response.ok(ImmutableMap.of(
+                SIZE_KEY, cache.size(),
+                HITS_KEY, stats.hitCount(),
+                MISSES_KEY, stats.missCount(),
+                EVICTIONS_KEY, stats.evictionCount())).build();
+    }
 }
@@ -0,0 +1,48 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Response;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Service to scrape the metrics of the server, in the Prometheus text format
+ */
+@Path("/metrics")
+@Tag(name = EndpointConstants.DIA)
+public class MetricsService {
+
+    /** Media type of the Prometheus text exposition format */
+    static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8"; //$NON-NLS-1$
+
+    /**
+     * Getter for the metrics of the server
+     *
+     * @return the metrics, in the Prometheus text format
+     */
+    @GET
+    @Produces(PROMETHEUS_TEXT)
+    @Operation(summary = "Get the metrics of this server, in the Prometheus text format", responses = {
+            @ApiResponse(responseCode = "200", description = "Returns the request latency histograms, response sizes and error counts per endpoint and output, " +
+                    "the number of requests in flight and of opened experiments, the state system build times per analysis and the JVM memory", content = @Content(mediaType = PROMETHEUS_TEXT))
+    })
+    public Response getMetrics() {
+        return Response.ok(ServerMetrics.getInstance().toPrometheusText(ExperimentManagerService.getOpenedExperimentCount())).build();
+    }
+}
@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.analysis.IAnalysisModule;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalHandler;
+import org.eclipse.tracecompass.tmf.core.signal.TmfSignalManager;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.tmf.core.signal.TmfStartAnalysisSignal;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceClosedSignal;
+import org.eclipse.tracecompass.tmf.core.statesystem.TmfStateSystemAnalysisModule;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * Metrics of the trace server, exposed in the Prometheus text format by the
+ * {@link MetricsService}.
+ * <p>
+ * The request metrics (latency histograms, response sizes and errors) are
+ * recorded per HTTP method, endpoint template and output ID. The build time of
+ * the state systems is recorded per analysis ID, from the start of the
+ * analysis until its completion. The state systems being built are polled by a
+ * single thread, so the build times are accurate to the polling period.
+ */
+public final class ServerMetrics {
+
+    private static final String PREFIX = "tsp_"; //$NON-NLS-1$
+    private static final String BUILD_WATCHER_NAME = "Trace Server Metrics Analysis Watcher"; //$NON-NLS-1$
+    private static final long BUILD_POLL_PERIOD_MS = 100;
+
+    /* Upper bounds of the latency histogram buckets, in seconds */
+    private static final double[] LATENCY_BUCKETS = { 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60 };
+
+    private static final ServerMetrics INSTANCE = new ServerMetrics();
+
+    static {
+        TmfSignalManager.register(INSTANCE);
+    }
+
+    private final AtomicInteger fInFlight = new AtomicInteger();
+    private final Map<String, EndpointMetrics> fEndpoints = new ConcurrentHashMap<>();
+    private final Map<String, BuildTimes> fBuildTimes = new ConcurrentHashMap<>();
+    /** Start time of the state systems being built */
+    private final Map<TmfStateSystemAnalysisModule, Long> fBuilds = new ConcurrentHashMap<>();
+    private final AtomicBoolean fWatching = new AtomicBoolean();
+    private final ScheduledExecutorService fBuildWatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, BUILD_WATCHER_NAME);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Request metrics of an endpoint, for a given method and output
+     */
+    private static final class EndpointMetrics {
+        private final AtomicLongArray fBuckets = new AtomicLongArray(LATENCY_BUCKETS.length);
+        private final LongAdder fCount = new LongAdder();
+        private final LongAdder fSumNanos = new LongAdder();
+        private final LongAdder fErrors = new LongAdder();
+        private final LongAdder fBytes = new LongAdder();
+
+        public void record(long durationNanos, boolean error) {
+            double seconds = durationNanos / 1e9;
+            for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+                if (seconds <= LATENCY_BUCKETS[i]) {
+                    fBuckets.incrementAndGet(i);
+                    break;
+                }
+            }
+            fCount.increment();
+            fSumNanos.add(durationNanos);
+            if (error) {
+                fErrors.increment();
+            }
+        }
+    }
+
+    /**
+     * Build times of the state systems of an analysis
+     */
+    private static final class BuildTimes {
+        private final LongAdder fCount = new LongAdder();
+        private final LongAdder fSumNanos = new LongAdder();
+        private final AtomicLong fMaxNanos = new AtomicLong();
+
+        public void record(long durationNanos) {
+            fCount.increment();
+            fSumNanos.add(durationNanos);
+            fMaxNanos.accumulateAndGet(durationNanos, Math::max);
+        }
+    }
+
+    /**
+     * Constructor
+     */
+    @VisibleForTesting
+    public ServerMetrics() {
+        // Do nothing
+    }
+
+    /**
+     * Get the instance of the server metrics
+     *
+     * @return The server metrics
+     */
+    public static ServerMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Record the start of a request
+     */
+    public void requestStarted() {
+        fInFlight.incrementAndGet();
+    }
+
+    /**
+     * Record the end of a request, whether it completed or failed. This must be
+     * called once for each call to {@link #requestStarted()}.
+     */
+    public void requestFinished() {
+        fInFlight.decrementAndGet();
+    }
+
+    /**
+     * Record the completion of a request
+     *
+     * @param method
+     *            the HTTP method
+     * @param endpoint
+     *            the endpoint template, e.g.
+     *            <code>experiments/{expUUID}/outputs</code>
+     * @param outputId
+     *            the ID of the queried output, or <code>null</code>
+     * @param status
+     *            the HTTP status of the response
+     * @param durationNanos
+     *            the duration of the request, in nanoseconds
+     */
+    public void requestCompleted(String method, String endpoint, @Nullable String outputId, int status, long durationNanos) {
+        getEndpointMetrics(method, endpoint, outputId).record(durationNanos, status >= 400);
+    }
+
+    /**
+     * Record the size of a response body
+     *
+     * @param method
+     *            the HTTP method
+     * @param endpoint
+     *            the endpoint template
+     * @param outputId
+     *            the ID of the queried output, or <code>null</code>
+     * @param bytes
+     *            the number of bytes written
+     */
+    public void responseWritten(String method, String endpoint, @Nullable String outputId, long bytes) {
+        getEndpointMetrics(method, endpoint, outputId).fBytes.add(bytes);
+    }
+
+    /**
+     * Record the build time of a state system analysis
+     *
+     * @param analysisId
+     *            the ID of the analysis
+     * @param durationNanos
+     *            the build time, in nanoseconds
+     */
+    public void stateSystemBuilt(String analysisId, long durationNanos) {
+        fBuildTimes.computeIfAbsent(analysisId, id -> new BuildTimes()).record(durationNanos);
+    }
+
+    /**
+     * Handler for the analysis started signal, times the state system analyses
+     * until they complete
+     *
+     * @param signal
+     *            the signal
+     */
+    @TmfSignalHandler
+    public void analysisStarted(TmfStartAnalysisSignal signal) {
+        IAnalysisModule module = signal.getAnalysisModule();
+        if (!(module instanceof TmfStateSystemAnalysisModule) || fBuildWatcher.isShutdown()) {
+            return;
+        }
+        fBuilds.put((TmfStateSystemAnalysisModule) module, System.nanoTime());
+        if (fWatching.compareAndSet(false, true)) {
+            fBuildWatcher.scheduleWithFixedDelay(this::pollBuilds, BUILD_POLL_PERIOD_MS, BUILD_POLL_PERIOD_MS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Handler for the trace closed signal, stops timing the analyses of the
+     * closed trace, for example those that failed before building their state
+     * system
+     *
+     * @param signal
+     *            the signal
+     */
+    @TmfSignalHandler
+    public void traceClosed(TmfTraceClosedSignal signal) {
+        Set<ITmfTrace> traces = TmfTraceManager.getTraceSetWithExperiment(signal.getTrace());
+        fBuilds.keySet().removeIf(module -> traces.contains(module.getTrace()));
+    }
+
+    private void pollBuilds() {
+        long now = System.nanoTime();
+        fBuilds.forEach((module, start) -> {
+            ITmfStateSystem ss = module.getStateSystem();
+            if (ss != null && ss.waitUntilBuilt(0) && fBuilds.remove(module, start) && !ss.isCancelled()) {
+                stateSystemBuilt(module.getId(), now - start);
+            }
+        });
+    }
+
+    /**
+     * Stop timing the analyses. To be called at server shutdown.
+     */
+    public void dispose() {
+        fBuildWatcher.shutdownNow();
+        fBuilds.clear();
+    }
+
+    /**
+     * Get the metrics in the Prometheus text exposition format
+     *
+     * @param openedExperiments
+     *            the number of opened experiments
+     * @return the metrics
+     */
+    public String toPrometheusText(int openedExperiments) {
+        StringBuilder sb = new StringBuilder();
+        appendHeader(sb, "http_requests_in_flight", "gauge", "Number of requests being processed"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        appendSample(sb, "http_requests_in_flight", "", fInFlight.get()); //$NON-NLS-1$ //$NON-NLS-2$
+
+        Map<String, EndpointMetrics> endpoints = new TreeMap<>(fEndpoints);
+        appendHeader(sb, "http_request_duration_seconds", "histogram", "Duration of the requests, per endpoint and output"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        endpoints.forEach((labels, metrics) -> {
+            long cumulative = 0;
+            for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+                cumulative += metrics.fBuckets.get(i);
+                appendSample(sb, "http_request_duration_seconds_bucket", labels + ",le=\"" + LATENCY_BUCKETS[i] + '"', cumulative); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            long count = metrics.fCount.sum();
+            appendSample(sb, "http_request_duration_seconds_bucket", labels + ",le=\"+Inf\"", count); //$NON-NLS-1$ //$NON-NLS-2$
+            appendSample(sb, "http_request_duration_seconds_sum", labels, metrics.fSumNanos.sum() / 1e9); //$NON-NLS-1$
+            appendSample(sb, "http_request_duration_seconds_count", labels, count); //$NON-NLS-1$
+        });
+        appendHeader(sb, "http_request_errors_total", "counter", "Number of requests with an error status, per endpoint and output"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        endpoints.forEach((labels, metrics) -> appendSample(sb, "http_request_errors_total", labels, metrics.fErrors.sum())); //$NON-NLS-1$
+        appendHeader(sb, "http_response_bytes_total", "counter", "Number of bytes of the response bodies, per endpoint and output"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        endpoints.forEach((labels, metrics) -> appendSample(sb, "http_response_bytes_total", labels, metrics.fBytes.sum())); //$NON-NLS-1$
+
+        appendHeader(sb, "experiments_opened", "gauge", "Number of opened experiments"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        appendSample(sb, "experiments_opened", "", openedExperiments); //$NON-NLS-1$ //$NON-NLS-2$
+
+        Map<String, BuildTimes> buildTimes = new TreeMap<>(fBuildTimes);
+        appendHeader(sb, "state_system_build_seconds", "summary", "Build time of the state systems, per analysis"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        buildTimes.forEach((id, times) -> {
+            String labels = label("analysis", id); //$NON-NLS-1$
+            appendSample(sb, "state_system_build_seconds_sum", labels, times.fSumNanos.sum() / 1e9); //$NON-NLS-1$
+            appendSample(sb, "state_system_build_seconds_count", labels, times.fCount.sum()); //$NON-NLS-1$
+        });
+        appendHeader(sb, "state_system_build_seconds_max", "gauge", "Longest build time of the state systems, per analysis"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        buildTimes.forEach((id, times) -> appendSample(sb, "state_system_build_seconds_max", label("analysis", id), times.fMaxNanos.get() / 1e9)); //$NON-NLS-1$ //$NON-NLS-2$
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        appendHeader(sb, "jvm_memory_used_bytes", "gauge", "Used JVM memory"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        appendSample(sb, "jvm_memory_used_bytes", label("area", "heap"), heap.getUsed()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        appendSample(sb, "jvm_memory_used_bytes", label("area", "nonheap"), nonHeap.getUsed()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        appendHeader(sb, "jvm_memory_committed_bytes", "gauge", "Committed JVM memory"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        appendSample(sb, "jvm_memory_committed_bytes", label("area", "heap"), heap.getCommitted()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        appendSample(sb, "jvm_memory_committed_bytes", label("area", "nonheap"), nonHeap.getCommitted()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        appendHeader(sb, "jvm_memory_max_bytes", "gauge", "Maximum JVM heap memory"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        appendSample(sb, "jvm_memory_max_bytes", label("area", "heap"), heap.getMax()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        return sb.toString();
+    }
+
+    private EndpointMetrics getEndpointMetrics(String method, String endpoint, @Nullable String outputId) {
+        String labels = label("method", method) + ',' + label("endpoint", endpoint) + ',' + label("output", outputId == null ? "" : outputId); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        return fEndpoints.computeIfAbsent(labels, l -> new EndpointMetrics());
+    }
+
+    private static String label(String name, String value) {
+        return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + '"'; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+    }
+
+    private static void appendHeader(StringBuilder sb, String name, String type, String help) {
+        sb.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n'); //$NON-NLS-1$
+        sb.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n'); //$NON-NLS-1$
+    }
+
+    private static void appendSample(StringBuilder sb, String name, String labels, Number value) {
+        sb.append(PREFIX).append(name);
+        if (!labels.isEmpty()) {
+            sb.append('{').append(labels).append('}');
+        }
+        sb.append(' ').append(value).append('\n');
+    }
+}
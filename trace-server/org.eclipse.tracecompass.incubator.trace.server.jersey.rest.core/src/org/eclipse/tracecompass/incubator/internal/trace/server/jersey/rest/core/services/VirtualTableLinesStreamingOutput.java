@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services;
+
+import static org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils.REQUESTED_TABLE_COUNT_KEY;
+import static org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils.REQUESTED_TABLE_INDEX_KEY;
+import static org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils.REQUESTED_TIME_KEY;
+import static org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils.TABLE_SEARCH_DIRECTION_KEY;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.Activator;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableDataProvider;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.ITmfVirtualTableModel;
+import org.eclipse.tracecompass.internal.provisional.tmf.core.model.table.IVirtualTableLine;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Streams the lines of a virtual table as newline-delimited JSON, one
+ * {@link IVirtualTableLine} per line.
+ * <p>
+ * The lines are fetched from the data provider in chunks, each chunk being
+ * written and flushed before the next one is fetched, so that the memory used
+ * does not depend on the number of requested lines and a slow client slows
+ * down the fetching. Fetching is cancelled when the client disconnects, as
+ * writing or flushing a chunk then fails.
+ * <p>
+ * The first chunk is fetched with the original query parameters. The next
+ * chunks are fetched from the index following the last streamed line in the
+ * search direction, keeping the search and filter parameters, as the indexes
+ * of the lines of a search or of a filtered table are not contiguous. If no
+ * line count is requested, the lines are streamed until the end of the table.
+ */
+public class VirtualTableLinesStreamingOutput implements StreamingOutput {
+
+    /** Media type of the streamed lines */
+    static final String APPLICATION_NDJSON = "application/x-ndjson"; //$NON-NLS-1$
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int NEWLINE = '\n';
+    private static final String PREVIOUS = "PREVIOUS"; //$NON-NLS-1$
+
+    private final ITmfVirtualTableDataProvider<?, ?> fProvider;
+    private final Map<String, Object> fParameters;
+    private final ObjectWriter fWriter;
+    private final IProgressMonitor fMonitor;
+
+    /**
+     * Constructor
+     *
+     * @param provider
+     *            the data provider of the table
+     * @param parameters
+     *            the validated query parameters
+     * @param mapper
+     *            the object mapper used to serialize the lines
+     * @param monitor
+     *            the monitor passed to the data provider, cancelled when the
+     *            client disconnects
+     */
+    public VirtualTableLinesStreamingOutput(ITmfVirtualTableDataProvider<?, ?> provider, Map<String, Object> parameters, ObjectMapper mapper, IProgressMonitor monitor) {
+        fProvider = provider;
+        fParameters = parameters;
+        fWriter = mapper.writerFor(IVirtualTableLine.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        fMonitor = monitor;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        Map<String, Object> parameters = new HashMap<>(fParameters);
+        boolean backward = PREVIOUS.equals(parameters.get(TABLE_SEARCH_DIRECTION_KEY));
+        Object count = parameters.get(REQUESTED_TABLE_COUNT_KEY);
+        long remaining = (count instanceof Number) ? ((Number) count).longValue() : Long.MAX_VALUE;
+        OutputStream stream = new BufferedOutputStream(output);
+        try {
+            while (remaining > 0 && !fMonitor.isCanceled()) {
+                int chunkSize = (int) Math.min(CHUNK_SIZE, remaining);
+                parameters.put(REQUESTED_TABLE_COUNT_KEY, chunkSize);
+                TmfModelResponse<?> response = fProvider.fetchLines(parameters, fMonitor);
+                if (response.getStatus() == ITmfResponse.Status.CANCELLED) {
+                    break;
+                }
+                Object model = response.getModel();
+                if (response.getStatus() == ITmfResponse.Status.FAILED || !(model instanceof ITmfVirtualTableModel)) {
+                    Activator.getInstance().logWarning("Stopped streaming table lines: " + response.getStatusMessage()); //$NON-NLS-1$
+                    break;
+                }
+                List<? extends IVirtualTableLine> lines = ((ITmfVirtualTableModel<?>) model).getLines();
+                long minIndex = Long.MAX_VALUE;
+                long maxIndex = Long.MIN_VALUE;
+                for (IVirtualTableLine line : lines) {
+                    fWriter.writeValue(stream, line);
+                    stream.write(NEWLINE);
+                    minIndex = Math.min(minIndex, line.getIndex());
+                    maxIndex = Math.max(maxIndex, line.getIndex());
+                }
+                stream.flush();
+                remaining -= lines.size();
+                if (lines.isEmpty() || lines.size() < chunkSize) {
+                    break;
+                }
+                // Continue from the line following the last streamed line
+                long nextIndex = backward ? minIndex - 1 : maxIndex + 1;
+                if (nextIndex < 0) {
+                    break;
+                }
+                parameters.remove(REQUESTED_TIME_KEY);
+                parameters.put(REQUESTED_TABLE_INDEX_KEY, nextIndex);
+            }
+            stream.flush();
+        } catch (IOException e) {
+            // The client disconnected, stop fetching the lines
+            fMonitor.setCanceled(true);
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,364 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.model.ISampling;
+import org.eclipse.tracecompass.tmf.core.model.ISampling.Categories;
+import org.eclipse.tracecompass.tmf.core.model.ISampling.Range;
+import org.eclipse.tracecompass.tmf.core.model.ISampling.Ranges;
+import org.eclipse.tracecompass.tmf.core.model.ISampling.Timestamps;
+import org.eclipse.tracecompass.tmf.core.model.OutputElementStyle;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ISeriesModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.ITmfXyModel;
+import org.eclipse.tracecompass.tmf.core.model.xy.TmfXYAxisDescription;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+
+/**
+ * Writes the time graph states and XY model responses in a compact columnar
+ * binary format, for clients that request it with the
+ * {@value #APPLICATION_COLUMNAR} media type in their <code>Accept</code>
+ * header. The JSON format remains the default.
+ * <p>
+ * All the multi-byte numbers are little-endian. A <i>varint</i> is an unsigned
+ * LEB128 integer, a <i>zigzag</i> is a signed integer zigzag-encoded as a
+ * varint, and a <i>string</i> is a varint length followed by the UTF-8 bytes.
+ *
+ * <pre>
+ * response   := "TSPC" version:u8 status:string statusMessage:string kind:u8 model
+ * kind       := 0 (no model) | 1 (time graph) | 2 (XY)
+ *
+ * timegraph  := styleCount:varint style* labelCount:varint string* rowCount:varint row*
+ * style      := parentKey:string valueCount:varint (key:string valueType:u8 value)*
+ * valueType  := 0 (string) | 1 (zigzag) | 2 (double)
+ * row        := entryId:zigzag stateCount:varint
+ *               startDelta:zigzag[stateCount] duration:varint[stateCount]
+ *               styleIndex:varint[stateCount] labelIndex:varint[stateCount]
+ *               tags:varint[stateCount]
+ *
+ * xy         := title:string seriesCount:varint series*
+ * series     := seriesId:zigzag name:string displayType:string samplingType:u8
+ *               count:varint sampling yCount:varint yValue:double[yCount]
+ *               xDescription:axis yDescription:axis
+ * sampling   := int64[count] (0, timestamps) | (int64 int64)[count] (1, ranges)
+ *               | string[count] (2, categories)
+ * axis       := label:string unit:string dataType:string
+ * </pre>
+ *
+ * The first start of a row is a delta from 0, the next ones are deltas from
+ * the previous start. Style and label indexes are 1-based positions in the
+ * style and label tables of the response, 0 meaning that the state has no
+ * style or no label. An empty parent key means that the style has no parent.
+ */
+@Provider
+@Produces(ColumnarModelWriter.APPLICATION_COLUMNAR)
+public class ColumnarModelWriter implements MessageBodyWriter<TmfModelResponse<?>> {
+
+    /** Media type of the columnar binary format */
+    public static final String APPLICATION_COLUMNAR = "application/x-tsp-columnar"; //$NON-NLS-1$
+
+    private static final byte[] MAGIC = { 'T', 'S', 'P', 'C' };
+    private static final int VERSION = 1;
+
+    private static final int NO_MODEL = 0;
+    private static final int TIME_GRAPH_MODEL = 1;
+    private static final int XY_MODEL = 2;
+
+    private static final int STRING_VALUE = 0;
+    private static final int LONG_VALUE = 1;
+    private static final int DOUBLE_VALUE = 2;
+
+    private static final int TIMESTAMPS_SAMPLING = 0;
+    private static final int RANGES_SAMPLING = 1;
+    private static final int CATEGORIES_SAMPLING = 2;
+
+    @Override
+    public boolean isWriteable(@Nullable Class<?> type, @Nullable Type genericType, Annotation @Nullable [] annotations, @Nullable MediaType mediaType) {
+        return type != null && TmfModelResponse.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public void writeTo(TmfModelResponse<?> response, @Nullable Class<?> type, @Nullable Type genericType, Annotation @Nullable [] annotations,
+            @Nullable MediaType mediaType, @Nullable MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        Object model = response.getModel();
+        if (model != null && !(model instanceof TimeGraphModel) && !(model instanceof ITmfXyModel)) {
+            throw new WebApplicationException(Status.NOT_ACCEPTABLE);
+        }
+        ColumnarOutput out = new ColumnarOutput(entityStream);
+        out.writeBytes(MAGIC);
+        out.writeByte(VERSION);
+        out.writeString(response.getStatus().name());
+        out.writeString(response.getStatusMessage());
+        if (model instanceof TimeGraphModel) {
+            out.writeByte(TIME_GRAPH_MODEL);
+            writeTimeGraphModel(out, (TimeGraphModel) model);
+        } else if (model instanceof ITmfXyModel) {
+            out.writeByte(XY_MODEL);
+            writeXyModel(out, (ITmfXyModel) model);
+        } else {
+            out.writeByte(NO_MODEL);
+        }
+        out.flush();
+    }
+
+    private static void writeTimeGraphModel(ColumnarOutput out, TimeGraphModel model) throws IOException {
+        List<ITimeGraphRowModel> rows = model.getRows();
+
+        // First pass to build the style and label tables
+        Map<OutputElementStyle, Integer> styles = new LinkedHashMap<>();
+        Map<String, Integer> labels = new LinkedHashMap<>();
+        for (ITimeGraphRowModel row : rows) {
+            for (ITimeGraphState state : row.getStates()) {
+                OutputElementStyle style = getStyle(state);
+                if (style != null) {
+                    styles.putIfAbsent(style, styles.size() + 1);
+                }
+                String label = state.getLabel();
+                if (label != null) {
+                    labels.putIfAbsent(label, labels.size() + 1);
+                }
+            }
+        }
+
+        out.writeVarint(styles.size());
+        for (OutputElementStyle style : styles.keySet()) {
+            writeStyle(out, style);
+        }
+        out.writeVarint(labels.size());
+        for (String label : labels.keySet()) {
+            out.writeString(label);
+        }
+
+        out.writeVarint(rows.size());
+        for (ITimeGraphRowModel row : rows) {
+            List<ITimeGraphState> states = row.getStates();
+            out.writeZigzag(row.getEntryID());
+            out.writeVarint(states.size());
+            long previousStart = 0;
+            for (ITimeGraphState state : states) {
+                out.writeZigzag(state.getStartTime() - previousStart);
+                previousStart = state.getStartTime();
+            }
+            for (ITimeGraphState state : states) {
+                out.writeVarint(state.getDuration());
+            }
+            for (ITimeGraphState state : states) {
+                OutputElementStyle style = getStyle(state);
+                out.writeVarint(style == null ? 0 : styles.getOrDefault(style, 0));
+            }
+            for (ITimeGraphState state : states) {
+                String label = state.getLabel();
+                out.writeVarint(label == null ? 0 : labels.getOrDefault(label, 0));
+            }
+            for (ITimeGraphState state : states) {
+                out.writeVarint(Integer.toUnsignedLong(state.getActiveProperties()));
+            }
+        }
+    }
+
+    /**
+     * Get the style of a state, transforming its value to a style like the
+     * {@link TimeGraphStateSerializer} does.
+     */
+    private static @Nullable OutputElementStyle getStyle(ITimeGraphState state) {
+        OutputElementStyle style = state.getStyle();
+        if (style == null && state.getValue() != Integer.MIN_VALUE) {
+            style = new OutputElementStyle(String.valueOf(state.getValue()));
+        }
+        return style;
+    }
+
+    private static void writeStyle(ColumnarOutput out, OutputElementStyle style) throws IOException {
+        String parentKey = style.getParentKey();
+        out.writeString(parentKey == null ? "" : parentKey); //$NON-NLS-1$
+        // Only the value types supported by the JSON serializer are written
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Entry<String, Object> entry : style.getStyleValues().entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof String || value instanceof Number) {
+                values.put(entry.getKey(), value);
+            }
+        }
+        out.writeVarint(values.size());
+        for (Entry<String, Object> entry : values.entrySet()) {
+            out.writeString(entry.getKey());
+            Object value = entry.getValue();
+            if (value instanceof String) {
+                out.writeByte(STRING_VALUE);
+                out.writeString((String) value);
+            } else if (value instanceof Float || value instanceof Double) {
+                out.writeByte(DOUBLE_VALUE);
+                out.writeDouble(((Number) value).doubleValue());
+            } else {
+                out.writeByte(LONG_VALUE);
+                out.writeZigzag(((Number) value).longValue());
+            }
+        }
+    }
+
+    private static void writeXyModel(ColumnarOutput out, ITmfXyModel model) throws IOException {
+        String title = model.getTitle();
+        out.writeString(title == null ? "" : title); //$NON-NLS-1$
+        out.writeVarint(model.getSeriesData().size());
+        for (ISeriesModel series : model.getSeriesData()) {
+            out.writeZigzag(series.getId());
+            out.writeString(series.getName());
+            out.writeString(series.getDisplayType().name().toLowerCase());
+
+            ISampling sampling = series.getSampling();
+            if (sampling instanceof Timestamps timestamps) {
+                long[] values = timestamps.timestamps();
+                out.writeByte(TIMESTAMPS_SAMPLING);
+                out.writeVarint(values.length);
+                out.writeLongs(values);
+            } else if (sampling instanceof Ranges timeRanges) {
+                List<Range<@NonNull Long>> ranges = timeRanges.ranges();
+                long[] values = new long[ranges.size() * 2];
+                for (int i = 0; i < ranges.size(); i++) {
+                    values[2 * i] = ranges.get(i).start();
+                    values[2 * i + 1] = ranges.get(i).end();
+                }
+                out.writeByte(RANGES_SAMPLING);
+                out.writeVarint(ranges.size());
+                out.writeLongs(values);
+            } else if (sampling instanceof Categories categories) {
+                out.writeByte(CATEGORIES_SAMPLING);
+                out.writeVarint(categories.categories().size());
+                for (String category : categories.categories()) {
+                    out.writeString(category);
+                }
+            } else {
+                throw new IllegalArgumentException("Unknown Sampling type: " + series.getClass().getName()); //$NON-NLS-1$
+            }
+
+            double[] data = series.getData();
+            out.writeVarint(data.length);
+            out.writeDoubles(data);
+            writeAxisDescription(out, series.getXAxisDescription());
+            writeAxisDescription(out, series.getYAxisDescription());
+        }
+    }
+
+    private static void writeAxisDescription(ColumnarOutput out, TmfXYAxisDescription description) throws IOException {
+        out.writeString(description.getLabel());
+        out.writeString(description.getUnit());
+        out.writeString(description.getDataType().name());
+    }
+
+    /**
+     * Buffered output of the primitive types of the columnar format
+     */
+    private static final class ColumnarOutput {
+        private static final int BUFFER_SIZE = 8192;
+
+        private final OutputStream fStream;
+        private final ByteBuffer fBuffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        public ColumnarOutput(OutputStream stream) {
+            fStream = new BufferedOutputStream(stream, BUFFER_SIZE);
+        }
+
+        private void ensureRemaining(int size) throws IOException {
+            if (fBuffer.remaining() < size) {
+                drain();
+            }
+        }
+
+        private void drain() throws IOException {
+            fStream.write(fBuffer.array(), 0, fBuffer.position());
+            fBuffer.clear();
+        }
+
+        public void writeByte(int value) throws IOException {
+            ensureRemaining(1);
+            fBuffer.put((byte) value);
+        }
+
+        public void writeBytes(byte[] bytes) throws IOException {
+            if (bytes.length > fBuffer.remaining()) {
+                drain();
+                fStream.write(bytes);
+            } else {
+                fBuffer.put(bytes);
+            }
+        }
+
+        public void writeVarint(long value) throws IOException {
+            ensureRemaining(10);
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                fBuffer.put((byte) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            fBuffer.put((byte) remaining);
+        }
+
+        public void writeZigzag(long value) throws IOException {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        public void writeDouble(double value) throws IOException {
+            ensureRemaining(Double.BYTES);
+            fBuffer.putDouble(value);
+        }
+
+        public void writeLongs(long[] values) throws IOException {
+            for (long value : values) {
+                ensureRemaining(Long.BYTES);
+                fBuffer.putLong(value);
+            }
+        }
+
+        public void writeDoubles(double[] values) throws IOException {
+            for (double value : values) {
+                ensureRemaining(Double.BYTES);
+                fBuffer.putDouble(value);
+            }
+        }
+
+        public void writeString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            writeBytes(bytes);
+        }
+
+        public void flush() throws IOException {
+            drain();
+            fStream.flush();
+        }
+    }
+}
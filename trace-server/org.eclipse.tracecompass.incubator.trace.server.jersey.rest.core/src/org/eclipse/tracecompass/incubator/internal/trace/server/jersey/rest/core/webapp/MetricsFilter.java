@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.webapp;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ServerMetrics;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * A filter that records the metrics of the requests in the
+ * {@link ServerMetrics}: the number of requests in flight, the duration and
+ * status of each request and the size of its response body.
+ * <p>
+ * The requests are grouped by endpoint template, where the path parameters are
+ * replaced by their name (e.g. <code>experiments/{expUUID}/outputs</code>), and
+ * by output ID, taken from the <code>outputId</code> path parameter.
+ * <p>
+ * A request leaves the requests in flight when Jersey finishes processing it,
+ * even if it failed with an exception that skipped the response filters.
+ */
+@Provider
+public class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor, ApplicationEventListener {
+
+    private static final String START_TIME_PROPERTY = "metrics-start-time"; //$NON-NLS-1$
+    private static final String METHOD_PROPERTY = "metrics-method"; //$NON-NLS-1$
+    private static final String ENDPOINT_PROPERTY = "metrics-endpoint"; //$NON-NLS-1$
+    private static final String OUTPUT_ID_PROPERTY = "metrics-output-id"; //$NON-NLS-1$
+    private static final String OUTPUT_ID_PARAMETER = "outputId"; //$NON-NLS-1$
+
+    /**
+     * Output stream counting the bytes written to it
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long fCount = 0;
+
+        public CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            fCount++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            fCount += len;
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException {
+        UriInfo uriInfo = requestContext.getUriInfo();
+        requestContext.setProperty(START_TIME_PROPERTY, System.nanoTime());
+        requestContext.setProperty(METHOD_PROPERTY, requestContext.getMethod());
+        requestContext.setProperty(ENDPOINT_PROPERTY, getEndpointTemplate(uriInfo.getPath(), uriInfo.getPathParameters()));
+        requestContext.setProperty(OUTPUT_ID_PROPERTY, uriInfo.getPathParameters().getFirst(OUTPUT_ID_PARAMETER));
+        ServerMetrics.getInstance().requestStarted();
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) throws IOException {
+        Object startTime = requestContext.getProperty(START_TIME_PROPERTY);
+        if (!(startTime instanceof Long)) {
+            // The request was not matched to a resource
+            return;
+        }
+        ServerMetrics.getInstance().requestCompleted(
+                (String) requestContext.getProperty(METHOD_PROPERTY),
+                (String) requestContext.getProperty(ENDPOINT_PROPERTY),
+                (String) requestContext.getProperty(OUTPUT_ID_PROPERTY),
+                responseContext.getStatus(),
+                System.nanoTime() - (Long) startTime);
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        Object endpoint = context.getProperty(ENDPOINT_PROPERTY);
+        if (!(endpoint instanceof String)) {
+            context.proceed();
+            return;
+        }
+        CountingOutputStream stream = new CountingOutputStream(context.getOutputStream());
+        context.setOutputStream(stream);
+        try {
+            context.proceed();
+        } finally {
+            ServerMetrics.getInstance().responseWritten(
+                    (String) context.getProperty(METHOD_PROPERTY),
+                    (String) endpoint,
+                    (String) context.getProperty(OUTPUT_ID_PROPERTY),
+                    stream.fCount);
+        }
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+        // Do nothing
+    }
+
+    @Override
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return event -> {
+            if (event.getType() == RequestEvent.Type.FINISHED && event.getContainerRequest().getProperty(START_TIME_PROPERTY) != null) {
+                ServerMetrics.getInstance().requestFinished();
+            }
+        };
+    }
+
+    /**
+     * Replace the path parameters of a request path by their name
+     *
+     * @param path
+     *            the request path
+     * @param pathParameters
+     *            the path parameters of the request
+     * @return the endpoint template
+     */
+    private static String getEndpointTemplate(String path, MultivaluedMap<String, String> pathParameters) {
+        StringBuilder sb = new StringBuilder();
+        for (String segment : path.split("/")) { //$NON-NLS-1$
+            if (segment.isEmpty()) {
+                continue;
+            }
+            if (sb.length() > 0) {
+                sb.append('/');
+            }
+            sb.append(getParameterName(segment, pathParameters));
+        }
+        return sb.toString();
+    }
+
+    private static String getParameterName(String segment, MultivaluedMap<String, String> pathParameters) {
+        for (String name : pathParameters.keySet()) {
+            List<String> values = pathParameters.get(name);
+            if (values != null && values.contains(segment)) {
+                return '{' + name + '}';
+            }
+        }
+        return segment;
+    }
+}
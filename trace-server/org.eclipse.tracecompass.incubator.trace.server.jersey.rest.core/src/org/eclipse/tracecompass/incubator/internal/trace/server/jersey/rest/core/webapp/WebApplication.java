@@ -28,10 +28,13 @@ import org.eclipse.jetty.server.SslConnectionFactory;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.BookmarkManagerService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ConfigurationManagerService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderQueryExecutor;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.DataProviderService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ExperimentManagerService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.HealthService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.IdentifierService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.MetricsService;
+import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.ServerMetrics;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.TraceManagerService;
 import org.eclipse.tracecompass.incubator.internal.trace.server.jersey.rest.core.services.TraceServerOpenApiResource;
 import org.eclipse.tracecompass.tmf.core.TmfCommonConstants;
@@ -140,10 +143,13 @@ public class WebApplication {
         rc.register(IdentifierService.class);
         rc.register(CORSFilter.class);
         rc.register(JacksonObjectMapperProvider.class);
+        rc.register(ColumnarModelWriter.class);
         EncodingFilter.enableFor(rc, GZipEncoder.class);
         rc.register(TraceServerOpenApiResource.class);
         rc.register(BookmarkManagerService.class);
         rc.register(RequestResponseLogger.class);
+        rc.register(MetricsFilter.class);
+        rc.register(MetricsService.class);
     }
 
     /**
@@ -189,8 +195,10 @@ public class WebApplication {
      * Needs to be called before calling {@link #stop()}
      */
     public void dispose() {
+        DataProviderQueryExecutor.dispose();
         ExperimentManagerService.dispose();
         TraceManagerService.dispose();
+        ServerMetrics.getInstance().dispose();
     }
 
     /**
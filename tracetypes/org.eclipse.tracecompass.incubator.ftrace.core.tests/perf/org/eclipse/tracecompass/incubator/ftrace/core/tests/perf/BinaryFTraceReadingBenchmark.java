@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.perf;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.ftrace.core.tests.shared.FTraceUtils;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceIterator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileParser;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceEvent;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.BinaryFTrace;
+import org.eclipse.tracecompass.testtraces.ftrace.FtraceTestTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Benchmarks the reading of the events of a binary FTrace file recorded with
+ * trace-cmd. The events are read the way a state provider would, looking up
+ * only a few fields, and reading all their fields, to compare the number of
+ * events read per second.
+ */
+public class BinaryFTraceReadingBenchmark {
+
+    private static final String TEST_ID = "org.eclipse.tracecompass.incubator.ftrace#Binary event reading#";
+    private static final int LOOP_COUNT = 25;
+
+    private static BinaryFTraceHeaderInfo fHeader;
+    private static BinaryFTrace fTrace;
+
+    /**
+     * Parse the header of the trace
+     *
+     * @throws IOException
+     *             if an error occurred while getting the test trace path
+     * @throws TmfTraceException
+     *             if an error occurred while parsing the test trace
+     */
+    @BeforeClass
+    public static void init() throws TmfTraceException, IOException {
+        fTrace = new BinaryFTrace();
+        fHeader = BinaryFTraceFileParser.parse(FTraceUtils.getTraceAbsolutePath(FtraceTestTrace.TEST_2_6_MULTIPLE_CPUS));
+    }
+
+    /**
+     * Dispose the trace
+     */
+    @AfterClass
+    public static void cleanUp() {
+        fTrace.dispose();
+    }
+
+    /**
+     * Benchmark reading the event names only
+     *
+     * @throws IOException
+     *             if an error occurred while iterating through the events
+     */
+    @Test
+    public void testReadNames() throws IOException {
+        benchmark("Names", event -> assertNotNull(event.getName()));
+    }
+
+    /**
+     * Benchmark reading a few fields of each event, like the kernel state
+     * provider does for the scheduling events
+     *
+     * @throws IOException
+     *             if an error occurred while iterating through the events
+     */
+    @Test
+    public void testReadFewFields() throws IOException {
+        benchmark("Few fields", event -> {
+            ITmfEventField content = event.getContent();
+            content.getFieldValue(Long.class, "prev_tid");
+            content.getFieldValue(Long.class, "next_tid");
+        });
+    }
+
+    /**
+     * Benchmark reading all the fields of each event
+     *
+     * @throws IOException
+     *             if an error occurred while iterating through the events
+     */
+    @Test
+    public void testReadAllFields() throws IOException {
+        benchmark("All fields", event -> assertNotNull(event.getContent().getFields()));
+    }
+
+    private static void benchmark(String name, Consumer<GenericFtraceEvent> reader) throws IOException {
+        Performance perf = Performance.getDefault();
+        PerformanceMeter pm = perf.createPerformanceMeter(TEST_ID + name);
+        perf.tagAsSummary(pm, "Binary FTrace " + name, Dimension.CPU_TIME);
+
+        long eventCount = 0;
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            pm.start();
+            try (BinaryFTraceIterator iterator = new BinaryFTraceIterator(fHeader, fTrace)) {
+                GenericFtraceEvent event = iterator.getCurrentEvent();
+                while (event != null) {
+                    reader.accept(event);
+                    eventCount++;
+                    if (!iterator.advance()) {
+                        break;
+                    }
+                    event = iterator.getCurrentEvent();
+                }
+            }
+            pm.stop();
+        }
+        pm.commit();
+        assertTrue(eventCount > 0);
+    }
+}
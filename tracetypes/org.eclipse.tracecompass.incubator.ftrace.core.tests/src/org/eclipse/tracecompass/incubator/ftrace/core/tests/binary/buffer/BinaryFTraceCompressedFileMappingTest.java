@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.binary.buffer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceCompressedFileMapping;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceCompressedFileMapping.Region;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests for {@link BinaryFTraceCompressedFileMapping}
+ */
+public class BinaryFTraceCompressedFileMappingTest {
+    private static final int HEADER_SIZE = 16;
+    private static final int[] CHUNK_SIZES = { 4096, 0, 8192, 3, 4096 };
+    private static final byte[] DATA = new byte[Arrays.stream(CHUNK_SIZES).sum()];
+
+    private static File fFile;
+    private static long fBlockOffset;
+
+    /**
+     * Write a file with a header, compressed chunks and a compressed block
+     *
+     * @throws IOException
+     *             If the file cannot be written
+     */
+    @BeforeClass
+    public static void writeFile() throws IOException {
+        for (int i = 0; i < DATA.length; i++) {
+            DATA[i] = (byte) (i * 31 ^ (i >> 7));
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(DATA.length * 2 + 1024).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(0x1234L);
+        buffer.putLong(0x5678L);
+        buffer.putInt(CHUNK_SIZES.length);
+        int start = 0;
+        for (int size : CHUNK_SIZES) {
+            putBlock(buffer, Arrays.copyOfRange(DATA, start, start + size));
+            start += size;
+        }
+        fBlockOffset = buffer.position();
+        putBlock(buffer, Arrays.copyOf(DATA, 100));
+
+        fFile = File.createTempFile("compressed", ".dat"); //$NON-NLS-1$ //$NON-NLS-2$
+        Files.write(fFile.toPath(), Arrays.copyOf(buffer.array(), buffer.position()));
+    }
+
+    private static void putBlock(ByteBuffer buffer, byte[] data) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(data);
+        deflater.finish();
+        byte[] compressed = new byte[data.length + 64];
+        int size = deflater.deflate(compressed);
+        deflater.end();
+        buffer.putInt(size);
+        buffer.putInt(data.length);
+        buffer.put(compressed, 0, size);
+    }
+
+    /**
+     * Delete the file
+     */
+    @AfterClass
+    public static void deleteFile() {
+        fFile.delete();
+    }
+
+    /**
+     * Test reading the decompressed regions and the file itself, with a cache
+     * smaller than the chunks so that they are decompressed again
+     *
+     * @throws IOException
+     *             If the file cannot be mapped
+     */
+    @Test
+    public void testRead() throws IOException {
+        BinaryFTraceCompressedFileMapping mapping = new BinaryFTraceCompressedFileMapping(fFile.getAbsolutePath(), 1024);
+        mapping.order(ByteOrder.LITTLE_ENDIAN);
+        Region chunks = mapping.addCompressedChunks(HEADER_SIZE);
+        Region block = mapping.addCompressedBlock(fBlockOffset);
+
+        assertEquals(fFile.length(), mapping.getFileLength());
+        assertEquals(fFile.length(), chunks.getOffset());
+        assertEquals(DATA.length, chunks.getSize());
+        assertEquals(chunks.getOffset() + chunks.getSize(), block.getOffset());
+        assertEquals(block.getOffset() + 100, mapping.length());
+
+        // The file itself
+        assertEquals(0x5678L, mapping.getLong(8));
+        assertEquals(CHUNK_SIZES.length, mapping.getInt(HEADER_SIZE));
+
+        // Values in the chunks and across the chunks
+        ByteBuffer expected = ByteBuffer.wrap(DATA).order(ByteOrder.LITTLE_ENDIAN);
+        for (int offset : new int[] { 0, 1, 4090, 4092, 4096, 12286, 12288, 12290, DATA.length - 8 }) {
+            long index = chunks.getOffset() + offset;
+            assertEquals(DATA[offset], mapping.getByte(index));
+            assertEquals(expected.getShort(offset), mapping.getShort(index));
+            assertEquals(expected.getInt(offset), mapping.getInt(index));
+            assertEquals(expected.getLong(offset), mapping.getLong(index));
+        }
+        byte[] all = new byte[DATA.length];
+        mapping.get(chunks.getOffset(), all);
+        assertArrayEquals(DATA, all);
+
+        byte[] blockData = new byte[100];
+        mapping.get(block.getOffset(), blockData);
+        assertArrayEquals(Arrays.copyOf(DATA, 100), blockData);
+    }
+
+    /**
+     * Test reading after the decompressed regions
+     *
+     * @throws IOException
+     *             If the file cannot be mapped
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testReadOutOfBounds() throws IOException {
+        BinaryFTraceCompressedFileMapping mapping = new BinaryFTraceCompressedFileMapping(fFile.getAbsolutePath());
+        mapping.order(ByteOrder.LITTLE_ENDIAN);
+        Region chunks = mapping.addCompressedChunks(HEADER_SIZE);
+        mapping.getInt(chunks.getOffset() + chunks.getSize());
+    }
+
+    /**
+     * Test adding chunks that are not in the file
+     *
+     * @throws IOException
+     *             If the chunks are not in the file, as expected
+     */
+    @Test(expected = IOException.class)
+    public void testInvalidChunks() throws IOException {
+        BinaryFTraceCompressedFileMapping mapping = new BinaryFTraceCompressedFileMapping(fFile.getAbsolutePath());
+        mapping.order(ByteOrder.LITTLE_ENDIAN);
+        // The first long of the header is read as a number of chunks
+        mapping.addCompressedChunks(0);
+    }
+}
@@ -28,7 +28,9 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
 import java.io.IOException;
+import java.util.List;
 
 import org.eclipse.tracecompass.incubator.ftrace.core.tests.shared.FTraceUtils;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceCPUDataPage;
@@ -157,6 +159,51 @@ public class BinaryFTraceHeaderTest {
         assertNull(nullPage);
     }
 
+    /**
+     * Test that the pages of the CPU sections are the same when their headers
+     * are read from the page index, and that an invalid index is rebuilt.
+     *
+     * @throws Exception
+     *             if an error occurred while parsing the trace header or
+     *             writing the index
+     */
+    @Test
+    public void testCpuSectionPagingWithIndex() throws Exception {
+        File indexFile = File.createTempFile("ftrace", ".idx"); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            // An empty file is not a valid index
+            BinaryFTraceHeaderInfo expected = BinaryFTraceFileParser.parse(traceURL);
+            BinaryFTraceHeaderInfo created = BinaryFTraceFileParser.parse(traceURL, indexFile);
+            assertTrue(indexFile.length() > 0);
+            assertSamePages(expected, created);
+
+            long modified = indexFile.lastModified();
+            BinaryFTraceHeaderInfo indexed = BinaryFTraceFileParser.parse(traceURL, indexFile);
+            assertEquals(modified, indexFile.lastModified());
+            assertSamePages(expected, indexed);
+            assertEquals(CPU2_NUM_OF_PAGES, indexed.getCpus().get(CPU2_INDEX).getPages().size());
+        } finally {
+            indexFile.delete();
+        }
+    }
+
+    private static void assertSamePages(BinaryFTraceHeaderInfo expected, BinaryFTraceHeaderInfo actual) {
+        assertEquals(expected.getCpus().size(), actual.getCpus().size());
+        for (int i = 0; i < expected.getCpus().size(); i++) {
+            List<BinaryFTraceCPUDataPage> expectedPages = expected.getCpus().get(i).getPages();
+            List<BinaryFTraceCPUDataPage> actualPages = actual.getCpus().get(i).getPages();
+            assertEquals(expectedPages.size(), actualPages.size());
+            for (int j = 0; j < expectedPages.size(); j++) {
+                BinaryFTraceCPUDataPage expectedPage = expectedPages.get(j);
+                BinaryFTraceCPUDataPage actualPage = actualPages.get(j);
+                assertEquals(expectedPage.getPageStartingOffset(), actualPage.getPageStartingOffset());
+                assertEquals(expectedPage.getTimeStamp(), actualPage.getTimeStamp());
+                assertEquals(expectedPage.getFlags(), actualPage.getFlags());
+                assertEquals(expectedPage.getCpu(), actualPage.getCpu());
+            }
+        }
+    }
+
     /**
      * Check if the version is a supported version
      *
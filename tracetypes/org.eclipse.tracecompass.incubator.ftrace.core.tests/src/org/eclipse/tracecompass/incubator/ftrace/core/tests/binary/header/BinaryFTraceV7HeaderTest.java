@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.ftrace.core.tests.binary.header;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceCPUDataPage;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileType;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFunctionAddressNameMapping;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceOption;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceVersion;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceCPUPageIterator;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceResponse;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceV7FileParser;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.junit.Test;
+
+/**
+ * Test the {@link BinaryFTraceV7FileParser} with a zlib compressed trace-cmd
+ * v7 file. The file has 2 CPUs, with 3 and 2 pages of 20 sched_wakeup events,
+ * and its options and sections use the option IDs of trace-cmd.
+ */
+public class BinaryFTraceV7HeaderTest {
+
+    private static final String TRACE_PATH = "res/trace-cmd-v7-zlib.dat";
+    private static final int PAGE_SIZE = 4096;
+    private static final int EVENTS_PER_PAGE = 20;
+    private static final int[] CPU_PAGES = { 3, 2 };
+    private static final short OPTION_CPUSTAT = 2;
+    private static final short OPTION_UNAME = 5;
+
+    /**
+     * Test the header information read from the sections and options
+     *
+     * @throws TmfTraceException
+     *             if an error occurred while parsing the trace header
+     */
+    @Test
+    public void testHeader() throws TmfTraceException {
+        BinaryFTraceHeaderInfo header = BinaryFTraceV7FileParser.parse(TRACE_PATH);
+        assertEquals(BinaryFTraceVersion.V7, header.getVersion());
+        assertEquals(BinaryFTraceFileType.FLY_RECORD, header.getFileType());
+        assertEquals(PAGE_SIZE, header.getHostMachinePageSize());
+
+        // The header info section
+        assertEquals(5, header.getHeaderEventInfo().getTypeLen());
+        assertEquals(27, header.getHeaderEventInfo().getTimeDelta());
+        assertEquals(4, header.getHeaderPageFields().size());
+
+        // The event formats, kallsyms, printk and cmdlines sections
+        assertNotNull(header.getEventFormatByID(300));
+        assertEquals("sched_wakeup", header.getEventFormatByID(300).getEventName());
+        List<String> functions = new ArrayList<>();
+        for (BinaryFTraceFunctionAddressNameMapping mapping : header.getFunctionMapping().values()) {
+            functions.add(mapping.getFunctionName());
+        }
+        assertEquals(Collections.singletonList("startup_64"), functions);
+        assertEquals(1, header.getPrintKPointerStringMapping().size());
+        assertEquals(Collections.singletonMap(1, "init"), header.getProcessIDNameMapping());
+
+        // Only the text options are kept, the clock and version are not
+        List<BinaryFTraceOption> options = header.getOptions();
+        assertEquals(2, options.size());
+        assertEquals(OPTION_UNAME, options.get(0).getOptionType());
+        assertEquals("Linux test 6.1.0 #1 SMP x86_64", options.get(0).getOptionContent());
+        assertEquals(OPTION_CPUSTAT, options.get(1).getOptionType());
+        assertTrue(options.get(1).getOptionContent().startsWith("CPU: 0"));
+    }
+
+    /**
+     * Test reading the events of the compressed CPU data
+     *
+     * @throws TmfTraceException
+     *             if an error occurred while parsing the trace header
+     * @throws IOException
+     *             if an error occurred while reading the events
+     */
+    @Test
+    public void testEvents() throws TmfTraceException, IOException {
+        BinaryFTraceHeaderInfo header = BinaryFTraceV7FileParser.parse(TRACE_PATH);
+        List<BinaryFTraceFileCPU> cpus = header.getCpus();
+        assertEquals(CPU_PAGES.length, cpus.size());
+        for (BinaryFTraceFileCPU cpu : cpus) {
+            int cpuNumber = cpu.getCpuNumber();
+            List<BinaryFTraceCPUDataPage> pages = cpu.getPages();
+            assertEquals(CPU_PAGES[cpuNumber], pages.size());
+            // The pages start at 1 ms for CPU 0 and 2 ms for CPU 1
+            long timestamp = 1000000L * (cpuNumber + 1);
+            for (int page = 0; page < pages.size(); page++) {
+                assertEquals(timestamp, pages.get(page).getTimeStamp());
+                try (BinaryFTraceCPUPageIterator iterator = new BinaryFTraceCPUPageIterator(pages.get(page), header)) {
+                    for (int i = 0; i < EVENTS_PER_PAGE; i++) {
+                        assertEquals(BinaryFTraceResponse.OK, iterator.readNextEvent());
+                        timestamp += 100;
+                        assertEquals(timestamp, iterator.getCurrentTimeStamp());
+                        BinaryFTraceEvent event = iterator.getCurrentEvent();
+                        assertNotNull(event);
+                        assertEquals("sched_wakeup", event.getEventName());
+                        assertEquals(cpuNumber * 1000L + i, event.getLongFieldValue("common_pid", -1));
+                        assertEquals(page * 1000L + i, event.getLongFieldValue("pid", -1));
+                        assertEquals(120L, event.getLongFieldValue("prio", -1));
+                    }
+                    assertFalse(iterator.hasNext());
+                }
+                timestamp += 5000;
+            }
+        }
+    }
+}
@@ -14,6 +14,7 @@ package org.eclipse.tracecompass.incubator.ftrace.core.tests.binary.iterator;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -27,6 +28,7 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.Bin
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceEvent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.BinaryFTrace;
 import org.eclipse.tracecompass.testtraces.ftrace.FtraceTestTrace;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.junit.AfterClass;
@@ -358,4 +360,39 @@ public class BinaryFTraceIteratorTest {
             assertTrue(iterator2.compareTo(iterator1) < 0);
         }
     }
+
+    /**
+     * Test that the fields looked up one by one, which are decoded lazily, are
+     * the same as the fields of the fully decoded content.
+     *
+     * @throws IOException
+     *             if an error occurred while iterating through trace events
+     */
+    @Test
+    public void testLazyFields() throws IOException {
+        assertNotNull(ftrace);
+        try (BinaryFTraceIterator lazyIterator = new BinaryFTraceIterator(multipleEventTrace, ftrace);
+                BinaryFTraceIterator decodedIterator = new BinaryFTraceIterator(multipleEventTrace, ftrace)) {
+            GenericFtraceEvent lazyEvent = lazyIterator.getCurrentEvent();
+            GenericFtraceEvent decodedEvent = decodedIterator.getCurrentEvent();
+            int count = 0;
+            while (lazyEvent != null && decodedEvent != null) {
+                ITmfEventField decodedContent = decodedEvent.getContent();
+                for (ITmfEventField field : decodedContent.getFields()) {
+                    assertEquals(field.getValue(), lazyEvent.getContent().getFieldValue(Object.class, field.getName()));
+                }
+                assertNull(lazyEvent.getContent().getField("common_pid"));
+                assertEquals(decodedContent, lazyEvent.getContent());
+                assertEquals(decodedEvent.getField().getPid(), lazyEvent.getField().getPid());
+                assertEquals(decodedEvent.getField().getTid(), lazyEvent.getField().getTid());
+                count++;
+                if (!lazyIterator.advance() || !decodedIterator.advance()) {
+                    break;
+                }
+                lazyEvent = lazyIterator.getCurrentEvent();
+                decodedEvent = decodedIterator.getCurrentEvent();
+            }
+            assertTrue(count > 0);
+        }
+    }
 }
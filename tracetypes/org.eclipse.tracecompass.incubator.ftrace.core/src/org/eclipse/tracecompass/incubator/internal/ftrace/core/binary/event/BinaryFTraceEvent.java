@@ -11,21 +11,34 @@
 
 package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event;
 
+import java.util.HashMap;
 import java.util.Map;
 
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventFormat;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFormatField;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceIteratorHelper;
+
 /**
- * A trace event parsed from the binary FTrace file.
+ * A trace event parsed from the binary FTrace file. The payload of the event
+ * can be kept in its binary form, with the event format, in which case the
+ * fields are only decoded when they are requested.
  *
  * @author Hoang Thuan Pham
  */
 public class BinaryFTraceEvent {
+    private static final String NAME_FIELD = "name"; //$NON-NLS-1$
+
     // Event info
     private final long fTimeSinceBoot;
     private final int fCpu;
     private final String fEventName;
 
     // Event payload
-    private final Map<String, Object> fFields;
+    private @Nullable Map<String, Object> fFields;
+    private final byte @Nullable [] fPayload;
+    private final @Nullable BinaryFTraceEventFormat fEventFormat;
+    private final @Nullable BinaryFTraceIteratorHelper fDataParser;
 
     /**
      * Constructor
@@ -44,6 +57,34 @@ public class BinaryFTraceEvent {
         fFields = fields;
         fCpu = cpu;
         fEventName = eventName;
+        fPayload = null;
+        fEventFormat = null;
+        fDataParser = null;
+    }
+
+    /**
+     * Constructor for an event whose fields are decoded lazily from its binary
+     * payload
+     *
+     * @param timeSinceBoot
+     *            The time stamp of the event (since boot)
+     * @param eventFormat
+     *            The format of the event, with the offsets of the fields in
+     *            the payload
+     * @param payload
+     *            The binary payload of the event
+     * @param dataParser
+     *            The helper used to decode the fields of the payload
+     * @param cpu
+     *            The CPU number of the event
+     */
+    public BinaryFTraceEvent(long timeSinceBoot, BinaryFTraceEventFormat eventFormat, byte[] payload, BinaryFTraceIteratorHelper dataParser, int cpu) {
+        fTimeSinceBoot = timeSinceBoot;
+        fCpu = cpu;
+        fEventName = eventFormat.getEventName();
+        fPayload = payload;
+        fEventFormat = eventFormat;
+        fDataParser = dataParser;
     }
 
     /**
@@ -62,8 +103,68 @@ public class BinaryFTraceEvent {
      *
      * @return the type length of the event
      */
-    public Map<String, Object> getFields() {
-        return fFields;
+    public synchronized Map<String, Object> getFields() {
+        Map<String, Object> fields = fFields;
+        if (fields == null) {
+            BinaryFTraceEventFormat eventFormat = fEventFormat;
+            BinaryFTraceIteratorHelper dataParser = fDataParser;
+            byte[] payload = fPayload;
+            if (eventFormat != null && dataParser != null && payload != null && payload.length > 0) {
+                fields = dataParser.parseEventData(eventFormat, payload);
+            } else {
+                fields = new HashMap<>();
+            }
+            fFields = fields;
+        }
+        return fields;
+    }
+
+    /**
+     * Get the value of a single field of the event. If the event was read
+     * lazily, only this field is decoded from the payload. The value is the
+     * same as the one in {@link #getFields()}.
+     *
+     * @param name
+     *            The name of the field
+     * @return The value of the field, or null if the event has no such field
+     */
+    public @Nullable Object getFieldValue(String name) {
+        BinaryFTraceEventFormat eventFormat = fEventFormat;
+        BinaryFTraceIteratorHelper dataParser = fDataParser;
+        byte[] payload = fPayload;
+        if (eventFormat == null || dataParser == null || payload == null || payload.length == 0) {
+            return getFields().get(name);
+        }
+        BinaryFTraceFormatField formatField = eventFormat.getFieldByName(name);
+        if (formatField == null) {
+            return NAME_FIELD.equals(name) ? fEventName : null;
+        }
+        return dataParser.getFieldValue(formatField, payload);
+    }
+
+    /**
+     * Get the value of an integer field of the event without boxing it. If the
+     * event was read lazily, only this field is decoded from the payload.
+     *
+     * @param name
+     *            The name of the field
+     * @param defaultValue
+     *            The value to return if the event has no such integer field
+     * @return The value of the field, or the default value
+     */
+    public long getLongFieldValue(String name, long defaultValue) {
+        BinaryFTraceEventFormat eventFormat = fEventFormat;
+        BinaryFTraceIteratorHelper dataParser = fDataParser;
+        byte[] payload = fPayload;
+        if (eventFormat == null || dataParser == null || payload == null || payload.length == 0) {
+            Object value = getFields().get(name);
+            return value instanceof Long ? (Long) value : defaultValue;
+        }
+        BinaryFTraceFormatField formatField = eventFormat.getFieldByName(name);
+        if (formatField == null) {
+            return defaultValue;
+        }
+        return dataParser.getLongFieldValue(formatField, payload, defaultValue);
     }
 
     /**
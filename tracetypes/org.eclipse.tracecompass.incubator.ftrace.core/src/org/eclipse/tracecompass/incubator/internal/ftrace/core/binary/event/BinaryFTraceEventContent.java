@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.layout.GenericFtraceEventLayout;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
+
+/**
+ * The content of an event read from a binary FTrace file. The fields are
+ * decoded from the binary payload of the {@link BinaryFTraceEvent} when they
+ * are requested: looking up a single field with {@link #getField(String...)}
+ * or {@link #getFieldValue(Class, String...)} only decodes this field, the
+ * whole content is decoded the first time all the fields are requested.
+ * <p>
+ * The common fields are not part of the content, and the
+ * <code>parent_pid</code> field of the fork events is renamed to
+ * <code>pid</code>.
+ */
+public class BinaryFTraceEventContent extends TmfEventField {
+
+    private static final String PARENT_PID = "parent_pid"; //$NON-NLS-1$
+    private static final String PID = "pid"; //$NON-NLS-1$
+
+    private final BinaryFTraceEvent fEvent;
+    private final boolean fIsFork;
+    private volatile @Nullable TmfEventField fDecoded = null;
+
+    /**
+     * Constructor
+     *
+     * @param event
+     *            The binary event
+     * @param eventName
+     *            The name of the event, once rewritten for the analyses
+     */
+    public BinaryFTraceEventContent(BinaryFTraceEvent event, String eventName) {
+        super(ITmfEventField.ROOT_FIELD_ID, null, null);
+        fEvent = event;
+        fIsFork = eventName.equals(GenericFtraceEventLayout.getInstance().eventSchedProcessFork());
+    }
+
+    @Override
+    public @Nullable ITmfEventField getField(String @NonNull... path) {
+        TmfEventField decoded = fDecoded;
+        if (decoded != null || path.length != 1) {
+            return decoded().getField(path);
+        }
+        String name = path[0];
+        if (name.startsWith(BinaryFTraceConstants.EVENT_FORMAT_COMMON_FIELD_PREFIX) || (fIsFork && name.equals(PARENT_PID))) {
+            return null;
+        }
+        Object value = fEvent.getFieldValue(fIsFork && name.equals(PID) ? PARENT_PID : name);
+        return value == null ? null : new TmfEventField(name, value, null);
+    }
+
+    @Override
+    public Object getValue() {
+        return decoded().getValue();
+    }
+
+    @Override
+    public @NonNull Collection<@NonNull String> getFieldNames() {
+        return decoded().getFieldNames();
+    }
+
+    @Override
+    public @NonNull Collection<? extends ITmfEventField> getFields() {
+        return decoded().getFields();
+    }
+
+    @Override
+    public String getFormattedValue() {
+        return decoded().getFormattedValue();
+    }
+
+    /**
+     * Decode all the fields of the event, the same way the content was built
+     * before it was decoded lazily
+     */
+    private synchronized TmfEventField decoded() {
+        TmfEventField decoded = fDecoded;
+        if (decoded == null) {
+            Map<@NonNull String, @NonNull Object> fields = new HashMap<>();
+            for (Entry<String, Object> field : fEvent.getFields().entrySet()) {
+                String key = field.getKey();
+                Object value = field.getValue();
+
+                if (value != null && !key.startsWith(BinaryFTraceConstants.EVENT_FORMAT_COMMON_FIELD_PREFIX)) {
+                    if (fIsFork && key.equals(PARENT_PID)) {
+                        key = PID;
+                    }
+                    fields.put(key, value);
+                }
+            }
+            ITmfEventField[] array = fields.entrySet().stream()
+                    .map(entry -> new TmfEventField(entry.getKey(), entry.getValue(), null))
+                    .toArray(ITmfEventField[]::new);
+            decoded = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, fields, array);
+            fDecoded = decoded;
+        }
+        return decoded;
+    }
+
+    @Override
+    public int hashCode() {
+        return decoded().hashCode();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof BinaryFTraceEventContent) {
+            return decoded().equals(((BinaryFTraceEventContent) obj).decoded());
+        }
+        return decoded().equals(obj);
+    }
+
+    @Override
+    public String toString() {
+        return decoded().toString();
+    }
+}
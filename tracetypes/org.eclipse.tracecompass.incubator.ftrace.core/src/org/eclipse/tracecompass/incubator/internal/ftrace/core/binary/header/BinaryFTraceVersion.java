@@ -12,8 +12,8 @@
 package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header;
 
 /**
- * An enumerator for supported FTrace versions. Currently, the only supported
- * version is v6, but v7 is expected to come out soon.
+ * An enumerator for supported FTrace versions. The supported versions are v6
+ * and the sectioned v7 format, which may compress its sections.
  *
  * @author Hoang Thuan Pham
  */
@@ -22,6 +22,10 @@ public enum BinaryFTraceVersion {
      * Binary FTrace version 6
      */
     V6(6),
+    /**
+     * Binary FTrace version 7
+     */
+    V7(7),
     /**
      * Default value when no version or an unsupported version is detected
      */
@@ -13,8 +13,6 @@ package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -322,16 +320,11 @@ public class BinaryFTraceCPUPageIterator implements Closeable {
                 return null;
             }
 
-            Map<String, Object> properties;
-            if (eventDef.getPayloadSize() > 0) {
-                properties = fDataParser.parseEventData(eventFormat, data);
-            } else {
-                properties = new HashMap<>();
-            }
-
+            // The fields are decoded from the payload when they are requested
             BinaryFTraceEvent event = new BinaryFTraceEvent(fCurrentTimeStamp,
-                    properties,
-                    eventFormat.getEventName(),
+                    eventFormat,
+                    data,
+                    fDataParser,
                     fPage.getCpu());
             return event;
         }
@@ -12,6 +12,7 @@
 package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
@@ -36,6 +37,9 @@ public class BinaryFTraceCPUSectionIterator implements AutoCloseable {
     /** The first page of the CPU section, required to reset the iterator **/
     private BinaryFTraceCPUDataPage fHeadPage;
 
+    /** The pages of the CPU section, searched by timestamp to seek **/
+    private final List<BinaryFTraceCPUDataPage> fPages;
+
     /**
      * Constructor
      *
@@ -48,8 +52,9 @@ public class BinaryFTraceCPUSectionIterator implements AutoCloseable {
      */
     public BinaryFTraceCPUSectionIterator(BinaryFTraceFileCPU cpu, BinaryFTraceHeaderInfo headerInfo) throws IOException {
         this.headerInfo = headerInfo;
+        fPages = cpu.getPages();
 
-        if (!cpu.getPages().isEmpty()) {
+        if (!fPages.isEmpty()) {
             fHeadPage = cpu.getPages().get(0); // Get the first page
             fCurrPageIterator = BinaryFTraceIteratorHelper.getPageIterator(fHeadPage, headerInfo);
         } else {
@@ -165,19 +170,12 @@ public class BinaryFTraceCPUSectionIterator implements AutoCloseable {
         // First we reset the iterator
         resetIterator();
 
-        BinaryFTraceCPUDataPage currPage = fHeadPage;
         boolean ret = false;
 
-        if (currPage != null) {
+        if (fHeadPage != null) {
+            BinaryFTraceCPUDataPage currPage = findPage(timestamp);
             BinaryFTraceCPUDataPage nextPage = currPage.getNextPage();
 
-            if (timestamp > currPage.getTimeStamp()) {
-                while (nextPage != null && timestamp >= nextPage.getTimeStamp()) {
-                    currPage = nextPage;
-                    nextPage = currPage.getNextPage();
-                }
-            }
-
             BinaryFTraceCPUPageIterator iter = BinaryFTraceIteratorHelper.getPageIterator(currPage, headerInfo);
             if (iter != null) {
                 ret = iter.seek(timestamp);
@@ -205,6 +203,31 @@ public class BinaryFTraceCPUSectionIterator implements AutoCloseable {
         return ret;
     }
 
+    /**
+     * Find the page where to start looking for the first event with a
+     * timestamp at least equal to the timestamp, with a binary search on the
+     * timestamps of the pages. This is the last page that starts before the
+     * timestamp, or the first page if none does. The event is either in that
+     * page or the next one.
+     *
+     * @param timestamp
+     *            The timestamp to seek to
+     * @return The page where to start looking for the event
+     */
+    private BinaryFTraceCPUDataPage findPage(long timestamp) {
+        int low = 0;
+        int high = fPages.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (fPages.get(mid).getTimeStamp() < timestamp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return fPages.get(low);
+    }
+
     /**
      * Reset the iterator from the start.
      * @throws IOException
@@ -13,9 +13,6 @@ package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator;
 
 import java.io.IOException;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -23,13 +20,12 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.context.BinaryFTraceLocation;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.context.BinaryFTraceLocationInfo;
-import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceConstants;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEvent;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceEventContent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceEvent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceField;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.IGenericFtraceConstants;
-import org.eclipse.tracecompass.incubator.internal.ftrace.core.layout.GenericFtraceEventLayout;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.BinaryFTrace;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
@@ -46,6 +42,8 @@ public class BinaryFTraceIterator extends BinaryFTraceReader implements ITmfCont
 
     private static final String SYS_ENTER_EVENT_NAME = "sys_enter"; //$NON-NLS-1$
     private static final String SYS_EXIT_EVENT_NAME = "sys_exit"; //$NON-NLS-1$
+    private static final String COMMON_PID_FIELD = "common_pid"; //$NON-NLS-1$
+    private static final String TGID_FIELD = "tgid"; //$NON-NLS-1$
 
     private final @NonNull BinaryFTrace fTrace;
 
@@ -119,43 +117,18 @@ public class BinaryFTraceIterator extends BinaryFTraceReader implements ITmfCont
      * @return the current event as a {@link GenericFTraceEvent}
      */
     private GenericFtraceEvent parseEvent(BinaryFTraceEvent event) {
-        Integer pid = -1;
         Integer cpu = event.getCpu();
         Long timestampInNano = event.getTimeSinceBoot();
 
         // This function call guarantees that name will not be null
         String name = eventNameRewrite(event.getEventName());
 
-        Object commonPidField = event.getFields().getOrDefault("common_pid", null); //$NON-NLS-1$
-        if (commonPidField != null) {
-            pid = ((Long) commonPidField).intValue();
-        }
+        // Only the fields needed for the pid and tid are decoded here
+        int pid = (int) event.getLongFieldValue(COMMON_PID_FIELD, -1);
         Integer tid = pid;
+        pid = (int) event.getLongFieldValue(TGID_FIELD, pid);
 
-        Object tgidField = event.getFields().getOrDefault("tgid", null); //$NON-NLS-1$
-        if (tgidField != null) {
-            int tgidNumeric = ((Long) tgidField).intValue();
-            if (tgidNumeric != pid) {
-                pid = tgidNumeric;
-            }
-        }
-
-        Map<@NonNull String, @NonNull Object> fields = new HashMap<>();
-        for (Entry<String, Object> field : event.getFields().entrySet()) {
-            String key = field.getKey();
-            Object value = field.getValue();
-
-            if (value != null && !key.startsWith(BinaryFTraceConstants.EVENT_FORMAT_COMMON_FIELD_PREFIX)) {
-                if (key.equals("parent_pid") && name.equals(GenericFtraceEventLayout.getInstance().eventSchedProcessFork())) { //$NON-NLS-1$
-                    key = "pid"; //$NON-NLS-1$
-                }
-
-                fields.put(key, value);
-            }
-        }
-
-        @SuppressWarnings("null")
-        GenericFtraceField parsedEvent = new GenericFtraceField(name, cpu, timestampInNano, pid, tid, fields);
+        GenericFtraceField parsedEvent = new GenericFtraceField(name, cpu, timestampInNano, pid, tid, new BinaryFTraceEventContent(event, name));
         return new GenericFtraceEvent(fTrace, fCurRank, parsedEvent);
     }
 
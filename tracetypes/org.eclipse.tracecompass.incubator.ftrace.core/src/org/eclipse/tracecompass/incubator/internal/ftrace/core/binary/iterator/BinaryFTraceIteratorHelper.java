@@ -154,8 +154,7 @@ public class BinaryFTraceIteratorHelper {
      */
     public Object getFieldValue(BinaryFTraceFormatField formatField, byte[] data) {
         if (formatField.isPointer()) {
-            byte[] fieldData = extractValue(formatField, data);
-            return readStringPointerField(fieldData);
+            return readStringPointerField(formatField, data);
         }
 
         if (formatField.isString()) {
@@ -171,12 +170,10 @@ public class BinaryFTraceIteratorHelper {
 
         if (formatField.getArrayLength() == 0) {
             // For now for non string type we just print out the pointer value
-            byte[] fieldData = extractValue(formatField, data);
-            return readStringPointerField(fieldData);
+            return readStringPointerField(formatField, data);
         }
 
-        byte[] fieldData = extractValue(formatField, data);
-        return getPrimitiveDataValue(formatField, fieldData);
+        return getPrimitiveDataValue(formatField, data);
     }
 
     /**
@@ -190,13 +187,56 @@ public class BinaryFTraceIteratorHelper {
      */
     public BinaryFTraceEventFormat getEventFormat(byte[] data) {
         BinaryFTraceFormatField commonTypeField = fHeader.getEventCommonFields().get("common_type"); //$NON-NLS-1$
-        Long eventId = (Long) getFieldValue(commonTypeField, data);
+        long eventId = getLongFieldValue(commonTypeField, data, -1);
 
-        if (eventId == null) {
+        if (eventId == -1) {
             return null;
         }
 
-        return fHeader.getEventFormatByID(eventId.intValue());
+        return fHeader.getEventFormatByID((int) eventId);
+    }
+
+    /**
+     * Extract the value of an integer field from a binary payload of a binary
+     * FTrace event, without boxing it. The value is read like
+     * {@link #getFieldValue(BinaryFTraceFormatField, byte[])} would, except
+     * that unsigned 64-bit values that do not fit in a signed long are
+     * returned as is instead of as a string.
+     *
+     * @param formatField
+     *            The {@link BinaryFTraceFormatField} that contains information
+     *            to extract the field value from the binary payload of a binary
+     *            FTrace event.
+     * @param data
+     *            The binary payload of a binary FTrace event.
+     * @param defaultValue
+     *            The value to return if the field is not an integer field
+     * @return The extracted value, or the default value
+     */
+    public long getLongFieldValue(BinaryFTraceFormatField formatField, byte[] data, long defaultValue) {
+        if (formatField.isPointer() || formatField.isString() || formatField.getArrayLength() == 0) {
+            return defaultValue;
+        }
+        boolean signed = formatField.getSigned() == BinaryFTraceValueSign.SIGNED;
+        switch (formatField.getFieldType()) {
+        case CHAR:
+            if (formatField.getSize() != 1) {
+                return defaultValue;
+            }
+            byte byteValue = fieldBuffer(formatField, data).get();
+            return signed ? byteValue : Byte.toUnsignedLong(byteValue);
+        case SHORT:
+            short shortValue = fieldBuffer(formatField, data).getShort();
+            return signed ? shortValue : Short.toUnsignedLong(shortValue);
+        case INT:
+            int intValue = fieldBuffer(formatField, data).getInt();
+            return signed ? intValue : Integer.toUnsignedLong(intValue);
+        case LONG:
+            return fieldBuffer(formatField, data).getLong();
+        case UNKNOWN:
+        default:
+            return defaultValue;
+        }
     }
 
     private Object getPrimitiveDataValue(BinaryFTraceFormatField formatField, byte[] data) {
@@ -232,10 +272,10 @@ public class BinaryFTraceIteratorHelper {
         return new String(fieldData);
     }
 
-    private static Long readCharField(BinaryFTraceFormatField formatField, byte[] fieldData) {
+    private Long readCharField(BinaryFTraceFormatField formatField, byte[] fieldData) {
         /** A char for ftrace is a 8bit = 1byte value */
-        if (fieldData.length == 1) {
-            Byte byteValue = fieldData[0];
+        if (formatField.getSize() == 1) {
+            Byte byteValue = fieldBuffer(formatField, fieldData).get();
 
             if (formatField.getSigned() == BinaryFTraceValueSign.SIGNED || canBeSignedByte(byteValue)) {
                 return Long.valueOf(byteValue);
@@ -252,7 +292,7 @@ public class BinaryFTraceIteratorHelper {
     }
 
     private Object readShortField(BinaryFTraceFormatField formatField, byte[] fieldData) {
-        Short shortValue = ByteBuffer.wrap(fieldData).order(fHeader.getEndianess()).getShort();
+        Short shortValue = fieldBuffer(formatField, fieldData).getShort();
 
         if (formatField.getSigned() == BinaryFTraceValueSign.SIGNED || canBeSignedShort(shortValue)) {
             return Long.valueOf(shortValue);
@@ -266,7 +306,7 @@ public class BinaryFTraceIteratorHelper {
     }
 
     private Object readIntField(BinaryFTraceFormatField formatField, byte[] fieldData) {
-        Integer intValue = ByteBuffer.wrap(fieldData).order(fHeader.getEndianess()).getInt();
+        Integer intValue = fieldBuffer(formatField, fieldData).getInt();
 
         if (formatField.getSigned() == BinaryFTraceValueSign.SIGNED || canBeSignedInt(intValue)) {
             return Long.valueOf(intValue);
@@ -280,7 +320,7 @@ public class BinaryFTraceIteratorHelper {
     }
 
     private Object readLongField(BinaryFTraceFormatField formatField, byte[] fieldData) {
-        Long longValue = ByteBuffer.wrap(fieldData).order(fHeader.getEndianess()).getLong();
+        Long longValue = fieldBuffer(formatField, fieldData).getLong();
 
         // If the value is unsigned, but can not be fit into a signed value, we
         // return a string of the unsigned value
@@ -295,6 +335,23 @@ public class BinaryFTraceIteratorHelper {
         return Long.compareUnsigned(longValue, Long.MAX_VALUE) <= 0;
     }
 
+    /**
+     * Get a view of the bytes of a field in the event payload, in the byte
+     * order of the trace. The bytes are only copied if the field goes past the
+     * end of the payload.
+     */
+    private ByteBuffer fieldBuffer(BinaryFTraceFormatField field, byte[] data) {
+        int offset = field.getOffset();
+        int size = field.getSize();
+        ByteBuffer buffer;
+        if (offset >= 0 && size >= 0 && offset + size <= data.length) {
+            buffer = ByteBuffer.wrap(data, offset, size).slice();
+        } else {
+            buffer = ByteBuffer.wrap(extractValue(field, data));
+        }
+        return buffer.order(fHeader.getEndianess());
+    }
+
     private static byte[] extractValue(BinaryFTraceFormatField field, byte[] data) {
         int size = field.getSize();
         int offset = field.getOffset();
@@ -323,8 +380,8 @@ public class BinaryFTraceIteratorHelper {
         return new byte[0];
     }
 
-    private String readStringPointerField(byte[] fieldData) {
-        long pointerAddress = ByteBuffer.wrap(fieldData).order(fHeader.getEndianess()).getLong();
+    private String readStringPointerField(BinaryFTraceFormatField formatField, byte[] data) {
+        long pointerAddress = fieldBuffer(formatField, data).getLong();
 
         // If the we have a mapping of address to string in the file header, get
         // the string
@@ -25,6 +25,7 @@ import static org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.eve
 
 import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,7 +35,6 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.Bin
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceCPUDataPage.BinaryFTraceCPUDataPageBuilder;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventFormat;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventSystem;
-import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFormatField;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFunctionAddressNameMapping;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFunctionType;
@@ -361,12 +361,12 @@ public abstract class AbstractBinaryFTraceFileParser {
      * Initialize a list of pages of the CPU with the same properties as the
      * parameters.
      *
+     * @param timeStamps
+     *            The timestamp of each page
+     * @param flags
+     *            The flags of each page
      * @param sectionStartingOffset
      *            The starting offset of the CPU section
-     * @param listTimeStamp
-     *            A list containing the timestamp of pages
-     * @param listFlag
-     *            A list containing the flags of pages
      * @param sectionSize
      *            The size of the CPU section
      * @param pageSize
@@ -374,14 +374,15 @@ public abstract class AbstractBinaryFTraceFileParser {
      * @param cpuNumber
      *            The CPU number
      * @return A list that contains all the pages of a CPU section identified by
-     *         the parameter cpuNumber
+     *         the parameter cpuNumber, which supports random access to search
+     *         the pages by timestamp
      */
-    protected static List<BinaryFTraceCPUDataPage> initializePages(List<Long> listTimeStamp, List<Long> listFlag, long sectionStartingOffset, long sectionSize, int pageSize, int cpuNumber) {
-        int pageCount = listTimeStamp.size();
+    protected static List<BinaryFTraceCPUDataPage> initializePages(long[] timeStamps, long[] flags, long sectionStartingOffset, long sectionSize, int pageSize, int cpuNumber) {
+        int pageCount = timeStamps.length;
 
         BinaryFTraceCPUDataPage nextPage = null;
         BinaryFTraceCPUDataPageBuilder pageBuilder = new BinaryFTraceCPUDataPageBuilder();
-        List<BinaryFTraceCPUDataPage> listPages = new ArrayList<>();
+        BinaryFTraceCPUDataPage[] pages = new BinaryFTraceCPUDataPage[pageCount];
         long pageStartingOffset = sectionStartingOffset + sectionSize - pageSize;
 
         /*
@@ -389,60 +390,24 @@ public abstract class AbstractBinaryFTraceFileParser {
          * to change the pointer to the next page
          */
         for (int i = (pageCount - 1); i >= 0; i--) {
-            long timestamp = listTimeStamp.get(i);
-            long flags = listFlag.get(i);
             long dataStartingOffset = pageStartingOffset + BinaryFTraceHeaderElementSize.PAGE_HEADER_SIZE;
 
             // Build the page
             BinaryFTraceCPUDataPage currentPage = pageBuilder.pageStartingOffset(pageStartingOffset)
                     .pageDataStartingOffset(dataStartingOffset)
-                    .timeStamp(timestamp)
-                    .flags(flags)
+                    .timeStamp(timeStamps[i])
+                    .flags(flags[i])
                     .cpu(cpuNumber)
                     .nextPage(nextPage)
                     .size(pageSize)
                     .build();
 
             // Add the page to the list and set the next page
-            listPages.add(0, currentPage);
+            pages[i] = currentPage;
             nextPage = currentPage;
             pageStartingOffset = pageStartingOffset - pageSize;
         }
 
-        return listPages;
-    }
-
-    /**
-     * Initialize the CPU sections of a binary FTrace trace
-     *
-     * @param mapTimeStamp
-     *            The timestamps of each CPU page of each CPU section. The key
-     *            of the map is the CPU number
-     * @param mapFlag
-     *            The flag of each CPU page of each CPU section. The key of the
-     *            map is the CPU number
-     * @param listStartingOffset
-     *            The offset of each CPU section. The index of the list is the
-     *            CPU number
-     * @param listSectionSize
-     *            The size of each CPU section. The index of the list is the CPU
-     *            number
-     * @param pageSize
-     *            The page size of the trace
-     * @return A list of {@link BinaryFTraceFileCPU} representing the processed
-     *         data
-     */
-    protected static List<BinaryFTraceFileCPU> initializeCPUs(Map<Integer, List<Long>> mapTimeStamp, Map<Integer, List<Long>> mapFlag, long[] listStartingOffset, long[] listSectionSize, int pageSize) {
-        List<BinaryFTraceFileCPU> listCPU = new ArrayList<>();
-
-        int cpuCount = listStartingOffset.length;
-
-        for (int cpuNumber = 0; cpuNumber < cpuCount; cpuNumber++) {
-            List<BinaryFTraceCPUDataPage> listPages = initializePages(mapTimeStamp.get(cpuNumber), mapFlag.get(cpuNumber), listStartingOffset[cpuNumber], listSectionSize[cpuNumber], pageSize, cpuNumber);
-            BinaryFTraceFileCPU cpu = new BinaryFTraceFileCPU(listStartingOffset[cpuNumber], listSectionSize[cpuNumber], cpuNumber, listPages);
-            listCPU.add(cpu);
-        }
-
-        return listCPU;
+        return new ArrayList<>(Arrays.asList(pages));
     }
 }
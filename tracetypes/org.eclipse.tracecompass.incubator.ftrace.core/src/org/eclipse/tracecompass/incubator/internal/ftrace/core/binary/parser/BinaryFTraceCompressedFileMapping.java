@@ -0,0 +1,466 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * A {@link BinaryFTraceFileMapping} for trace-cmd v7 files, where the sections
+ * and the CPU data may be compressed with zlib.
+ * <p>
+ * The compressed regions of the file are exposed after the end of the file, at
+ * virtual offsets returned when they are added, so that the parsers and
+ * iterators read them like the rest of the file. A region is made of chunks
+ * that are decompressed when they are first read, and kept in a cache bounded
+ * in bytes. When a chunk is decompressed, the next chunk of the same region is
+ * decompressed in the background, so that the chunks of the different CPUs are
+ * decompressed in parallel while the CPUs are read together.
+ */
+public class BinaryFTraceCompressedFileMapping extends BinaryFTraceFileMapping {
+
+    /**
+     * The default size of the cache of decompressed chunks, in bytes
+     */
+    public static final long DEFAULT_CACHE_SIZE = 64L << 20;
+
+    private static final String DECOMPRESSION_THREAD_NAME = "BinaryFTrace decompression "; //$NON-NLS-1$
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), r -> {
+        Thread thread = new Thread(r, DECOMPRESSION_THREAD_NAME + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /* Compressed size and uncompressed size of each chunk */
+    private static final int CHUNK_HEADER_SIZE = 8;
+
+    private final long fFileLength;
+    private final long fCacheSize;
+    private final TreeMap<Long, Region> fRegions = new TreeMap<>();
+    private final Map<Long, FutureTask<byte[]>> fCache = new LinkedHashMap<>(16, 0.75f, true);
+    private long fCachedBytes = 0;
+    private long fEnd;
+    private int fChunkCount = 0;
+    private ByteOrder fOrder = ByteOrder.BIG_ENDIAN;
+    private volatile @Nullable CachedChunk fLastChunk = null;
+
+    /**
+     * A compressed region of the file, exposed at a virtual offset
+     */
+    public static final class Region {
+        private final long fOffset;
+        private final long fSize;
+        private final int fFirstChunkId;
+        private final long[] fChunkStarts;
+        private final long[] fChunkFileOffsets;
+        private final int[] fCompressedSizes;
+        private final int[] fUncompressedSizes;
+
+        private Region(long offset, int firstChunkId, long[] chunkStarts, long[] chunkFileOffsets, int[] compressedSizes, int[] uncompressedSizes) {
+            fOffset = offset;
+            fFirstChunkId = firstChunkId;
+            fChunkStarts = chunkStarts;
+            fChunkFileOffsets = chunkFileOffsets;
+            fCompressedSizes = compressedSizes;
+            fUncompressedSizes = uncompressedSizes;
+            int last = chunkStarts.length - 1;
+            fSize = last < 0 ? 0 : chunkStarts[last] + uncompressedSizes[last];
+        }
+
+        /**
+         * Get the virtual offset of the decompressed data of this region
+         *
+         * @return The virtual offset of the region
+         */
+        public long getOffset() {
+            return fOffset;
+        }
+
+        /**
+         * Get the size of the decompressed data of this region
+         *
+         * @return The size in bytes of the decompressed data
+         */
+        public long getSize() {
+            return fSize;
+        }
+
+        private int getChunkIndex(long regionOffset) {
+            int index = Arrays.binarySearch(fChunkStarts, regionOffset);
+            index = index >= 0 ? index : -index - 2;
+            /* Skip the empty chunks, which start at the same offset */
+            while (index + 1 < fChunkStarts.length && fChunkStarts[index + 1] <= regionOffset) {
+                index++;
+            }
+            return index;
+        }
+    }
+
+    /**
+     * The last chunk read, to read the following values of the chunk without
+     * looking it up again
+     */
+    private static final class CachedChunk {
+        private final long fStart;
+        private final ByteBuffer fData;
+
+        private CachedChunk(long start, ByteBuffer data) {
+            fStart = start;
+            fData = data;
+        }
+    }
+
+    /**
+     * Create a mapping for the given file, with the default cache size
+     *
+     * @param filePath
+     *            the file path
+     * @throws IOException
+     *             if the file can't be opened or mapped
+     */
+    public BinaryFTraceCompressedFileMapping(String filePath) throws IOException {
+        this(filePath, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Create a mapping for the given file
+     *
+     * @param filePath
+     *            the file path
+     * @param cacheSize
+     *            the maximum size in bytes of the decompressed chunks to keep
+     *            in memory
+     * @throws IOException
+     *             if the file can't be opened or mapped
+     */
+    public BinaryFTraceCompressedFileMapping(String filePath, long cacheSize) throws IOException {
+        super(filePath);
+        fFileLength = super.length();
+        fEnd = fFileLength;
+        fCacheSize = cacheSize;
+    }
+
+    /**
+     * Add a compressed block to the mapping. A block is made of the compressed
+     * size (4 bytes), the uncompressed size (4 bytes) and the compressed data,
+     * like the compressed sections of the file.
+     *
+     * @param fileOffset
+     *            The offset of the block in the file
+     * @return The region of the decompressed block
+     * @throws IOException
+     *             If the block is not within the file
+     */
+    public synchronized Region addCompressedBlock(long fileOffset) throws IOException {
+        return addRegion(fileOffset, 1);
+    }
+
+    /**
+     * Add compressed chunks to the mapping, like the compressed data of a CPU.
+     * The chunks are preceded by the number of chunks (4 bytes), and each chunk
+     * is a compressed block.
+     *
+     * @param fileOffset
+     *            The offset of the number of chunks in the file
+     * @return The region of the decompressed chunks, one after the other
+     * @throws IOException
+     *             If the chunks are not within the file
+     */
+    public synchronized Region addCompressedChunks(long fileOffset) throws IOException {
+        checkBounds(fileOffset, Integer.BYTES);
+        return addRegion(fileOffset + Integer.BYTES, super.getInt(fileOffset));
+    }
+
+    private Region addRegion(long fileOffset, int chunkCount) throws IOException {
+        if (chunkCount < 0 || chunkCount > (fFileLength - fileOffset) / CHUNK_HEADER_SIZE) {
+            throw new IOException("Invalid number of compressed chunks: " + chunkCount); //$NON-NLS-1$
+        }
+        long[] chunkStarts = new long[chunkCount];
+        long[] chunkFileOffsets = new long[chunkCount];
+        int[] compressedSizes = new int[chunkCount];
+        int[] uncompressedSizes = new int[chunkCount];
+
+        long offset = fileOffset;
+        long start = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            checkBounds(offset, CHUNK_HEADER_SIZE);
+            compressedSizes[i] = super.getInt(offset);
+            uncompressedSizes[i] = super.getInt(offset + Integer.BYTES);
+            if (compressedSizes[i] < 0 || uncompressedSizes[i] < 0) {
+                throw new IOException("Invalid compressed chunk size at offset " + offset); //$NON-NLS-1$
+            }
+            chunkFileOffsets[i] = offset + CHUNK_HEADER_SIZE;
+            checkBounds(chunkFileOffsets[i], compressedSizes[i]);
+            chunkStarts[i] = start;
+            start += uncompressedSizes[i];
+            offset = chunkFileOffsets[i] + compressedSizes[i];
+        }
+
+        Region region = new Region(fEnd, fChunkCount, chunkStarts, chunkFileOffsets, compressedSizes, uncompressedSizes);
+        fRegions.put(region.getOffset(), region);
+        fChunkCount += chunkCount;
+        fEnd += region.getSize();
+        return region;
+    }
+
+    private void checkBounds(long offset, long size) throws IOException {
+        if (offset < 0 || offset + size > fFileLength) {
+            throw new IOException(String.format("Compressed data out of the file: requested %d bytes from %d, but file is %d bytes long.", size, offset, fFileLength)); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Get the size of the file, without the decompressed regions
+     *
+     * @return the file size
+     */
+    public long getFileLength() {
+        return fFileLength;
+    }
+
+    @Override
+    public void order(ByteOrder endianess) {
+        super.order(endianess);
+        fOrder = endianess;
+        fLastChunk = null;
+    }
+
+    /**
+     * Get the data of the decompressed chunk containing the given virtual
+     * offset, positioned at the start of the chunk.
+     */
+    private CachedChunk getChunk(long index) {
+        CachedChunk last = fLastChunk;
+        if (last != null && index >= last.fStart && index < last.fStart + last.fData.capacity()) {
+            return last;
+        }
+        Region region;
+        synchronized (this) {
+            Entry<Long, Region> entry = fRegions.floorEntry(index);
+            if (entry == null || index >= entry.getValue().getOffset() + entry.getValue().getSize()) {
+                throw new IndexOutOfBoundsException("Offset out of the mapping: " + index); //$NON-NLS-1$
+            }
+            region = entry.getValue();
+        }
+        int chunk = region.getChunkIndex(index - region.getOffset());
+        FutureTask<byte[]> task = getChunkTask(region, chunk, false);
+        if (chunk + 1 < region.fChunkStarts.length) {
+            getChunkTask(region, chunk + 1, true);
+        }
+
+        /*
+         * Run the decompression in this thread if it did not start yet, it is
+         * a no-op if it is already done or running in another thread.
+         */
+        task.run();
+        try {
+            ByteBuffer data = ByteBuffer.wrap(task.get()).order(fOrder);
+            CachedChunk chunkData = new CachedChunk(region.getOffset() + region.fChunkStarts[chunk], data);
+            fLastChunk = chunkData;
+            return chunkData;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while decompressing the trace data", e); //$NON-NLS-1$
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot decompress the trace data at offset " + region.fChunkFileOffsets[chunk], e.getCause()); //$NON-NLS-1$
+        }
+    }
+
+    private FutureTask<byte[]> getChunkTask(Region region, int chunk, boolean prefetch) {
+        long key = (long) region.fFirstChunkId + chunk;
+        FutureTask<byte[]> task;
+        synchronized (fCache) {
+            task = fCache.get(key);
+            if (task != null) {
+                return task;
+            }
+            task = new FutureTask<>(() -> decompress(region, chunk));
+            fCache.put(key, task);
+            fCachedBytes += region.fUncompressedSizes[chunk];
+            evict();
+        }
+        if (prefetch) {
+            FutureTask<byte[]> prefetchTask = task;
+            EXECUTOR.execute(() -> {
+                /* Do not decompress the chunk if it was evicted in the meantime */
+                synchronized (fCache) {
+                    if (fCache.get(key) != prefetchTask) {
+                        return;
+                    }
+                }
+                prefetchTask.run();
+            });
+        }
+        return task;
+    }
+
+    private void evict() {
+        Iterator<Entry<Long, FutureTask<byte[]>>> iterator = fCache.entrySet().iterator();
+        /* Always keep the most recent chunk, even if it is larger than the cache */
+        while (fCachedBytes > fCacheSize && fCache.size() > 1 && iterator.hasNext()) {
+            long key = iterator.next().getKey();
+            iterator.remove();
+            fCachedBytes -= getUncompressedSize(key);
+        }
+    }
+
+    private int getUncompressedSize(long key) {
+        synchronized (this) {
+            for (Region region : fRegions.values()) {
+                int chunk = (int) (key - region.fFirstChunkId);
+                if (chunk >= 0 && chunk < region.fUncompressedSizes.length) {
+                    return region.fUncompressedSizes[chunk];
+                }
+            }
+        }
+        return 0;
+    }
+
+    private byte[] decompress(Region region, int chunk) throws DataFormatException {
+        byte[] input = new byte[region.fCompressedSizes[chunk]];
+        super.get(region.fChunkFileOffsets[chunk], input);
+        byte[] output = new byte[region.fUncompressedSizes[chunk]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            int size = 0;
+            while (size < output.length && !inflater.finished()) {
+                int inflated = inflater.inflate(output, size, output.length - size);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                size += inflated;
+            }
+            if (size != output.length) {
+                throw new DataFormatException("Decompressed " + size + " bytes instead of " + output.length); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+        } finally {
+            inflater.end();
+        }
+        return output;
+    }
+
+    @Override
+    public void get(long index, byte[] dst) {
+        if (index < fFileLength) {
+            super.get(index, dst);
+            return;
+        }
+        int copied = 0;
+        while (copied < dst.length) {
+            CachedChunk chunk = getChunk(index + copied);
+            int position = (int) (index + copied - chunk.fStart);
+            int length = Math.min(dst.length - copied, chunk.fData.capacity() - position);
+            chunk.fData.get(position, dst, copied, length);
+            copied += length;
+        }
+    }
+
+    @Override
+    public byte getByte(long index) {
+        if (index < fFileLength) {
+            return super.getByte(index);
+        }
+        CachedChunk chunk = getChunk(index);
+        return chunk.fData.get((int) (index - chunk.fStart));
+    }
+
+    @Override
+    public short getShort(long index) {
+        if (index < fFileLength) {
+            return super.getShort(index);
+        }
+        CachedChunk chunk = getChunk(index);
+        int position = (int) (index - chunk.fStart);
+        if (position + Short.BYTES <= chunk.fData.capacity()) {
+            return chunk.fData.getShort(position);
+        }
+        return readAcrossChunks(index, Short.BYTES).getShort(0);
+    }
+
+    @Override
+    public int getInt(long index) {
+        if (index < fFileLength) {
+            return super.getInt(index);
+        }
+        CachedChunk chunk = getChunk(index);
+        int position = (int) (index - chunk.fStart);
+        if (position + Integer.BYTES <= chunk.fData.capacity()) {
+            return chunk.fData.getInt(position);
+        }
+        return readAcrossChunks(index, Integer.BYTES).getInt(0);
+    }
+
+    @Override
+    public long getLong(long index) {
+        if (index < fFileLength) {
+            return super.getLong(index);
+        }
+        CachedChunk chunk = getChunk(index);
+        int position = (int) (index - chunk.fStart);
+        if (position + Long.BYTES <= chunk.fData.capacity()) {
+            return chunk.fData.getLong(position);
+        }
+        return readAcrossChunks(index, Long.BYTES).getLong(0);
+    }
+
+    @Override
+    public double getDouble(long index) {
+        if (index < fFileLength) {
+            return super.getDouble(index);
+        }
+        CachedChunk chunk = getChunk(index);
+        int position = (int) (index - chunk.fStart);
+        if (position + Double.BYTES <= chunk.fData.capacity()) {
+            return chunk.fData.getDouble(position);
+        }
+        return readAcrossChunks(index, Double.BYTES).getDouble(0);
+    }
+
+    /**
+     * Copy a value that spans two chunks, which does not happen with the CPU
+     * data since trace-cmd compresses whole pages
+     */
+    private ByteBuffer readAcrossChunks(long index, int size) {
+        byte[] value = new byte[size];
+        get(index, value);
+        return ByteBuffer.wrap(value).order(fOrder);
+    }
+
+    /**
+     * Get the length of the mapping, which includes the decompressed regions
+     * after the end of the file.
+     *
+     * @return the mapped length
+     */
+    @Override
+    public long length() {
+        return fEnd;
+    }
+}
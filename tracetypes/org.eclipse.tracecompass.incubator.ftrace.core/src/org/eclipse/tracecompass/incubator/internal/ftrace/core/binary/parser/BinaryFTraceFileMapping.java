@@ -14,7 +14,7 @@ import java.util.ArrayList;
  * Provides an interface (read only) similar to ByteBuffer, but uses a long
  * index instead of int.
  */
-public final class BinaryFTraceFileMapping {
+public class BinaryFTraceFileMapping {
     /**
      * Length of the file segment mapped by each buffer.
      */
@@ -11,6 +11,7 @@
 
 package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
@@ -18,7 +19,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.event.BinaryFTraceConstants;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceCPUDataPage;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventFormat;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceEventSystem;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
@@ -30,6 +33,7 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.Bin
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo.BinaryFTraceHeaderInfoBuilder;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceOption;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceVersionHeader;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTracePageIndex.PageHeaders;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
 
 /**
@@ -49,7 +53,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         // Do nothing
     }
 
-    private static void validate(BinaryFTraceByteBuffer buffer, long bytesToRead) throws TmfTraceException {
+    static void validate(BinaryFTraceByteBuffer buffer, long bytesToRead) throws TmfTraceException {
         /*
          * Validate if read reading bytesToRead amount of bytes will go over the
          * file size limit. There is no need to wrap IOException to
@@ -89,7 +93,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         }
     }
 
-    private static BinaryFTraceVersionHeader getFtraceVersionHeader(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
+    static BinaryFTraceVersionHeader getFtraceVersionHeader(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.getMagicValueSectionSize());
 
         byte[] bytes = buffer.getNextBytes(10);
@@ -108,6 +112,24 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
      *             Cannot open or parse the file
      */
     public static BinaryFTraceHeaderInfo parse(String path) throws TmfTraceException {
+        return parse(path, null);
+    }
+
+    /**
+     * Parse the binary FTrace header information and try to map the pages in
+     * the CPU data section, using the page headers saved in an index file
+     * instead of reading them from the trace when possible.
+     *
+     * @param path
+     *            The path to the file
+     * @param indexFile
+     *            The file of the {@link BinaryFTracePageIndex}, created if it
+     *            does not exist, or null to always read the page headers
+     * @return A BinaryFTraceHeaderInfo container all the header information
+     * @throws TmfTraceException
+     *             Cannot open or parse the file
+     */
+    public static BinaryFTraceHeaderInfo parse(String path, @Nullable File indexFile) throws TmfTraceException {
         try {
             BinaryFTraceHeaderInfoBuilder builder = new BinaryFTraceHeaderInfoBuilder();
             builder.filePath(path);
@@ -154,7 +176,11 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
                 builder.fileType(BinaryFTraceFileType.LATENCY);
             } else if (sectionType.equals(BinaryFTraceConstants.FLYRECORD_SECTION_NAME)) {
                 builder.fileType(BinaryFTraceFileType.FLY_RECORD);
-                builder.cpus(parseFlyRecordSection(buffer, cpuCount, pageSize));
+                BinaryFTracePageIndex index = indexFile != null ? new BinaryFTracePageIndex(indexFile, new File(path)) : null;
+                builder.cpus(parseFlyRecordSection(buffer, cpuCount, pageSize, index));
+                if (index != null) {
+                    index.save();
+                }
             }
             return builder.build(traceMapping);
         } catch (IOException ex) {
@@ -162,7 +188,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         }
     }
 
-    private static List<BinaryFTraceFormatField> parseHeaderPage(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
+    static List<BinaryFTraceFormatField> parseHeaderPage(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.getHeaderPageSectionHeaderSize());
         buffer.getNextBytesAsString(12); // Skipping the section name
         long headerPageSize = buffer.getNextLong();
@@ -172,7 +198,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractHeaderPageContent(headerPageContent);
     }
 
-    private static BinaryFTraceHeaderEvent parseHeaderEvent(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
+    static BinaryFTraceHeaderEvent parseHeaderEvent(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.getHeaderEventSectionHeaderSize());
         buffer.getNextBytesAsString(13); // Skipping the section header
         long headerEventSize = buffer.getNextLong();
@@ -182,7 +208,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractHeaderEventContent(strHeaderEventInfo);
     }
 
-    private static Map<Integer, BinaryFTraceEventFormat> parseTraceEventsFormat(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
+    static Map<Integer, BinaryFTraceEventFormat> parseTraceEventsFormat(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
         ArrayList<String> eventFormats = new ArrayList<>();
 
         validate(buffer, BinaryFTraceHeaderElementSize.EVENT_COUNT);
@@ -199,7 +225,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractTraceEventsFormat(eventFormats);
     }
 
-    private static List<BinaryFTraceEventSystem> parseEventSystemsAndFormats(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
+    static List<BinaryFTraceEventSystem> parseEventSystemsAndFormats(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
         HashMap<String, List<String>> eventSystemData = new HashMap<>();
 
         validate(buffer, BinaryFTraceHeaderElementSize.EVENT_SYSTEM_COUNT);
@@ -226,7 +252,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractEventSystemsAndFormats(eventSystemData);
     }
 
-    private static Map<String, BinaryFTraceFunctionAddressNameMapping> parseFunctionMapping(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
+    static Map<String, BinaryFTraceFunctionAddressNameMapping> parseFunctionMapping(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.SMALL_SECTION_SIZE);
         int dataSize = buffer.getNextInt();
 
@@ -235,7 +261,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractFunctionMappingContent(strMappings);
     }
 
-    private static Map<String, String> parseTracePrintKInfo(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
+    static Map<String, String> parseTracePrintKInfo(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.SMALL_SECTION_SIZE);
         int dataSize = buffer.getNextInt();
 
@@ -244,7 +270,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractPrintKContent(strMappings);
     }
 
-    private static Map<Integer, String> parseProcessToFunctionNameMapping(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
+    static Map<Integer, String> parseProcessToFunctionNameMapping(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
         validate(buffer, BinaryFTraceHeaderElementSize.LARGE_SECTION_SIZE);
         long dataSize = buffer.getNextLong();
 
@@ -253,7 +279,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return extractFunctionNameMapping(strMappings);
     }
 
-    private static List<BinaryFTraceFileCPU> parseFlyRecordSection(BinaryFTraceByteBuffer buffer, int cpuCount, int pageSize) throws TmfTraceException {
+    private static List<BinaryFTraceFileCPU> parseFlyRecordSection(BinaryFTraceByteBuffer buffer, int cpuCount, int pageSize, @Nullable BinaryFTracePageIndex index) throws TmfTraceException {
         // Validate that the size of the CPU information section is valid
         validate(buffer, (long) cpuCount * (BinaryFTraceHeaderElementSize.CPU_SECTION_OFFSET + BinaryFTraceHeaderElementSize.CPU_SECTION_SIZE));
 
@@ -278,43 +304,57 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
             throw new TmfTraceException("Empty trace."); //$NON-NLS-1$
         }
 
-        return parseCPUPageHeader(buffer, cpuSectionStartingOffset, cpuSectionSize, pageSize);
+        List<BinaryFTraceFileCPU> cpus = new ArrayList<>();
+        for (int cpuNumber = 0; cpuNumber < cpuCount; cpuNumber++) {
+            cpus.add(parseCPUPageHeader(buffer, cpuNumber, cpuSectionStartingOffset[cpuNumber], cpuSectionSize[cpuNumber], pageSize, index));
+        }
+        return cpus;
     }
 
-    private static List<BinaryFTraceFileCPU> parseCPUPageHeader(BinaryFTraceByteBuffer buffer, long[] cpuSectionStartingOffset, long[] cpuSectionSize, int pageSize) throws TmfTraceException {
-        Map<Integer, List<Long>> mapTimeStamp = new HashMap<>();
-        Map<Integer, List<Long>> mapFlag = new HashMap<>();
-        Map<Integer, List<Long>> mapStartingOffset = new HashMap<>();
-
-        int cpuCount = cpuSectionStartingOffset.length;
-
-        for (int cpuNumber = 0; cpuNumber < cpuCount; cpuNumber++) {
+    /**
+     * Get the pages of a CPU section, from the index if it has the section,
+     * otherwise by reading the header of each page, which is then added to the
+     * index.
+     */
+    static BinaryFTraceFileCPU parseCPUPageHeader(BinaryFTraceByteBuffer buffer, int cpuNumber, long sectionStartingOffset, long sectionSize, int pageSize, @Nullable BinaryFTracePageIndex index) throws TmfTraceException {
+        PageHeaders headers = index != null ? index.get(cpuNumber, sectionStartingOffset, sectionSize, pageSize) : null;
+        long[] timeStamps;
+        long[] flags;
+        if (headers != null) {
+            timeStamps = headers.getTimeStamps();
+            flags = headers.getFlags();
+        } else {
             // Parse the header information for each page
-            List<Long> lstTimeStamp = new ArrayList<>();
-            List<Long> lstFlag = new ArrayList<>();
-            List<Long> lstStartingOffset = new ArrayList<>();
+            if (pageSize <= BinaryFTraceHeaderElementSize.PAGE_HEADER_SIZE) {
+                throw new TmfTraceException("Invalid page size: " + pageSize); //$NON-NLS-1$
+            }
+            long pages = (sectionSize + pageSize - 1) / pageSize;
+            if (pages > Integer.MAX_VALUE) {
+                throw new TmfTraceException("Invalid CPU section size: " + sectionSize); //$NON-NLS-1$
+            }
+            int pageCount = (int) pages;
+            timeStamps = new long[pageCount];
+            flags = new long[pageCount];
 
-            long sectionStartingOffset = cpuSectionStartingOffset[cpuNumber];
             long pageStartingOffset = sectionStartingOffset;
-            long endingOffset = sectionStartingOffset + cpuSectionSize[cpuNumber];
-            while (pageStartingOffset < endingOffset) {
+            for (int i = 0; i < pageCount; i++) {
                 buffer.movePointerToOffset(pageStartingOffset);
 
                 // Make sure that we can read the page header at least
                 validate(buffer, BinaryFTraceHeaderElementSize.PAGE_HEADER_SIZE);
 
-                lstTimeStamp.add(buffer.getNextLong());
-                lstFlag.add(buffer.getNextLong());
-                lstStartingOffset.add(pageStartingOffset);
+                timeStamps[i] = buffer.getNextLong();
+                flags[i] = buffer.getNextLong();
                 pageStartingOffset = pageStartingOffset + pageSize;
             }
 
-            mapTimeStamp.put(cpuNumber, lstTimeStamp);
-            mapFlag.put(cpuNumber, lstFlag);
-            mapStartingOffset.put(cpuNumber, lstStartingOffset);
+            if (index != null) {
+                index.put(cpuNumber, sectionStartingOffset, sectionSize, pageSize, timeStamps, flags);
+            }
         }
 
-        return initializeCPUs(mapTimeStamp, mapFlag, cpuSectionStartingOffset, cpuSectionSize, pageSize);
+        List<BinaryFTraceCPUDataPage> listPages = initializePages(timeStamps, flags, sectionStartingOffset, sectionSize, pageSize, cpuNumber);
+        return new BinaryFTraceFileCPU(sectionStartingOffset, sectionSize, cpuNumber, listPages);
     }
 
     private static List<BinaryFTraceOption> parseOptionsSection(BinaryFTraceByteBuffer buffer) throws TmfTraceException {
@@ -345,7 +385,7 @@ public class BinaryFTraceFileParser extends AbstractBinaryFTraceFileParser {
         return buffer.getNextInt();
     }
 
-    private static String getUnsecureFileErrorMessage(long offset, long fileSize, long bytesToRead) {
+    static String getUnsecureFileErrorMessage(long offset, long fileSize, long bytesToRead) {
         String errorMessage = UNSECURE_TRACE_ERROR_MESSAGE +
                 ". Requested %d from %d, but file is %d bytes long."; //$NON-NLS-1$
         return String.format(errorMessage, bytesToRead, offset, fileSize);
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
+
+/**
+ * An index of the page headers of the CPU sections of a binary FTrace file,
+ * kept in the supplementary folder of the trace. Reading the page headers
+ * touches every page of the file, and decompresses all the CPU data of a
+ * compressed file, so the index makes opening a trace again only read this
+ * small file.
+ * <p>
+ * The index is only used if the trace file has the same size and modification
+ * time as when it was written, and each CPU section is checked against the
+ * offset, size and page size read from the trace header. The offset of a page
+ * is not stored since it is given by its position in the section.
+ */
+public final class BinaryFTracePageIndex {
+
+    /** The name of the index file in the supplementary folder */
+    public static final String FILE_NAME = "binary-ftrace-pages.idx"; //$NON-NLS-1$
+
+    private static final int MAGIC = 0x46545049; // FTPI
+    private static final int VERSION = 1;
+
+    private final File fIndexFile;
+    private final long fTraceLength;
+    private final long fTraceModified;
+    private final Map<Integer, PageHeaders> fCpus = new HashMap<>();
+    private boolean fModified = false;
+
+    /**
+     * The page headers of a CPU section
+     */
+    public static final class PageHeaders {
+        private final long fSectionOffset;
+        private final long fSectionSize;
+        private final int fPageSize;
+        private final long[] fTimeStamps;
+        private final long[] fFlags;
+
+        private PageHeaders(long sectionOffset, long sectionSize, int pageSize, long[] timeStamps, long[] flags) {
+            fSectionOffset = sectionOffset;
+            fSectionSize = sectionSize;
+            fPageSize = pageSize;
+            fTimeStamps = timeStamps;
+            fFlags = flags;
+        }
+
+        /**
+         * Get the time stamps of the pages, in the order of the pages
+         *
+         * @return The time stamps of the pages
+         */
+        public long[] getTimeStamps() {
+            return fTimeStamps;
+        }
+
+        /**
+         * Get the flags of the pages, in the order of the pages
+         *
+         * @return The flags of the pages
+         */
+        public long[] getFlags() {
+            return fFlags;
+        }
+
+        private boolean matches(long sectionOffset, long sectionSize, int pageSize) {
+            return fSectionOffset == sectionOffset && fSectionSize == sectionSize && fPageSize == pageSize;
+        }
+    }
+
+    /**
+     * Constructor. Reads the index file if it exists and is valid for the
+     * trace file, otherwise the index starts empty.
+     *
+     * @param indexFile
+     *            The index file
+     * @param traceFile
+     *            The trace file that is indexed
+     */
+    public BinaryFTracePageIndex(File indexFile, File traceFile) {
+        fIndexFile = indexFile;
+        fTraceLength = traceFile.length();
+        fTraceModified = traceFile.lastModified();
+        if (indexFile.exists()) {
+            try {
+                read();
+            } catch (IOException e) {
+                Activator.getInstance().logWarning("The page index of the binary FTrace is invalid and will be rebuilt: " + indexFile, e); //$NON-NLS-1$
+                fCpus.clear();
+            }
+        }
+    }
+
+    /**
+     * Get the page headers of a CPU section from the index
+     *
+     * @param cpu
+     *            The CPU number
+     * @param sectionOffset
+     *            The offset of the CPU section
+     * @param sectionSize
+     *            The size of the CPU section
+     * @param pageSize
+     *            The size of the pages
+     * @return The page headers, or null if the section is not in the index
+     */
+    public synchronized @Nullable PageHeaders get(int cpu, long sectionOffset, long sectionSize, int pageSize) {
+        PageHeaders headers = fCpus.get(cpu);
+        if (headers == null || !headers.matches(sectionOffset, sectionSize, pageSize)) {
+            return null;
+        }
+        return headers;
+    }
+
+    /**
+     * Add the page headers of a CPU section to the index
+     *
+     * @param cpu
+     *            The CPU number
+     * @param sectionOffset
+     *            The offset of the CPU section
+     * @param sectionSize
+     *            The size of the CPU section
+     * @param pageSize
+     *            The size of the pages
+     * @param timeStamps
+     *            The time stamps of the pages
+     * @param flags
+     *            The flags of the pages
+     */
+    public synchronized void put(int cpu, long sectionOffset, long sectionSize, int pageSize, long[] timeStamps, long[] flags) {
+        fCpus.put(cpu, new PageHeaders(sectionOffset, sectionSize, pageSize, timeStamps, flags));
+        fModified = true;
+    }
+
+    /**
+     * Write the index file if CPU sections were added to the index. Failing to
+     * write the index is not an error, it will be built again next time.
+     */
+    public synchronized void save() {
+        if (!fModified) {
+            return;
+        }
+        File tmpFile = new File(fIndexFile.getPath() + ".tmp"); //$NON-NLS-1$
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(fTraceLength);
+                out.writeLong(fTraceModified);
+                out.writeInt(fCpus.size());
+                for (Map.Entry<Integer, PageHeaders> entry : fCpus.entrySet()) {
+                    PageHeaders headers = entry.getValue();
+                    out.writeInt(entry.getKey());
+                    out.writeLong(headers.fSectionOffset);
+                    out.writeLong(headers.fSectionSize);
+                    out.writeInt(headers.fPageSize);
+                    out.writeInt(headers.fTimeStamps.length);
+                    for (int i = 0; i < headers.fTimeStamps.length; i++) {
+                        out.writeLong(headers.fTimeStamps[i]);
+                        out.writeLong(headers.fFlags[i]);
+                    }
+                }
+            }
+            Files.move(tmpFile.toPath(), fIndexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            fModified = false;
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("Cannot write the page index of the binary FTrace: " + fIndexFile, e); //$NON-NLS-1$
+            tmpFile.delete();
+        }
+    }
+
+    private void read() throws IOException {
+        long indexLength = fIndexFile.length();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(fIndexFile.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unknown page index format"); //$NON-NLS-1$
+            }
+            if (in.readLong() != fTraceLength || in.readLong() != fTraceModified) {
+                // The trace was modified, the index is rebuilt silently
+                return;
+            }
+            int cpuCount = in.readInt();
+            for (int cpu = 0; cpu < cpuCount; cpu++) {
+                int cpuNumber = in.readInt();
+                long sectionOffset = in.readLong();
+                long sectionSize = in.readLong();
+                int pageSize = in.readInt();
+                int pageCount = in.readInt();
+                if (pageCount < 0 || (long) pageCount * Long.BYTES * 2 > indexLength) {
+                    throw new IOException("Invalid number of pages: " + pageCount); //$NON-NLS-1$
+                }
+                long[] timeStamps = new long[pageCount];
+                long[] flags = new long[pageCount];
+                for (int i = 0; i < pageCount; i++) {
+                    timeStamps[i] = in.readLong();
+                    flags[i] = in.readLong();
+                }
+                fCpus.put(cpuNumber, new PageHeaders(sectionOffset, sectionSize, pageSize, timeStamps, flags));
+            }
+        }
+    }
+}
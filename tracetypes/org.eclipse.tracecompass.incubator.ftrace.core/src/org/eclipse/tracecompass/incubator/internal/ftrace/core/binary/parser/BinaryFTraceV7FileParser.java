@@ -0,0 +1,374 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileCPU;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceFileType;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo.BinaryFTraceHeaderInfoBuilder;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceOption;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceVersionHeader;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceCompressedFileMapping.Region;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+
+/**
+ * A parser for the header of the trace-cmd v7 files. Unlike v6, the file is
+ * made of sections found from the options sections, and the sections and the
+ * CPU data may be compressed. The compressed data is read through a
+ * {@link BinaryFTraceCompressedFileMapping}, which decompresses it on demand,
+ * and the content of each section is then parsed like in v6.
+ * <p>
+ * Only the zlib compression is supported, the zstd compression needs a library
+ * that is not available.
+ */
+public class BinaryFTraceV7FileParser extends AbstractBinaryFTraceFileParser {
+
+    private static final String NO_COMPRESSION = "none"; //$NON-NLS-1$
+    private static final String ZLIB_COMPRESSION = "zlib"; //$NON-NLS-1$
+
+    /* Section flag indicating that the section data is compressed */
+    private static final short SECTION_FLAG_COMPRESSED = 1;
+
+    /* Option IDs, also used as section IDs */
+    private static final short OPTION_DONE = 0;
+    private static final short OPTION_BUFFER = 3;
+    private static final short OPTION_CPUCOUNT = 8;
+    private static final short OPTION_HEADER_INFO = 16;
+    private static final short OPTION_FTRACE_EVENTS = 17;
+    private static final short OPTION_EVENT_FORMATS = 18;
+    private static final short OPTION_KALLSYMS = 19;
+    private static final short OPTION_PRINTK = 20;
+    private static final short OPTION_CMDLINES = 21;
+    private static final short OPTION_BUFFER_TEXT = 22;
+
+    /* The options whose content is text, kept like in v6 */
+    private static final short[] TEXT_OPTIONS = { 2, 5, 6, 10 };
+
+    /* Section ID, flags, description string and size */
+    private static final int SECTION_HEADER_SIZE = 16;
+
+    /* CPU ID, data offset and data size */
+    private static final int BUFFER_CPU_SIZE = 20;
+
+    /**
+     * Constructor
+     */
+    private BinaryFTraceV7FileParser() {
+        // Do nothing
+    }
+
+    /**
+     * Parse the header information of a trace-cmd v7 file and map the pages of
+     * the CPU data. The page headers of the CPUs are read in parallel, which
+     * decompresses the data of the CPUs in parallel if it is compressed.
+     *
+     * @param path
+     *            The path to the file
+     * @return A BinaryFTraceHeaderInfo containing all the header information
+     * @throws TmfTraceException
+     *             Cannot open or parse the file, or the file is compressed
+     *             with an unsupported algorithm
+     */
+    public static BinaryFTraceHeaderInfo parse(String path) throws TmfTraceException {
+        return parse(path, null);
+    }
+
+    /**
+     * Parse the header information of a trace-cmd v7 file and map the pages of
+     * the CPU data, using the page headers saved in an index file when
+     * possible, which avoids decompressing all the CPU data.
+     *
+     * @param path
+     *            The path to the file
+     * @param indexFile
+     *            The file of the {@link BinaryFTracePageIndex}, created if it
+     *            does not exist, or null to always read the page headers
+     * @return A BinaryFTraceHeaderInfo containing all the header information
+     * @throws TmfTraceException
+     *             Cannot open or parse the file, or the file is compressed
+     *             with an unsupported algorithm
+     */
+    public static BinaryFTraceHeaderInfo parse(String path, @Nullable File indexFile) throws TmfTraceException {
+        try {
+            BinaryFTraceHeaderInfoBuilder builder = new BinaryFTraceHeaderInfoBuilder();
+            builder.filePath(path);
+
+            BinaryFTraceCompressedFileMapping traceMapping = new BinaryFTraceCompressedFileMapping(path);
+            BinaryFTraceByteBuffer buffer = new BinaryFTraceByteBuffer(traceMapping);
+
+            // Parse initial data section
+            BinaryFTraceVersionHeader versionHeader = BinaryFTraceFileParser.getFtraceVersionHeader(buffer);
+            builder.version(versionHeader.getFTraceVersion());
+
+            ByteOrder endianess = getFileEndianess(buffer);
+            builder.endianess(endianess);
+
+            // File content from now on has the specified endianess
+            traceMapping.order(endianess);
+
+            builder.longValueSize(getLongValueSize(buffer));
+
+            int pageSize = getHostPageSize(buffer);
+            builder.hostMachinePageSize(pageSize);
+
+            // The compression algorithm name and version
+            String compression = buffer.getNextString();
+            buffer.getNextString();
+            if (!compression.equals(NO_COMPRESSION) && !compression.equals(ZLIB_COMPRESSION)) {
+                throw new TmfTraceException("Unsupported compression algorithm: " + compression + ". Only zlib compressed traces are supported."); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+
+            BinaryFTraceFileParser.validate(buffer, BinaryFTraceHeaderElementSize.LARGE_SECTION_SIZE);
+            long optionsOffset = buffer.getNextLong();
+
+            Map<Short, Long> sectionOffsets = new HashMap<>();
+            List<BinaryFTraceOption> options = new ArrayList<>();
+            long bufferOptionOffset = -1;
+            boolean isLatency = false;
+            int cpuCount = 0;
+
+            // Read all the options sections, which give the other sections
+            List<Long> visitedOffsets = new ArrayList<>();
+            while (optionsOffset != 0) {
+                if (visitedOffsets.contains(optionsOffset)) {
+                    throw new TmfTraceException("Loop in the options sections at offset " + optionsOffset); //$NON-NLS-1$
+                }
+                visitedOffsets.add(optionsOffset);
+                moveToSectionData(buffer, traceMapping, optionsOffset);
+
+                long nextOptionsOffset = 0;
+                while (true) {
+                    BinaryFTraceFileParser.validate(buffer, BinaryFTraceHeaderElementSize.OPTION_TYPE + BinaryFTraceHeaderElementSize.OPTION_SIZE);
+                    short optionType = buffer.getNextShort();
+                    int optionSize = buffer.getNextInt();
+                    long optionDataOffset = buffer.getCurrentOffset();
+                    if (optionSize < 0) {
+                        throw new TmfTraceException("Invalid option size: " + optionSize); //$NON-NLS-1$
+                    }
+                    BinaryFTraceFileParser.validate(buffer, optionSize);
+
+                    if (optionType == OPTION_DONE) {
+                        BinaryFTraceFileParser.validate(buffer, BinaryFTraceHeaderElementSize.LARGE_SECTION_SIZE);
+                        nextOptionsOffset = buffer.getNextLong();
+                        break;
+                    }
+
+                    switch (optionType) {
+                    case OPTION_HEADER_INFO:
+                    case OPTION_FTRACE_EVENTS:
+                    case OPTION_EVENT_FORMATS:
+                    case OPTION_KALLSYMS:
+                    case OPTION_PRINTK:
+                    case OPTION_CMDLINES:
+                        sectionOffsets.put(optionType, buffer.getNextLong());
+                        break;
+                    case OPTION_BUFFER:
+                        // Keep the top level buffer, the other buffers are instances
+                        if (bufferOptionOffset < 0 || isTopLevelBuffer(buffer)) {
+                            bufferOptionOffset = optionDataOffset;
+                        }
+                        break;
+                    case OPTION_BUFFER_TEXT:
+                        isLatency = true;
+                        break;
+                    case OPTION_CPUCOUNT:
+                        cpuCount = buffer.getNextInt();
+                        break;
+                    default:
+                        if (isTextOption(optionType)) {
+                            options.add(new BinaryFTraceOption(optionType, buffer.getNextBytesAsString(optionSize).trim()));
+                        }
+                        break;
+                    }
+                    buffer.movePointerToOffset(optionDataOffset + optionSize);
+                }
+                optionsOffset = nextOptionsOffset;
+            }
+            builder.options(options);
+
+            Long headerInfoOffset = sectionOffsets.get(OPTION_HEADER_INFO);
+            if (headerInfoOffset == null) {
+                throw new TmfTraceException("Missing header info section."); //$NON-NLS-1$
+            }
+            moveToSectionData(buffer, traceMapping, headerInfoOffset);
+            builder.headerPageFields(BinaryFTraceFileParser.parseHeaderPage(buffer));
+            builder.headerEventInfo(BinaryFTraceFileParser.parseHeaderEvent(buffer));
+
+            builder.fTraceEventFormats(moveToSectionData(buffer, traceMapping, sectionOffsets.get(OPTION_FTRACE_EVENTS)) ? BinaryFTraceFileParser.parseTraceEventsFormat(buffer) : Collections.emptyMap());
+            builder.eventSystems(moveToSectionData(buffer, traceMapping, sectionOffsets.get(OPTION_EVENT_FORMATS)) ? BinaryFTraceFileParser.parseEventSystemsAndFormats(buffer) : Collections.emptyList());
+            builder.functionMapping(moveToSectionData(buffer, traceMapping, sectionOffsets.get(OPTION_KALLSYMS)) ? BinaryFTraceFileParser.parseFunctionMapping(buffer) : Collections.emptyMap());
+            builder.printKPointerStringMapping(moveToSectionData(buffer, traceMapping, sectionOffsets.get(OPTION_PRINTK)) ? BinaryFTraceFileParser.parseTracePrintKInfo(buffer) : Collections.emptyMap());
+            builder.processIDNameMapping(moveToSectionData(buffer, traceMapping, sectionOffsets.get(OPTION_CMDLINES)) ? BinaryFTraceFileParser.parseProcessToFunctionNameMapping(buffer) : Collections.emptyMap());
+
+            if (isLatency) {
+                builder.fileType(BinaryFTraceFileType.LATENCY);
+            } else if (bufferOptionOffset >= 0) {
+                builder.fileType(BinaryFTraceFileType.FLY_RECORD);
+                buffer.movePointerToOffset(bufferOptionOffset);
+                BinaryFTracePageIndex index = indexFile != null ? new BinaryFTracePageIndex(indexFile, new File(path)) : null;
+                builder.cpus(parseFlyRecordBuffer(buffer, traceMapping, cpuCount, pageSize, index));
+                if (index != null) {
+                    index.save();
+                }
+            }
+            return builder.build(traceMapping);
+        } catch (IOException | RuntimeException ex) {
+            // Corrupted compressed data is reported as a runtime exception
+            throw new TmfTraceException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Move the buffer to the data of the section at the given offset,
+     * decompressing the section if it is compressed.
+     *
+     * @return false if there is no section offset
+     */
+    private static boolean moveToSectionData(BinaryFTraceByteBuffer buffer, BinaryFTraceCompressedFileMapping traceMapping, @Nullable Long sectionOffset) throws TmfTraceException, IOException {
+        if (sectionOffset == null) {
+            return false;
+        }
+        validateInFile(traceMapping, sectionOffset, SECTION_HEADER_SIZE);
+        buffer.movePointerToOffset(sectionOffset);
+        buffer.getNextShort(); // Skipping the section ID
+        short flags = buffer.getNextShort();
+        buffer.getNextInt(); // Skipping the section description
+        long sectionSize = buffer.getNextLong();
+        validateInFile(traceMapping, buffer.getCurrentOffset(), sectionSize);
+
+        if ((flags & SECTION_FLAG_COMPRESSED) != 0) {
+            Region region = traceMapping.addCompressedBlock(buffer.getCurrentOffset());
+            buffer.movePointerToOffset(region.getOffset());
+        }
+        return true;
+    }
+
+    /**
+     * Validate that the data is in the file itself, and not in the
+     * decompressed data that follows it in the mapping
+     */
+    private static void validateInFile(BinaryFTraceCompressedFileMapping traceMapping, long offset, long size) throws TmfTraceException {
+        if (offset < 0 || size < 0 || offset + size > traceMapping.getFileLength()) {
+            throw new TmfTraceException(BinaryFTraceFileParser.getUnsecureFileErrorMessage(offset, traceMapping.getFileLength(), size));
+        }
+    }
+
+    private static boolean isTopLevelBuffer(BinaryFTraceByteBuffer buffer) {
+        long offset = buffer.getCurrentOffset();
+        buffer.getNextLong(); // Skipping the data offset
+        boolean isTopLevel = buffer.getNextString().isEmpty();
+        buffer.movePointerToOffset(offset);
+        return isTopLevel;
+    }
+
+    private static boolean isTextOption(short optionType) {
+        for (short textOption : TEXT_OPTIONS) {
+            if (textOption == optionType) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<BinaryFTraceFileCPU> parseFlyRecordBuffer(BinaryFTraceByteBuffer buffer, BinaryFTraceCompressedFileMapping traceMapping, int cpuCount, int hostPageSize, @Nullable BinaryFTracePageIndex index) throws TmfTraceException, IOException {
+        BinaryFTraceFileParser.validate(buffer, BinaryFTraceHeaderElementSize.LARGE_SECTION_SIZE);
+        long sectionOffset = buffer.getNextLong();
+        buffer.getNextString(); // Skipping the buffer name
+        buffer.getNextString(); // Skipping the clock
+        BinaryFTraceFileParser.validate(buffer, BinaryFTraceHeaderElementSize.PAGE_SIZE + BinaryFTraceHeaderElementSize.NUMBER_OF_CPUS);
+        int pageSize = buffer.getNextInt();
+        int bufferCpuCount = buffer.getNextInt();
+        if (pageSize <= BinaryFTraceHeaderElementSize.PAGE_HEADER_SIZE) {
+            pageSize = hostPageSize;
+        }
+        if (bufferCpuCount < 0 || (cpuCount > 0 && bufferCpuCount > cpuCount)) {
+            throw new TmfTraceException("Invalid number of CPUs: " + bufferCpuCount); //$NON-NLS-1$
+        }
+        BinaryFTraceFileParser.validate(buffer, (long) bufferCpuCount * BUFFER_CPU_SIZE);
+
+        int[] cpuIds = new int[bufferCpuCount];
+        long[] cpuDataOffsets = new long[bufferCpuCount];
+        long[] cpuDataSizes = new long[bufferCpuCount];
+        for (int i = 0; i < bufferCpuCount; i++) {
+            cpuIds[i] = buffer.getNextInt();
+            cpuDataOffsets[i] = buffer.getNextLong();
+            cpuDataSizes[i] = buffer.getNextLong();
+        }
+
+        // The flags of the flyrecord section tell if the CPU data is compressed
+        validateInFile(traceMapping, sectionOffset, SECTION_HEADER_SIZE);
+        buffer.movePointerToOffset(sectionOffset);
+        buffer.getNextShort(); // Skipping the section ID
+        boolean isCompressed = (buffer.getNextShort() & SECTION_FLAG_COMPRESSED) != 0;
+
+        long totalTraceSize = 0;
+        for (int i = 0; i < bufferCpuCount; i++) {
+            validateInFile(traceMapping, cpuDataOffsets[i], cpuDataSizes[i]);
+            if (isCompressed && cpuDataSizes[i] > 0) {
+                Region region = traceMapping.addCompressedChunks(cpuDataOffsets[i]);
+                cpuDataOffsets[i] = region.getOffset();
+                cpuDataSizes[i] = region.getSize();
+            }
+            totalTraceSize += cpuDataSizes[i];
+        }
+
+        if (totalTraceSize == 0) {
+            throw new TmfTraceException("Empty trace."); //$NON-NLS-1$
+        }
+
+        return parseCPUPageHeaders(traceMapping, cpuIds, cpuDataOffsets, cpuDataSizes, pageSize, index);
+    }
+
+    private static List<BinaryFTraceFileCPU> parseCPUPageHeaders(BinaryFTraceCompressedFileMapping traceMapping, int[] cpuIds, long[] cpuDataOffsets, long[] cpuDataSizes, int pageSize, @Nullable BinaryFTracePageIndex index) throws TmfTraceException {
+        int cpuCount = cpuIds.length;
+        List<Callable<BinaryFTraceFileCPU>> tasks = new ArrayList<>();
+        for (int i = 0; i < cpuCount; i++) {
+            int cpu = i;
+            tasks.add(() -> BinaryFTraceFileParser.parseCPUPageHeader(new BinaryFTraceByteBuffer(traceMapping), cpuIds[cpu], cpuDataOffsets[cpu], cpuDataSizes[cpu], pageSize, index));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(cpuCount, Runtime.getRuntime().availableProcessors())));
+        try {
+            List<BinaryFTraceFileCPU> cpus = new ArrayList<>();
+            for (Future<BinaryFTraceFileCPU> future : executor.invokeAll(tasks)) {
+                cpus.add(future.get());
+            }
+            return cpus;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TmfTraceException("Interrupted while reading the CPU pages", e); //$NON-NLS-1$
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TmfTraceException) {
+                throw (TmfTraceException) cause;
+            }
+            throw new TmfTraceException("Cannot read the CPU pages: " + String.valueOf(cause), cause); //$NON-NLS-1$
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
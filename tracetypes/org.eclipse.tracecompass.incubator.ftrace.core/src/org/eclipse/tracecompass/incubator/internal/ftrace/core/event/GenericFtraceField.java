@@ -96,6 +96,26 @@ public class GenericFtraceField {
         fTs = ts;
     }
 
+    /**
+     * Constructor with the content of the event, for events whose fields are
+     * decoded lazily
+     *
+     * @param name    event name
+     * @param cpu     the cpu number
+     * @param ts      the timestamp in ns
+     * @param pid     the process id
+     * @param tid     the threadId
+     * @param content the event content
+     */
+    public GenericFtraceField(String name, Integer cpu, Long ts, @Nullable Integer pid, @Nullable Integer tid, ITmfEventField content) {
+        fName = name;
+        fCpu = cpu;
+        fPid = pid;
+        fTid = tid;
+        fContent = content;
+        fTs = ts;
+    }
+
     /**
      * Parse a line from an ftrace ouput file
      *
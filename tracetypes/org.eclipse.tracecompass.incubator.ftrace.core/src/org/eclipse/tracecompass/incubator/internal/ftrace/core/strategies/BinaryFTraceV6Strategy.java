@@ -11,10 +11,12 @@
 
 package org.eclipse.tracecompass.incubator.internal.ftrace.core.strategies;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.context.BinaryFTraceContext;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.context.BinaryFTraceLocation;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.context.BinaryFTraceLocationInfo;
@@ -23,6 +25,7 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.Bin
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceVersionHeader;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.iterator.BinaryFTraceIterator;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileParser;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTracePageIndex;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.event.GenericFtraceEvent;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.BinaryFTrace;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
@@ -30,6 +33,7 @@ import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
 import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 
 /**
@@ -38,7 +42,7 @@ import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
  * @author Hoang Thuan Pham
  */
 public class BinaryFTraceV6Strategy implements IBinaryFTraceStrategy {
-    private static final byte[] MAGIC_VALUES = { 0x17, 0x08, 0x44, 't', 'r', 'a', 'c', 'i', 'n', 'g' };
+    static final byte[] MAGIC_VALUES = { 0x17, 0x08, 0x44, 't', 'r', 'a', 'c', 'i', 'n', 'g' };
     private BinaryFTraceHeaderInfo fTraceHeaderData;
     @NonNull
     private final BinaryFTrace fFTrace;
@@ -71,7 +75,7 @@ public class BinaryFTraceV6Strategy implements IBinaryFTraceStrategy {
     @Override
     public void initTrace(String path) throws TmfTraceException {
         // Parse the file header
-        fTraceHeaderData = BinaryFTraceFileParser.parse(path);
+        fTraceHeaderData = parseHeader(path);
 
         // Set the start and (current) end times for this trace
         BinaryFTraceContext ctx = (BinaryFTraceContext) fFTrace.seekEvent(0L);
@@ -87,6 +91,32 @@ public class BinaryFTraceV6Strategy implements IBinaryFTraceStrategy {
         }
     }
 
+    /**
+     * Parse the header of the trace file
+     *
+     * @param path
+     *            The path to the trace file
+     * @return The header information of the trace
+     * @throws TmfTraceException
+     *             If the file cannot be opened or parsed
+     */
+    protected BinaryFTraceHeaderInfo parseHeader(String path) throws TmfTraceException {
+        return BinaryFTraceFileParser.parse(path, getPageIndexFile());
+    }
+
+    /**
+     * Get the file of the page index of the trace, in its supplementary folder
+     *
+     * @return The page index file, or null if there is no supplementary folder
+     */
+    protected @Nullable File getPageIndexFile() {
+        File dir = new File(TmfTraceManager.getSupplementaryFileDir(fFTrace));
+        if (!dir.isDirectory()) {
+            return null;
+        }
+        return new File(dir, BinaryFTracePageIndex.FILE_NAME);
+    }
+
     @Override
     public ITmfEvent getNext(ITmfContext context) {
         if (fTraceHeaderData == null) {
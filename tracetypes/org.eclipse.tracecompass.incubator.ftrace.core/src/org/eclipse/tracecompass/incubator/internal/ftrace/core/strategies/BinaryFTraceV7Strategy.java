@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ftrace.core.strategies;
+
+import java.util.Arrays;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceHeaderInfo;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceVersion;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceVersionHeader;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceV7FileParser;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.trace.BinaryFTrace;
+import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+
+/**
+ * An implementation of {@link IBinaryFTraceStrategy} for FTrace v7. The events
+ * are read the same way as v6, once the sections of the file are parsed and
+ * the compressed CPU data is mapped by the {@link BinaryFTraceV7FileParser}.
+ */
+public class BinaryFTraceV7Strategy extends BinaryFTraceV6Strategy {
+
+    /**
+     * Constructor
+     *
+     * @param trace
+     *            The {@link BinaryFTrace} that represents the trace to parse
+     */
+    public BinaryFTraceV7Strategy(@NonNull BinaryFTrace trace) {
+        super(trace);
+    }
+
+    /**
+     * Validate whether a trace is of the Binary FTrace v7 format
+     *
+     * @param versionHeader
+     *            A {@link BinaryFTraceVersionHeader} object that contains the
+     *            magic values and FTrace version
+     * @return True if the trace is a Binary FTrace trace and the version is
+     *         supported
+     */
+    public static boolean validate(BinaryFTraceVersionHeader versionHeader) {
+        boolean isValidMagicValue = Arrays.equals(MAGIC_VALUES, versionHeader.getMagicValues());
+        boolean isSupportedVersion = versionHeader.getFTraceVersion().equals(BinaryFTraceVersion.V7);
+        return isValidMagicValue && isSupportedVersion;
+    }
+
+    @Override
+    protected BinaryFTraceHeaderInfo parseHeader(String path) throws TmfTraceException {
+        return BinaryFTraceV7FileParser.parse(path, getPageIndexFile());
+    }
+}
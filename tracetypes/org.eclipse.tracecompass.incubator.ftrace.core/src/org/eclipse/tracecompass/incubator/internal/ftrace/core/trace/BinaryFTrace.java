@@ -31,6 +31,7 @@ import org.eclipse.tracecompass.incubator.internal.ftrace.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.header.BinaryFTraceVersionHeader;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.binary.parser.BinaryFTraceFileParser;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.strategies.BinaryFTraceV6Strategy;
+import org.eclipse.tracecompass.incubator.internal.ftrace.core.strategies.BinaryFTraceV7Strategy;
 import org.eclipse.tracecompass.incubator.internal.ftrace.core.strategies.IBinaryFTraceStrategy;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
@@ -154,6 +155,8 @@ public class BinaryFTrace extends GenericFtrace implements ITmfPropertiesProvide
             BinaryFTraceVersionHeader versionHeader = BinaryFTraceFileParser.getFtraceVersionHeader(file.getAbsolutePath());
             if (BinaryFTraceV6Strategy.validate(versionHeader)) {
                 strategy = new BinaryFTraceV6Strategy(this);
+            } else if (BinaryFTraceV7Strategy.validate(versionHeader)) {
+                strategy = new BinaryFTraceV7Strategy(this);
             }
         } catch (TmfTraceException e) {
             Activator.getInstance().logError("Invalid binary ftrace file.", e); //$NON-NLS-1$
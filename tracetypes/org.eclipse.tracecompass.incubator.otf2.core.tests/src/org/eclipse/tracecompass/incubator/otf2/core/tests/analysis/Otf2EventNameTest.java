@@ -0,0 +1,57 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.otf2.core.tests.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.IOtf2Constants;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.IOtf2GlobalDefinitions;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.Otf2EventName;
+import org.junit.Test;
+
+/**
+ * Test the {@link Otf2EventName} parsed from the names of the CTF events
+ */
+public class Otf2EventNameTest {
+
+    /**
+     * Test the type and the name of the OTF2 events, which are parsed once
+     */
+    @Test
+    public void testEventName() {
+        String ctfEventName = IOtf2Constants.OTF2_EVENT + '_' + "Enter";
+        Otf2EventName eventName = Otf2EventName.get(ctfEventName);
+        assertNotNull(eventName);
+        assertEquals(IOtf2Constants.OTF2_EVENT, eventName.getType());
+        assertEquals("Enter", eventName.getName());
+        assertSame(eventName, Otf2EventName.get(ctfEventName));
+
+        eventName = Otf2EventName.get(IOtf2Constants.OTF2_GLOBAL_DEFINITION + '_' + IOtf2GlobalDefinitions.OTF2_REGION);
+        assertNotNull(eventName);
+        assertEquals(IOtf2Constants.OTF2_GLOBAL_DEFINITION, eventName.getType());
+        assertEquals(IOtf2GlobalDefinitions.OTF2_REGION, eventName.getName());
+    }
+
+    /**
+     * Test that the CTF event names that are not OTF2 event names are not
+     * parsed, even once they are cached
+     */
+    @Test
+    public void testNotOtf2() {
+        assertNull(Otf2EventName.get("lttng"));
+        assertNull(Otf2EventName.get("lttng"));
+        assertNull(Otf2EventName.get(""));
+    }
+}
@@ -0,0 +1,153 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.otf2.core.tests.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.IOtf2Constants;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.IOtf2Fields;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.IOtf2GlobalDefinitions;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.Otf2GlobalDefinitions;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.Otf2Type;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.trace.AttributeDefinition;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
+import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
+import org.junit.Test;
+
+/**
+ * Test the {@link Otf2GlobalDefinitions} built from global definition events
+ */
+public class Otf2GlobalDefinitionsTest {
+
+    private static final int COMM = 1;
+    private static final int GROUP = 2;
+    /** Communicator of a group that is defined, then removed */
+    private static final int EMPTY_COMM = 3;
+    private static final int EMPTY_GROUP = 4;
+
+    /**
+     * Create a global definition event with the given fields, as pairs of
+     * field names and values
+     */
+    private static ITmfEvent createEvent(Object... fields) {
+        ITmfEventField[] subFields = new ITmfEventField[fields.length / 2];
+        for (int i = 0; i < subFields.length; i++) {
+            subFields[i] = new TmfEventField((String) fields[2 * i], fields[2 * i + 1], null);
+        }
+        ITmfEventField content = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, null, subFields);
+        return new TmfEvent(null, ITmfContext.UNKNOWN_RANK, TmfTimestamp.fromNanos(0L), null, content);
+    }
+
+    private static Otf2GlobalDefinitions buildDefinitions() {
+        Otf2GlobalDefinitions.Builder builder = new Otf2GlobalDefinitions.Builder();
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, 0, IOtf2Fields.OTF2_STRING_VALUE, "main"), IOtf2GlobalDefinitions.OTF2_STRING);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, 1, IOtf2Fields.OTF2_STRING_VALUE, "size"), IOtf2GlobalDefinitions.OTF2_STRING);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, 2, IOtf2Fields.OTF2_STRING_VALUE, "buffer size"), IOtf2GlobalDefinitions.OTF2_STRING);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, 10, IOtf2Fields.OTF2_NAME, 0), IOtf2GlobalDefinitions.OTF2_REGION);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, 20, IOtf2Fields.OTF2_NAME, 1, IOtf2Fields.OTF2_DESCRIPTION, 2, IOtf2Fields.OTF2_TYPE, Otf2Type.OTF2_TYPE_UINT64.ordinal()),
+                IOtf2GlobalDefinitions.OTF2_ATTRIBUTE);
+
+        // A group of 5 members where a location is a member twice, a rank is
+        // out of bounds and the last rank is not set
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, GROUP, IOtf2Fields.OTF2_NUMBER_OF_MEMBERS, 5), IOtf2GlobalDefinitions.OTF2_GROUP);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_GROUP, GROUP, IOtf2Fields.OTF2_RANK, 0, IOtf2Fields.OTF2_LOCATION, 100L), IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_GROUP, GROUP, IOtf2Fields.OTF2_RANK, 1, IOtf2Fields.OTF2_LOCATION, 101L), IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_GROUP, GROUP, IOtf2Fields.OTF2_RANK, 2, IOtf2Fields.OTF2_LOCATION, 102L), IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_GROUP, GROUP, IOtf2Fields.OTF2_RANK, 3, IOtf2Fields.OTF2_LOCATION, 100L), IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_GROUP, GROUP, IOtf2Fields.OTF2_RANK, 5, IOtf2Fields.OTF2_LOCATION, 105L), IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_GROUP, GROUP, IOtf2Fields.OTF2_RANK, -1, IOtf2Fields.OTF2_LOCATION, 106L), IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, COMM, IOtf2Fields.OTF2_GROUP, GROUP), IOtf2GlobalDefinitions.OTF2_COMM);
+
+        // A group that is removed by a definition without members
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, EMPTY_GROUP, IOtf2Fields.OTF2_NUMBER_OF_MEMBERS, 1), IOtf2GlobalDefinitions.OTF2_GROUP);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_GROUP, EMPTY_GROUP, IOtf2Fields.OTF2_RANK, 0, IOtf2Fields.OTF2_LOCATION, 100L), IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, EMPTY_GROUP, IOtf2Fields.OTF2_NUMBER_OF_MEMBERS, 0), IOtf2GlobalDefinitions.OTF2_GROUP);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, EMPTY_COMM, IOtf2Fields.OTF2_GROUP, EMPTY_GROUP), IOtf2GlobalDefinitions.OTF2_COMM);
+
+        // Definitions that are not used or incomplete are ignored
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, 3), IOtf2GlobalDefinitions.OTF2_STRING);
+        builder.addDefinition(createEvent(IOtf2Fields.OTF2_SELF, 4, IOtf2Fields.OTF2_STRING_VALUE, "location"), IOtf2GlobalDefinitions.OTF2_LOCATION);
+        return builder.build();
+    }
+
+    /**
+     * Test the strings, regions and attributes
+     */
+    @Test
+    public void testDefinitions() {
+        Otf2GlobalDefinitions definitions = buildDefinitions();
+        assertEquals(3, definitions.getStringId().size());
+        assertEquals("main", definitions.getString(0));
+        assertNull(definitions.getString(3));
+        assertNull(definitions.getString(4));
+
+        Integer regionStringId = definitions.getRegionStringId(10);
+        assertNotNull(regionStringId);
+        assertEquals("main", definitions.getString(regionStringId));
+        assertNull(definitions.getRegionStringId(11));
+
+        assertEquals(1, definitions.getAttributeDefinitions().size());
+        AttributeDefinition attribute = definitions.getAttributeDefinitions().get(20);
+        assertNotNull(attribute);
+        assertEquals("size", attribute.getName(definitions.getStringId()));
+        assertEquals("buffer size", attribute.getDescription(definitions.getStringId()));
+        assertEquals(Otf2Type.OTF2_TYPE_UINT64, attribute.getType());
+    }
+
+    /**
+     * Test the members and the ranks of the locations of the communicators
+     */
+    @Test
+    public void testCommunicators() {
+        Otf2GlobalDefinitions definitions = buildDefinitions();
+        assertEquals(Arrays.asList(100L, 101L, 102L, 100L, IOtf2Constants.OTF2_UNKNOWN_LOCATION), definitions.getMembers(COMM));
+        // A location that is a member twice keeps its first rank
+        assertEquals(Integer.valueOf(0), definitions.getRank(100L, COMM));
+        assertEquals(Integer.valueOf(1), definitions.getRank(101L, COMM));
+        assertEquals(Integer.valueOf(2), definitions.getRank(102L, COMM));
+        // The members with a rank out of bounds are ignored
+        assertNull(definitions.getRank(105L, COMM));
+        assertNull(definitions.getRank(106L, COMM));
+        assertEquals(Integer.valueOf(4), definitions.getRank(IOtf2Constants.OTF2_UNKNOWN_LOCATION, COMM));
+
+        // The group without members is removed
+        assertTrue(definitions.getMembers(EMPTY_COMM).isEmpty());
+        assertNull(definitions.getRank(100L, EMPTY_COMM));
+
+        // A communicator that is not defined
+        assertEquals(Collections.emptyList(), definitions.getMembers(COMM + 10));
+        assertNull(definitions.getRank(100L, COMM + 10));
+    }
+
+    /**
+     * Test the definitions of a trace without global definitions
+     */
+    @Test
+    public void testEmpty() {
+        Otf2GlobalDefinitions definitions = Otf2GlobalDefinitions.EMPTY;
+        assertTrue(definitions.getStringId().isEmpty());
+        assertTrue(definitions.getAttributeDefinitions().isEmpty());
+        assertNull(definitions.getRegionStringId(10));
+        assertTrue(definitions.getMembers(COMM).isEmpty());
+        assertNull(definitions.getRank(100L, COMM));
+    }
+}
@@ -12,16 +12,15 @@
 package org.eclipse.tracecompass.incubator.internal.otf2.core.analysis;
 
 import java.lang.reflect.InvocationTargetException;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.regex.Matcher;
 
 import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.otf2.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.callstack.Otf2CallStackStateProvider;
 import org.eclipse.tracecompass.incubator.internal.otf2.core.trace.AttributeDefinition;
+import org.eclipse.tracecompass.incubator.otf2.core.trace.Otf2Trace;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
@@ -57,24 +56,9 @@ public abstract class AbstractOtf2StateProvider extends AbstractTmfStateProvider
     protected final Map<Integer, AttributeDefinition> fAttributeDefinitions;
 
     /**
-     * String id to string value mapping
+     * The global definitions of the trace, shared by all the OTF2 analyses
      */
-    private final Map<Integer, String> fStringId;
-
-    /**
-     * Region id to string id mapping
-     */
-    private final Map<Integer, Integer> fRegionStringId;
-
-    /**
-     * Communicator id to group id mapping
-     */
-    private final Map<Integer, Integer> fCommunicatorGroup;
-
-    /**
-     * Group id to group members mapping
-     */
-    private final Map<Integer, @Nullable ArrayList<Long>> fGroupMembers;
+    private final Otf2GlobalDefinitions fDefinitions;
 
     /**
      * Constructor
@@ -86,11 +70,8 @@ public abstract class AbstractOtf2StateProvider extends AbstractTmfStateProvider
      */
     protected AbstractOtf2StateProvider(@Nullable ITmfTrace trace, String id) {
         super(Objects.requireNonNull(trace), id);
-        fStringId = new HashMap<>();
-        fRegionStringId = new HashMap<>();
-        fCommunicatorGroup = new HashMap<>();
-        fGroupMembers = new HashMap<>();
-        fAttributeDefinitions = new HashMap<>();
+        fDefinitions = (trace instanceof Otf2Trace) ? ((Otf2Trace) trace).getGlobalDefinitions() : Otf2GlobalDefinitions.EMPTY;
+        fAttributeDefinitions = fDefinitions.getAttributeDefinitions();
     }
 
     @Override
@@ -113,17 +94,12 @@ public abstract class AbstractOtf2StateProvider extends AbstractTmfStateProvider
         if (ssb == null) {
             return;
         }
-        String ctfEventName = event.getName();
-        Matcher matcher = IOtf2Constants.OTF2_EVENT_NAME_PATTERN.matcher(ctfEventName);
-        if (!matcher.matches()) {
-            return;
-        }
-        String eventType = matcher.group(IOtf2Constants.OTF2_TYPE_GROUP);
-        String otf2EventName = matcher.group(IOtf2Constants.OTF2_NAME_GROUP);
-        if (otf2EventName == null) {
+        Otf2EventName eventName = Otf2EventName.get(event.getName());
+        if (eventName == null) {
             return;
         }
-        switch (eventType) {
+        String otf2EventName = eventName.getName();
+        switch (eventName.getType()) {
         case IOtf2Constants.OTF2_GLOBAL_DEFINITION: {
             processGlobalDefinition(event, otf2EventName);
             break;
@@ -156,7 +132,9 @@ public abstract class AbstractOtf2StateProvider extends AbstractTmfStateProvider
     }
 
     /**
-     * Process a global definition
+     * Process a global definition. The strings, regions, communicators,
+     * groups and attributes are already read with the trace, see
+     * {@link #getStringFromStringId} and the other getters.
      *
      * @param event
      *            The event to process
@@ -165,121 +143,6 @@ public abstract class AbstractOtf2StateProvider extends AbstractTmfStateProvider
      */
     protected abstract void processGlobalDefinition(ITmfEvent event, String name);
 
-    /**
-     * Default method to process a string definition (add it to the String id to
-     * String value mapping table)
-     *
-     * @param event
-     *            The event to process
-     */
-    protected void processStringDefinition(ITmfEvent event) {
-        ITmfEventField content = event.getContent();
-        Integer stringReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
-        String stringValue = content.getFieldValue(String.class, IOtf2Fields.OTF2_STRING_VALUE);
-        if (stringReference == null || stringValue == null) {
-            return;
-        }
-        fStringId.put(stringReference, stringValue);
-    }
-
-    /**
-     * Default method to process a region definition (add it to the Region to
-     * String id mapping table)
-     *
-     * @param event
-     *            The event to process
-     */
-    protected void processRegionDefinition(ITmfEvent event) {
-        ITmfEventField content = event.getContent();
-        Integer regionReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
-        Integer stringReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_NAME);
-        if (regionReference == null || stringReference == null) {
-            return;
-        }
-        fRegionStringId.put(regionReference, stringReference);
-    }
-
-    /**
-     * Default method to process a communicator definition (add it to the
-     * Communicator to Group mapping table)
-     *
-     * @param event
-     *            The event to process
-     */
-    protected void processCommunicatorDefinition(ITmfEvent event) {
-        ITmfEventField content = event.getContent();
-        Integer communicatorReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
-        Integer groupReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_GROUP);
-        if (communicatorReference == null || groupReference == null) {
-            return;
-        }
-        fCommunicatorGroup.put(communicatorReference, groupReference);
-    }
-
-    /**
-     * Default method to process a group definition (initialize the members
-     * array)
-     *
-     * @param event
-     *            The event to process
-     */
-    protected void processGroupDefinition(ITmfEvent event) {
-        ITmfEventField content = event.getContent();
-        Integer groupReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
-        Integer numberOfMembers = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_NUMBER_OF_MEMBERS);
-        if (groupReference == null || numberOfMembers == null) {
-            return;
-        }
-        if (numberOfMembers == 0) {
-            fGroupMembers.put(groupReference, null);
-            return;
-        }
-        ArrayList<Long> membersArray = new ArrayList<>(numberOfMembers);
-        for (int i = 0; i < numberOfMembers; i++) {
-            membersArray.add(UNKNOWN_LOCATION_ID);
-        }
-        fGroupMembers.put(groupReference, membersArray);
-    }
-
-    /**
-     * Default method to process a group member definition (fill the
-     * corresponding members array)
-     *
-     * @param event
-     *            The event to process
-     */
-    protected void processGroupMemberDefinition(ITmfEvent event) {
-        ITmfEventField content = event.getContent();
-        Integer groupReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_GROUP);
-        Integer rank = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_RANK);
-        Long locationReference = content.getFieldValue(Long.class, IOtf2Fields.OTF2_LOCATION);
-        if (groupReference == null || rank == null || locationReference == null) {
-            return;
-        }
-        ArrayList<Long> membersArray = fGroupMembers.get(groupReference);
-        if (membersArray == null) {
-            return;
-        }
-        membersArray.set(rank, locationReference);
-        fGroupMembers.put(groupReference, membersArray);
-    }
-
-    /**
-     * Default method to process an attribute definition
-     *
-     * @param event
-     *            The event to process
-     */
-    protected void processAttributeDefinition(ITmfEvent event) {
-        Integer attributeId = event.getContent().getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
-        Integer nameId = event.getContent().getFieldValue(Integer.class, IOtf2Fields.OTF2_NAME);
-        Integer descriptionId = event.getContent().getFieldValue(Integer.class, IOtf2Fields.OTF2_DESCRIPTION);
-        Integer typeId = event.getContent().getFieldValue(Integer.class, IOtf2Fields.OTF2_TYPE);
-        if (attributeId != null && nameId != null && descriptionId != null && typeId != null) {
-            fAttributeDefinitions.put(attributeId, new AttributeDefinition(nameId, descriptionId, typeId));
-        }
-    }
-
     /**
      * Process an OTF2 event
      *
@@ -328,12 +191,8 @@ public abstract class AbstractOtf2StateProvider extends AbstractTmfStateProvider
      * @return The rank of the location into the communicator
      */
     protected int getRank(Long location, Integer communicatorReference) {
-        Integer groupReference = fCommunicatorGroup.get(communicatorReference);
-        ArrayList<Long> members = fGroupMembers.get(groupReference);
-        if (members == null) {
-            return UNKNOWN_RANK;
-        }
-        return members.indexOf(location);
+        Integer rank = fDefinitions.getRank(location, communicatorReference);
+        return (rank != null) ? rank : UNKNOWN_RANK;
     }
 
     /**
@@ -342,7 +201,7 @@ public abstract class AbstractOtf2StateProvider extends AbstractTmfStateProvider
      * @return the value of the string
      */
     protected String getStringFromStringId(int stringId) {
-        String stringValue = fStringId.get(stringId);
+        String stringValue = fDefinitions.getString(stringId);
         if (stringValue == null) {
             return IOtf2Constants.UNKNOWN_STRING;
         }
@@ -356,7 +215,7 @@ public abstract class AbstractOtf2StateProvider extends AbstractTmfStateProvider
      * @return the name of the region
      */
     protected String getRegionNameFromRegionId(int regionId) {
-        Integer stringId = fRegionStringId.get(regionId);
+        Integer stringId = fDefinitions.getRegionStringId(regionId);
         if (stringId == null) {
             return IOtf2Constants.UNKNOWN_STRING;
         }
@@ -367,24 +226,20 @@ public abstract class AbstractOtf2StateProvider extends AbstractTmfStateProvider
      *
      * @param communicatorReference
      *            the id of the communicator
-     * @return the list of the members in the communicator
+     * @return the list of the members in the communicator, which must not be
+     *         modified
      */
-    protected ArrayList<Long> getMembersFromCommunicatorReference(int communicatorReference) {
-        Integer groupReference = fCommunicatorGroup.get(communicatorReference);
-        ArrayList<Long> members = fGroupMembers.get(groupReference);
-        if (members == null) {
-            return new ArrayList<>();
-        }
-        return members;
+    protected List<Long> getMembersFromCommunicatorReference(int communicatorReference) {
+        return fDefinitions.getMembers(communicatorReference);
     }
 
     /**
-     * Getter for the fStringId field
+     * Get the string id to string value mapping of the trace
      *
-     * @return the fStringId field
+     * @return the string values by id, which must not be modified
      */
     protected Map<Integer, String> getStringId() {
-        return fStringId;
+        return fDefinitions.getStringId();
     }
 
     /**
@@ -398,7 +253,7 @@ public abstract class AbstractOtf2StateProvider extends AbstractTmfStateProvider
      *         rank number is >= to the number of members defined.
      */
     protected long getLocationIdFromRank(Integer rank, Integer communicatorReference) {
-        ArrayList<Long> members = getMembersFromCommunicatorReference(communicatorReference);
+        List<Long> members = getMembersFromCommunicatorReference(communicatorReference);
         if (rank >= members.size()) {
             return UNKNOWN_RANK;
         }
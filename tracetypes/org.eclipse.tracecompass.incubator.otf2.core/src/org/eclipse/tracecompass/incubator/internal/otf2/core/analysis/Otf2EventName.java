@@ -0,0 +1,80 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.otf2.core.analysis;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * The type and name of an OTF2 event, from the name of the CTF event (<event
+ * type>_<event name>). There are few event types in a trace, so the result of
+ * matching {@link IOtf2Constants#OTF2_EVENT_NAME_PATTERN} is kept for each CTF
+ * event name instead of matching it again for every event.
+ */
+public final class Otf2EventName {
+
+    /** Marker for the CTF event names that are not OTF2 event names */
+    private static final Otf2EventName NOT_OTF2 = new Otf2EventName(IOtf2Constants.UNKNOWN_STRING, IOtf2Constants.UNKNOWN_STRING);
+
+    private static final Map<String, Otf2EventName> CACHE = new ConcurrentHashMap<>();
+
+    private final String fType;
+    private final String fName;
+
+    private Otf2EventName(String type, String name) {
+        fType = type;
+        fName = name;
+    }
+
+    /**
+     * Get the OTF2 type and name of a CTF event name
+     *
+     * @param ctfEventName
+     *            the name of the CTF event
+     * @return the OTF2 event name, or null if the CTF event name does not
+     *         match {@link IOtf2Constants#OTF2_EVENT_NAME_PATTERN}
+     */
+    public static @Nullable Otf2EventName get(String ctfEventName) {
+        Otf2EventName eventName = CACHE.computeIfAbsent(ctfEventName, Otf2EventName::parse);
+        return eventName == NOT_OTF2 ? null : eventName;
+    }
+
+    private static Otf2EventName parse(String ctfEventName) {
+        Matcher matcher = IOtf2Constants.OTF2_EVENT_NAME_PATTERN.matcher(ctfEventName);
+        if (!matcher.matches()) {
+            return NOT_OTF2;
+        }
+        String type = matcher.group(IOtf2Constants.OTF2_TYPE_GROUP);
+        String name = matcher.group(IOtf2Constants.OTF2_NAME_GROUP);
+        if (type == null || name == null) {
+            return NOT_OTF2;
+        }
+        return new Otf2EventName(type, name);
+    }
+
+    /**
+     * @return the type of the event, like {@link IOtf2Constants#OTF2_EVENT}
+     */
+    public String getType() {
+        return fType;
+    }
+
+    /**
+     * @return the name of the event, like {@link IOtf2GlobalDefinitions#OTF2_REGION}
+     */
+    public String getName() {
+        return fName;
+    }
+}
@@ -0,0 +1,247 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.otf2.core.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.trace.AttributeDefinition;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * The global definitions of an OTF2 trace that are used by all the OTF2
+ * analyses: strings, regions, communicators, groups and attributes. They are
+ * read once with the trace and shared by the state providers, which do not
+ * modify them.
+ */
+public final class Otf2GlobalDefinitions {
+
+    /** Definitions of a trace without global definitions */
+    public static final Otf2GlobalDefinitions EMPTY = new Builder().build();
+
+    private final Map<Integer, String> fStringId;
+    private final Map<Integer, Integer> fRegionStringId;
+    private final Map<Integer, Integer> fCommunicatorGroup;
+    private final Map<Integer, List<Long>> fGroupMembers;
+    /** For each group, the rank of each location in the group */
+    private final Map<Integer, Map<Long, Integer>> fGroupRanks;
+    private final Map<Integer, AttributeDefinition> fAttributeDefinitions;
+
+    private Otf2GlobalDefinitions(Builder builder) {
+        fStringId = ImmutableMap.copyOf(builder.fStringId);
+        fRegionStringId = ImmutableMap.copyOf(builder.fRegionStringId);
+        fCommunicatorGroup = ImmutableMap.copyOf(builder.fCommunicatorGroup);
+        ImmutableMap.Builder<Integer, List<Long>> groupMembers = ImmutableMap.builder();
+        ImmutableMap.Builder<Integer, Map<Long, Integer>> groupRanks = ImmutableMap.builder();
+        for (Map.Entry<Integer, List<Long>> entry : builder.fGroupMembers.entrySet()) {
+            List<Long> members = entry.getValue();
+            Map<Long, Integer> ranks = new HashMap<>();
+            for (int rank = 0; rank < members.size(); rank++) {
+                // The same location may be a member twice, keep its first rank
+                ranks.putIfAbsent(members.get(rank), rank);
+            }
+            groupMembers.put(entry.getKey(), ImmutableList.copyOf(members));
+            groupRanks.put(entry.getKey(), ImmutableMap.copyOf(ranks));
+        }
+        fGroupMembers = groupMembers.build();
+        fGroupRanks = groupRanks.build();
+        fAttributeDefinitions = ImmutableMap.copyOf(builder.fAttributeDefinitions);
+    }
+
+    /**
+     * @return the string id to string value mapping
+     */
+    public Map<Integer, String> getStringId() {
+        return fStringId;
+    }
+
+    /**
+     * @param stringId
+     *            the id of the string
+     * @return the value of the string, or null if it is not defined
+     */
+    public @Nullable String getString(int stringId) {
+        return fStringId.get(stringId);
+    }
+
+    /**
+     * @param regionId
+     *            the id of the region of code
+     * @return the string id of the name of the region, or null if the region
+     *         is not defined
+     */
+    public @Nullable Integer getRegionStringId(int regionId) {
+        return fRegionStringId.get(regionId);
+    }
+
+    /**
+     * @param communicatorReference
+     *            the id of the communicator
+     * @return the locations of the members of the communicator, by rank. The
+     *         list is empty if the communicator is not defined.
+     */
+    public List<Long> getMembers(int communicatorReference) {
+        Integer groupReference = fCommunicatorGroup.get(communicatorReference);
+        List<Long> members = groupReference == null ? null : fGroupMembers.get(groupReference);
+        return members == null ? Collections.emptyList() : members;
+    }
+
+    /**
+     * @param location
+     *            the location id
+     * @param communicatorReference
+     *            the id of the communicator
+     * @return the rank of the location in the communicator, or null if it is
+     *         not a member of the communicator
+     */
+    public @Nullable Integer getRank(long location, int communicatorReference) {
+        Integer groupReference = fCommunicatorGroup.get(communicatorReference);
+        Map<Long, Integer> ranks = groupReference == null ? null : fGroupRanks.get(groupReference);
+        return ranks == null ? null : ranks.get(location);
+    }
+
+    /**
+     * @return the attribute id to attribute definition mapping
+     */
+    public Map<Integer, AttributeDefinition> getAttributeDefinitions() {
+        return fAttributeDefinitions;
+    }
+
+    /**
+     * Builder of the global definitions, receiving the global definition
+     * events in trace order
+     */
+    public static final class Builder {
+
+        private final Map<Integer, String> fStringId = new HashMap<>();
+        private final Map<Integer, Integer> fRegionStringId = new HashMap<>();
+        private final Map<Integer, Integer> fCommunicatorGroup = new HashMap<>();
+        private final Map<Integer, List<Long>> fGroupMembers = new HashMap<>();
+        private final Map<Integer, AttributeDefinition> fAttributeDefinitions = new HashMap<>();
+
+        /**
+         * Add a global definition. Definitions that are not used by the
+         * analyses are ignored.
+         *
+         * @param event
+         *            the global definition event
+         * @param name
+         *            the name of the global definition, like
+         *            {@link IOtf2GlobalDefinitions#OTF2_STRING}
+         */
+        public void addDefinition(ITmfEvent event, String name) {
+            ITmfEventField content = event.getContent();
+            switch (name) {
+            case IOtf2GlobalDefinitions.OTF2_STRING:
+                addString(content);
+                break;
+            case IOtf2GlobalDefinitions.OTF2_REGION:
+                addRegion(content);
+                break;
+            case IOtf2GlobalDefinitions.OTF2_COMM:
+                addCommunicator(content);
+                break;
+            case IOtf2GlobalDefinitions.OTF2_GROUP:
+                addGroup(content);
+                break;
+            case IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER:
+                addGroupMember(content);
+                break;
+            case IOtf2GlobalDefinitions.OTF2_ATTRIBUTE:
+                addAttribute(content);
+                break;
+            default:
+                break;
+            }
+        }
+
+        private void addString(ITmfEventField content) {
+            Integer stringReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
+            String stringValue = content.getFieldValue(String.class, IOtf2Fields.OTF2_STRING_VALUE);
+            if (stringReference == null || stringValue == null) {
+                return;
+            }
+            fStringId.put(stringReference, stringValue);
+        }
+
+        private void addRegion(ITmfEventField content) {
+            Integer regionReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
+            Integer stringReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_NAME);
+            if (regionReference == null || stringReference == null) {
+                return;
+            }
+            fRegionStringId.put(regionReference, stringReference);
+        }
+
+        private void addCommunicator(ITmfEventField content) {
+            Integer communicatorReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
+            Integer groupReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_GROUP);
+            if (communicatorReference == null || groupReference == null) {
+                return;
+            }
+            fCommunicatorGroup.put(communicatorReference, groupReference);
+        }
+
+        private void addGroup(ITmfEventField content) {
+            Integer groupReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
+            Integer numberOfMembers = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_NUMBER_OF_MEMBERS);
+            if (groupReference == null || numberOfMembers == null) {
+                return;
+            }
+            if (numberOfMembers == 0) {
+                fGroupMembers.remove(groupReference);
+                return;
+            }
+            List<Long> members = new ArrayList<>(Collections.nCopies(numberOfMembers, IOtf2Constants.OTF2_UNKNOWN_LOCATION));
+            fGroupMembers.put(groupReference, members);
+        }
+
+        private void addGroupMember(ITmfEventField content) {
+            Integer groupReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_GROUP);
+            Integer rank = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_RANK);
+            Long locationReference = content.getFieldValue(Long.class, IOtf2Fields.OTF2_LOCATION);
+            if (groupReference == null || rank == null || locationReference == null) {
+                return;
+            }
+            List<Long> members = fGroupMembers.get(groupReference);
+            if (members == null || rank < 0 || rank >= members.size()) {
+                return;
+            }
+            members.set(rank, locationReference);
+        }
+
+        private void addAttribute(ITmfEventField content) {
+            Integer attributeId = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
+            Integer nameId = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_NAME);
+            Integer descriptionId = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_DESCRIPTION);
+            Integer typeId = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_TYPE);
+            if (attributeId != null && nameId != null && descriptionId != null && typeId != null) {
+                fAttributeDefinitions.put(attributeId, new AttributeDefinition(nameId, descriptionId, typeId));
+            }
+        }
+
+        /**
+         * @return the global definitions
+         */
+        public Otf2GlobalDefinitions build() {
+            return new Otf2GlobalDefinitions(this);
+        }
+    }
+}
@@ -312,7 +312,7 @@ public class Otf2CallStackStateProvider extends AbstractOtf2StateProvider {
             ITmfEvent srcEvent = null;
             if (associatedOperation == null) {
                 srcEvent = destEvent;
-                ArrayList<Long> members = getMembersFromCommunicatorReference(communicator);
+                List<Long> members = getMembersFromCommunicatorReference(communicator);
                 ArrayList<Long> pendingLocations = new ArrayList<>(members);
                 associatedOperation = new RootToAllIdentifiers(operationCode, communicator, srcLocationId, srcEvent, pendingLocations);
                 fRootToAllQueue.add(associatedOperation);
@@ -374,7 +374,7 @@ public class Otf2CallStackStateProvider extends AbstractOtf2StateProvider {
              * representing the state of the communication is created
              */
             if (associatedOperation == null) {
-                ArrayList<Long> members = getMembersFromCommunicatorReference(communicator);
+                List<Long> members = getMembersFromCommunicatorReference(communicator);
                 ArrayList<Long> pendingLocations = new ArrayList<>(members);
                 associatedOperation = new AllToRootIdentifiers(operationCode, communicator, destLocationId, pendingLocations);
                 fAllToRootQueue.add(associatedOperation);
@@ -436,14 +436,6 @@ public class Otf2CallStackStateProvider extends AbstractOtf2StateProvider {
     @Override
     protected void processGlobalDefinition(ITmfEvent event, String name) {
         switch (name) {
-        case IOtf2GlobalDefinitions.OTF2_STRING: {
-            processStringDefinition(event);
-            break;
-        }
-        case IOtf2GlobalDefinitions.OTF2_REGION: {
-            processRegionDefinition(event);
-            break;
-        }
         case IOtf2GlobalDefinitions.OTF2_LOCATION: {
             processLocationDefinition(event);
             break;
@@ -452,18 +444,6 @@ public class Otf2CallStackStateProvider extends AbstractOtf2StateProvider {
             processLocationGroupDefinition(event);
             break;
         }
-        case IOtf2GlobalDefinitions.OTF2_COMM: {
-            processCommunicatorDefinition(event);
-            break;
-        }
-        case IOtf2GlobalDefinitions.OTF2_GROUP: {
-            processGroupDefinition(event);
-            break;
-        }
-        case IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER: {
-            processGroupMemberDefinition(event);
-            break;
-        }
         case IOtf2GlobalDefinitions.OTF2_SYSTEM_TREE_NODE: {
             processSystemTreeNodeDefinition(event);
             break;
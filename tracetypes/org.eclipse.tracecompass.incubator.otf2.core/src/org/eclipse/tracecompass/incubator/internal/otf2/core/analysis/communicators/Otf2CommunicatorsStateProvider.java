@@ -503,7 +503,7 @@ public class Otf2CommunicatorsStateProvider extends AbstractOtf2StateProvider {
          *            The state system builder to create the quarks
          */
         public void initialize(ITmfStateSystemBuilder ssb) {
-            ArrayList<Long> locations = getMembersFromCommunicatorReference(fId);
+            List<Long> locations = getMembersFromCommunicatorReference(fId);
             fQuark = ssb.getQuarkAbsoluteAndAdd(COMMUNICATOR + String.valueOf(fId));
             fLocations = locations;
             for (int i = 0; i < fLocations.size(); i++) {
@@ -580,21 +580,12 @@ public class Otf2CommunicatorsStateProvider extends AbstractOtf2StateProvider {
     @Override
     protected void processGlobalDefinition(ITmfEvent event, String name) {
         switch (name) {
-        case IOtf2GlobalDefinitions.OTF2_STRING: {
-            processStringDefinition(event);
-            break;
-        }
-        case IOtf2GlobalDefinitions.OTF2_REGION: {
-            processRegionDefinition(event);
-            break;
-        }
         case IOtf2GlobalDefinitions.OTF2_LOCATION: {
             CommunicatorsLocation location = new CommunicatorsLocation(event);
             fMapLocation.put(location.getId(), location);
             break;
         }
         case IOtf2GlobalDefinitions.OTF2_COMM: {
-            processCommunicatorDefinition(event);
             ITmfEventField content = event.getContent();
             Integer communicatorReference = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
             if (communicatorReference == null) {
@@ -603,14 +594,6 @@ public class Otf2CommunicatorsStateProvider extends AbstractOtf2StateProvider {
             fMapCommunicator.put(communicatorReference, new Communicator(communicatorReference));
             break;
         }
-        case IOtf2GlobalDefinitions.OTF2_GROUP: {
-            processGroupDefinition(event);
-            break;
-        }
-        case IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER: {
-            processGroupMemberDefinition(event);
-            break;
-        }
         default:
             return;
         }
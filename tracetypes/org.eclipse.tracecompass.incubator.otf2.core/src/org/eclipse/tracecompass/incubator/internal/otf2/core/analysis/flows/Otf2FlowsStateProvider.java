@@ -64,14 +64,6 @@ public class Otf2FlowsStateProvider extends AbstractOtf2StateProvider {
     @Override
     protected void processGlobalDefinition(ITmfEvent event, String name) {
         switch (name) {
-        case IOtf2GlobalDefinitions.OTF2_STRING: {
-            processStringDefinition(event);
-            break;
-        }
-        case IOtf2GlobalDefinitions.OTF2_REGION: {
-            processRegionDefinition(event);
-            break;
-        }
         case IOtf2GlobalDefinitions.OTF2_LOCATION: {
             processLocationDefinition(event);
             break;
@@ -80,26 +72,10 @@ public class Otf2FlowsStateProvider extends AbstractOtf2StateProvider {
             processLocationGroupDefinition(event);
             break;
         }
-        case IOtf2GlobalDefinitions.OTF2_COMM: {
-            processCommunicatorDefinition(event);
-            break;
-        }
-        case IOtf2GlobalDefinitions.OTF2_GROUP: {
-            processGroupDefinition(event);
-            break;
-        }
-        case IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER: {
-            processGroupMemberDefinition(event);
-            break;
-        }
         case IOtf2GlobalDefinitions.OTF2_SYSTEM_TREE_NODE: {
             processSystemTreeNodeDefinition(event);
             break;
         }
-        case IOtf2GlobalDefinitions.OTF2_ATTRIBUTE: {
-            processAttributeDefinition(event);
-            break;
-        }
         default:
             return;
         }
@@ -175,14 +175,6 @@ public class Otf2SummaryTimelineStateProvider extends AbstractOtf2StateProvider
     @Override
     protected void processGlobalDefinition(ITmfEvent event, String name) {
         switch (name) {
-        case IOtf2GlobalDefinitions.OTF2_STRING: {
-            processStringDefinition(event);
-            break;
-        }
-        case IOtf2GlobalDefinitions.OTF2_REGION: {
-            processRegionDefinition(event);
-            break;
-        }
         case IOtf2GlobalDefinitions.OTF2_LOCATION: {
             ITmfEventField content = event.getContent();
             Long locationReference = content.getFieldValue(Long.class, IOtf2Fields.OTF2_SELF);
@@ -11,12 +11,9 @@
 
 package org.eclipse.tracecompass.incubator.otf2.core.trace;
 
-import static org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.IOtf2Constants.OTF2_TYPE_GROUP;
-
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -28,6 +25,8 @@ import org.eclipse.tracecompass.incubator.internal.otf2.core.Activator;
 import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.IOtf2Constants;
 import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.IOtf2Fields;
 import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.IOtf2GlobalDefinitions;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.Otf2EventName;
+import org.eclipse.tracecompass.incubator.internal.otf2.core.analysis.Otf2GlobalDefinitions;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.aspect.ITmfEventAspect;
@@ -56,6 +55,7 @@ import com.google.common.collect.ImmutableSet;
 public class Otf2Trace extends CtfTmfTrace {
 
     private Collection<ITmfEventAspect<?>> fAspects = TmfBaseAspects.getBaseAspects();
+    private Otf2GlobalDefinitions fGlobalDefinitions = Otf2GlobalDefinitions.EMPTY;
 
     @Override
     public Iterable<ITmfEventAspect<?>> getEventAspects() {
@@ -108,22 +108,23 @@ public class Otf2Trace extends CtfTmfTrace {
         Otf2SystemTree systemTree = new Otf2SystemTree();
         Otf2SystemMetrics systemMetrics = new Otf2SystemMetrics();
         Map<Integer, String> stringIds = new HashMap<>();
+        Otf2GlobalDefinitions.Builder globalDefinitions = new Otf2GlobalDefinitions.Builder();
 
         boolean readingDefinitions = true;
 
         while (event != null && readingDefinitions) {
-            String eventName = event.getName();
-            Matcher matcher = IOtf2Constants.OTF2_EVENT_NAME_PATTERN.matcher(eventName);
+            Otf2EventName eventName = Otf2EventName.get(event.getName());
 
-            if (matcher.matches() && matcher.group(OTF2_TYPE_GROUP).equals(IOtf2Constants.OTF2_EVENT)) {
+            if (eventName != null && eventName.getType().equals(IOtf2Constants.OTF2_EVENT)) {
                 readingDefinitions = false;
             }
 
-            if (matcher.matches() && matcher.group(OTF2_TYPE_GROUP).equals(IOtf2Constants.OTF2_GLOBAL_DEFINITION)) {
-                String definition = matcher.group(IOtf2Constants.OTF2_NAME_GROUP);
+            if (eventName != null && eventName.getType().equals(IOtf2Constants.OTF2_GLOBAL_DEFINITION)) {
+                String definition = eventName.getName();
                 switch (definition) {
                 case IOtf2GlobalDefinitions.OTF2_STRING:
                     addString(event, stringIds);
+                    globalDefinitions.addDefinition(event, definition);
                     break;
                 case IOtf2GlobalDefinitions.OTF2_SYSTEM_TREE_NODE:
                     systemTree.addSystemTreeNode(event);
@@ -140,6 +141,13 @@ public class Otf2Trace extends CtfTmfTrace {
                 case IOtf2GlobalDefinitions.OTF2_METRIC_CLASS:
                     systemMetrics.addMetricClass(event);
                     break;
+                case IOtf2GlobalDefinitions.OTF2_REGION:
+                case IOtf2GlobalDefinitions.OTF2_COMM:
+                case IOtf2GlobalDefinitions.OTF2_GROUP:
+                case IOtf2GlobalDefinitions.OTF2_GROUP_MEMBER:
+                case IOtf2GlobalDefinitions.OTF2_ATTRIBUTE:
+                    globalDefinitions.addDefinition(event, definition);
+                    break;
                 default:
                     Activator.getInstance().logWarning("The following group name is not supported: " + definition); //$NON-NLS-1$
                     break;
@@ -147,11 +155,22 @@ public class Otf2Trace extends CtfTmfTrace {
             }
             event = getNext(context);
         }
+        fGlobalDefinitions = globalDefinitions.build();
         aspectsBuilder.addAll(systemTree.getSystemAspects(stringIds));
         aspectsBuilder.addAll(systemMetrics.getCounterAspects());
         return aspectsBuilder.build();
     }
 
+    /**
+     * Get the global definitions of the trace, read when the trace is
+     * initialized and shared by the OTF2 analyses
+     *
+     * @return the global definitions
+     */
+    public Otf2GlobalDefinitions getGlobalDefinitions() {
+        return fGlobalDefinitions;
+    }
+
     private static void addString(ITmfEvent event, Map<Integer, String> stringIds) {
         ITmfEventField content = event.getContent();
         Integer id = content.getFieldValue(Integer.class, IOtf2Fields.OTF2_SELF);
@@ -17,8 +17,10 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
@@ -121,4 +123,54 @@ public class PerfCallGraphTest {
         assertEquals("0x4", callsite.getObject().resolve(Collections.emptySet()));
     }
 
+    /**
+     * Test that getting the same sampling data again gives the same call
+     * sites, the callchains of the events must not be modified by the
+     * aggregation
+     */
+    @Test
+    public void testSamplingDataRepeated() {
+        PerfCallchainAnalysisModule module = fModule;
+        assertNotNull(module);
+
+        for (int i = 0; i < 3; i++) {
+            Collection<AggregatedCallSite> samplingData = module.getSamplingData(2, 0, 5);
+            assertEquals(1, samplingData.size());
+            AggregatedCallSite callsite = samplingData.iterator().next();
+            assertEquals("0x1", callsite.getObject().resolve(Collections.emptySet()));
+        }
+    }
+
+    private static List<String> toStrings(Collection<AggregatedCallSite> callSites) {
+        List<String> strings = new ArrayList<>();
+        for (AggregatedCallSite callSite : callSites) {
+            strings.add(callSite.getObject().resolve(Collections.emptySet()) + '=' + callSite.getWeight());
+        }
+        return strings;
+    }
+
+    /**
+     * Test that the sampling data read from the sampling index, once it is
+     * built in the background, is the same as the data read from the trace
+     *
+     * @throws InterruptedException
+     *             If the test is interrupted
+     */
+    @Test
+    public void testSamplingIndex() throws InterruptedException {
+        PerfCallchainAnalysisModule module = fModule;
+        assertNotNull(module);
+
+        // The first query starts building the index
+        List<String> allData = toStrings(module.getSamplingData(2, 0, 50));
+        List<String> startData = toStrings(module.getSamplingData(2, 0, 5));
+        List<String> endData = toStrings(module.getSamplingData(2, 12, 20));
+        assertTrue(module.waitForSamplingIndex());
+
+        assertEquals(allData, toStrings(module.getSamplingData(2, 0, 50)));
+        assertEquals(startData, toStrings(module.getSamplingData(2, 0, 5)));
+        assertEquals(endData, toStrings(module.getSamplingData(2, 12, 20)));
+        assertTrue(module.getSamplingData(2, 100, 200).isEmpty());
+    }
+
 }
@@ -0,0 +1,183 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.perf.profiling.core.tests.callgraph;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.tracecompass.incubator.internal.perf.profiling.core.callgraph.PerfSamplingIndex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link PerfSamplingIndex}
+ */
+public class PerfSamplingIndexTest {
+
+    private static final long SIGNATURE = 42L;
+
+    private File fFile;
+
+    /**
+     * Create the index file
+     *
+     * @throws IOException
+     *             If the temporary file cannot be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        fFile = File.createTempFile("perf-sampling", ".idx");
+        assertTrue(fFile.delete());
+    }
+
+    /**
+     * Delete the index file
+     */
+    @After
+    public void tearDown() {
+        fFile.delete();
+    }
+
+    private static class Sample {
+        private final int fPid;
+        private final long fTimestamp;
+        private final long[] fStack;
+
+        private Sample(int pid, long timestamp, long[] stack) {
+            fPid = pid;
+            fTimestamp = timestamp;
+            fStack = stack;
+        }
+    }
+
+    private static List<Sample> getSamples(PerfSamplingIndex index, int tid, long start, long end) throws IOException {
+        List<Sample> samples = new ArrayList<>();
+        index.getSamples(tid, start, end, (pid, timestamp, stack) -> samples.add(new Sample(pid, timestamp, stack)));
+        return samples;
+    }
+
+    /**
+     * Test writing an index and reading the samples of a thread in time ranges
+     *
+     * @throws IOException
+     *             If the index cannot be written or read
+     */
+    @Test
+    public void testSamples() throws IOException {
+        PerfSamplingIndex.Builder builder = new PerfSamplingIndex.Builder();
+        builder.addSample(2, 1, 10L, new long[] { 0x1, 0x2 });
+        builder.addSample(3, 1, 15L, new long[] { 0x1, 0x3 });
+        builder.addSample(2, 1, 20L, new long[] { 0x1, 0x2 });
+        builder.addSample(2, 4, 30L, new long[] { 0x4 });
+        builder.write(fFile, SIGNATURE).close();
+
+        try (PerfSamplingIndex index = PerfSamplingIndex.open(fFile, SIGNATURE)) {
+            assertNotNull(index);
+
+            List<Sample> samples = getSamples(index, 2, 0L, Long.MAX_VALUE);
+            assertEquals(3, samples.size());
+            assertEquals(10L, samples.get(0).fTimestamp);
+            assertEquals(1, samples.get(0).fPid);
+            assertArrayEquals(new long[] { 0x1, 0x2 }, samples.get(0).fStack);
+            // Identical stacks are stored once
+            assertSame(samples.get(0).fStack, samples.get(1).fStack);
+            assertEquals(4, samples.get(2).fPid);
+            assertArrayEquals(new long[] { 0x4 }, samples.get(2).fStack);
+
+            // The bounds of the range are inclusive
+            samples = getSamples(index, 2, 20L, 30L);
+            assertEquals(2, samples.size());
+            assertEquals(20L, samples.get(0).fTimestamp);
+            assertEquals(30L, samples.get(1).fTimestamp);
+
+            samples = getSamples(index, 2, 11L, 19L);
+            assertTrue(samples.isEmpty());
+
+            samples = getSamples(index, 3, 0L, 100L);
+            assertEquals(1, samples.size());
+            assertArrayEquals(new long[] { 0x1, 0x3 }, samples.get(0).fStack);
+
+            assertTrue(getSamples(index, 5, 0L, 100L).isEmpty());
+        }
+    }
+
+    /**
+     * Test that an index written for another version of the trace is not
+     * opened
+     *
+     * @throws IOException
+     *             If the index cannot be written or read
+     */
+    @Test
+    public void testSignature() throws IOException {
+        assertNull(PerfSamplingIndex.open(fFile, SIGNATURE));
+
+        PerfSamplingIndex.Builder builder = new PerfSamplingIndex.Builder();
+        builder.addSample(2, 1, 10L, new long[] { 0x1 });
+        builder.write(fFile, SIGNATURE).close();
+
+        assertNull(PerfSamplingIndex.open(fFile, SIGNATURE + 1));
+        PerfSamplingIndex index = PerfSamplingIndex.open(fFile, SIGNATURE);
+        assertNotNull(index);
+        index.close();
+    }
+
+    /**
+     * Test that the samples spilled to disk by the builder, when it buffers
+     * few samples, are the same as the samples kept in memory
+     *
+     * @throws IOException
+     *             If the index cannot be written or read
+     */
+    @Test
+    public void testSpill() throws IOException {
+        File memoryFile = File.createTempFile("perf-sampling-memory", ".idx");
+        try {
+            PerfSamplingIndex.Builder memoryBuilder = new PerfSamplingIndex.Builder();
+            PerfSamplingIndex.Builder spillBuilder = new PerfSamplingIndex.Builder(3);
+            for (int i = 0; i < 100; i++) {
+                int tid = i % 7 == 0 ? 1 : 2 + i % 3;
+                long[] stack = new long[] { 0x1, i % 5 };
+                memoryBuilder.addSample(tid, tid / 2, 10L * i, stack);
+                spillBuilder.addSample(tid, tid / 2, 10L * i, stack);
+            }
+            try (PerfSamplingIndex memoryIndex = memoryBuilder.write(memoryFile, SIGNATURE);
+                    PerfSamplingIndex spillIndex = spillBuilder.write(fFile, SIGNATURE)) {
+                for (int tid = 1; tid <= 5; tid++) {
+                    for (long[] range : new long[][] { { 0L, Long.MAX_VALUE }, { 15L, 500L }, { 700L, 990L } }) {
+                        List<Sample> expected = getSamples(memoryIndex, tid, range[0], range[1]);
+                        List<Sample> actual = getSamples(spillIndex, tid, range[0], range[1]);
+                        assertEquals(expected.size(), actual.size());
+                        for (int i = 0; i < expected.size(); i++) {
+                            assertEquals(expected.get(i).fTimestamp, actual.get(i).fTimestamp);
+                            assertEquals(expected.get(i).fPid, actual.get(i).fPid);
+                            assertArrayEquals(expected.get(i).fStack, actual.get(i).fStack);
+                        }
+                    }
+                }
+                assertEquals(15, getSamples(spillIndex, 1, 0L, Long.MAX_VALUE).size());
+            }
+        } finally {
+            memoryFile.delete();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.perf.profiling.core.tests.symbol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.perf.profiling.core.symbol.PerfMmapAnalysisModule;
+import org.eclipse.tracecompass.incubator.internal.perf.profiling.core.symbol.PerfMmapSymbolProvider;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.statesystem.core.StateSystemFactory;
+import org.eclipse.tracecompass.statesystem.core.backend.StateHistoryBackendFactory;
+import org.eclipse.tracecompass.tmf.core.symbols.TmfResolvedSymbol;
+import org.eclipse.tracecompass.tmf.tests.stubs.trace.TmfTraceStub;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link PerfMmapSymbolProvider} with a mmap state system built by
+ * hand, with files that do not exist, so the symbols are the mappings
+ * themselves
+ */
+public class PerfMmapSymbolProviderTest {
+
+    private static final int PID = 42;
+    private static final String LIB_A = "/not/a/file/liba.so";
+    private static final String LIB_B = "/not/a/file/libb.so";
+    private static final String LIB_C = "/not/a/file/libc.so";
+    private static final String LIB_D = "/not/a/file/libd.so";
+
+    private ITmfStateSystemBuilder fStateSystem;
+    private PerfMmapAnalysisModule fModule;
+    private TmfTraceStub fTrace;
+    private PerfMmapSymbolProvider fProvider;
+
+    /**
+     * Map libraries in a process, in an order that is neither the order of the
+     * base addresses nor the alphabetical order of the attribute names
+     */
+    @Before
+    public void setUp() {
+        ITmfStateSystemBuilder ss = StateSystemFactory.newStateSystem(StateHistoryBackendFactory.createInMemoryBackend(PerfMmapAnalysisModule.ID, 0L));
+        ss.modifyAttribute(1L, LIB_C, ss.getQuarkAbsoluteAndAdd(String.valueOf(PID), String.valueOf(0x9000L)));
+        ss.modifyAttribute(2L, LIB_A, ss.getQuarkAbsoluteAndAdd(String.valueOf(PID), String.valueOf(0x1000L)));
+        ss.modifyAttribute(3L, LIB_B, ss.getQuarkAbsoluteAndAdd(String.valueOf(PID), String.valueOf(0x5000L)));
+        fStateSystem = ss;
+        fModule = new PerfMmapAnalysisModule() {
+            @Override
+            public @Nullable ITmfStateSystem getStateSystem() {
+                return ss;
+            }
+        };
+        fTrace = new TmfTraceStub();
+        fProvider = new PerfMmapSymbolProvider(fTrace, fModule);
+    }
+
+    /**
+     * Dispose the module and the trace
+     */
+    @After
+    public void tearDown() {
+        fModule.dispose();
+        fTrace.dispose();
+        fStateSystem.dispose();
+    }
+
+    private void assertMapping(long timestamp, long address, long expectedBase, String expectedFile) {
+        TmfResolvedSymbol symbol = fProvider.getSymbol(PID, timestamp, address);
+        assertNotNull("address " + address, symbol);
+        assertEquals("base address of " + address, expectedBase, symbol.getBaseAddress());
+        assertEquals("file of " + address, expectedFile, symbol.getSymbolName());
+    }
+
+    /**
+     * Test that an address is resolved to the mapping with the greatest base
+     * address below it
+     */
+    @Test
+    public void testMappings() {
+        assertNull(fProvider.getSymbol(PID, 3L, 0xfffL));
+        assertMapping(3L, 0x1000L, 0x1000L, LIB_A);
+        assertMapping(3L, 0x4fffL, 0x1000L, LIB_A);
+        assertMapping(3L, 0x5000L, 0x5000L, LIB_B);
+        assertMapping(3L, 0x8fffL, 0x5000L, LIB_B);
+        assertMapping(3L, 0x9000L, 0x9000L, LIB_C);
+        assertMapping(3L, Long.MAX_VALUE, 0x9000L, LIB_C);
+        assertNull(fProvider.getSymbol(PID + 1, 3L, 0x1000L));
+    }
+
+    /**
+     * Test that the mappings of a process are read again once a mapping was
+     * added to the state system, and that a new library at the same base
+     * address is found at the time of the address
+     */
+    @Test
+    public void testNewMappings() {
+        assertMapping(3L, 0x7000L, 0x5000L, LIB_B);
+
+        // A new mapping adds an attribute
+        fStateSystem.modifyAttribute(4L, LIB_D, fStateSystem.getQuarkAbsoluteAndAdd(String.valueOf(PID), String.valueOf(0x7000L)));
+        assertMapping(4L, 0x7000L, 0x7000L, LIB_D);
+        assertMapping(4L, 0x6fffL, 0x5000L, LIB_B);
+
+        // A new library at the same base address does not add an attribute
+        fStateSystem.modifyAttribute(5L, LIB_A, fStateSystem.getQuarkAbsoluteAndAdd(String.valueOf(PID), String.valueOf(0x7000L)));
+        assertMapping(5L, 0x7000L, 0x7000L, LIB_A);
+        assertMapping(4L, 0x7000L, 0x7000L, LIB_D);
+
+        // A new process
+        assertNull(fProvider.getSymbol(PID + 1, 5L, 0x1000L));
+        fStateSystem.modifyAttribute(6L, LIB_B, fStateSystem.getQuarkAbsoluteAndAdd(String.valueOf(PID + 1), String.valueOf(0x1000L)));
+        assertMapping(6L, 0x1fffL, 0x1000L, LIB_A);
+        TmfResolvedSymbol symbol = fProvider.getSymbol(PID + 1, 6L, 0x1fffL);
+        assertNotNull(symbol);
+        assertEquals(LIB_B, symbol.getSymbolName());
+    }
+}
@@ -11,12 +11,20 @@
 
 package org.eclipse.tracecompass.incubator.internal.perf.profiling.core.callgraph;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
@@ -27,6 +35,7 @@ import org.eclipse.tracecompass.analysis.profiling.core.instrumented.CallStackGr
 import org.eclipse.tracecompass.analysis.profiling.core.model.ISamplingDataProvider;
 import org.eclipse.tracecompass.analysis.profiling.core.sampled.callgraph.ProfilingCallGraphAnalysisModule;
 import org.eclipse.tracecompass.analysis.profiling.core.tree.IWeightedTreeGroupDescriptor;
+import org.eclipse.tracecompass.incubator.internal.perf.profiling.core.Activator;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
@@ -35,9 +44,11 @@ import org.eclipse.tracecompass.tmf.core.request.TmfEventRequest;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimeRange;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
 import org.eclipse.tracecompass.tmf.core.util.Pair;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 
@@ -58,8 +69,26 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
     private static final String FIELD_PERF_PID = "perf_pid"; //$NON-NLS-1$
     private static final String FIELD_PERF_TID = "perf_tid"; //$NON-NLS-1$
 
+    /** The number of samples aggregated by each task in parallel mode */
+    private static final int BATCH_SIZE = 4096;
+    /** Whether the samples are aggregated on worker threads */
+    private static final boolean PARALLEL = ForkJoinPool.getCommonPoolParallelism() > 1;
+
     private final CallStackGroupDescriptor fThreadDescriptor;
     private final CallStackGroupDescriptor fProcessDescriptor;
+    /*
+     * The elements are kept in maps with boxed keys: the bundle has no
+     * primitive collection library, and the pid and tid fields of the samples
+     * are already read as boxed values.
+     */
+    /** The process elements, by pid */
+    private final Map<Long, ICallStackElement> fProcesses = new ConcurrentHashMap<>();
+    /** The thread elements, by pid and tid, see {@link #getThreadKey} */
+    private final Map<Long, ICallStackElement> fThreads = new ConcurrentHashMap<>();
+    private @Nullable PerfSamplingIndex fSamplingIndex = null;
+    /** The request building the sampling index, while it is being built */
+    private @Nullable PerfSamplingIndexRequest fSamplingIndexRequest = null;
+    private boolean fSamplingIndexFailed = false;
     // private final ProfilingGroup fGroupNode = new ProfilingGroup("Data",
     // CallGraphAllGroupDescriptor.getInstance());
 
@@ -82,63 +111,81 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
         if (field == null) {
             return null;
         }
-        long[] value = (long[]) field.getValue();
-        int size = value.length;
-        long tmp;
-        // Reverse the stack so that element at position 0 is the bottom
-        for (int i = 0, mid = size >> 1, j = size - 1; i < mid; i++, j--) {
-            tmp = value[i];
-            value[i] = value[j];
-            value[j] = tmp;
-        }
+        long[] stack = getStack((long[]) field.getValue());
         ICallStackElement element = getElement(event);
-        return new Pair<>(element, getCallSite(element, value, event.getTimestamp().getValue()));
+        return new Pair<>(element, getCallSite(element, stack, event.getTimestamp().getValue()));
+    }
+
+    /**
+     * Reverse the callchain so that element at position 0 is the bottom. The
+     * field value is not modified, the same event may be read by other
+     * requests.
+     */
+    private static long[] getStack(long[] callchain) {
+        int size = callchain.length;
+        long[] stack = new long[size];
+        for (int i = 0; i < size; i++) {
+            stack[i] = callchain[size - 1 - i];
+        }
+        return stack;
+    }
+
+    private static long getThreadKey(long pid, long tid) {
+        return (pid << 32) | (tid & 0xffffffffL);
     }
 
     /**
+     * Get the thread element of the sample, creating it and its process
+     * element if needed. The elements are found by pid and tid in maps, since
+     * this is called for every sample.
+     *
      * @param event
+     *            The sampling event
+     * @return The thread element
      */
     private ICallStackElement getElement(ITmfEvent event) {
-        // Find a root elements with the same PID
-        Collection<ICallStackElement> rootElements = getRootElements();
         Long pidField = event.getContent().getFieldValue(Long.class, FIELD_PERF_PID);
-        Long pid = pidField == null ? -1 : pidField;
         Long tidField = event.getContent().getFieldValue(Long.class, FIELD_PERF_TID);
-        Long tid = tidField == null ? -1 : tidField;
-        Optional<ICallStackElement> process = rootElements.stream()
-                .filter(e -> e.getName().equals(String.valueOf(pid)))
-                .findFirst();
-        if (!process.isPresent()) {
-            // Process is null, create both process and thread elements and return
-            ICallStackElement processEl = new CallStackElement(String.valueOf(pid), fProcessDescriptor, fThreadDescriptor, null) {
-
-                @Override
-                protected int retrieveSymbolKeyAt(long time) {
-                    return pid.intValue();
-                }
+        return getElement(pidField == null ? -1 : pidField, tidField == null ? -1 : tidField);
+    }
 
-            };
-            ICallStackElement threadEl = new CallStackElement(String.valueOf(tid), fThreadDescriptor, null, processEl);
-            processEl.setSymbolKeyElement(processEl);
-            threadEl.setSymbolKeyElement(processEl);
-            processEl.addChild(threadEl);
-            addRootElement(processEl);
+    private ICallStackElement getElement(long pid, long tid) {
+        long threadKey = getThreadKey(pid, tid);
+        ICallStackElement threadEl = fThreads.get(threadKey);
+        if (threadEl != null) {
             return threadEl;
         }
-        ICallStackElement processEl = process.get();
+        // Samples may be read by many requests at once, create elements once
+        synchronized (fThreads) {
+            threadEl = fThreads.get(threadKey);
+            if (threadEl != null) {
+                return threadEl;
+            }
+            ICallStackElement processEl = fProcesses.get(pid);
+            if (processEl == null) {
+                // Process is null, create both process and thread elements
+                processEl = new CallStackElement(String.valueOf(pid), fProcessDescriptor, fThreadDescriptor, null) {
 
-        // Process exists, find a thread element under it or create it
-        Optional<ICallStackElement> thread = processEl.getChildrenElements().stream()
-                .filter(e -> e.getName().equals(String.valueOf(tid)))
-                .findFirst();
+                    @Override
+                    protected int retrieveSymbolKeyAt(long time) {
+                        return (int) pid;
+                    }
 
-        if (thread.isPresent()) {
-            return thread.get();
+                };
+                threadEl = new CallStackElement(String.valueOf(tid), fThreadDescriptor, null, processEl);
+                processEl.setSymbolKeyElement(processEl);
+                threadEl.setSymbolKeyElement(processEl);
+                processEl.addChild(threadEl);
+                addRootElement(processEl);
+                fProcesses.put(pid, processEl);
+            } else {
+                // Process exists, create the thread element under it
+                threadEl = new CallStackElement(String.valueOf(tid), fThreadDescriptor, null, processEl);
+                processEl.addChild(threadEl);
+            }
+            fThreads.put(threadKey, threadEl);
+            return threadEl;
         }
-        ICallStackElement threadEl = new CallStackElement(String.valueOf(tid), fThreadDescriptor, null, processEl);
-        processEl.addChild(threadEl);
-        return threadEl;
-
     }
 
     @Override
@@ -172,15 +219,136 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
         if (trace == null) {
             return Collections.emptyList();
         }
-        List<AggregatedCallSite> callsites = new ArrayList<>();
-        TmfEventRequest request = new PerfProfilingEventRequest(trace, start, end, tid, callsites);
+        PerfSamplingIndex index = getSamplingIndex(trace);
+        if (index != null) {
+            Map<Object, AggregatedCallSite> sites = new LinkedHashMap<>();
+            try {
+                index.getSamples(tid, start, end, (pid, timestamp, stack) -> {
+                    ICallStackElement element = getElement(pid, tid);
+                    merge(sites, getCallSite(element, stack, timestamp));
+                });
+                return new ArrayList<>(sites.values());
+            } catch (IOException e) {
+                Activator.getInstance().logWarning("Cannot read the perf sampling index, reading the trace instead", e); //$NON-NLS-1$
+            }
+        }
+        PerfProfilingEventRequest request = new PerfProfilingEventRequest(trace, start, end, tid);
         trace.sendRequest(request);
         try {
             request.waitForCompletion();
         } catch (InterruptedException e) {
 
         }
-        return callsites;
+        return request.getCallSites();
+    }
+
+    private static void merge(Map<Object, AggregatedCallSite> sites, AggregatedCallSite perfCallSite) {
+        AggregatedCallSite site = sites.get(perfCallSite.getObject());
+        if (site == null) {
+            sites.put(perfCallSite.getObject(), perfCallSite);
+        } else {
+            site.merge(perfCallSite);
+        }
+    }
+
+    /**
+     * Get the index of the samples by thread and time, opening it from the
+     * supplementary folder. The first time, the index is built in the
+     * background and the trace is read instead until the index is ready.
+     *
+     * @param trace
+     *            The trace of this analysis
+     * @return The index, or null if it is not available yet or cannot be
+     *         built
+     */
+    private synchronized @Nullable PerfSamplingIndex getSamplingIndex(ITmfTrace trace) {
+        PerfSamplingIndex index = fSamplingIndex;
+        if (index != null || fSamplingIndexFailed || fSamplingIndexRequest != null) {
+            return index;
+        }
+        File indexFile = new File(TmfTraceManager.getSupplementaryFileDir(trace), PerfSamplingIndex.FILE_NAME);
+        long signature = PerfSamplingIndex.getSignature(trace);
+        try {
+            index = PerfSamplingIndex.open(indexFile, signature);
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("Cannot open the perf sampling index: " + indexFile, e); //$NON-NLS-1$
+        }
+        if (index == null) {
+            PerfSamplingIndexRequest request = new PerfSamplingIndexRequest(indexFile, signature);
+            fSamplingIndexRequest = request;
+            trace.sendRequest(request);
+            return null;
+        }
+        fSamplingIndex = index;
+        return index;
+    }
+
+    /**
+     * Keep the sampling index built by a request, unless the module was
+     * disposed since the request was sent
+     *
+     * @param request
+     *            The request that built the index
+     * @param index
+     *            The index, or null if the request was cancelled
+     * @param failed
+     *            Whether the index cannot be built
+     */
+    private synchronized void setSamplingIndex(PerfSamplingIndexRequest request, @Nullable PerfSamplingIndex index, boolean failed) {
+        if (fSamplingIndexRequest != request) {
+            closeSamplingIndex(index);
+            return;
+        }
+        fSamplingIndexRequest = null;
+        fSamplingIndex = index;
+        fSamplingIndexFailed = failed;
+    }
+
+    /**
+     * Wait until the sampling index is built, if it is being built
+     *
+     * @return Whether the sampling index is available
+     * @throws InterruptedException
+     *             If the thread was interrupted while waiting
+     */
+    @VisibleForTesting
+    public boolean waitForSamplingIndex() throws InterruptedException {
+        PerfSamplingIndexRequest request;
+        synchronized (this) {
+            request = fSamplingIndexRequest;
+        }
+        if (request != null) {
+            request.waitForCompletion();
+        }
+        synchronized (this) {
+            return fSamplingIndex != null;
+        }
+    }
+
+    private static void closeSamplingIndex(@Nullable PerfSamplingIndex index) {
+        if (index != null) {
+            try {
+                index.close();
+            } catch (IOException e) {
+                Activator.getInstance().logWarning("Cannot close the perf sampling index", e); //$NON-NLS-1$
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        PerfSamplingIndexRequest request;
+        synchronized (this) {
+            request = fSamplingIndexRequest;
+            fSamplingIndexRequest = null;
+            closeSamplingIndex(fSamplingIndex);
+            fSamplingIndex = null;
+        }
+        // The request deletes its spill file when it completes
+        if (request != null) {
+            request.cancel();
+        }
     }
 
     @Override
@@ -192,11 +360,88 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
         return Collections.singleton(trace.getHostId());
     }
 
+    /**
+     * Request reading all the samples of the trace to build the sampling
+     * index, which is written when the request completes
+     */
+    private class PerfSamplingIndexRequest extends TmfEventRequest {
+
+        private final PerfSamplingIndex.Builder fBuilder = new PerfSamplingIndex.Builder();
+        private final File fIndexFile;
+        private final long fSignature;
+        private @Nullable IOException fException = null;
+
+        public PerfSamplingIndexRequest(File indexFile, long signature) {
+            super(TmfEvent.class,
+                    TmfTimeRange.ETERNITY,
+                    0,
+                    ITmfEventRequest.ALL_DATA,
+                    ITmfEventRequest.ExecutionType.BACKGROUND);
+            fIndexFile = indexFile;
+            fSignature = signature;
+        }
+
+        @Override
+        public void handleData(final ITmfEvent event) {
+            super.handleData(event);
+            if (!event.getName().startsWith(EVENT_SAMPLING)) {
+                return;
+            }
+            ITmfEventField field = event.getContent().getField(FIELD_PERF_CALLCHAIN);
+            if (field == null) {
+                return;
+            }
+            Long pidField = event.getContent().getFieldValue(Long.class, FIELD_PERF_PID);
+            Long tidField = event.getContent().getFieldValue(Long.class, FIELD_PERF_TID);
+            int pid = pidField == null ? -1 : pidField.intValue();
+            int tid = tidField == null ? -1 : tidField.intValue();
+            try {
+                fBuilder.addSample(tid, pid, event.getTimestamp().toNanos(), getStack((long[]) field.getValue()));
+            } catch (IOException e) {
+                fException = e;
+                cancel();
+            }
+        }
+
+        @Override
+        public void handleCompleted() {
+            super.handleCompleted();
+            PerfSamplingIndex index = null;
+            IOException exception = fException;
+            try {
+                if (exception == null && !isCancelled() && !isFailed()) {
+                    index = fBuilder.write(fIndexFile, fSignature);
+                }
+            } catch (IOException e) {
+                exception = e;
+            } finally {
+                try {
+                    fBuilder.close();
+                } catch (IOException e) {
+                    Activator.getInstance().logWarning("Cannot delete the perf sampling spill file", e); //$NON-NLS-1$
+                }
+            }
+            if (exception != null) {
+                Activator.getInstance().logWarning("Cannot build the perf sampling index: " + fIndexFile, exception); //$NON-NLS-1$
+            }
+            setSamplingIndex(this, index, exception != null);
+        }
+    }
+
+    /**
+     * Request aggregating the samples of a thread in a time range. In parallel
+     * mode, the samples are aggregated by batches on worker threads, and the
+     * aggregated call sites of the batches are merged in the order of the
+     * batches, which gives the same result as aggregating them in order.
+     */
     private class PerfProfilingEventRequest extends TmfEventRequest {
 
         private final int fTid;
         private final ITmfTrace fTrace;
-        private final List<AggregatedCallSite> fSites;
+        /** The aggregated call sites, by object, in order of first sample */
+        private final Map<Object, AggregatedCallSite> fSites = new LinkedHashMap<>();
+        private final Deque<Future<Map<Object, AggregatedCallSite>>> fBatchResults = new ArrayDeque<>();
+        private List<ITmfEvent> fBatch = new ArrayList<>(BATCH_SIZE);
 
         /**
          * Constructor
@@ -209,10 +454,8 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
          *            The end time of the request
          * @param tid
          *            The tid for which to get the samples
-         * @param callsites
-         *            A list of callsites to fill
          */
-        public PerfProfilingEventRequest(ITmfTrace trace, long start, long end, int tid, List<AggregatedCallSite> callsites) {
+        public PerfProfilingEventRequest(ITmfTrace trace, long start, long end, int tid) {
             super(TmfEvent.class,
                     new TmfTimeRange(TmfTimestamp.fromNanos(start), TmfTimestamp.fromNanos(end)),
                     0,
@@ -220,7 +463,6 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
                     ITmfEventRequest.ExecutionType.BACKGROUND);
             fTid = tid;
             fTrace = trace;
-            fSites = callsites;
         }
 
         @Override
@@ -247,18 +489,69 @@ public class PerfCallchainAnalysisModule extends ProfilingCallGraphAnalysisModul
             if (tid.intValue() != fTid) {
                 return;
             }
+            if (!PARALLEL) {
+                aggregate(fSites, event);
+                return;
+            }
+            fBatch.add(event);
+            if (fBatch.size() >= BATCH_SIZE) {
+                submitBatch();
+            }
+        }
+
+        private void submitBatch() {
+            List<ITmfEvent> batch = fBatch;
+            fBatch = new ArrayList<>(BATCH_SIZE);
+            fBatchResults.add(ForkJoinPool.commonPool().submit(() -> {
+                Map<Object, AggregatedCallSite> sites = new LinkedHashMap<>();
+                for (ITmfEvent event : batch) {
+                    aggregate(sites, event);
+                }
+                return sites;
+            }));
+            // Do not keep more batches in memory than can be aggregated
+            while (fBatchResults.size() > ForkJoinPool.getCommonPoolParallelism()) {
+                mergeBatch();
+            }
+        }
+
+        private void mergeBatch() {
+            Future<Map<Object, AggregatedCallSite>> result = fBatchResults.poll();
+            if (result == null) {
+                return;
+            }
+            try {
+                for (AggregatedCallSite site : result.get().values()) {
+                    merge(fSites, site);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Activator.getInstance().logError("Error aggregating the perf samples", e); //$NON-NLS-1$
+            }
+        }
+
+        private void aggregate(Map<Object, AggregatedCallSite> sites, ITmfEvent event) {
             Pair<ICallStackElement, AggregatedCallSite> stackTrace = getProfiledStackTrace(event);
             if (stackTrace == null) {
                 return;
             }
-            AggregatedCallSite perfCallSite = stackTrace.getSecond();
-            for (AggregatedCallSite site : fSites) {
-                if (site.getObject().equals(perfCallSite.getObject())) {
-                    site.merge(perfCallSite);
-                    return;
-                }
+            merge(sites, stackTrace.getSecond());
+        }
+
+        /**
+         * Get the aggregated call sites, once the request is completed
+         *
+         * @return The aggregated call sites
+         */
+        public Collection<AggregatedCallSite> getCallSites() {
+            if (!fBatch.isEmpty()) {
+                submitBatch();
+            }
+            while (!fBatchResults.isEmpty()) {
+                mergeBatch();
             }
-            fSites.add(perfCallSite);
+            return new ArrayList<>(fSites.values());
         }
     }
 
@@ -0,0 +1,543 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.perf.profiling.core.callgraph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
+
+import com.google.common.annotations.VisibleForTesting;
+
+/**
+ * An index of the perf samples by thread and time, kept in the supplementary
+ * folder of the trace, so that getting the samples of a thread in a time range
+ * does not read the trace again.
+ * <p>
+ * The callchains are interned: the index keeps each distinct stack once, with
+ * the bottom of the stack at position 0, and the samples refer to it by ID.
+ * The samples of each thread are stored in a block of the file, sorted by
+ * time, with the times, stack IDs and process IDs in three arrays. Only the
+ * stacks and the position of the blocks are kept in memory; the times of a
+ * block are binary searched in the file.
+ * <p>
+ * The index is only used if the trace files have the same sizes and
+ * modification times as when it was written.
+ */
+public final class PerfSamplingIndex implements AutoCloseable {
+
+    /** The name of the index file in the supplementary folder */
+    public static final String FILE_NAME = "perf-sampling.idx"; //$NON-NLS-1$
+
+    private static final int MAGIC = 0x50534958; // PSIX
+    private static final int VERSION = 1;
+    /** The maximum number of samples read from the file at once */
+    private static final int CHUNK_SIZE = 65536;
+
+    /**
+     * Consumer of the samples read from the index
+     */
+    @FunctionalInterface
+    public interface ISampleConsumer {
+        /**
+         * Consume a sample
+         *
+         * @param pid
+         *            The process ID of the sample
+         * @param timestamp
+         *            The time of the sample, in nanoseconds
+         * @param stack
+         *            The callchain, bottom of the stack first. It is shared by
+         *            all the samples with the same stack and must not be
+         *            modified.
+         */
+        void accept(int pid, long timestamp, long[] stack);
+    }
+
+    /** The samples of a thread in the file */
+    private static final class Block {
+        private final long fOffset;
+        private final int fCount;
+
+        private Block(long offset, int count) {
+            fOffset = offset;
+            fCount = count;
+        }
+    }
+
+    private final FileChannel fChannel;
+    private final List<long[]> fStacks;
+    private final Map<Integer, Block> fBlocks;
+
+    private PerfSamplingIndex(FileChannel channel, List<long[]> stacks, Map<Integer, Block> blocks) {
+        fChannel = channel;
+        fStacks = stacks;
+        fBlocks = blocks;
+    }
+
+    /**
+     * Open an index file
+     *
+     * @param indexFile
+     *            The index file
+     * @param signature
+     *            The signature of the trace, from {@link #getSignature}
+     * @return The index, or null if the file does not exist or is not for this
+     *         version of the trace
+     * @throws IOException
+     *             If the file cannot be read
+     */
+    public static @Nullable PerfSamplingIndex open(File indexFile, long signature) throws IOException {
+        if (!indexFile.exists()) {
+            return null;
+        }
+        List<long[]> stacks;
+        Map<Integer, Block> blocks;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != signature) {
+                return null;
+            }
+            int stackCount = in.readInt();
+            stacks = new ArrayList<>(stackCount);
+            for (int i = 0; i < stackCount; i++) {
+                long[] stack = new long[in.readInt()];
+                for (int j = 0; j < stack.length; j++) {
+                    stack[j] = in.readLong();
+                }
+                stacks.add(stack);
+            }
+            int tidCount = in.readInt();
+            blocks = new HashMap<>();
+            for (int i = 0; i < tidCount; i++) {
+                int tid = in.readInt();
+                int count = in.readInt();
+                long offset = in.readLong();
+                blocks.put(tid, new Block(offset, count));
+            }
+        }
+        return new PerfSamplingIndex(FileChannel.open(indexFile.toPath(), StandardOpenOption.READ), stacks, blocks);
+    }
+
+    /**
+     * Get the samples of a thread in a time range, in time order
+     *
+     * @param tid
+     *            The thread ID
+     * @param start
+     *            The start of the range, in nanoseconds, inclusive
+     * @param end
+     *            The end of the range, in nanoseconds, inclusive
+     * @param consumer
+     *            The consumer of the samples
+     * @throws IOException
+     *             If the index file cannot be read
+     */
+    public void getSamples(int tid, long start, long end, ISampleConsumer consumer) throws IOException {
+        Block block = fBlocks.get(tid);
+        if (block == null || start > end) {
+            return;
+        }
+        int first = lowerBound(block, start);
+        int last = end == Long.MAX_VALUE ? block.fCount : lowerBound(block, end + 1);
+        long stacksOffset = block.fOffset + (long) Long.BYTES * block.fCount;
+        long pidsOffset = stacksOffset + (long) Integer.BYTES * block.fCount;
+        for (int chunk = first; chunk < last; chunk += CHUNK_SIZE) {
+            int count = Math.min(CHUNK_SIZE, last - chunk);
+            ByteBuffer times = read(block.fOffset + (long) Long.BYTES * chunk, Long.BYTES * count);
+            ByteBuffer stackIds = read(stacksOffset + (long) Integer.BYTES * chunk, Integer.BYTES * count);
+            ByteBuffer pids = read(pidsOffset + (long) Integer.BYTES * chunk, Integer.BYTES * count);
+            for (int i = 0; i < count; i++) {
+                consumer.accept(pids.getInt(), times.getLong(), fStacks.get(stackIds.getInt()));
+            }
+        }
+    }
+
+    /**
+     * Get the index of the first sample of a block at or after a time
+     */
+    private int lowerBound(Block block, long time) throws IOException {
+        int low = 0;
+        int high = block.fCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (read(block.fOffset + (long) Long.BYTES * mid, Long.BYTES).getLong() < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (fChannel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated perf sampling index"); //$NON-NLS-1$
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fChannel.close();
+    }
+
+    /**
+     * Get a signature of the files of a trace, from their sizes and
+     * modification times, to know if an index is still valid for the trace
+     *
+     * @param trace
+     *            The trace, or experiment
+     * @return The signature
+     */
+    public static long getSignature(ITmfTrace trace) {
+        long signature = 17;
+        if (trace instanceof TmfExperiment) {
+            for (ITmfTrace child : ((TmfExperiment) trace).getTraces()) {
+                signature = signature * 31 + getSignature(child);
+            }
+            return signature;
+        }
+        File file = new File(trace.getPath());
+        File[] files = file.isDirectory() ? file.listFiles() : new File[] { file };
+        if (files == null) {
+            return signature;
+        }
+        Arrays.sort(files);
+        for (File child : files) {
+            signature = signature * 31 + child.getName().hashCode();
+            signature = signature * 31 + child.length();
+            signature = signature * 31 + child.lastModified();
+        }
+        return signature;
+    }
+
+    /**
+     * Builder of the index, receiving the samples in time order.
+     * <p>
+     * The samples of each thread are buffered in memory. When too many samples
+     * are buffered, the buffers are written to a temporary spill file as
+     * chunks, and the chunks of each thread are copied to its block when the
+     * index is written. The memory used by the builder is thus bounded, except
+     * for the distinct stacks, which the index keeps in memory anyway.
+     */
+    public static final class Builder implements AutoCloseable {
+
+        /** The maximum number of samples buffered before they are spilled */
+        private static final int MAX_BUFFERED_SAMPLES = 1 << 20;
+        private static final int SAMPLE_SIZE = Long.BYTES + Integer.BYTES * 2;
+
+        /**
+         * The samples of a thread: the chunks in the spill file, followed by
+         * the samples buffered in growable arrays
+         */
+        private static final class ThreadSamples {
+            private final List<Block> fChunks = new ArrayList<>();
+            private long[] fTimes = new long[16];
+            private int[] fStackIds = new int[16];
+            private int[] fPids = new int[16];
+            private int fSize = 0;
+            private int fCount = 0;
+
+            private void add(long time, int stackId, int pid) {
+                if (fSize == fTimes.length) {
+                    int capacity = fSize * 2;
+                    fTimes = Arrays.copyOf(fTimes, capacity);
+                    fStackIds = Arrays.copyOf(fStackIds, capacity);
+                    fPids = Arrays.copyOf(fPids, capacity);
+                }
+                fTimes[fSize] = time;
+                fStackIds[fSize] = stackId;
+                fPids[fSize] = pid;
+                fSize++;
+                fCount++;
+            }
+
+            private void writeTimes(DataOutputStream out) throws IOException {
+                for (int i = 0; i < fSize; i++) {
+                    out.writeLong(fTimes[i]);
+                }
+            }
+
+            private void writeStackIds(DataOutputStream out) throws IOException {
+                for (int i = 0; i < fSize; i++) {
+                    out.writeInt(fStackIds[i]);
+                }
+            }
+
+            private void writePids(DataOutputStream out) throws IOException {
+                for (int i = 0; i < fSize; i++) {
+                    out.writeInt(fPids[i]);
+                }
+            }
+        }
+
+        /** Key of the interned stacks */
+        private static final class StackKey {
+            private final long[] fStack;
+            private final int fHash;
+
+            private StackKey(long[] stack) {
+                fStack = stack;
+                fHash = Arrays.hashCode(stack);
+            }
+
+            @Override
+            public int hashCode() {
+                return fHash;
+            }
+
+            @Override
+            public boolean equals(@Nullable Object obj) {
+                return obj instanceof StackKey && Arrays.equals(fStack, ((StackKey) obj).fStack);
+            }
+        }
+
+        private final Map<StackKey, Integer> fStackIds = new HashMap<>();
+        private final List<long[]> fStacks = new ArrayList<>();
+        private final Map<Integer, ThreadSamples> fThreads = new LinkedHashMap<>();
+        private final int fMaxBuffered;
+        private int fBuffered = 0;
+        private @Nullable File fSpillFile = null;
+        private @Nullable DataOutputStream fSpill = null;
+        private long fSpillPosition = 0;
+
+        /**
+         * Constructor
+         */
+        public Builder() {
+            this(MAX_BUFFERED_SAMPLES);
+        }
+
+        /**
+         * Constructor with the maximum number of samples buffered in memory
+         *
+         * @param maxBuffered
+         *            The maximum number of buffered samples
+         */
+        @VisibleForTesting
+        public Builder(int maxBuffered) {
+            if (maxBuffered < 1) {
+                throw new IllegalArgumentException("Invalid number of buffered samples: " + maxBuffered); //$NON-NLS-1$
+            }
+            fMaxBuffered = maxBuffered;
+        }
+
+        /**
+         * Add a sample. The samples of a thread must be added in time order.
+         *
+         * @param tid
+         *            The thread ID
+         * @param pid
+         *            The process ID
+         * @param timestamp
+         *            The time of the sample, in nanoseconds
+         * @param stack
+         *            The callchain, bottom of the stack first
+         * @throws IOException
+         *             If the buffered samples cannot be spilled to disk
+         */
+        public void addSample(int tid, int pid, long timestamp, long[] stack) throws IOException {
+            StackKey key = new StackKey(stack);
+            Integer stackId = fStackIds.get(key);
+            if (stackId == null) {
+                stackId = fStacks.size();
+                fStacks.add(stack);
+                fStackIds.put(key, stackId);
+            }
+            fThreads.computeIfAbsent(tid, t -> new ThreadSamples()).add(timestamp, stackId, pid);
+            fBuffered++;
+            if (fBuffered >= fMaxBuffered) {
+                spill();
+            }
+        }
+
+        /**
+         * Write the buffered samples of all the threads to the spill file, as
+         * a chunk for each thread
+         */
+        private void spill() throws IOException {
+            DataOutputStream spill = fSpill;
+            if (spill == null) {
+                File spillFile = File.createTempFile("perf-sampling", ".spill"); //$NON-NLS-1$ //$NON-NLS-2$
+                fSpillFile = spillFile;
+                spill = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spillFile.toPath())));
+                fSpill = spill;
+            }
+            for (ThreadSamples samples : fThreads.values()) {
+                if (samples.fSize == 0) {
+                    continue;
+                }
+                samples.writeTimes(spill);
+                samples.writeStackIds(spill);
+                samples.writePids(spill);
+                samples.fChunks.add(new Block(fSpillPosition, samples.fSize));
+                fSpillPosition += (long) SAMPLE_SIZE * samples.fSize;
+                // Release the buffer, the thread may not have more samples
+                samples.fTimes = new long[16];
+                samples.fStackIds = new int[16];
+                samples.fPids = new int[16];
+                samples.fSize = 0;
+            }
+            fBuffered = 0;
+        }
+
+        /**
+         * Write the index file and open it. The samples of the threads are
+         * not kept by the builder anymore.
+         *
+         * @param indexFile
+         *            The index file
+         * @param signature
+         *            The signature of the trace, from {@link #getSignature}
+         * @return The index
+         * @throws IOException
+         *             If the file cannot be written
+         */
+        public PerfSamplingIndex write(File indexFile, long signature) throws IOException {
+            File tmpFile = new File(indexFile.getPath() + ".tmp"); //$NON-NLS-1$
+            try {
+                DataOutputStream spill = fSpill;
+                if (spill != null) {
+                    spill.close();
+                    fSpill = null;
+                }
+                File spillFile = fSpillFile;
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath())));
+                        FileChannel spillChannel = spillFile == null ? null : FileChannel.open(spillFile.toPath(), StandardOpenOption.READ)) {
+                    long position = 0;
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeLong(signature);
+                    out.writeInt(fStacks.size());
+                    position += Integer.BYTES * 3 + Long.BYTES;
+                    for (long[] stack : fStacks) {
+                        out.writeInt(stack.length);
+                        for (long address : stack) {
+                            out.writeLong(address);
+                        }
+                        position += Integer.BYTES + (long) Long.BYTES * stack.length;
+                    }
+                    out.writeInt(fThreads.size());
+                    position += Integer.BYTES + (long) (Integer.BYTES * 2 + Long.BYTES) * fThreads.size();
+                    // The blocks of the threads follow the directory
+                    for (Map.Entry<Integer, ThreadSamples> entry : fThreads.entrySet()) {
+                        ThreadSamples samples = entry.getValue();
+                        out.writeInt(entry.getKey());
+                        out.writeInt(samples.fCount);
+                        out.writeLong(position);
+                        position += (long) SAMPLE_SIZE * samples.fCount;
+                    }
+                    for (ThreadSamples samples : fThreads.values()) {
+                        writeBlock(samples, spillChannel, out);
+                    }
+                }
+                Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                tmpFile.delete();
+                close();
+            }
+            PerfSamplingIndex index = open(indexFile, signature);
+            if (index == null) {
+                throw new IOException("Cannot open the perf sampling index: " + indexFile); //$NON-NLS-1$
+            }
+            return index;
+        }
+
+        /**
+         * Write the block of a thread: the times, stack IDs and process IDs of
+         * the chunks in the spill file followed by the ones of the buffer
+         */
+        private static void writeBlock(ThreadSamples samples, @Nullable FileChannel spillChannel, DataOutputStream out) throws IOException {
+            copyChunks(samples, spillChannel, 0, Long.BYTES, out);
+            samples.writeTimes(out);
+            copyChunks(samples, spillChannel, Long.BYTES, Integer.BYTES, out);
+            samples.writeStackIds(out);
+            copyChunks(samples, spillChannel, Long.BYTES + Integer.BYTES, Integer.BYTES, out);
+            samples.writePids(out);
+        }
+
+        /**
+         * Copy an array of each chunk of a thread from the spill file
+         */
+        private static void copyChunks(ThreadSamples samples, @Nullable FileChannel spillChannel, int arrayOffset, int valueSize, DataOutputStream out) throws IOException {
+            for (Block chunk : samples.fChunks) {
+                if (spillChannel == null) {
+                    throw new IOException("Missing perf sampling spill file"); //$NON-NLS-1$
+                }
+                copy(spillChannel, chunk.fOffset + (long) arrayOffset * chunk.fCount, (long) valueSize * chunk.fCount, out);
+            }
+        }
+
+        private static void copy(FileChannel channel, long position, long length, DataOutputStream out) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, CHUNK_SIZE * Long.BYTES));
+            long copied = 0;
+            while (copied < length) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), length - copied));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + copied + buffer.position()) < 0) {
+                        throw new EOFException("Truncated perf sampling spill file"); //$NON-NLS-1$
+                    }
+                }
+                out.write(buffer.array(), 0, buffer.limit());
+                copied += buffer.limit();
+            }
+        }
+
+        /**
+         * Delete the spill file, if any. The builder cannot be used after.
+         *
+         * @throws IOException
+         *             If the spill file cannot be closed
+         */
+        @Override
+        public void close() throws IOException {
+            fThreads.clear();
+            fBuffered = 0;
+            try {
+                DataOutputStream spill = fSpill;
+                fSpill = null;
+                if (spill != null) {
+                    spill.close();
+                }
+            } finally {
+                File spillFile = fSpillFile;
+                fSpillFile = null;
+                if (spillFile != null) {
+                    Files.deleteIfExists(spillFile.toPath());
+                }
+            }
+        }
+    }
+}
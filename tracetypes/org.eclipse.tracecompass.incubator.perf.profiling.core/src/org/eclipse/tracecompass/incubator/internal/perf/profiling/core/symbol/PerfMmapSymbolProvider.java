@@ -14,14 +14,11 @@ package org.eclipse.tracecompass.incubator.internal.perf.profiling.core.symbol;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.NavigableMap;
-import java.util.TreeMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.annotation.NonNull;
@@ -30,20 +27,63 @@ import org.eclipse.tracecompass.incubator.internal.perf.profiling.core.Activator
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
 import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
 import org.eclipse.tracecompass.statesystem.core.exceptions.TimeRangeException;
-import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
 import org.eclipse.tracecompass.tmf.core.symbols.IMappingFile;
 import org.eclipse.tracecompass.tmf.core.symbols.ISymbolProvider;
 import org.eclipse.tracecompass.tmf.core.symbols.TmfResolvedSymbol;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 
 /**
+ * Symbol provider using the mmap events of a perf trace to find the library
+ * mapped at an address of a process.
+ * <p>
+ * The base addresses of the mappings of each process are kept sorted, so
+ * finding the mapping of an address is a binary search followed by a single
+ * state system query.
+ *
  * @author Geneviève Bastien
  */
 public class PerfMmapSymbolProvider implements ISymbolProvider {
 
     private final PerfMmapAnalysisModule fMmapModule;
     private final ITmfTrace fTrace;
-    private final Map<String, IMappingFile> fSymbolMapping = new HashMap<>();
+    private final Map<String, IMappingFile> fSymbolMapping = new ConcurrentHashMap<>();
+    private final Map<Integer, ProcessMappings> fProcessMappings = new ConcurrentHashMap<>();
+
+    /**
+     * The base addresses of the mappings of a process, sorted, with the quark
+     * of each mapping
+     */
+    private static final class ProcessMappings {
+        private final int fNbAttributes;
+        private final long[] fBaseAddresses;
+        private final int[] fQuarks;
+
+        private ProcessMappings(ITmfStateSystem stateSystem, int pidQuark) {
+            fNbAttributes = stateSystem.getNbAttributes();
+            List<Integer> baddrQuarks = stateSystem.getSubAttributes(pidQuark, false);
+            long[][] mappings = new long[baddrQuarks.size()][];
+            for (int i = 0; i < mappings.length; i++) {
+                int quark = baddrQuarks.get(i);
+                mappings[i] = new long[] { Long.parseLong(stateSystem.getAttributeName(quark)), quark };
+            }
+            Arrays.sort(mappings, Comparator.comparingLong(mapping -> mapping[0]));
+            fBaseAddresses = new long[mappings.length];
+            fQuarks = new int[mappings.length];
+            for (int i = 0; i < mappings.length; i++) {
+                fBaseAddresses[i] = mappings[i][0];
+                fQuarks[i] = (int) mappings[i][1];
+            }
+        }
+
+        /**
+         * Get the index of the mapping with the greatest base address less
+         * than or equal to an address
+         */
+        private int floor(long address) {
+            int index = Arrays.binarySearch(fBaseAddresses, address);
+            return index < 0 ? -index - 2 : index;
+        }
+    }
 
     /**
      * Constructor
@@ -66,47 +106,49 @@ public class PerfMmapSymbolProvider implements ISymbolProvider {
 
     @Override
     public @Nullable TmfResolvedSymbol getSymbol(int pid, long timestamp, long address) {
-        PerfMmapAnalysisModule mmapModule = fMmapModule;
-        ITmfStateSystem stateSystem = mmapModule.getStateSystem();
+        ITmfStateSystem stateSystem = fMmapModule.getStateSystem();
         if (stateSystem == null) {
             return null;
         }
-        // Get the quark for the process
-        int pidQuark = stateSystem.optQuarkAbsolute(String.valueOf(pid));
-        if (pidQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+        ProcessMappings mappings = getProcessMappings(stateSystem, pid);
+        if (mappings == null) {
+            return null;
+        }
+        int index = mappings.floor(address);
+        if (index < 0) {
             return null;
         }
-        // Get the potential base addresses for the requested address
-        List<Integer> baddrQuarks = stateSystem.getSubAttributes(pidQuark, false);
-        baddrQuarks = baddrQuarks.stream()
-                .filter(quark -> {
-                    String baddrStr = stateSystem.getAttributeName(quark.intValue());
-                    long baddr = Long.parseLong(baddrStr);
-                    return baddr <= address;
-                })
-                .collect(Collectors.toList());
-
-        Iterable<ITmfStateInterval> intervals;
         try {
-            intervals = stateSystem.query2D(baddrQuarks, Collections.singleton(timestamp));
-            NavigableMap<Long, ITmfStateInterval> map = new TreeMap<>();
-            for (ITmfStateInterval interval : intervals) {
-                String baddrStr = stateSystem.getAttributeName(interval.getAttribute());
-                long baddr = Long.parseLong(baddrStr);
-                map.put(baddr, interval);
-            }
-            Entry<Long, ITmfStateInterval> lastEntry = map.lastEntry();
-            if (lastEntry == null) {
-                return null;
-            }
-            String filename = String.valueOf(lastEntry.getValue().getValue());
-            TmfResolvedSymbol symbol = getSymbolInFile(pid, filename, address, lastEntry.getKey());
-            return symbol == null ? new TmfResolvedSymbol(lastEntry.getKey(), filename) : symbol;
+            String filename = String.valueOf(stateSystem.querySingleState(timestamp, mappings.fQuarks[index]).getValue());
+            return getSymbol(pid, filename, address, mappings.fBaseAddresses[index]);
         } catch (IndexOutOfBoundsException | TimeRangeException | StateSystemDisposedException e) {
             Activator.getInstance().logWarning("Exceptions while getting perf mmap symbol", e); //$NON-NLS-1$
             return getSymbol(address);
         }
+    }
+
+    /**
+     * Get the sorted mappings of a process. They are read again if attributes
+     * were added to the state system since, while it is being built.
+     */
+    private @Nullable ProcessMappings getProcessMappings(ITmfStateSystem stateSystem, int pid) {
+        ProcessMappings mappings = fProcessMappings.get(pid);
+        if (mappings != null && mappings.fNbAttributes == stateSystem.getNbAttributes()) {
+            return mappings;
+        }
+        // Get the quark for the process
+        int pidQuark = stateSystem.optQuarkAbsolute(String.valueOf(pid));
+        if (pidQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            return null;
+        }
+        mappings = new ProcessMappings(stateSystem, pidQuark);
+        fProcessMappings.put(pid, mappings);
+        return mappings;
+    }
 
+    private TmfResolvedSymbol getSymbol(int pid, String filename, long address, long baseAddress) {
+        TmfResolvedSymbol symbol = getSymbolInFile(pid, filename, address, baseAddress);
+        return symbol == null ? new TmfResolvedSymbol(baseAddress, filename) : symbol;
     }
 
     private @Nullable TmfResolvedSymbol getSymbolInFile(int pid, String filename, long address, long offset) {
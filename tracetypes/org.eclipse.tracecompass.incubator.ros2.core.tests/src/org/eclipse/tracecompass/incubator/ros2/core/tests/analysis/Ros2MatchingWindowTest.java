@@ -0,0 +1,105 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.ros2.core.tests.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.eclipse.tracecompass.incubator.internal.ros2.core.analysis.messages.Ros2MatchingWindow;
+import org.junit.Test;
+
+/**
+ * Tests for {@link Ros2MatchingWindow}
+ */
+public class Ros2MatchingWindowTest {
+
+    /**
+     * Test that messages are evicted once they are older than the window
+     */
+    @Test
+    public void testTimeWindow() {
+        Ros2MatchingWindow<String, String> window = new Ros2MatchingWindow<>(100L, 10);
+        window.put("a", "A", 0L);
+        window.put("b", "B", 50L);
+        assertEquals("A", window.get("a"));
+        window.put("c", "C", 100L);
+        assertEquals(3, window.size());
+
+        window.put("d", "D", 101L);
+        assertNull(window.get("a"));
+        assertEquals("B", window.get("b"));
+        assertEquals(3, window.size());
+        assertEquals(1, window.getEvictedCount());
+        assertEquals(0, window.getUnmatchedCount());
+
+        window.evict(201L);
+        assertEquals(1, window.size());
+        assertEquals(3, window.getEvictedCount());
+        assertEquals(1, window.getUnmatchedCount());
+        assertEquals(2, window.getTotalUnmatchedCount());
+    }
+
+    /**
+     * Test that the oldest messages are evicted when the window is full
+     */
+    @Test
+    public void testMaxSize() {
+        Ros2MatchingWindow<Integer, Integer> window = new Ros2MatchingWindow<>(Long.MAX_VALUE, 3);
+        for (int i = 0; i < 10; i++) {
+            window.put(i, i, i);
+        }
+        assertEquals(3, window.size());
+        assertNull(window.get(6));
+        assertEquals(Integer.valueOf(7), window.get(7));
+        assertEquals(7, window.getEvictedCount());
+        assertEquals(7, window.getUnmatchedCount());
+        assertEquals(9, window.getTotalUnmatchedCount());
+    }
+
+    /**
+     * Test that a message added again with the same key replaces the older one
+     * and becomes the most recent
+     */
+    @Test
+    public void testSameKey() {
+        Ros2MatchingWindow<String, String> window = new Ros2MatchingWindow<>(100L, 2);
+        window.put("a", "A1", 0L);
+        window.put("b", "B", 10L);
+        window.put("a", "A2", 20L);
+        assertEquals(2, window.size());
+        assertEquals(1, window.getEvictedCount());
+
+        window.put("c", "C", 30L);
+        assertNull(window.get("b"));
+        assertEquals("A2", window.get("a"));
+    }
+
+    /**
+     * Test that a removed message is neither evicted nor unmatched
+     */
+    @Test
+    public void testRemove() {
+        Ros2MatchingWindow<String, String> window = new Ros2MatchingWindow<>(100L, 10);
+        window.put("a", "A", 0L);
+        window.put("b", "B", 10L);
+        assertEquals("A", window.remove("a"));
+        assertNull(window.remove("a"));
+        assertNull(window.get("a"));
+        assertEquals(1, window.size());
+
+        window.evict(200L);
+        assertNull(window.remove("b"));
+        assertEquals(1, window.getEvictedCount());
+        assertEquals(1, window.getUnmatchedCount());
+        assertEquals(1, window.getTotalUnmatchedCount());
+    }
+}
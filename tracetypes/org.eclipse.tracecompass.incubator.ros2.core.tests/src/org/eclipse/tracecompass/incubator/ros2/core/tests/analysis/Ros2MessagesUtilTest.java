@@ -0,0 +1,47 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.ros2.core.tests.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.eclipse.tracecompass.incubator.internal.ros2.core.analysis.messages.Ros2MessagesAnalysis;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.analysis.messages.Ros2MessagesUtil;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.statesystem.core.StateSystemFactory;
+import org.eclipse.tracecompass.statesystem.core.backend.StateHistoryBackendFactory;
+import org.junit.Test;
+
+/**
+ * Tests for the counts of unmatched messages of {@link Ros2MessagesUtil}
+ */
+public class Ros2MessagesUtilTest {
+
+    /**
+     * Test that the counts of unmatched messages saved at the end of the trace
+     * are read back, and that the counts that were not saved are unknown
+     */
+    @Test
+    public void testUnmatchedCounts() {
+        ITmfStateSystemBuilder ss = StateSystemFactory.newStateSystem(StateHistoryBackendFactory.createInMemoryBackend(Ros2MessagesAnalysis.getFullAnalysisId(), 0L));
+        assertNull(Ros2MessagesUtil.getUnmatchedCount(ss, Ros2MessagesUtil.UNMATCHED_PUBLICATIONS));
+
+        ss.modifyAttribute(100L, 3L, Ros2MessagesUtil.getUnmatchedQuarkAndAdd(ss, Ros2MessagesUtil.UNMATCHED_PUBLICATIONS));
+        ss.modifyAttribute(100L, 0L, Ros2MessagesUtil.getUnmatchedQuarkAndAdd(ss, Ros2MessagesUtil.UNMATCHED_TAKES));
+        ss.closeHistory(100L);
+
+        assertEquals(Long.valueOf(3L), Ros2MessagesUtil.getUnmatchedCount(ss, Ros2MessagesUtil.UNMATCHED_PUBLICATIONS));
+        assertEquals(Long.valueOf(0L), Ros2MessagesUtil.getUnmatchedCount(ss, Ros2MessagesUtil.UNMATCHED_TAKES));
+        assertNull(Ros2MessagesUtil.getUnmatchedCount(ss, Ros2MessagesUtil.UNMATCHED_REQUESTS));
+        ss.dispose();
+    }
+}
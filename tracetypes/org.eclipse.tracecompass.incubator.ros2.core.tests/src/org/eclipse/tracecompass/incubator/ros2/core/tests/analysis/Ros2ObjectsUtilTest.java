@@ -0,0 +1,175 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.ros2.core.tests.analysis;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.analysis.objects.Ros2ObjectsAnalysis;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.analysis.objects.Ros2ObjectsUtil;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.HostInfo;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.HostProcess;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.HostProcessPointer;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.objects.Gid;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.objects.Ros2NodeObject;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.objects.Ros2ObjectHandle;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.objects.Ros2PublisherObject;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.objects.Ros2SubscriptionObject;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystemBuilder;
+import org.eclipse.tracecompass.statesystem.core.StateSystemFactory;
+import org.eclipse.tracecompass.statesystem.core.backend.StateHistoryBackendFactory;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
+import org.junit.Test;
+
+/**
+ * Tests for the lookups of {@link Ros2ObjectsUtil}, which use a cache of the
+ * objects state system once it is completely built
+ */
+public class Ros2ObjectsUtilTest {
+
+    private static final long END = 100L;
+
+    private final @NonNull HostProcess fProcess = new HostProcess(new HostInfo("hostid", "hostname"), 1L);
+    private final @NonNull Ros2ObjectHandle fNode = new Ros2ObjectHandle(fProcess, 0x1L);
+    /** Destroyed, then recreated with another rmw handle */
+    private final @NonNull Ros2ObjectHandle fSub1 = new Ros2ObjectHandle(fProcess, 0x10L);
+    /** Created with the rmw handle of the destroyed subscription */
+    private final @NonNull Ros2ObjectHandle fSub2 = new Ros2ObjectHandle(fProcess, 0x20L);
+    private final @NonNull Ros2ObjectHandle fPub = new Ros2ObjectHandle(fProcess, 0x30L);
+    private final @NonNull Ros2ObjectHandle fUnknown = new Ros2ObjectHandle(fProcess, 0x40L);
+    private final @NonNull Ros2ObjectHandle fRmw1 = new Ros2ObjectHandle(fProcess, 0x100L);
+    private final @NonNull Ros2ObjectHandle fRmw2 = new Ros2ObjectHandle(fProcess, 0x200L);
+
+    private Ros2SubscriptionObject createSubscription(@NonNull Ros2ObjectHandle handle, @NonNull Ros2ObjectHandle rmwHandle, @NonNull String topic) {
+        return new Ros2SubscriptionObject(handle, rmwHandle, topic, fNode, new Gid(new long[] { handle.getHandle() }),
+                new HostProcessPointer(fProcess, 0x1000L), new HostProcessPointer(fProcess, 0x2000L), new HostProcessPointer(fProcess, 0x3000L));
+    }
+
+    /**
+     * Build an objects state system, without closing it
+     */
+    private ITmfStateSystemBuilder buildStateSystem() {
+        ITmfStateSystemBuilder ss = StateSystemFactory.newStateSystem(StateHistoryBackendFactory.createInMemoryBackend(Ros2ObjectsAnalysis.getFullAnalysisId(), 0L));
+        ss.modifyAttribute(5L, "4.1.0", Ros2ObjectsUtil.getTracetoolsVersionQuarkAndAdd(ss, fProcess));
+        ss.modifyAttribute(10L, new Ros2NodeObject(fNode, "node", "trace"), Ros2ObjectsUtil.getNodeQuarkAndAdd(ss, fNode));
+
+        int sub1Quark = Ros2ObjectsUtil.getSubscriptionQuarkAndAdd(ss, fSub1);
+        ss.modifyAttribute(20L, createSubscription(fSub1, fRmw1, "/topic"), sub1Quark);
+        ss.modifyAttribute(30L, new Ros2PublisherObject(fPub, new Ros2ObjectHandle(fProcess, 0x300L), "/topic", fNode, new Gid(new long[] { 3L }), new HostProcessPointer(fProcess, 0x4000L)),
+                Ros2ObjectsUtil.getPublisherQuarkAndAdd(ss, fPub));
+        ss.modifyAttribute(50L, null, sub1Quark);
+        ss.modifyAttribute(60L, createSubscription(fSub2, fRmw1, "/topic"), Ros2ObjectsUtil.getSubscriptionQuarkAndAdd(ss, fSub2));
+        ss.modifyAttribute(70L, createSubscription(fSub1, fRmw2, "/other_topic"), sub1Quark);
+        return ss;
+    }
+
+    private static @Nullable Object query(ITmfStateSystem ss, long timestamp, String... attribute) throws StateSystemDisposedException {
+        int quark = ss.optQuarkAbsolute(attribute);
+        return quark == ITmfStateSystem.INVALID_ATTRIBUTE ? null : ss.querySingleState(timestamp, quark).getValue();
+    }
+
+    private static @Nullable Ros2ObjectHandle findSubscription(ITmfStateSystem ss, long timestamp, Ros2ObjectHandle rmwHandle) throws StateSystemDisposedException {
+        for (Integer quark : ss.getQuarks("Subscriptions", "*")) {
+            Ros2SubscriptionObject subscription = (Ros2SubscriptionObject) ss.querySingleState(timestamp, quark).getValue();
+            if (subscription != null && subscription.getRmwHandle().equals(rmwHandle)) {
+                return subscription.getHandle();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the results of all the lookups at each timestamp until the end
+     */
+    private List<@Nullable Object> lookupAll(ITmfStateSystem ss, long end) {
+        List<@Nullable Object> results = new ArrayList<>();
+        for (long t = 0; t <= end; t++) {
+            results.add(Ros2ObjectsUtil.getTracetoolsVersion(ss, t, fProcess));
+            results.add(Ros2ObjectsUtil.getNodeObjectFromHandle(ss, t, fNode));
+            results.add(Ros2ObjectsUtil.getSubscriptionObjectFromHandle(ss, t, fSub1));
+            results.add(Ros2ObjectsUtil.getSubscriptionObjectFromHandle(ss, t, fSub2));
+            results.add(Ros2ObjectsUtil.getSubscriptionObjectFromHandle(ss, t, fUnknown));
+            results.add(Ros2ObjectsUtil.getPublisherObjectFromHandle(ss, t, fPub));
+            results.add(Ros2ObjectsUtil.getSubscriptionHandleFromRmwSubscriptionHandle(ss, t, fRmw1));
+            results.add(Ros2ObjectsUtil.getSubscriptionHandleFromRmwSubscriptionHandle(ss, t, fRmw2));
+        }
+        return results;
+    }
+
+    /**
+     * Test that the lookups in the complete state system give the same
+     * results as direct queries, including for an object that is destroyed
+     * and recreated
+     *
+     * @throws StateSystemDisposedException
+     *             if the state system is disposed
+     */
+    @Test
+    public void testLookups() throws StateSystemDisposedException {
+        ITmfStateSystemBuilder ss = buildStateSystem();
+        ss.closeHistory(END);
+        assertTrue(ss.waitUntilBuilt(0));
+
+        for (long t = 0; t <= END; t++) {
+            assertEquals(query(ss, t, "Version", fProcess.getStringId()), Ros2ObjectsUtil.getTracetoolsVersion(ss, t, fProcess));
+            assertEquals(query(ss, t, "Nodes", fNode.getStringId()), Ros2ObjectsUtil.getNodeObjectFromHandle(ss, t, fNode));
+            assertEquals(query(ss, t, "Subscriptions", fSub1.getStringId()), Ros2ObjectsUtil.getSubscriptionObjectFromHandle(ss, t, fSub1));
+            assertEquals(query(ss, t, "Subscriptions", fSub2.getStringId()), Ros2ObjectsUtil.getSubscriptionObjectFromHandle(ss, t, fSub2));
+            assertEquals(query(ss, t, "Publishers", fPub.getStringId()), Ros2ObjectsUtil.getPublisherObjectFromHandle(ss, t, fPub));
+            assertNull(Ros2ObjectsUtil.getSubscriptionObjectFromHandle(ss, t, fUnknown));
+            assertEquals(findSubscription(ss, t, fRmw1), Ros2ObjectsUtil.getSubscriptionHandleFromRmwSubscriptionHandle(ss, t, fRmw1));
+            assertEquals(findSubscription(ss, t, fRmw2), Ros2ObjectsUtil.getSubscriptionHandleFromRmwSubscriptionHandle(ss, t, fRmw2));
+        }
+
+        // The destroyed and recreated subscription
+        assertNull(Ros2ObjectsUtil.getSubscriptionObjectFromHandle(ss, 10L, fSub1));
+        Ros2SubscriptionObject subscription = Ros2ObjectsUtil.getSubscriptionObjectFromHandle(ss, 20L, fSub1);
+        assertNotNull(subscription);
+        assertEquals("/topic", subscription.getTopicName());
+        assertNull(Ros2ObjectsUtil.getSubscriptionObjectFromHandle(ss, 50L, fSub1));
+        subscription = Ros2ObjectsUtil.getSubscriptionObjectFromHandle(ss, END, fSub1);
+        assertNotNull(subscription);
+        assertEquals("/other_topic", subscription.getTopicName());
+
+        // The rmw handle of the destroyed subscription is reused
+        assertEquals(fSub1, Ros2ObjectsUtil.getSubscriptionHandleFromRmwSubscriptionHandle(ss, 49L, fRmw1));
+        assertNull(Ros2ObjectsUtil.getSubscriptionHandleFromRmwSubscriptionHandle(ss, 55L, fRmw1));
+        assertEquals(fSub2, Ros2ObjectsUtil.getSubscriptionHandleFromRmwSubscriptionHandle(ss, 60L, fRmw1));
+        assertNull(Ros2ObjectsUtil.getSubscriptionHandleFromRmwSubscriptionHandle(ss, 69L, fRmw2));
+        assertEquals(fSub1, Ros2ObjectsUtil.getSubscriptionHandleFromRmwSubscriptionHandle(ss, 70L, fRmw2));
+    }
+
+    /**
+     * Test that the lookups give the same results whether the state system is
+     * being built, and queried directly, or complete, and cached
+     */
+    @Test
+    public void testBuiltAndNotBuilt() {
+        ITmfStateSystemBuilder ss = buildStateSystem();
+        assertFalse(ss.waitUntilBuilt(0));
+        // A state system being built can only be queried until its last change
+        long end = ss.getCurrentEndTime();
+        List<@Nullable Object> direct = lookupAll(ss, end);
+        ss.closeHistory(END);
+        assertTrue(ss.waitUntilBuilt(0));
+        assertEquals(direct, lookupAll(ss, end));
+    }
+}
@@ -0,0 +1,83 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.ros2.core.tests.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.HostInfo;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.HostProcess;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.messagelinks.Ros2MessageCausalLink;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.messagelinks.Ros2MessageCausalLinkType;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.messagelinks.Ros2MessageCausalLinksModel;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.objects.Ros2ObjectHandle;
+import org.junit.Test;
+
+/**
+ * Tests for {@link Ros2MessageCausalLinksModel}
+ */
+public class Ros2MessageCausalLinksModelTest {
+
+    @NonNull
+    HostProcess hostProcess = new HostProcess(new HostInfo("hostid", "hostname"), 1L);
+    @NonNull
+    Ros2ObjectHandle sub1 = new Ros2ObjectHandle(hostProcess, 0x10L);
+    @NonNull
+    Ros2ObjectHandle sub2 = new Ros2ObjectHandle(hostProcess, 0x20L);
+    @NonNull
+    Ros2ObjectHandle pub1 = new Ros2ObjectHandle(hostProcess, 0x30L);
+    @NonNull
+    Ros2ObjectHandle pub2 = new Ros2ObjectHandle(hostProcess, 0x40L);
+    @NonNull
+    Ros2ObjectHandle unknown = new Ros2ObjectHandle(hostProcess, 0x50L);
+
+    /**
+     * Test getting the links of publishers and subscriptions.
+     */
+    @Test
+    public void testGetLinks() {
+        Ros2MessageCausalLinksModel model = new Ros2MessageCausalLinksModel();
+        model.addLink(List.of(sub1), List.of(pub1, pub2), Ros2MessageCausalLinkType.PERIODIC_ASYNC);
+        model.addLink(List.of(sub1, sub2), List.of(pub2), Ros2MessageCausalLinkType.PARTIAL_SYNC);
+
+        Ros2MessageCausalLink link1 = new Ros2MessageCausalLink(List.of(sub1), List.of(pub1, pub2), Ros2MessageCausalLinkType.PERIODIC_ASYNC);
+        Ros2MessageCausalLink link2 = new Ros2MessageCausalLink(List.of(sub1, sub2), List.of(pub2), Ros2MessageCausalLinkType.PARTIAL_SYNC);
+
+        assertEquals(List.of(link1), new ArrayList<>(model.getLinksForPub(pub1)));
+        assertEquals(List.of(link1, link2), new ArrayList<>(model.getLinksForPub(pub2)));
+        assertEquals(List.of(link1, link2), new ArrayList<>(model.getLinksForSub(sub1)));
+        assertEquals(List.of(link2), new ArrayList<>(model.getLinksForSub(sub2)));
+
+        assertTrue(model.getLinksForPub(sub1).isEmpty());
+        assertTrue(model.getLinksForSub(pub1).isEmpty());
+        assertTrue(model.getLinksForPub(unknown).isEmpty());
+        assertTrue(model.getLinksForSub(unknown).isEmpty());
+    }
+
+    /**
+     * Test that the returned links are not affected by links added later.
+     */
+    @Test
+    public void testLinksSnapshot() {
+        Ros2MessageCausalLinksModel model = new Ros2MessageCausalLinksModel();
+        model.addLink(List.of(sub1), List.of(pub1), Ros2MessageCausalLinkType.PERIODIC_ASYNC);
+        Collection<@NonNull Ros2MessageCausalLink> links = model.getLinksForPub(pub1);
+        model.addLink(List.of(sub2), List.of(pub1), Ros2MessageCausalLinkType.PERIODIC_ASYNC);
+        assertEquals(1, links.size());
+        assertEquals(2, model.getLinksForPub(pub1).size());
+    }
+}
@@ -0,0 +1,190 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ros2.core.analysis.messages;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Bounded map of the messages (publications, requests, responses) waiting to
+ * be matched with their reception, or of the instances (takes, callback
+ * starts) waiting to be matched with their end.
+ *
+ * A message can be received by any number of subscriptions, so it cannot be
+ * removed when it is matched, while an instance is removed once it is matched.
+ * Messages that are dropped or never taken, and instances that never end,
+ * would otherwise stay in memory until the end of the trace. Entries are
+ * therefore evicted, oldest first, once they are older than the time window or
+ * when the number of entries exceeds the maximum size. Entries evicted without
+ * ever being matched are counted.
+ *
+ * Entries must be added in non-decreasing timestamp order, which is the order
+ * in which a state provider receives the events.
+ *
+ * @param <K>
+ *            the type of the message key
+ * @param <V>
+ *            the type of the message information
+ */
+public class Ros2MatchingWindow<K, V> {
+
+    private static final class Entry<V> {
+        private final V fValue;
+        private final long fTimestamp;
+        private boolean fMatched = false;
+
+        private Entry(V value, long timestamp) {
+            fValue = value;
+            fTimestamp = timestamp;
+        }
+    }
+
+    private final long fWindow;
+    private final int fMaxSize;
+    /** Entries, from the oldest to the most recent */
+    private final Map<K, Entry<V>> fEntries = new LinkedHashMap<>();
+    private long fEvictedCount = 0;
+    private long fUnmatchedCount = 0;
+
+    /**
+     * Constructor
+     *
+     * @param window
+     *            the time window, in nanoseconds, after which a message is
+     *            evicted
+     * @param maxSize
+     *            the maximum number of messages to keep
+     */
+    public Ros2MatchingWindow(long window, int maxSize) {
+        if (window < 0 || maxSize < 1) {
+            throw new IllegalArgumentException("Invalid matching window: window=" + window + ", maxSize=" + maxSize); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        fWindow = window;
+        fMaxSize = maxSize;
+    }
+
+    /**
+     * Add a message, evicting the messages that fall out of the window.
+     *
+     * @param key
+     *            the message key
+     * @param value
+     *            the message information
+     * @param timestamp
+     *            the timestamp of the message
+     */
+    public void put(K key, V value, long timestamp) {
+        // Re-insert to keep the entries ordered by timestamp
+        Entry<V> previous = fEntries.remove(key);
+        if (previous != null) {
+            evicted(previous);
+        }
+        fEntries.put(key, new Entry<>(value, timestamp));
+        evict(timestamp);
+    }
+
+    /**
+     * Get a message and mark it as matched, without removing it.
+     *
+     * @param key
+     *            the message key
+     * @return the message information, or <code>null</code> if the message is
+     *         unknown or was evicted
+     */
+    public @Nullable V get(K key) {
+        Entry<V> entry = fEntries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.fMatched = true;
+        return entry.fValue;
+    }
+
+    /**
+     * Remove a message that is matched only once. A removed message is not
+     * counted as evicted or unmatched.
+     *
+     * @param key
+     *            the message key
+     * @return the message information, or <code>null</code> if the message is
+     *         unknown or was evicted
+     */
+    public @Nullable V remove(K key) {
+        Entry<V> entry = fEntries.remove(key);
+        return entry == null ? null : entry.fValue;
+    }
+
+    /**
+     * Evict the messages that are older than the window or that exceed the
+     * maximum size.
+     *
+     * @param timestamp
+     *            the current timestamp
+     */
+    public void evict(long timestamp) {
+        Iterator<Entry<V>> it = fEntries.values().iterator();
+        while (it.hasNext()) {
+            Entry<V> entry = it.next();
+            if (fEntries.size() <= fMaxSize && timestamp - entry.fTimestamp <= fWindow) {
+                return;
+            }
+            it.remove();
+            evicted(entry);
+        }
+    }
+
+    private void evicted(Entry<V> entry) {
+        fEvictedCount++;
+        if (!entry.fMatched) {
+            fUnmatchedCount++;
+        }
+    }
+
+    /**
+     * @return the number of messages currently in the window
+     */
+    public int size() {
+        return fEntries.size();
+    }
+
+    /**
+     * @return the number of messages evicted so far
+     */
+    public long getEvictedCount() {
+        return fEvictedCount;
+    }
+
+    /**
+     * @return the number of messages evicted so far without ever having been
+     *         matched
+     */
+    public long getUnmatchedCount() {
+        return fUnmatchedCount;
+    }
+
+    /**
+     * @return the number of messages, evicted or still in the window, that have
+     *         never been matched
+     */
+    public long getTotalUnmatchedCount() {
+        long count = fUnmatchedCount;
+        for (Entry<V> entry : fEntries.values()) {
+            if (!entry.fMatched) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
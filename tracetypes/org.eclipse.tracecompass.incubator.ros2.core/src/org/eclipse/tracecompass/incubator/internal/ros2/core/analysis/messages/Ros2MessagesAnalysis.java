@@ -15,6 +15,7 @@ import java.util.Collections;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.incubator.internal.ros2.core.analysis.AbstractRos2StateSystemAnalysis;
 import org.eclipse.tracecompass.incubator.internal.ros2.core.analysis.objects.Ros2ObjectsAnalysis;
 import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
@@ -66,6 +67,26 @@ public class Ros2MessagesAnalysis extends AbstractRos2StateSystemAnalysis {
         return new Ros2MessagesStateProvider(trace, Objects.requireNonNull(ss));
     }
 
+    /**
+     * Get the number of messages or instances of a kind that were never
+     * matched, once the analysis is complete. A high number means that many
+     * messages were dropped, or that the matching window is too small for the
+     * trace.
+     *
+     * @param name
+     *            the kind of messages or instances, like
+     *            {@link Ros2MessagesUtil#UNMATCHED_PUBLICATIONS}
+     * @return the number of unmatched messages or instances, or
+     *         <code>null</code> if the analysis is not complete
+     */
+    public @Nullable Long getUnmatchedCount(@NonNull String name) {
+        ITmfStateSystem ss = getStateSystem();
+        if (ss == null || !ss.waitUntilBuilt(0)) {
+            return null;
+        }
+        return Ros2MessagesUtil.getUnmatchedCount(ss, name);
+    }
+
     @Override
     protected @NonNull Iterable<@NonNull IAnalysisModule> getDependentAnalyses() {
         ITmfTrace trace = getTrace();
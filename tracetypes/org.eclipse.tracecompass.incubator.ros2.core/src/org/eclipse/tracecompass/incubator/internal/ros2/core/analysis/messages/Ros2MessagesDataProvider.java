@@ -351,7 +351,8 @@ public class Ros2MessagesDataProvider extends AbstractTimeGraphDataProvider<@Non
         int grandParentQuark = ss.getParentAttributeQuark(quark);
         String grandParentName = grandParentQuark != ITmfStateSystem.ROOT_ATTRIBUTE ? ss.getAttributeName(grandParentQuark) : StringUtils.EMPTY;
         if (ITmfStateSystem.ROOT_ATTRIBUTE == quark) {
-            if (addEntryModel(ss, builder, childId, parentId, child, Ros2ObjectTimeGraphEntryModelType.TRACE)) {
+            // The counts of unmatched messages are not time graph entries
+            if (!name.equals(Ros2MessagesUtil.LIST_UNMATCHED) && addEntryModel(ss, builder, childId, parentId, child, Ros2ObjectTimeGraphEntryModelType.TRACE)) {
                 addChildren(ss, builder, child, childId);
             }
         } else if (parentName.equals(Ros2MessagesUtil.LIST_NODES)) {
@@ -14,9 +14,11 @@ package org.eclipse.tracecompass.incubator.internal.ros2.core.analysis.messages;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -64,7 +66,21 @@ import com.google.common.collect.Streams;
  */
 public class Ros2MessagesStateProvider extends AbstractRos2StateProvider {
 
-    private static final int VERSION_NUMBER = 0;
+    private static final int VERSION_NUMBER = 1;
+
+    /**
+     * System property for the time window, in nanoseconds, during which sent
+     * messages, requests and responses can be matched with their reception,
+     * and takes and callback starts with their callback end
+     */
+    private static final String PROPERTY_MATCHING_WINDOW = "ros2.messages.matchingWindow"; //$NON-NLS-1$
+    /**
+     * System property for the maximum number of sent messages, requests,
+     * responses, takes and callback starts, respectively, kept for matching
+     */
+    private static final String PROPERTY_MATCHING_WINDOW_SIZE = "ros2.messages.matchingWindowSize"; //$NON-NLS-1$
+    private static final long DEFAULT_MATCHING_WINDOW = 10_000_000_000L;
+    private static final long DEFAULT_MATCHING_WINDOW_SIZE = 500_000L;
 
     private final @NonNull ITmfStateSystem fObjectsSs;
     private boolean fInitialSetupDone = false;
@@ -77,20 +93,21 @@ public class Ros2MessagesStateProvider extends AbstractRos2StateProvider {
     private Map<HostProcessPointer, ITmfEvent> fDdsWritePreEvents = Maps.newHashMap();
     // Message takes
     private Map<HostProcessPointer, ITmfEvent> fRmwTakeEvents = Maps.newHashMap();
-    private Map<Ros2ObjectHandle, Ros2TakeInstance> fTakeInstances = Maps.newHashMap();
+    private final Ros2MatchingWindow<Ros2ObjectHandle, Ros2TakeInstance> fTakeInstances;
     // Callback instances
-    private Map<HostProcessPointer, ITmfEvent> fCallbackStartEvents = Maps.newHashMap();
+    private final Ros2MatchingWindow<HostProcessPointer, ITmfEvent> fCallbackStartEvents;
+    private Set<HostThread> fThreadsInCallback = new HashSet<>();
     private Multimap<HostThread, Pair<@NonNull Ros2ObjectHandle, @NonNull Long>> fCallbackPublications = MultimapBuilder.hashKeys().arrayListValues().build();
     // Pub-sub links
-    private Map<Ros2MessageTimestamp, Pair<@NonNull Ros2ObjectHandle, @NonNull Long>> fPublications = Maps.newHashMap();
+    private final Ros2MatchingWindow<Ros2MessageTimestamp, Pair<@NonNull Ros2ObjectHandle, @NonNull Long>> fPublications;
     // Requests
     private Map<Ros2ObjectHandle, Ros2ObjectHandle> fClientHandles = Maps.newHashMap();
     // Responses
     private Map<Ros2ObjectHandle, Ros2ObjectHandle> fServiceHandles = Maps.newHashMap();
     // Request links
-    private Map<Ros2Request, Pair<@NonNull Ros2ObjectHandle, @NonNull Long>> fRequests = Maps.newHashMap();
+    private final Ros2MatchingWindow<Ros2Request, Pair<@NonNull Ros2ObjectHandle, @NonNull Long>> fRequests;
     // Response links
-    private Map<Ros2Response, Pair<@NonNull Ros2ObjectHandle, @NonNull Long>> fResponses = Maps.newHashMap();
+    private final Ros2MatchingWindow<Ros2Response, Pair<@NonNull Ros2ObjectHandle, @NonNull Long>> fResponses;
 
     /**
      * Constructor
@@ -103,6 +120,29 @@ public class Ros2MessagesStateProvider extends AbstractRos2StateProvider {
     public Ros2MessagesStateProvider(ITmfTrace trace, ITmfStateSystem objectsSs) {
         super(trace, Ros2MessagesAnalysis.getFullAnalysisId());
         fObjectsSs = Objects.requireNonNull(objectsSs);
+        long window = getProperty(PROPERTY_MATCHING_WINDOW, DEFAULT_MATCHING_WINDOW);
+        int maxSize = (int) Math.min(Integer.MAX_VALUE, getProperty(PROPERTY_MATCHING_WINDOW_SIZE, DEFAULT_MATCHING_WINDOW_SIZE));
+        fPublications = new Ros2MatchingWindow<>(window, maxSize);
+        fRequests = new Ros2MatchingWindow<>(window, maxSize);
+        fResponses = new Ros2MatchingWindow<>(window, maxSize);
+        fTakeInstances = new Ros2MatchingWindow<>(window, maxSize);
+        fCallbackStartEvents = new Ros2MatchingWindow<>(window, maxSize);
+    }
+
+    private static long getProperty(String property, long defaultValue) {
+        String value = System.getProperty(property);
+        if (value != null && !value.isEmpty()) {
+            try {
+                long longValue = Long.parseLong(value);
+                if (longValue > 0) {
+                    return longValue;
+                }
+            } catch (NumberFormatException e) {
+                // Use the default value
+            }
+            Activator.getInstance().logWarning(String.format("Invalid value specified for %s: %s. Will use default value %d", property, value, defaultValue)); //$NON-NLS-1$
+        }
+        return defaultValue;
     }
 
     @Override
@@ -355,10 +395,15 @@ public class Ros2MessagesStateProvider extends AbstractRos2StateProvider {
          * https://github.com/ros2/rmw_cyclonedds/issues/377.
          */
         Ros2MessageTimestamp messageSourceTimestamp = new Ros2MessageTimestamp(pubInstance.getSourceTimestamp(), publisherObject.getTopicName());
-        fPublications.put(messageSourceTimestamp, new Pair<>(publisherObject.getHandle(), endPubTimestamp));
+        fPublications.put(messageSourceTimestamp, new Pair<>(publisherObject.getHandle(), endPubTimestamp), endPubTimestamp);
 
-        // Add publication to multimap for in-callback links
-        fCallbackPublications.put(thread, new Pair<>(publisherObject.getHandle(), pubTimestamp));
+        /**
+         * Add publication to multimap for in-callback links. Publications made
+         * outside of a callback are never used, so they are not kept.
+         */
+        if (fThreadsInCallback.contains(thread)) {
+            fCallbackPublications.put(thread, new Pair<>(publisherObject.getHandle(), pubTimestamp));
+        }
     }
 
     private void eventHandleTake(@NonNull ITmfStateSystemBuilder ss, @NonNull ITmfEvent event, long timestamp) {
@@ -410,14 +455,12 @@ public class Ros2MessagesStateProvider extends AbstractRos2StateProvider {
 
             // Create take instance object and add it to temporary map
             Ros2TakeInstance takeInstance = new Ros2TakeInstance(subscriptionHandle, tid, message, sourceTimestamp, rmwTakeTimestamp, timestamp);
-            fTakeInstances.put(subscriptionHandle, takeInstance);
+            fTakeInstances.put(subscriptionHandle, takeInstance, timestamp);
 
             /*
              * Get pub event without removing from map, since the same message
-             * can be received by more than 1 subscription.
-             *
-             * TODO drop elements from map after some time, in case the map gets
-             * too big?
+             * can be received by more than 1 subscription. Publications are
+             * dropped from the map once they fall out of the matching window.
              */
             Ros2MessageTimestamp messageSourceTimestamp = new Ros2MessageTimestamp(sourceTimestamp, subscriptionObject.getTopicName());
             Pair<@NonNull Ros2ObjectHandle, @NonNull Long> sourcePubInfo = fPublications.get(messageSourceTimestamp);
@@ -512,18 +555,21 @@ public class Ros2MessagesStateProvider extends AbstractRos2StateProvider {
         long callback = (long) getField(event, LAYOUT.fieldCallback());
 
         // Add to temporary map
-        fCallbackStartEvents.put(hostProcessPointerFrom(event, callback), event);
+        fCallbackStartEvents.put(hostProcessPointerFrom(event, callback), event, event.getTimestamp().toNanos());
 
         /**
          * Reset map that collects message publications, since we don't want the
          * publication events that happened between callback_end and
          * callback_start, i.e., outside of the callback.
          */
-        fCallbackPublications.removeAll(hostThreadFrom(event));
+        HostThread hostThread = hostThreadFrom(event);
+        fCallbackPublications.removeAll(hostThread);
+        fThreadsInCallback.add(hostThread);
     }
 
     private void eventHandleCallbackEnd(@NonNull ITmfEvent event, ITmfStateSystemBuilder ss, long timestamp) {
         HostProcessPointer callback = hostProcessPointerFrom(event, (long) getField(event, LAYOUT.fieldCallback()));
+        fThreadsInCallback.remove(hostThreadFrom(event));
 
         // Get corresponding callback_start event
         ITmfEvent callbackStart = fCallbackStartEvents.remove(callback);
@@ -672,7 +718,7 @@ public class Ros2MessagesStateProvider extends AbstractRos2StateProvider {
 
         // Save for request send/take matching
         Ros2Request requestInfo = new Ros2Request(clientObject.getGid(), sequenceNumber);
-        fRequests.put(requestInfo, new Pair<>(clientHandle, timestamp));
+        fRequests.put(requestInfo, new Pair<>(clientHandle, timestamp), timestamp);
     }
 
     private void eventHandleRequestTake(@NonNull ITmfEvent event, ITmfStateSystemBuilder ss, long timestamp) {
@@ -689,10 +735,8 @@ public class Ros2MessagesStateProvider extends AbstractRos2StateProvider {
 
         /*
          * Get request event without removing from map, since the same request
-         * can be received by more than 1 service.
-         *
-         * TODO drop elements from map after some time, in case the map gets
-         * too big?
+         * can be received by more than 1 service. Requests are dropped from
+         * the map once they fall out of the matching window.
          */
         Gid clientGid = new Gid(clientGidArray);
         Ros2Request requestInfo = new Ros2Request(clientGid, sequenceNumber);
@@ -710,7 +754,7 @@ public class Ros2MessagesStateProvider extends AbstractRos2StateProvider {
         long takeStartTime = timestamp - 5000;
         long takeEndTime = timestamp;
         Ros2TakeInstance takeInstance = new Ros2TakeInstance(serviceHandle, tid, request, sourcePubTimestamp, takeStartTime, takeEndTime);
-        fTakeInstances.put(serviceHandle, takeInstance);
+        fTakeInstances.put(serviceHandle, takeInstance, timestamp);
 
         // Create request transport instance
         Ros2MessageTransportInstance transportInstance = new Ros2MessageTransportInstance(clientHandle, serviceHandle, sourcePubTimestamp, takeStartTime);
@@ -746,7 +790,7 @@ public class Ros2MessagesStateProvider extends AbstractRos2StateProvider {
         // Save for response send/take matching
         Gid clientGid = new Gid(clientGidArray);
         Ros2Response responseInfo = new Ros2Response(new Ros2Request(clientGid, sequenceNumber), sourceTimestamp);
-        fResponses.put(responseInfo, new Pair<>(serviceHandle, timestamp));
+        fResponses.put(responseInfo, new Pair<>(serviceHandle, timestamp), timestamp);
     }
 
     private void eventHandleResponseTake(@NonNull ITmfEvent event, ITmfStateSystemBuilder ss, long timestamp) {
@@ -800,6 +844,34 @@ public class Ros2MessagesStateProvider extends AbstractRos2StateProvider {
         addTransportInstance(ss, transportInstance);
     }
 
+    @Override
+    public void done() {
+        /**
+         * Report the messages that were never received and the instances that
+         * never ended, e.g., because they were dropped or because the matching
+         * window is too small for this trace. The counts are saved in the state
+         * system, at the end of the trace, for the analysis.
+         */
+        ITmfStateSystemBuilder ss = getStateSystemBuilder();
+        if (null == ss) {
+            return;
+        }
+        long endTime = ss.getCurrentEndTime();
+        reportUnmatched(ss, endTime, Ros2MessagesUtil.UNMATCHED_PUBLICATIONS, fPublications);
+        reportUnmatched(ss, endTime, Ros2MessagesUtil.UNMATCHED_REQUESTS, fRequests);
+        reportUnmatched(ss, endTime, Ros2MessagesUtil.UNMATCHED_RESPONSES, fResponses);
+        reportUnmatched(ss, endTime, Ros2MessagesUtil.UNMATCHED_TAKES, fTakeInstances);
+        reportUnmatched(ss, endTime, Ros2MessagesUtil.UNMATCHED_CALLBACKS, fCallbackStartEvents);
+    }
+
+    private void reportUnmatched(ITmfStateSystemBuilder ss, long endTime, @NonNull String name, Ros2MatchingWindow<?, ?> window) {
+        long unmatched = window.getTotalUnmatchedCount();
+        ss.modifyAttribute(endTime, unmatched, Ros2MessagesUtil.getUnmatchedQuarkAndAdd(ss, name));
+        if (unmatched > 0) {
+            Activator.getInstance().logWarning(String.format("%d unmatched %s (%d evicted from the matching window) for trace=%s", unmatched, name, window.getEvictedCount(), getTrace().getName())); //$NON-NLS-1$
+        }
+    }
+
     private void createObjects(ITmfStateSystemBuilder ss) {
         /**
          * Get all node objects from the objects state system and create
@@ -72,6 +72,19 @@ public class Ros2MessagesUtil {
     /** Attribute name for callback-publication instances list */
     public static final @NonNull String LIST_CALLBACK_PUBLICATION = "Callback-publication"; //$NON-NLS-1$
 
+    /** Attribute name for the counts of unmatched messages and instances */
+    public static final @NonNull String LIST_UNMATCHED = "Unmatched"; //$NON-NLS-1$
+    /** Attribute name for the count of publications never received */
+    public static final @NonNull String UNMATCHED_PUBLICATIONS = "publications"; //$NON-NLS-1$
+    /** Attribute name for the count of requests never received */
+    public static final @NonNull String UNMATCHED_REQUESTS = "requests"; //$NON-NLS-1$
+    /** Attribute name for the count of responses never received */
+    public static final @NonNull String UNMATCHED_RESPONSES = "responses"; //$NON-NLS-1$
+    /** Attribute name for the count of takes without a callback */
+    public static final @NonNull String UNMATCHED_TAKES = "takes"; //$NON-NLS-1$
+    /** Attribute name for the count of callback starts without an end */
+    public static final @NonNull String UNMATCHED_CALLBACKS = "callbacks"; //$NON-NLS-1$
+
     private static final @NonNull String SS_WILDCARD = "*"; //$NON-NLS-1$
     private static final @NonNull String SS_HANDLE_PAIR_SEP = "+"; //$NON-NLS-1$
 
@@ -368,6 +381,22 @@ public class Ros2MessagesUtil {
         return ss.getQuarkAbsoluteAndAdd(getCallbackPublicationInstanceAttribute(callbackOwnerHandle, publisherHandle));
     }
 
+    /**
+     * Get the quark of the count of unmatched messages or instances of a kind
+     * and add if needed.
+     *
+     * @param ss
+     *            the messages state system
+     * @param name
+     *            the kind of messages or instances, like
+     *            {@link #UNMATCHED_PUBLICATIONS}
+     * @return the quark
+     */
+    public static int getUnmatchedQuarkAndAdd(ITmfStateSystemBuilder ss, @NonNull String name) {
+        assertStateSystem(ss);
+        return ss.getQuarkAbsoluteAndAdd(LIST_UNMATCHED, name);
+    }
+
     /**
      * Get publisher quark.
      *
@@ -1067,4 +1096,31 @@ public class Ros2MessagesUtil {
         return getCallbackPublicationInstances(ss, callbackPublicationInstanceQuarks, publicationTimestamp, publicationTimestamp + 1)
                 .filter(callbackPublicationInstance -> callbackPublicationInstance.getPublisherHandle().equals(publisherHandle) && callbackPublicationInstance.getPublicationTimestamp() == publicationTimestamp);
     }
+
+    /**
+     * Get the number of messages or instances of a kind that were never
+     * matched, e.g., messages that were dropped, or that were evicted from the
+     * matching window before being received.
+     *
+     * @param ss
+     *            the complete messages state system
+     * @param name
+     *            the kind of messages or instances, like
+     *            {@link #UNMATCHED_PUBLICATIONS}
+     * @return the number of unmatched messages or instances, or
+     *         <code>null</code> if it is not known
+     */
+    public static @Nullable Long getUnmatchedCount(ITmfStateSystem ss, @NonNull String name) {
+        assertStateSystem(ss);
+        int quark = ss.optQuarkAbsolute(LIST_UNMATCHED, name);
+        if (ITmfStateSystem.INVALID_ATTRIBUTE == quark) {
+            return null;
+        }
+        try {
+            Object count = ss.querySingleState(ss.getCurrentEndTime(), quark).getValue();
+            return count instanceof Long ? (Long) count : null;
+        } catch (StateSystemDisposedException e) {
+            return null;
+        }
+    }
 }
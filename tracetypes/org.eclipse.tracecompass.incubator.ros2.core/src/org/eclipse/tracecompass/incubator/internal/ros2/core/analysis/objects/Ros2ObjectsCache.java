@@ -0,0 +1,219 @@
+/**********************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ **********************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.ros2.core.analysis.objects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.objects.Ros2ObjectHandle;
+import org.eclipse.tracecompass.incubator.internal.ros2.core.model.objects.Ros2SubscriptionObject;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
+import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
+
+/**
+ * In-memory copy of a complete ROS 2 objects state system.
+ *
+ * The objects state system is small (objects are created once and rarely
+ * destroyed) but it is queried for every event of the messages analysis and
+ * for every segment of a message flow. The non-null intervals of each object
+ * list are read once with a single 2D query, and the quarks are looked up once
+ * per handle, so that the queries then only need a hash lookup and a binary
+ * search in the intervals of the object.
+ *
+ * The cache is only used once the state system is completely built, since it
+ * cannot change afterwards. The instances do not keep a reference to their
+ * state system, which is passed to each query instead.
+ */
+final class Ros2ObjectsCache {
+
+    private static final Map<ITmfStateSystem, Ros2ObjectsCache> CACHES = new WeakHashMap<>();
+
+    /** Object list attribute -> (handle -> quark) */
+    private final Map<String, Map<Object, Integer>> fQuarks = new HashMap<>();
+    /** Object list attribute -> (quark -> non-null intervals, by start time) */
+    private final Map<String, Map<Integer, List<@NonNull ITmfStateInterval>>> fIntervals = new HashMap<>();
+    /** Rmw subscription handle -> subscription intervals */
+    private @Nullable Map<Ros2ObjectHandle, List<@NonNull ITmfStateInterval>> fRmwSubscriptions = null;
+
+    private Ros2ObjectsCache() {
+        // Use get()
+    }
+
+    /**
+     * Get the cache of an objects state system.
+     *
+     * @param ss
+     *            the objects state system
+     * @return the cache, or <code>null</code> if the state system is not
+     *         completely built yet, in which case it should be queried directly
+     */
+    public static @Nullable Ros2ObjectsCache get(ITmfStateSystem ss) {
+        if (!ss.waitUntilBuilt(0)) {
+            return null;
+        }
+        synchronized (CACHES) {
+            return CACHES.computeIfAbsent(ss, s -> new Ros2ObjectsCache());
+        }
+    }
+
+    /**
+     * Get the quark of an object, looking it up in the state system only the
+     * first time.
+     *
+     * @param ss
+     *            the objects state system
+     * @param objectListAttribute
+     *            the attribute of the object list, used as key of the cache
+     * @param handle
+     *            the handle of the object
+     * @param attribute
+     *            the supplier of the full path of the object attribute, only
+     *            called if the handle is not in the cache
+     * @return the quark, or {@link ITmfStateSystem#INVALID_ATTRIBUTE}
+     */
+    public synchronized int getQuark(ITmfStateSystem ss, String objectListAttribute, Object handle, Supplier<String[]> attribute) {
+        Map<Object, Integer> quarks = fQuarks.computeIfAbsent(objectListAttribute, a -> new HashMap<>());
+        Integer quark = quarks.get(handle);
+        if (quark == null) {
+            quark = ss.optQuarkAbsolute(attribute.get());
+            quarks.put(handle, quark);
+        }
+        return quark;
+    }
+
+    /**
+     * Get the non-null intervals of the objects of a list.
+     *
+     * @param ss
+     *            the objects state system
+     * @param objectListAttribute
+     *            the attribute of the object list
+     * @return the non-null intervals of each quark, sorted by start time, with
+     *         the quarks in the order of the state system
+     * @throws StateSystemDisposedException
+     *             if the state system is disposed
+     */
+    public synchronized Map<Integer, List<@NonNull ITmfStateInterval>> getIntervals(ITmfStateSystem ss, String objectListAttribute) throws StateSystemDisposedException {
+        Map<Integer, List<@NonNull ITmfStateInterval>> intervals = fIntervals.get(objectListAttribute);
+        if (intervals != null) {
+            return intervals;
+        }
+        intervals = new LinkedHashMap<>();
+        List<@NonNull Integer> quarks = ss.getQuarks(objectListAttribute, "*"); //$NON-NLS-1$
+        for (Integer quark : quarks) {
+            intervals.put(quark, new ArrayList<>(1));
+        }
+        if (!quarks.isEmpty()) {
+            for (ITmfStateInterval interval : ss.query2D(quarks, ss.getStartTime(), ss.getCurrentEndTime())) {
+                if (interval.getValue() != null) {
+                    List<@NonNull ITmfStateInterval> quarkIntervals = intervals.get(interval.getAttribute());
+                    if (quarkIntervals != null) {
+                        quarkIntervals.add(interval);
+                    }
+                }
+            }
+        }
+        intervals.replaceAll((quark, quarkIntervals) -> {
+            quarkIntervals.sort((i1, i2) -> Long.compare(i1.getStartTime(), i2.getStartTime()));
+            return Collections.unmodifiableList(quarkIntervals);
+        });
+        fIntervals.put(objectListAttribute, intervals);
+        return intervals;
+    }
+
+    /**
+     * Get the value of an object quark at a given time.
+     *
+     * @param ss
+     *            the objects state system
+     * @param objectListAttribute
+     *            the attribute of the object list the quark belongs to
+     * @param quark
+     *            the object quark
+     * @param timestamp
+     *            the timestamp
+     * @return the value, or <code>null</code> if there is no object at that
+     *         time
+     * @throws StateSystemDisposedException
+     *             if the state system is disposed
+     */
+    public synchronized @Nullable Object getValue(ITmfStateSystem ss, String objectListAttribute, int quark, long timestamp) throws StateSystemDisposedException {
+        List<@NonNull ITmfStateInterval> intervals = getIntervals(ss, objectListAttribute).get(quark);
+        ITmfStateInterval interval = intervals == null ? null : find(intervals, timestamp);
+        return interval == null ? null : interval.getValue();
+    }
+
+    /**
+     * Get the handle of the subscription that has a given rmw subscription
+     * handle at a given time.
+     *
+     * @param ss
+     *            the objects state system
+     * @param subscriptionListAttribute
+     *            the attribute of the subscription list
+     * @param timestamp
+     *            the timestamp
+     * @param rmwSubscriptionHandle
+     *            the rmw subscription handle
+     * @return the subscription handle, or <code>null</code> if not found
+     * @throws StateSystemDisposedException
+     *             if the state system is disposed
+     */
+    public synchronized @Nullable Ros2ObjectHandle getSubscriptionHandleFromRmwHandle(ITmfStateSystem ss, String subscriptionListAttribute, long timestamp, Ros2ObjectHandle rmwSubscriptionHandle) throws StateSystemDisposedException {
+        Map<Ros2ObjectHandle, List<@NonNull ITmfStateInterval>> rmwSubscriptions = fRmwSubscriptions;
+        if (rmwSubscriptions == null) {
+            rmwSubscriptions = new HashMap<>();
+            for (List<@NonNull ITmfStateInterval> intervals : getIntervals(ss, subscriptionListAttribute).values()) {
+                for (ITmfStateInterval interval : intervals) {
+                    Ros2SubscriptionObject subscription = (Ros2SubscriptionObject) interval.getValue();
+                    if (subscription != null) {
+                        rmwSubscriptions.computeIfAbsent(subscription.getRmwHandle(), h -> new ArrayList<>()).add(interval);
+                    }
+                }
+            }
+            fRmwSubscriptions = rmwSubscriptions;
+        }
+        for (ITmfStateInterval interval : rmwSubscriptions.getOrDefault(rmwSubscriptionHandle, Collections.emptyList())) {
+            if (interval.intersects(timestamp)) {
+                Ros2SubscriptionObject subscription = (Ros2SubscriptionObject) interval.getValue();
+                return subscription == null ? null : subscription.getHandle();
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable ITmfStateInterval find(List<@NonNull ITmfStateInterval> intervals, long timestamp) {
+        int low = 0;
+        int high = intervals.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            ITmfStateInterval interval = intervals.get(middle);
+            if (timestamp < interval.getStartTime()) {
+                high = middle - 1;
+            } else if (timestamp > interval.getEndTime()) {
+                low = middle + 1;
+            } else {
+                return interval;
+            }
+        }
+        return null;
+    }
+}
@@ -16,6 +16,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNull;
@@ -252,15 +253,6 @@ public class Ros2ObjectsUtil {
         return ss.getQuarkAbsoluteAndAdd(getCallbackAttribute(callbackHandle));
     }
 
-    private static Integer getTracetoolsVersionQuark(ITmfStateSystem ss, @NonNull HostProcess process) {
-        assertStateSystem(ss);
-        try {
-            return ss.getQuarkAbsolute(getTracetoolsVersionAttribute(process));
-        } catch (AttributeNotFoundException e) {
-            return null;
-        }
-    }
-
     private static Integer getNodeQuark(ITmfStateSystem ss, @NonNull Ros2ObjectHandle nodeHandle) {
         assertStateSystem(ss);
         try {
@@ -270,58 +262,19 @@ public class Ros2ObjectsUtil {
         }
     }
 
-    private static Integer getPublisherQuark(ITmfStateSystem ss, @NonNull Ros2ObjectHandle publisherHandle) {
-        assertStateSystem(ss);
-        try {
-            return ss.getQuarkAbsolute(getPublisherAttribute(publisherHandle));
-        } catch (AttributeNotFoundException e) {
-            return null;
-        }
-    }
-
-    private static Integer getSubscriptionQuark(ITmfStateSystem ss, @NonNull Ros2ObjectHandle subscriptionHandle) {
-        assertStateSystem(ss);
-        try {
-            return ss.getQuarkAbsolute(getSubscriptionAttribute(subscriptionHandle));
-        } catch (AttributeNotFoundException e) {
-            return null;
-        }
-    }
-
-    private static Integer getClientQuark(ITmfStateSystem ss, @NonNull Ros2ObjectHandle clientHandle) {
-        assertStateSystem(ss);
-        try {
-            return ss.getQuarkAbsolute(getClientAttribute(clientHandle));
-        } catch (AttributeNotFoundException e) {
-            return null;
-        }
-    }
-
-    private static Integer getServiceQuark(ITmfStateSystem ss, @NonNull Ros2ObjectHandle serviceHandle) {
-        assertStateSystem(ss);
-        try {
-            return ss.getQuarkAbsolute(getServiceAttribute(serviceHandle));
-        } catch (AttributeNotFoundException e) {
-            return null;
-        }
-    }
-
-    private static Integer getTimerQuark(ITmfStateSystem ss, @NonNull Ros2ObjectHandle timerHandle) {
-        assertStateSystem(ss);
-        try {
-            return ss.getQuarkAbsolute(getTimerAttribute(timerHandle));
-        } catch (AttributeNotFoundException e) {
-            return null;
-        }
-    }
-
-    private static Integer getCallbackQuark(ITmfStateSystem ss, @NonNull HostProcessPointer callbackHandle) {
+    /**
+     * Get the value of an object attribute at a given time, from the cache of
+     * the state system if it is completely built.
+     */
+    private static @Nullable Object getObjectValue(ITmfStateSystem ss, long timestamp, @NonNull String objectListAttribute, @NonNull Object handle, Supplier<String[]> attribute) throws StateSystemDisposedException {
         assertStateSystem(ss);
-        try {
-            return ss.getQuarkAbsolute(getCallbackAttribute(callbackHandle));
-        } catch (AttributeNotFoundException e) {
-            return null;
+        Ros2ObjectsCache cache = Ros2ObjectsCache.get(ss);
+        if (null == cache) {
+            int quark = ss.optQuarkAbsolute(attribute.get());
+            return quark == ITmfStateSystem.INVALID_ATTRIBUTE ? null : ss.querySingleState(timestamp, quark).getValue();
         }
+        int quark = cache.getQuark(ss, objectListAttribute, handle, attribute);
+        return quark == ITmfStateSystem.INVALID_ATTRIBUTE ? null : cache.getValue(ss, objectListAttribute, quark, timestamp);
     }
 
     /**
@@ -336,20 +289,11 @@ public class Ros2ObjectsUtil {
      * @return the tracetools version string, or <code>null</code> if not found
      */
     public static @Nullable String getTracetoolsVersion(ITmfStateSystem ss, long timestamp, @NonNull HostProcess process) {
-        Integer versionQuark = getTracetoolsVersionQuark(ss, process);
-        if (null == versionQuark) {
-            return null;
-        }
-
         try {
-            ITmfStateInterval versionInterval = ss.querySingleState(timestamp, versionQuark);
-            if (null != versionInterval.getValue()) {
-                return (String) versionInterval.getValue();
-            }
+            return (String) getObjectValue(ss, timestamp, TRACETOOLS_VERSION, process, () -> getTracetoolsVersionAttribute(process));
         } catch (StateSystemDisposedException e) {
             return null;
         }
-        return null;
     }
 
     /**
@@ -388,12 +332,11 @@ public class Ros2ObjectsUtil {
      * @return the node object, or <code>null</code> if not found
      */
     public static @Nullable Ros2NodeObject getNodeObjectFromHandle(ITmfStateSystem ss, long timestamp, @NonNull Ros2ObjectHandle nodeHandle) {
-        @Nullable
-        ITmfStateInterval nodeObjectInterval = getNodeObjectIntervalFromHandle(ss, timestamp, nodeHandle);
-        if (null != nodeObjectInterval && null != nodeObjectInterval.getValue()) {
-            return (Ros2NodeObject) nodeObjectInterval.getValue();
+        try {
+            return (Ros2NodeObject) getObjectValue(ss, timestamp, OBJECT_NODE, nodeHandle, () -> getNodeAttribute(nodeHandle));
+        } catch (StateSystemDisposedException e) {
+            return null;
         }
-        return null;
     }
 
     private static @NonNull String getMissingIntervalMessage(boolean multipleUnexpected, @NonNull Class<@NonNull ?> clazz, Integer quark) {
@@ -402,6 +345,21 @@ public class Ros2ObjectsUtil {
                 (multipleUnexpected ? "more than 1" : "no"), clazz.getName(), quark); //$NON-NLS-1$ //$NON-NLS-2$
     }
 
+    /**
+     * Get the state intervals with a non-null value of an object quark, from
+     * the cache of the state system if it is completely built.
+     */
+    private static List<@NonNull ITmfStateInterval> getNonNullIntervals(ITmfStateSystem ss, @NonNull String objectListAttribute, int quark) throws StateSystemDisposedException {
+        Ros2ObjectsCache cache = Ros2ObjectsCache.get(ss);
+        if (null != cache) {
+            return cache.getIntervals(ss, objectListAttribute).getOrDefault(quark, Collections.emptyList());
+        }
+        Iterable<@NonNull ITmfStateInterval> objectIntervalsIterable = ss.query2D(Collections.singleton(quark), ss.getStartTime(), ss.getCurrentEndTime());
+        return Lists.newArrayList(objectIntervalsIterable).stream()
+                .filter(interval -> null != interval.getValue())
+                .collect(Collectors.toList());
+    }
+
     /**
      * Get object of a given type with the given handle.
      *
@@ -414,10 +372,7 @@ public class Ros2ObjectsUtil {
             int objectQuark = ss.getQuarkAbsolute(objectListAttribute, objectHandle.getStringId());
             // We assume that we should have at most one state interval per
             // object quark
-            Iterable<@NonNull ITmfStateInterval> objectIntervalsIterable = ss.query2D(Collections.singleton(objectQuark), ss.getStartTime(), ss.getCurrentEndTime());
-            List<@NonNull ITmfStateInterval> objectIntervals = Lists.newArrayList(objectIntervalsIterable).stream()
-                    .filter(interval -> null != interval.getValue())
-                    .collect(Collectors.toList());
+            List<@NonNull ITmfStateInterval> objectIntervals = getNonNullIntervals(ss, objectListAttribute, objectQuark);
             if (objectIntervals.isEmpty()) {
                 Activator.getInstance().logError(getMissingIntervalMessage(false, objectClass, objectQuark));
             } else {
@@ -446,13 +401,8 @@ public class Ros2ObjectsUtil {
      * @return the subscription object, or <code>null</code> if not found
      */
     public static @Nullable Ros2SubscriptionObject getSubscriptionObjectFromHandle(ITmfStateSystem ss, long timestamp, @NonNull Ros2ObjectHandle subscriptionHandle) {
-        Integer subQuark = getSubscriptionQuark(ss, subscriptionHandle);
-        if (null == subQuark) {
-            return null;
-        }
-
         try {
-            return (Ros2SubscriptionObject) ss.querySingleState(timestamp, subQuark).getValue();
+            return (Ros2SubscriptionObject) getObjectValue(ss, timestamp, OBJECT_SUBSCRIPTION, subscriptionHandle, () -> getSubscriptionAttribute(subscriptionHandle));
         } catch (StateSystemDisposedException e) {
             return null;
         }
@@ -470,13 +420,8 @@ public class Ros2ObjectsUtil {
      * @return the publisher object, or <code>null</code> if not found
      */
     public static @Nullable Ros2PublisherObject getPublisherObjectFromHandle(ITmfStateSystem ss, long timestamp, @NonNull Ros2ObjectHandle publisherHandle) {
-        Integer pubQuark = getPublisherQuark(ss, publisherHandle);
-        if (null == pubQuark) {
-            return null;
-        }
-
         try {
-            return (Ros2PublisherObject) ss.querySingleState(timestamp, pubQuark).getValue();
+            return (Ros2PublisherObject) getObjectValue(ss, timestamp, OBJECT_PUBLISHER, publisherHandle, () -> getPublisherAttribute(publisherHandle));
         } catch (StateSystemDisposedException e) {
             return null;
         }
@@ -494,13 +439,8 @@ public class Ros2ObjectsUtil {
      * @return the client object, or <code>null</code> if not found
      */
     public static @Nullable Ros2ClientObject getClientObjectFromHandle(ITmfStateSystem ss, long timestamp, @NonNull Ros2ObjectHandle clientHandle) {
-        Integer clientQuark = getClientQuark(ss, clientHandle);
-        if (null == clientQuark) {
-            return null;
-        }
-
         try {
-            return (Ros2ClientObject) ss.querySingleState(timestamp, clientQuark).getValue();
+            return (Ros2ClientObject) getObjectValue(ss, timestamp, OBJECT_CLIENT, clientHandle, () -> getClientAttribute(clientHandle));
         } catch (StateSystemDisposedException e) {
             return null;
         }
@@ -518,13 +458,8 @@ public class Ros2ObjectsUtil {
      * @return the service object, or <code>null</code> if not found
      */
     public static @Nullable Ros2ServiceObject getServiceObjectFromHandle(ITmfStateSystem ss, long timestamp, @NonNull Ros2ObjectHandle serviceHandle) {
-        Integer serviceQuark = getServiceQuark(ss, serviceHandle);
-        if (null == serviceQuark) {
-            return null;
-        }
-
         try {
-            return (Ros2ServiceObject) ss.querySingleState(timestamp, serviceQuark).getValue();
+            return (Ros2ServiceObject) getObjectValue(ss, timestamp, OBJECT_SERVICE, serviceHandle, () -> getServiceAttribute(serviceHandle));
         } catch (StateSystemDisposedException e) {
             return null;
         }
@@ -542,13 +477,8 @@ public class Ros2ObjectsUtil {
      * @return the timer object, or <code>null</code> if not found
      */
     public static @Nullable Ros2TimerObject getTimerObjectFromHandle(ITmfStateSystem ss, long timestamp, @NonNull Ros2ObjectHandle timerHandle) {
-        Integer timerQuark = getTimerQuark(ss, timerHandle);
-        if (null == timerQuark) {
-            return null;
-        }
-
         try {
-            return (Ros2TimerObject) ss.querySingleState(timestamp, timerQuark).getValue();
+            return (Ros2TimerObject) getObjectValue(ss, timestamp, OBJECT_TIMER, timerHandle, () -> getTimerAttribute(timerHandle));
         } catch (StateSystemDisposedException e) {
             return null;
         }
@@ -650,13 +580,8 @@ public class Ros2ObjectsUtil {
      * @return the callback object, or <code>null</code> if not found
      */
     public static @Nullable Ros2CallbackObject getCallbackObjectFromHandle(ITmfStateSystem ss, long timestamp, @NonNull HostProcessPointer callback) {
-        Integer callbackQuark = getCallbackQuark(ss, callback);
-        if (null == callbackQuark) {
-            return null;
-        }
-
         try {
-            return (Ros2CallbackObject) ss.querySingleState(timestamp, callbackQuark).getValue();
+            return (Ros2CallbackObject) getObjectValue(ss, timestamp, OBJECT_CALLBACK, callback, () -> getCallbackAttribute(callback));
         } catch (StateSystemDisposedException e) {
             return null;
         }
@@ -675,6 +600,14 @@ public class Ros2ObjectsUtil {
      */
     public static @Nullable Ros2ObjectHandle getSubscriptionHandleFromRmwSubscriptionHandle(ITmfStateSystem ss, long timestamp, @NonNull Ros2ObjectHandle rmwSubscriptionHandle) {
         assertStateSystem(ss);
+        Ros2ObjectsCache cache = Ros2ObjectsCache.get(ss);
+        if (null != cache) {
+            try {
+                return cache.getSubscriptionHandleFromRmwHandle(ss, OBJECT_SUBSCRIPTION, timestamp, rmwSubscriptionHandle);
+            } catch (StateSystemDisposedException e) {
+                return null;
+            }
+        }
         try {
             int subscriptionsQuark = ss.getQuarkAbsolute(OBJECT_SUBSCRIPTION);
             List<@NonNull Integer> subsQuarks = ss.getSubAttributes(subscriptionsQuark, false);
@@ -724,10 +657,7 @@ public class Ros2ObjectsUtil {
                  * We assume that we should have at most one state interval per
                  * object quark.
                  */
-                Iterable<@NonNull ITmfStateInterval> objectIntervalsIterable = ss.query2D(Collections.singleton(quark), ss.getStartTime(), ss.getCurrentEndTime());
-                List<@NonNull ITmfStateInterval> objectIntervals = Lists.newArrayList(objectIntervalsIterable).stream()
-                        .filter(interval -> null != interval.getValue())
-                        .collect(Collectors.toList());
+                List<@NonNull ITmfStateInterval> objectIntervals = getNonNullIntervals(ss, objectListAttribute, quark);
                 if (objectIntervals.isEmpty()) {
                     Activator.getInstance().logError(getMissingIntervalMessage(false, objectClass, quark));
                 } else {
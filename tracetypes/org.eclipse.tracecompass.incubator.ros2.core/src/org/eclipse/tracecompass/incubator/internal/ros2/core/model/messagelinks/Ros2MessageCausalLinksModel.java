@@ -13,7 +13,10 @@ package org.eclipse.tracecompass.incubator.internal.ros2.core.model.messagelinks
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.tracecompass.incubator.internal.ros2.core.analysis.IRos2Model;
@@ -27,6 +30,9 @@ import org.eclipse.tracecompass.incubator.internal.ros2.core.model.objects.Ros2O
 public class Ros2MessageCausalLinksModel implements IRos2Model {
 
     private @NonNull Collection<@NonNull Ros2MessageCausalLink> fLinks;
+    /** Links indexed by publisher and subscription handles, in order */
+    private final @NonNull Map<@NonNull Ros2ObjectHandle, @NonNull List<@NonNull Ros2MessageCausalLink>> fLinksByPub = new HashMap<>();
+    private final @NonNull Map<@NonNull Ros2ObjectHandle, @NonNull List<@NonNull Ros2MessageCausalLink>> fLinksBySub = new HashMap<>();
 
     /**
      * Constructor
@@ -46,7 +52,19 @@ public class Ros2MessageCausalLinksModel implements IRos2Model {
      *            the causal link type
      */
     public void addLink(Collection<@NonNull Ros2ObjectHandle> subs, Collection<@NonNull Ros2ObjectHandle> pubs, @NonNull Ros2MessageCausalLinkType type) {
-        fLinks.add(new Ros2MessageCausalLink(subs, pubs, type));
+        Ros2MessageCausalLink link = new Ros2MessageCausalLink(subs, pubs, type);
+        fLinks.add(link);
+        for (Ros2ObjectHandle pub : link.getPubs()) {
+            fLinksByPub.computeIfAbsent(pub, p -> new ArrayList<>()).add(link);
+        }
+        for (Ros2ObjectHandle sub : link.getSubs()) {
+            fLinksBySub.computeIfAbsent(sub, s -> new ArrayList<>()).add(link);
+        }
+    }
+
+    private static @NonNull Collection<@NonNull Ros2MessageCausalLink> getLinks(@NonNull Map<@NonNull Ros2ObjectHandle, @NonNull List<@NonNull Ros2MessageCausalLink>> index, @NonNull Ros2ObjectHandle handle) {
+        List<@NonNull Ros2MessageCausalLink> links = index.get(handle);
+        return (null == links) ? Collections.emptyList() : List.copyOf(links);
     }
 
     /**
@@ -57,8 +75,7 @@ public class Ros2MessageCausalLinksModel implements IRos2Model {
      * @return the message links
      */
     public Collection<@NonNull Ros2MessageCausalLink> getLinksForPub(@NonNull Ros2ObjectHandle publisherHandle) {
-        return fLinks.stream().filter(l -> l.getPubs().contains(publisherHandle)).collect(Collectors.toUnmodifiableList());
-
+        return getLinks(fLinksByPub, publisherHandle);
     }
 
     /**
@@ -69,6 +86,6 @@ public class Ros2MessageCausalLinksModel implements IRos2Model {
      * @return the message links
      */
     public Collection<@NonNull Ros2MessageCausalLink> getLinksForSub(@NonNull Ros2ObjectHandle subscriptionHandle) {
-        return fLinks.stream().filter(l -> l.getSubs().contains(subscriptionHandle)).collect(Collectors.toUnmodifiableList());
+        return getLinks(fLinksBySub, subscriptionHandle);
     }
 }
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.traceevent.core.tests.perf;
+
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
+
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventField;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Benchmarks the parsing of Trace Event events. The events are parsed with the
+ * {@link TraceEventField#parseJson(String)} pull parser and with a Gson tree,
+ * the way the events were parsed before, to compare the number of events
+ * parsed per second.
+ */
+public class TraceEventParserBenchmark {
+
+    private static final String TEST_ID = "org.eclipse.tracecompass.incubator.traceevent#Event parsing#";
+    private static final int EVENT_COUNT = 200000;
+    private static final int LOOP_COUNT = 10;
+
+    private static final Gson GSON = new Gson();
+    private static final List<String> EVENTS = new ArrayList<>();
+
+    /**
+     * Generate the events, similar to the ones of a Chrome trace
+     */
+    @BeforeClass
+    public static void generateEvents() {
+        String[] names = { "MessageLoop::RunTask", "ThreadControllerImpl::RunTask", "v8.compile", "Layout", "Paint" };
+        String[] categories = { "toplevel", "disabled-by-default-devtools.timeline", "v8", "blink" };
+        String[] phases = { "X", "B", "E", "i", "C" };
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            EVENTS.add(String.format("{\"pid\":%d,\"tid\":%d,\"ts\":%d.%03d,\"ph\":\"%s\",\"cat\":\"%s\",\"name\":\"%s\",\"dur\":%d,\"tts\":%d,"
+                    + "\"args\":{\"src_file\":\"../../base/task/sequence_manager.cc\",\"src_func\":\"PostTask\",\"count\":%d,\"data\":{\"frame\":\"0x%x\",\"nodes\":[1,2,3]}}}",
+                    1000 + i % 4, 2000 + i % 16, 94824347413L + i * 7L, i % 1000, phases[i % phases.length], categories[i % categories.length],
+                    names[i % names.length], i % 500, i, i, i));
+        }
+    }
+
+    /**
+     * Benchmark the pull parser, without reading the arguments
+     */
+    @Test
+    public void testParser() {
+        benchmark("Pull parser", json -> assertNotNull(TraceEventField.parseJson(json)));
+    }
+
+    /**
+     * Benchmark the pull parser, reading the arguments of every event
+     */
+    @Test
+    public void testParserWithArgs() {
+        benchmark("Pull parser with args", json -> {
+            TraceEventField field = TraceEventField.parseJson(json);
+            assertNotNull(field);
+            assertNotNull(field.getArgs());
+        });
+    }
+
+    /**
+     * Benchmark the parsing of a full Gson tree, with the arguments copied to
+     * a map, the way the events were parsed before the pull parser
+     */
+    @Test
+    public void testGsonTree() {
+        benchmark("Gson tree", json -> {
+            JsonObject root = GSON.fromJson(json, JsonObject.class);
+            Map<String, Object> fields = new HashMap<>();
+            JsonObject args = root.getAsJsonObject("args");
+            for (Entry<String, JsonElement> entry : args.entrySet()) {
+                JsonElement element = entry.getValue();
+                fields.put("args/" + entry.getKey(), String.valueOf(element.isJsonPrimitive() ? element.getAsJsonPrimitive().getAsString() : element.toString()));
+            }
+            for (String key : new String[] { "ts", "ph", "name", "tid", "pid", "dur", "cat" }) {
+                fields.put(key, root.get(key).getAsString());
+            }
+            assertNotNull(fields);
+        });
+    }
+
+    private static void benchmark(String name, Consumer<String> parser) {
+        Performance perf = Performance.getDefault();
+        PerformanceMeter pm = perf.createPerformanceMeter(TEST_ID + name);
+        perf.tagAsSummary(pm, "Trace Event " + name, Dimension.CPU_TIME);
+
+        for (int i = 0; i < LOOP_COUNT; i++) {
+            pm.start();
+            for (String json : EVENTS) {
+                parser.accept(json);
+            }
+            pm.stop();
+        }
+        pm.commit();
+    }
+}
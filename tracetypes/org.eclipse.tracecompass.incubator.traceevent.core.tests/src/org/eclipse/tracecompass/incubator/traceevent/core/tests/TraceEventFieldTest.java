@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.traceevent.core.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Map;
+
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.event.TraceEventField;
+import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
+import org.junit.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Test the parsing of Trace Event events
+ */
+public class TraceEventFieldTest {
+
+    /**
+     * Test the top-level fields of an event
+     */
+    @Test
+    public void testFields() {
+        TraceEventField field = TraceEventField.parseJson("{\"pid\":12,\"tid\":\"13\",\"ts\":1.5,\"ph\":\"X\",\"cat\":\"cat\",\"name\":\"event\",\"dur\":2,\"id\":\"0x3\",\"tts\":{\"a\":[1]}}");
+        assertNotNull(field);
+        assertEquals(1500, field.getTs());
+        assertEquals('X', field.getPhase());
+        assertEquals("event", field.getName());
+        assertEquals("cat", field.getCategory());
+        assertEquals("0x3", field.getId());
+        assertEquals(Long.valueOf(2000), field.getDuration());
+        assertEquals("12", String.valueOf(field.getPid()));
+        assertEquals("13", field.getTid());
+        assertNull(field.getArgs());
+
+        ITmfEventField content = field.getContent();
+        assertEquals("1.5", content.getFieldValue(String.class, "ts"));
+        assertEquals("X", content.getFieldValue(String.class, "ph"));
+        assertEquals(2000.0, content.getFieldValue(Double.class, "dur"));
+        assertEquals("13", content.getFieldValue(String.class, "tid"));
+        assertNull(content.getField("tts"));
+    }
+
+    /**
+     * Test that names and categories are shared between events
+     */
+    @Test
+    public void testInterning() {
+        TraceEventField field1 = TraceEventField.parseJson("{\"ts\":1,\"ph\":\"B\",\"cat\":\"category\",\"name\":\"function\"}");
+        TraceEventField field2 = TraceEventField.parseJson("{\"ts\":2,\"ph\":\"B\",\"cat\":\"category\",\"name\":\"function\"}");
+        assertNotNull(field1);
+        assertNotNull(field2);
+        assertSame(field1.getName(), field2.getName());
+        assertSame(field1.getCategory(), field2.getCategory());
+    }
+
+    /**
+     * Test the decoding of the arguments
+     */
+    @Test
+    public void testArgs() {
+        TraceEventField field = TraceEventField.parseJson("{\"ts\":0,\"ph\":\"i\",\"args\": {\"str\":\"a \\\"quoted\\\" \\u00e9\\n\", \"num\":1.50, \"bool\":true, \"nul\":null, \"obj\":{ \"a\" : [1, \"}\"] }}}");
+        assertNotNull(field);
+        Map<String, Object> args = field.getArgs();
+        assertEquals(ImmutableMap.of(
+                "str", "a \"quoted\" é\n",
+                "num", "1.50",
+                "bool", "true",
+                "nul", "null",
+                "obj", "{\"a\":[1,\"}\"]}"), args);
+        assertEquals("1.50", field.getContent().getFieldValue(String.class, "args/num"));
+    }
+
+    /**
+     * Test events without timestamp or fields, and default values
+     */
+    @Test
+    public void testMissingFields() {
+        assertNull(TraceEventField.parseJson("{}"));
+        assertNull(TraceEventField.parseJson(" { } "));
+        assertNull(TraceEventField.parseJson("{\"ph\":\"B\",\"name\":\"event\"}"));
+
+        TraceEventField field = TraceEventField.parseJson("{\"ts\":\"10\",\"ph\":\"E\"}");
+        assertNotNull(field);
+        assertEquals(10000, field.getTs());
+        assertEquals(TraceEventField.UNKNOWN_DURATION_EXIT_EVENT, field.getName());
+        assertNull(field.getDuration());
+        assertNull(field.getPid());
+
+        field = TraceEventField.parseJson("{\"ts\":10}");
+        assertNotNull(field);
+        assertEquals('I', field.getPhase());
+        assertEquals(TraceEventField.UNKNOWN_EXIT_EVENT, field.getName());
+    }
+
+    /**
+     * Test that malformed events are rejected
+     */
+    @Test(expected = JsonSyntaxException.class)
+    public void testMalformed() {
+        TraceEventField.parseJson("{\"ts\":10,\"name\":\"event}");
+    }
+}
@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.traceevent.core.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.trace.TraceEventSortingJob;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the external merge sort of the {@link TraceEventSortingJob}
+ */
+public class TraceEventSortingJobTest {
+
+    /** Small enough for a few events per chunk */
+    private static final int SMALL_CHUNK_SIZE = 256;
+    /** Enough events for more sorted runs than can be merged at once */
+    private static final int NB_EVENTS = 3000;
+
+    private File fDir;
+    private File fInput;
+    private File fOutput;
+
+    /**
+     * Create the directory of the traces
+     *
+     * @throws IOException
+     *             If the directory cannot be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        fDir = Files.createTempDirectory("traceevent-sort").toFile();
+        fInput = new File(fDir, "trace.json");
+        File supplementaryDir = new File(fDir, "supplementary");
+        assertTrue(supplementaryDir.mkdir());
+        fOutput = new File(supplementaryDir, "trace.json");
+    }
+
+    /**
+     * Delete the traces
+     */
+    @After
+    public void tearDown() {
+        fOutput.delete();
+        fOutput.getParentFile().delete();
+        fInput.delete();
+        fDir.delete();
+    }
+
+    private static class Event {
+        private final BigDecimal fTs;
+        private final String fJson;
+
+        private Event(BigDecimal ts, String json) {
+            fTs = ts;
+            fJson = json;
+        }
+    }
+
+    /**
+     * Get events with few distinct timestamps, so that many events have the
+     * same timestamp. Some events have braces and brackets in their strings.
+     */
+    private static List<Event> getEvents(int count, long seed) {
+        Random random = new Random(seed);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BigDecimal ts = BigDecimal.valueOf(random.nextInt(200), random.nextInt(4));
+            String args = (i % 7 == 0) ? ",\"args\":{\"s\":\"}]{\\\"\",\"a\":[1,{\"b\":2}]}" : "";
+            events.add(new Event(ts, "{\"ph\":\"i\",\"name\":\"e" + i + "\",\"ts\":" + ts.toPlainString() + args + "}"));
+        }
+        return events;
+    }
+
+    private void writeTrace(List<Event> events) throws IOException {
+        StringBuilder builder = new StringBuilder("[\n");
+        for (int i = 0; i < events.size(); i++) {
+            builder.append(events.get(i).fJson).append(i < events.size() - 1 ? ",\n" : "\n");
+        }
+        builder.append("]\n");
+        Files.write(fInput.toPath(), builder.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sort the events in memory, the stable sort keeps the order of the events
+     * with the same timestamp
+     */
+    private static String sortInMemory(List<Event> events) {
+        List<Event> sorted = new ArrayList<>(events);
+        sorted.sort(Comparator.comparing(event -> event.fTs));
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < sorted.size(); i++) {
+            builder.append(i == 0 ? "" : ",").append(sorted.get(i).fJson);
+        }
+        return builder.append(']').toString();
+    }
+
+    private String readOutput() throws IOException {
+        return new String(Files.readAllBytes(fOutput.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private void assertNoTemporaryFiles() {
+        assertArrayEquals(new String[0], fOutput.getParentFile().list((dir, name) -> !name.equals(fOutput.getName())));
+    }
+
+    /**
+     * Test that sorting in chunks of a few events, which makes more runs than
+     * can be merged at once, gives the same result as sorting in memory
+     *
+     * @throws Exception
+     *             If the trace cannot be sorted
+     */
+    @Test
+    public void testMultiPassMerge() throws Exception {
+        List<Event> events = getEvents(NB_EVENTS, 1);
+        writeTrace(events);
+        // Each chunk holds at most 4 events, for hundreds of runs
+        assertTrue(TraceEventSortingJob.sort(fInput, 0, fOutput, SMALL_CHUNK_SIZE, new NullProgressMonitor()));
+        assertEquals(sortInMemory(events), readOutput());
+        assertNoTemporaryFiles();
+    }
+
+    /**
+     * Test that the sort gives the same result as sorting in memory, whatever
+     * the number of chunks
+     *
+     * @throws Exception
+     *             If the trace cannot be sorted
+     */
+    @Test
+    public void testChunkSizes() throws Exception {
+        List<Event> events = getEvents(NB_EVENTS, 2);
+        writeTrace(events);
+        String expected = sortInMemory(events);
+        for (int chunkSize : new int[] { (int) fInput.length() + 1, 64 << 10, 4 << 10, SMALL_CHUNK_SIZE, 16 }) {
+            assertTrue(TraceEventSortingJob.sort(fInput, 0, fOutput, chunkSize, new NullProgressMonitor()));
+            assertEquals("Chunk size " + chunkSize, expected, readOutput());
+        }
+        assertNoTemporaryFiles();
+    }
+
+    /**
+     * Test that events with the same timestamp keep their order, within a
+     * chunk and across chunks
+     *
+     * @throws Exception
+     *             If the trace cannot be sorted
+     */
+    @Test
+    public void testStability() throws Exception {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < NB_EVENTS; i++) {
+            // Timestamps that are equal once parsed, written differently
+            String ts = (i % 3 == 0) ? "5" : (i % 3 == 1) ? "5.000" : "\"5\"";
+            events.add(new Event(BigDecimal.valueOf(5), "{\"name\":\"e" + i + "\",\"ts\":" + ts + "}"));
+        }
+        // A later event that goes first, so that the trace is not sorted
+        events.add(new Event(BigDecimal.ONE, "{\"name\":\"first\",\"ts\":1}"));
+        writeTrace(events);
+        for (int chunkSize : new int[] { (int) fInput.length() + 1, SMALL_CHUNK_SIZE }) {
+            assertTrue(TraceEventSortingJob.sort(fInput, 0, fOutput, chunkSize, new NullProgressMonitor()));
+            assertEquals(sortInMemory(events), readOutput());
+        }
+    }
+
+    /**
+     * Test that a cancelled sort does not write the sorted trace and deletes
+     * its temporary files
+     *
+     * @throws Exception
+     *             If the trace cannot be sorted
+     */
+    @Test
+    public void testCancel() throws Exception {
+        writeTrace(getEvents(NB_EVENTS, 3));
+        IProgressMonitor monitor = new NullProgressMonitor();
+        monitor.setCanceled(true);
+        assertFalse(TraceEventSortingJob.sort(fInput, 0, fOutput, SMALL_CHUNK_SIZE, monitor));
+        assertFalse(fOutput.exists());
+        assertNoTemporaryFiles();
+    }
+
+    /**
+     * Test that a sort that fails deletes its temporary files
+     *
+     * @throws Exception
+     *             If the trace cannot be sorted
+     */
+    @Test
+    public void testError() throws Exception {
+        try {
+            TraceEventSortingJob.sort(fInput, 0, fOutput, SMALL_CHUNK_SIZE, new NullProgressMonitor());
+            fail("The trace does not exist");
+        } catch (IOException e) {
+            // Expected
+        }
+        assertFalse(fOutput.exists());
+        assertNoTemporaryFiles();
+    }
+}
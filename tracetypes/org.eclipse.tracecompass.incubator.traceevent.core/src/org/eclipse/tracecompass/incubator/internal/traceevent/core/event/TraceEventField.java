@@ -23,11 +23,6 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.TmfEventField;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonPrimitive;
-
 /**
  * Trace Event fields. Used as a quick wrapper for Trace Event log data.
  *
@@ -44,20 +39,32 @@ public class TraceEventField {
      * Name of exit duration events when no other name is available
      */
     public static final String UNKNOWN_DURATION_EXIT_EVENT = "duration exit"; //$NON-NLS-1$
-    private static final double MICRO_TO_NANO = 1000.0;
+    /** Conversion factor of the trace timestamps and durations */
+    static final double MICRO_TO_NANO = 1000.0;
 
     private final long fTs;
     private final char fPhase;
     private final String fName;
-    private ITmfEventField fContent;
-    private final @Nullable Map<String, Object> fArgs;
     private final @Nullable Object fTid;
     private final @Nullable String fCategory;
     private final @Nullable String fId;
     private final @Nullable Long fDuration;
     private final @Nullable Object fPid;
 
-    private static final Gson G_SON = new Gson();
+    /*
+     * Values used to build the content of parsed events, which is only done
+     * when the content or the arguments are requested
+     */
+    private final @Nullable String fRawTs;
+    private final String fPhaseName;
+    /** The duration in ns as put in the content, NaN if there is none */
+    private final double fDurationNanos;
+    private final @Nullable String fScope;
+    private final @Nullable String fArgsJson;
+
+    private volatile boolean fDecoded;
+    private @Nullable ITmfEventField fContent;
+    private @Nullable Map<String, Object> fArgs;
 
     /**
      * Parse a JSON string
@@ -69,89 +76,7 @@ public class TraceEventField {
     public static @Nullable TraceEventField parseJson(String fieldsString) {
         // looks like this
         // {"ts":94824347413117,"phase":"B","tid":39,"name":"TimeGraphView:BuildThread","args"={"trace":"django-httpd"}}
-        JsonObject root;
-        Map<@NonNull String, @NonNull Object> argsMap = new HashMap<>();
-        root = G_SON.fromJson(fieldsString, JsonObject.class);
-        long ts = 0;
-        if (root.size() == 0) {
-            return null;
-        }
-        JsonElement timestamp = root.get(ITraceEventConstants.TIMESTAMP);
-        if (timestamp == null) {
-            return null;
-        }
-        Double tso = timestamp.getAsDouble();
-        if (Double.isFinite(tso)) {
-            ts = (long) (tso * MICRO_TO_NANO);
-        }
-        String phase = optString(root, ITraceEventConstants.PHASE, "I"); //$NON-NLS-1$
-        if (phase == null) {
-            // FIXME: Easy way to avoid null warning
-            phase = "I"; //$NON-NLS-1$
-        }
-        // We differentiate between the duration exit and the other exits for some reason
-        String name = String.valueOf(optString(root, ITraceEventConstants.NAME,  TraceEventPhases.DURATION_END.equals(phase) ? UNKNOWN_DURATION_EXIT_EVENT : UNKNOWN_EXIT_EVENT));
-        String tid = optString(root, ITraceEventConstants.TID, null);
-        JsonElement jsonElement = root.get(ITraceEventConstants.PID);
-        JsonPrimitive primitive = jsonElement == null ? null : jsonElement.isJsonPrimitive() ? jsonElement.getAsJsonPrimitive() : null;
-        Object pid = primitive == null ? null : primitive.isNumber() ? primitive.getAsNumber() : primitive.isString() ? primitive.getAsString() : null;
-        Double duration = optDouble(root, ITraceEventConstants.DURATION);
-        if (Double.isFinite(duration)) {
-            duration = (duration * MICRO_TO_NANO);
-        }
-        String category = optString(root, ITraceEventConstants.CATEGORY);
-        String id = optString(root, ITraceEventConstants.ID);
-        String scope = optString(root, ITraceEventConstants.SCOPE);
-        JsonObject args = optJSONObject(root, ITraceEventConstants.ARGS);
-        if (args != null) {
-            for (Entry<String, JsonElement> entry : args.entrySet()) {
-                String key = Objects.requireNonNull(entry.getKey());
-                JsonElement element = Objects.requireNonNull(entry.getValue());
-                String value = String.valueOf(element.isJsonPrimitive() ? element.getAsJsonPrimitive().getAsString() : element.toString());
-                argsMap.put(ITraceEventConstants.ARGS + "/" + key, value); //$NON-NLS-1$
-            }
-        }
-        argsMap.put(ITraceEventConstants.TIMESTAMP, timestamp.getAsString());
-        argsMap.put(ITraceEventConstants.PHASE, phase);
-        argsMap.put(ITraceEventConstants.NAME, name);
-        if (tid != null) {
-            argsMap.put(ITraceEventConstants.TID, tid);
-        }
-        if (pid != null) {
-            argsMap.put(ITraceEventConstants.PID, pid);
-        }
-        if (Double.isFinite(duration)) {
-            argsMap.put(ITraceEventConstants.DURATION, duration);
-        }
-        if (category != null) {
-            argsMap.put(ITraceEventConstants.CATEGORY, category);
-        }
-        if (id != null) {
-            argsMap.put(ITraceEventConstants.ID, id);
-        }
-        if (scope != null) {
-            argsMap.put(ITraceEventConstants.SCOPE, scope);
-        }
-        return new TraceEventField(name, ts, phase, pid, tid, category, id, duration, argsMap);
-    }
-
-    private static double optDouble(JsonObject root, String key) {
-        JsonElement jsonElement = root.get(key);
-        return jsonElement != null ? jsonElement.getAsDouble() : Double.NaN;
-    }
-
-    private static @Nullable JsonObject optJSONObject(JsonObject root, String key) {
-        JsonElement jsonElement = root.get(key);
-        return jsonElement != null ? jsonElement.getAsJsonObject() : null;
-    }
-
-    private static @Nullable String optString(JsonObject root, String key, @Nullable String defaultValue) {
-        JsonElement jsonElement = root.get(key);
-        return jsonElement != null ? jsonElement.getAsString() : defaultValue;
-    }
-
-    private static @Nullable String optString(JsonObject root, String key) {
-        return optString(root, key, null);
+        return TraceEventJsonParser.parseEvent(fieldsString);
     }
 
     /**
@@ -182,22 +107,116 @@ public class TraceEventField {
         fTid = tid;
         fCategory = category;
         fId = id;
-        ITmfEventField[] array = fields.entrySet().stream()
-                .map(entry -> new TmfEventField(entry.getKey(), entry.getValue(), null))
-                .toArray(ITmfEventField[]::new);
-        fContent = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, fields, array);
-        fields.put(ITraceEventConstants.TIMESTAMP, ts / MICRO_TO_NANO);
         fTs = ts;
         fDuration = duration == null ? null : Double.isFinite(duration) ? duration.longValue() : null;
         fPhase = phase.charAt(0);
+        fPhaseName = phase;
+        fRawTs = null;
+        fDurationNanos = Double.NaN;
+        fScope = null;
+        fArgsJson = null;
         @SuppressWarnings("null")
         Map<@NonNull String, @NonNull Object> args = fields.entrySet().stream()
                 .filter(entry -> {
                     return entry.getKey().startsWith(ITraceEventConstants.ARGS + "/"); //$NON-NLS-1$
                 })
                 .collect(Collectors.toMap(entry -> entry.getKey().substring(5), Entry::getValue));
-        fArgs = args.isEmpty() ? null : args;
+        setFields(fields, args);
+    }
 
+    /**
+     * Constructor of a parsed event, whose content and arguments are decoded
+     * when they are first requested
+     *
+     * @param name
+     *            event name
+     * @param ts
+     *            the timestamp in ns
+     * @param rawTs
+     *            the timestamp as written in the trace, in us
+     * @param phase
+     *            the phase of the event
+     * @param pid
+     *            the process id
+     * @param tid
+     *            the threadId
+     * @param category
+     *            the category
+     * @param id
+     *            the ID of the event stream
+     * @param scope
+     *            the scope of the ID
+     * @param duration
+     *            the duration in ns, NaN if there is none
+     * @param argsJson
+     *            the JSON object of the arguments
+     */
+    TraceEventField(String name, long ts, String rawTs, String phase, @Nullable Object pid, @Nullable String tid, @Nullable String category, @Nullable String id, @Nullable String scope, double duration, @Nullable String argsJson) {
+        fName = name;
+        fPid = pid;
+        fTid = tid;
+        fCategory = category;
+        fId = id;
+        fTs = ts;
+        fDuration = Double.isFinite(duration) ? (long) duration : null;
+        fPhase = phase.charAt(0);
+        fPhaseName = phase;
+        fRawTs = rawTs;
+        fDurationNanos = duration;
+        fScope = scope;
+        fArgsJson = argsJson;
+    }
+
+    private synchronized void decode() {
+        if (fDecoded) {
+            return;
+        }
+        Map<String, Object> fields = new HashMap<>();
+        Map<String, Object> args = new HashMap<>();
+        String argsJson = fArgsJson;
+        if (argsJson != null) {
+            TraceEventJsonParser.parseArgs(argsJson, args);
+            for (Entry<String, Object> entry : args.entrySet()) {
+                fields.put(ITraceEventConstants.ARGS + '/' + entry.getKey(), entry.getValue());
+            }
+        }
+        fields.put(ITraceEventConstants.TIMESTAMP, Objects.requireNonNull(fRawTs));
+        fields.put(ITraceEventConstants.PHASE, fPhaseName);
+        fields.put(ITraceEventConstants.NAME, fName);
+        Object tid = fTid;
+        if (tid != null) {
+            fields.put(ITraceEventConstants.TID, tid);
+        }
+        Object pid = fPid;
+        if (pid != null) {
+            fields.put(ITraceEventConstants.PID, pid);
+        }
+        if (Double.isFinite(fDurationNanos)) {
+            fields.put(ITraceEventConstants.DURATION, fDurationNanos);
+        }
+        String category = fCategory;
+        if (category != null) {
+            fields.put(ITraceEventConstants.CATEGORY, category);
+        }
+        String id = fId;
+        if (id != null) {
+            fields.put(ITraceEventConstants.ID, id);
+        }
+        String scope = fScope;
+        if (scope != null) {
+            fields.put(ITraceEventConstants.SCOPE, scope);
+        }
+        setFields(fields, args);
+    }
+
+    private void setFields(Map<String, Object> fields, Map<String, Object> args) {
+        ITmfEventField[] array = fields.entrySet().stream()
+                .map(entry -> new TmfEventField(entry.getKey(), entry.getValue(), null))
+                .toArray(ITmfEventField[]::new);
+        fContent = new TmfEventField(ITmfEventField.ROOT_FIELD_ID, fields, array);
+        fields.put(ITraceEventConstants.TIMESTAMP, fTs / MICRO_TO_NANO);
+        fArgs = args.isEmpty() ? null : args;
+        fDecoded = true;
     }
 
     /**
@@ -215,7 +234,10 @@ public class TraceEventField {
      * @return the event content
      */
     public ITmfEventField getContent() {
-        return fContent;
+        if (!fDecoded) {
+            decode();
+        }
+        return Objects.requireNonNull(fContent);
     }
 
     /**
@@ -290,6 +312,9 @@ public class TraceEventField {
      */
     @Nullable
     public Map<String, Object> getArgs() {
+        if (!fDecoded) {
+            decode();
+        }
         return fArgs;
     }
 }
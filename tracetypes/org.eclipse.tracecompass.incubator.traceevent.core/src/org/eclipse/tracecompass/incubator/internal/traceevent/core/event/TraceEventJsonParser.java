@@ -0,0 +1,414 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.traceevent.core.event;
+
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+
+/**
+ * Pull parser for the JSON objects of Trace Event events. The known top-level
+ * fields are decoded directly while scanning the string, without building a
+ * JSON tree. The <code>args</code> object is only delimited, its raw text is
+ * kept in the event field and decoded when the arguments are requested.
+ * <p>
+ * Values are decoded like Gson's {@link JsonPrimitive#getAsString()} would:
+ * strings are unescaped, numbers and booleans keep the text they are written
+ * with. Nested objects and arrays in the arguments are rendered as compact
+ * JSON.
+ */
+@NonNullByDefault
+final class TraceEventJsonParser {
+
+    private static final String NULL = "null"; //$NON-NLS-1$
+    private static final String TRUE = "true"; //$NON-NLS-1$
+    private static final String FALSE = "false"; //$NON-NLS-1$
+    private static final String DEFAULT_PHASE = "I"; //$NON-NLS-1$
+
+    /**
+     * Names, categories and phases are repeated throughout a trace, share
+     * their instances between the events
+     */
+    private static final Interner<String> INTERNER = Interners.newWeakInterner();
+
+    private final String fJson;
+    private final int fEnd;
+    private int fPos;
+
+    private TraceEventJsonParser(String json) {
+        fJson = json;
+        fPos = 0;
+        fEnd = json.length();
+    }
+
+    /**
+     * Parse the JSON object of an event
+     *
+     * @param json
+     *            the JSON object
+     * @return the event field, or <code>null</code> if the object is empty or
+     *         has no timestamp
+     * @throws JsonSyntaxException
+     *             if the string is not a valid JSON object
+     */
+    public static @Nullable TraceEventField parseEvent(String json) {
+        return new TraceEventJsonParser(json).readEvent();
+    }
+
+    /**
+     * Decode the arguments of an event
+     *
+     * @param argsJson
+     *            the JSON object of the arguments
+     * @param args
+     *            the map in which to put the arguments
+     * @throws JsonSyntaxException
+     *             if the string is not a valid JSON object
+     */
+    public static void parseArgs(String argsJson, Map<String, Object> args) {
+        TraceEventJsonParser parser = new TraceEventJsonParser(argsJson);
+        parser.skipWhitespace();
+        parser.expect('{');
+        if (parser.consumeIf('}')) {
+            return;
+        }
+        do {
+            String key = parser.readKey();
+            args.put(key, parser.readArgValue());
+        } while (parser.readSeparator());
+    }
+
+    private @Nullable TraceEventField readEvent() {
+        skipWhitespace();
+        expect('{');
+        if (consumeIf('}')) {
+            return null;
+        }
+        String rawTs = null;
+        String phase = null;
+        String name = null;
+        String tid = null;
+        Object pid = null;
+        String duration = null;
+        String category = null;
+        String id = null;
+        String scope = null;
+        String argsJson = null;
+        do {
+            String key = readKey();
+            switch (key) {
+            case ITraceEventConstants.TIMESTAMP:
+                rawTs = readPrimitive(key);
+                break;
+            case ITraceEventConstants.PHASE:
+                phase = intern(readPrimitive(key));
+                break;
+            case ITraceEventConstants.NAME:
+                name = intern(readPrimitive(key));
+                break;
+            case ITraceEventConstants.TID:
+                tid = readPrimitive(key);
+                break;
+            case ITraceEventConstants.PID:
+                pid = readPid();
+                break;
+            case ITraceEventConstants.DURATION:
+                duration = readPrimitive(key);
+                break;
+            case ITraceEventConstants.CATEGORY:
+                category = intern(readPrimitive(key));
+                break;
+            case ITraceEventConstants.ID:
+                id = readPrimitive(key);
+                break;
+            case ITraceEventConstants.SCOPE:
+                scope = readPrimitive(key);
+                break;
+            case ITraceEventConstants.ARGS:
+                argsJson = readArgs();
+                break;
+            default:
+                skipValue();
+                break;
+            }
+        } while (readSeparator());
+
+        if (rawTs == null) {
+            return null;
+        }
+        double tso = Double.parseDouble(rawTs);
+        long ts = Double.isFinite(tso) ? (long) (tso * TraceEventField.MICRO_TO_NANO) : 0;
+        if (phase == null) {
+            phase = DEFAULT_PHASE;
+        }
+        if (name == null) {
+            // We differentiate between the duration exit and the other exits
+            name = TraceEventPhases.DURATION_END.equals(phase) ? TraceEventField.UNKNOWN_DURATION_EXIT_EVENT : TraceEventField.UNKNOWN_EXIT_EVENT;
+        }
+        double dur = duration == null ? Double.NaN : Double.parseDouble(duration);
+        return new TraceEventField(name, ts, rawTs, phase, pid, tid, category, id, scope, dur * TraceEventField.MICRO_TO_NANO, argsJson);
+    }
+
+    /**
+     * Read a primitive value, as a string
+     */
+    private @Nullable String readPrimitive(String key) {
+        char c = peek();
+        if (c == '"' || c == '\'') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            throw error("Expected a primitive value for " + key); //$NON-NLS-1$
+        }
+        String literal = readLiteral();
+        return NULL.equals(literal) ? null : literal;
+    }
+
+    /**
+     * Read the process ID, which is either a string or a number
+     */
+    private @Nullable Object readPid() {
+        char c = peek();
+        if (c == '"' || c == '\'') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            skipValue();
+            return null;
+        }
+        String literal = readLiteral();
+        if (NULL.equals(literal) || TRUE.equals(literal) || FALSE.equals(literal)) {
+            return null;
+        }
+        // Same lazily parsed number as the one of a Gson tree
+        return new JsonPrimitive(literal).getAsNumber();
+    }
+
+    /**
+     * Delimit the arguments object and return its raw text
+     */
+    private @Nullable String readArgs() {
+        char c = peek();
+        if (c == '{') {
+            int start = fPos;
+            skipValue();
+            return fJson.substring(start, fPos);
+        }
+        if (c == 'n') {
+            readLiteral();
+            return null;
+        }
+        throw error("Expected an object for " + ITraceEventConstants.ARGS); //$NON-NLS-1$
+    }
+
+    private String readArgValue() {
+        char c = peek();
+        if (c == '"' || c == '\'') {
+            return readString();
+        }
+        if (c == '{' || c == '[') {
+            int start = fPos;
+            skipValue();
+            return String.valueOf(JsonParser.parseString(fJson.substring(start, fPos)));
+        }
+        return readLiteral();
+    }
+
+    /**
+     * Read the key of a member and the colon following it
+     */
+    private String readKey() {
+        skipWhitespace();
+        String key = readString();
+        skipWhitespace();
+        expect(':');
+        skipWhitespace();
+        return key;
+    }
+
+    /**
+     * Read the separator after a member value
+     *
+     * @return true if another member follows, false if the object is closed
+     */
+    private boolean readSeparator() {
+        skipWhitespace();
+        if (fPos >= fEnd) {
+            throw error("Unterminated object"); //$NON-NLS-1$
+        }
+        char c = fJson.charAt(fPos++);
+        if (c == ',') {
+            return true;
+        }
+        if (c == '}') {
+            return false;
+        }
+        throw error("Expected ',' or '}'"); //$NON-NLS-1$
+    }
+
+    private String readString() {
+        char quote = peek();
+        if (quote != '"' && quote != '\'') {
+            throw error("Expected a string"); //$NON-NLS-1$
+        }
+        int start = ++fPos;
+        // Fast path, no escaped characters
+        while (fPos < fEnd) {
+            char c = fJson.charAt(fPos);
+            if (c == quote) {
+                return fJson.substring(start, fPos++);
+            }
+            if (c == '\\') {
+                break;
+            }
+            fPos++;
+        }
+        StringBuilder sb = new StringBuilder(fJson.length() - start);
+        sb.append(fJson, start, fPos);
+        while (fPos < fEnd) {
+            char c = fJson.charAt(fPos++);
+            if (c == quote) {
+                return sb.toString();
+            }
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (fPos >= fEnd) {
+                break;
+            }
+            char escaped = fJson.charAt(fPos++);
+            switch (escaped) {
+            case 'b':
+                sb.append('\b');
+                break;
+            case 'f':
+                sb.append('\f');
+                break;
+            case 'n':
+                sb.append('\n');
+                break;
+            case 'r':
+                sb.append('\r');
+                break;
+            case 't':
+                sb.append('\t');
+                break;
+            case 'u':
+                if (fPos + 4 > fEnd) {
+                    throw error("Unterminated escape sequence"); //$NON-NLS-1$
+                }
+                try {
+                    sb.append((char) Integer.parseInt(fJson.substring(fPos, fPos + 4), 16));
+                } catch (NumberFormatException e) {
+                    throw error("Invalid escape sequence"); //$NON-NLS-1$
+                }
+                fPos += 4;
+                break;
+            default:
+                // '"', '\'', '\\', '/' and lenient escapes
+                sb.append(escaped);
+                break;
+            }
+        }
+        throw error("Unterminated string"); //$NON-NLS-1$
+    }
+
+    /**
+     * Read an unquoted value: a number, a boolean or null
+     */
+    private String readLiteral() {
+        int start = fPos;
+        while (fPos < fEnd && !isDelimiter(fJson.charAt(fPos))) {
+            fPos++;
+        }
+        if (start == fPos) {
+            throw error("Expected a value"); //$NON-NLS-1$
+        }
+        return fJson.substring(start, fPos);
+    }
+
+    private void skipValue() {
+        char c = peek();
+        if (c == '"' || c == '\'') {
+            readString();
+            return;
+        }
+        if (c != '{' && c != '[') {
+            readLiteral();
+            return;
+        }
+        int depth = 0;
+        while (fPos < fEnd) {
+            c = fJson.charAt(fPos);
+            if (c == '"' || c == '\'') {
+                readString();
+                continue;
+            }
+            fPos++;
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && --depth == 0) {
+                return;
+            }
+        }
+        throw error("Unterminated value"); //$NON-NLS-1$
+    }
+
+    private char peek() {
+        if (fPos >= fEnd) {
+            throw error("Unexpected end of input"); //$NON-NLS-1$
+        }
+        return fJson.charAt(fPos);
+    }
+
+    private void expect(char expected) {
+        if (peek() != expected) {
+            throw error("Expected '" + expected + '\''); //$NON-NLS-1$
+        }
+        fPos++;
+    }
+
+    private boolean consumeIf(char expected) {
+        skipWhitespace();
+        if (fPos < fEnd && fJson.charAt(fPos) == expected) {
+            fPos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (fPos < fEnd && Character.isWhitespace(fJson.charAt(fPos))) {
+            fPos++;
+        }
+    }
+
+    private static boolean isDelimiter(char c) {
+        return c == ',' || c == '}' || c == ']' || c == ':' || Character.isWhitespace(c);
+    }
+
+    private static @Nullable String intern(@Nullable String value) {
+        return value == null ? null : INTERNER.intern(value);
+    }
+
+    private JsonSyntaxException error(String message) {
+        return new JsonSyntaxException(message + " at position " + fPos + ": " + fJson); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+}
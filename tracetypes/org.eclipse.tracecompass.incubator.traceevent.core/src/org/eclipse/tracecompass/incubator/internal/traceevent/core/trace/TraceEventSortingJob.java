@@ -11,19 +11,84 @@
 
 package org.eclipse.tracecompass.incubator.internal.traceevent.core.trace;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import org.eclipse.tracecompass.internal.jsontrace.core.job.SortingJob;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.traceevent.core.Activator;
+import org.eclipse.tracecompass.tmf.core.io.BufferedRandomAccessFile;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 
 /**
- * Sorting job particular to trace event traces
+ * Sorting job particular to trace event traces. The events are sorted by
+ * timestamp with an external merge sort, into a file of the same name in the
+ * supplementary files directory of the trace:
+ * <ol>
+ * <li>The events array is read sequentially and split into chunks at event
+ * boundaries.</li>
+ * <li>The chunks are sorted in parallel by their timestamp in nanoseconds, and
+ * written as sorted runs in a temporary directory.</li>
+ * <li>The runs are merged into the sorted trace, in several passes if there
+ * are too many runs to open at once.</li>
+ * </ol>
+ * The sort is stable, events with the same timestamp keep the order they have
+ * in the original trace. Events without a valid timestamp are sorted at -1 us.
  *
  * @author Katherine Nadeau
  *
  */
-public class TraceEventSortingJob extends SortingJob {
+public class TraceEventSortingJob extends Job {
+
+    private static final byte[] TS_KEY = "\"ts\":".getBytes(StandardCharsets.US_ASCII); //$NON-NLS-1$
+    private static final long MISSING_TS = -1000L;
+    private static final int MICRO_TO_NANO = 1000;
+    /* Above 15 digits, the timestamp in nanoseconds may not fit in a long */
+    private static final int MAX_FAST_DIGITS = 15;
+
+    private static final int MIN_CHUNK_SIZE = 4 << 20;
+    private static final int MAX_CHUNK_SIZE = 64 << 20;
+    private static final int MAX_FAN_IN = 128;
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final int KB = 1024;
+    private static final String SORTER_THREAD_NAME = "Trace Event Sorter "; //$NON-NLS-1$
+
+    private final ITmfTrace fTrace;
+    private final String fPath;
+    private final List<String> fPathToEvents;
 
     /**
      * Constructor
@@ -36,12 +101,693 @@ public class TraceEventSortingJob extends SortingJob {
      *            the json key to the events array
      */
     public TraceEventSortingJob(ITmfTrace trace, String path, List<String> pathToEvents) {
-        super(trace, path, "\"ts\":", pathToEvents); //$NON-NLS-1$
+        super("Sorting trace " + trace.getName()); //$NON-NLS-1$
+        fTrace = trace;
+        fPath = path;
+        fPathToEvents = pathToEvents;
     }
 
     @Override
-    protected void processMetadata(ITmfTrace trace, String dir) throws IOException {
-        // No metadata to be read in trace event traces
+    protected IStatus run(@Nullable IProgressMonitor monitor) {
+        File input = new File(fPath);
+        File output = new File(TmfTraceManager.getSupplementaryFileDir(fTrace), input.getName());
+        long size = input.length();
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = (int) Math.min(MAX_CHUNK_SIZE, Math.max(MIN_CHUNK_SIZE, size / (threads * 4L)));
+        chunkSize = (int) Math.min(chunkSize, size + 1);
+        try {
+            if (!sort(input, getEventsOffset(input), output, chunkSize, monitor)) {
+                return Status.CANCEL_STATUS;
+            }
+            return Status.OK_STATUS;
+        } catch (IOException | ExecutionException e) {
+            Activator.getInstance().logError("Error sorting trace " + fPath, e); //$NON-NLS-1$
+            return new Status(IStatus.ERROR, Activator.PLUGIN_ID, "Error sorting trace " + fPath, e); //$NON-NLS-1$
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Status.CANCEL_STATUS;
+        } finally {
+            if (monitor != null) {
+                monitor.done();
+            }
+        }
+    }
+
+    /**
+     * Sort the events array of a trace event file by timestamp. The temporary
+     * files are written in a directory next to the output file, which is
+     * deleted when the sort ends, even if it fails or is cancelled.
+     *
+     * @param input
+     *            the trace file
+     * @param eventsOffset
+     *            the offset of the events array in the trace file
+     * @param output
+     *            the sorted trace file
+     * @param chunkSize
+     *            the size in bytes of the chunks of events that are sorted in
+     *            memory
+     * @param monitor
+     *            the progress monitor
+     * @return false if the sort was cancelled
+     * @throws IOException
+     *             If the trace cannot be read or the sorted trace written
+     * @throws ExecutionException
+     *             If a chunk cannot be sorted or a group of runs merged
+     * @throws InterruptedException
+     *             If the sort is interrupted
+     */
+    public static boolean sort(File input, long eventsOffset, File output, int chunkSize, @Nullable IProgressMonitor monitor) throws IOException, ExecutionException, InterruptedException {
+        long size = input.length();
+        SubMonitor progress = SubMonitor.convert(monitor, (int) Math.min(Integer.MAX_VALUE / 2, size / KB + 1) * 2);
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, SORTER_THREAD_NAME + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        File tempDir = null;
+        try {
+            tempDir = Files.createTempDirectory(output.getAbsoluteFile().getParentFile().toPath(), "sort").toFile(); //$NON-NLS-1$
+            List<File> runs = sortChunks(input, eventsOffset, chunkSize, tempDir, executor, threads, progress);
+            if (runs != null) {
+                runs = reduceRuns(runs, tempDir, executor, progress);
+            }
+            if (runs == null) {
+                return false;
+            }
+            File sorted = File.createTempFile("sorted", ".json", tempDir); //$NON-NLS-1$ //$NON-NLS-2$
+            try (JsonArrayWriter writer = new JsonArrayWriter(sorted)) {
+                if (!mergeRuns(runs, writer, progress)) {
+                    return false;
+                }
+            }
+            Files.move(sorted.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } finally {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (tempDir != null) {
+                deleteDirectory(tempDir);
+            }
+        }
+    }
+
+    /**
+     * Split the events in chunks and sort them in parallel
+     *
+     * @return the sorted runs, in the order of the trace, or null if the job
+     *         was cancelled
+     */
+    private static @Nullable List<File> sortChunks(File input, long eventsOffset, int chunkSize, File tempDir, ExecutorService executor, int threads, SubMonitor progress) throws IOException, InterruptedException, ExecutionException {
+        // Limit the number of chunks in memory
+        Semaphore permits = new Semaphore((int) Math.max(1, Math.min(threads + 1, Runtime.getRuntime().maxMemory() / 4 / chunkSize)));
+        List<Future<File>> runs = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(input.toPath(), StandardOpenOption.READ)) {
+            channel.position(eventsOffset);
+            EventScanner scanner = new EventScanner(channel, chunkSize);
+            long reportedKB = 0;
+            Chunk chunk = scanner.next();
+            while (chunk != null) {
+                permits.acquire();
+                Chunk toSort = chunk;
+                runs.add(executor.submit(() -> {
+                    try {
+                        return sortChunk(toSort, tempDir);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+                long readKB = scanner.getBytesRead() / KB;
+                progress.worked((int) (readKB - reportedKB));
+                reportedKB = readKB;
+                if (progress.isCanceled()) {
+                    runs.forEach(run -> run.cancel(true));
+                    return null;
+                }
+                chunk = scanner.next();
+            }
+        }
+        List<File> files = new ArrayList<>();
+        for (Future<File> run : runs) {
+            files.add(run.get());
+        }
+        return files;
+    }
+
+    private static File sortChunk(Chunk chunk, File tempDir) throws IOException {
+        long[] keys = new long[chunk.fCount];
+        for (int i = 0; i < chunk.fCount; i++) {
+            keys[i] = parseTimestamp(chunk.fData, chunk.fStarts[i], chunk.fEnds[i]);
+        }
+        int[] order = sortedOrder(keys);
+        File run = File.createTempFile("run", ".bin", tempDir); //$NON-NLS-1$ //$NON-NLS-2$
+        try (RunWriter writer = new RunWriter(run)) {
+            for (int index : order) {
+                writer.write(keys[index], chunk.fData, chunk.fStarts[index], chunk.fEnds[index] - chunk.fStarts[index]);
+            }
+        }
+        return run;
+    }
+
+    /**
+     * Merge groups of runs in parallel until there are few enough runs to be
+     * merged at once
+     *
+     * @return the merged runs, in the order of the trace, or null if the job
+     *         was cancelled
+     */
+    private static @Nullable List<File> reduceRuns(List<File> runs, File tempDir, ExecutorService executor, SubMonitor progress) throws InterruptedException, ExecutionException {
+        List<File> current = runs;
+        while (current.size() > MAX_FAN_IN) {
+            List<Future<File>> merged = new ArrayList<>();
+            for (int i = 0; i < current.size(); i += MAX_FAN_IN) {
+                List<File> group = current.subList(i, Math.min(i + MAX_FAN_IN, current.size()));
+                merged.add(executor.submit(() -> {
+                    File run = File.createTempFile("run", ".bin", tempDir); //$NON-NLS-1$ //$NON-NLS-2$
+                    try (RunWriter writer = new RunWriter(run)) {
+                        mergeRuns(group, writer, null);
+                    }
+                    group.forEach(File::delete);
+                    return run;
+                }));
+            }
+            List<File> next = new ArrayList<>();
+            for (Future<File> run : merged) {
+                if (progress.isCanceled()) {
+                    merged.forEach(future -> future.cancel(true));
+                    return null;
+                }
+                next.add(run.get());
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    /**
+     * K-way merge of sorted runs. Events with the same timestamp are taken
+     * from the first run first, to keep the sort stable.
+     *
+     * @return false if the job was cancelled
+     */
+    private static boolean mergeRuns(List<File> runs, EventSink sink, @Nullable SubMonitor progress) throws IOException {
+        int count = runs.size();
+        DataInputStream[] inputs = new DataInputStream[count];
+        long[] keys = new long[count];
+        byte[][] events = new byte[count][];
+        int[] lengths = new int[count];
+        int[] heap = new int[count];
+        int heapSize = 0;
+        try {
+            for (int run = 0; run < count; run++) {
+                inputs[run] = new DataInputStream(new BufferedInputStream(new FileInputStream(runs.get(run)), IO_BUFFER_SIZE));
+                events[run] = new byte[KB];
+                if (readRecord(inputs[run], run, keys, events, lengths)) {
+                    heap[heapSize] = run;
+                    siftUp(heap, heapSize++, keys);
+                }
+            }
+            long written = 0;
+            long reportedKB = 0;
+            while (heapSize > 0) {
+                int run = heap[0];
+                sink.write(keys[run], events[run], 0, lengths[run]);
+                written += lengths[run];
+                if (!readRecord(inputs[run], run, keys, events, lengths)) {
+                    heap[0] = heap[--heapSize];
+                }
+                siftDown(heap, heapSize, keys);
+                if (progress != null && written / KB - reportedKB >= KB) {
+                    progress.worked((int) (written / KB - reportedKB));
+                    reportedKB = written / KB;
+                    if (progress.isCanceled()) {
+                        return false;
+                    }
+                }
+            }
+        } finally {
+            for (DataInputStream input : inputs) {
+                if (input != null) {
+                    input.close();
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean readRecord(DataInputStream input, int run, long[] keys, byte[][] events, int[] lengths) throws IOException {
+        long key;
+        try {
+            key = input.readLong();
+        } catch (EOFException e) {
+            return false;
+        }
+        int length = input.readInt();
+        if (events[run].length < length) {
+            events[run] = new byte[Math.max(length, events[run].length * 2)];
+        }
+        input.readFully(events[run], 0, length);
+        keys[run] = key;
+        lengths[run] = length;
+        return true;
+    }
+
+    private static boolean isBefore(int run1, int run2, long[] keys) {
+        return keys[run1] < keys[run2] || (keys[run1] == keys[run2] && run1 < run2);
+    }
+
+    private static void siftUp(int[] heap, int index, long[] keys) {
+        int child = index;
+        while (child > 0) {
+            int parent = (child - 1) / 2;
+            if (!isBefore(heap[child], heap[parent], keys)) {
+                return;
+            }
+            int tmp = heap[parent];
+            heap[parent] = heap[child];
+            heap[child] = tmp;
+            child = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, long[] keys) {
+        int parent = 0;
+        while (true) {
+            int smallest = parent;
+            int left = 2 * parent + 1;
+            int right = left + 1;
+            if (left < size && isBefore(heap[left], heap[smallest], keys)) {
+                smallest = left;
+            }
+            if (right < size && isBefore(heap[right], heap[smallest], keys)) {
+                smallest = right;
+            }
+            if (smallest == parent) {
+                return;
+            }
+            int tmp = heap[parent];
+            heap[parent] = heap[smallest];
+            heap[smallest] = tmp;
+            parent = smallest;
+        }
+    }
+
+    /**
+     * Get the stable order of the keys, with a bottom-up merge sort of their
+     * indexes
+     *
+     * @param keys
+     *            the keys to sort
+     * @return the indexes of the keys, in sorted order
+     */
+    private static int[] sortedOrder(long[] keys) {
+        int length = keys.length;
+        int[] order = new int[length];
+        boolean sorted = true;
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+            sorted &= (i == 0 || keys[i - 1] <= keys[i]);
+        }
+        if (sorted) {
+            return order;
+        }
+        int[] merged = new int[length];
+        for (int width = 1; width < length; width *= 2) {
+            for (int low = 0; low < length; low += 2 * width) {
+                int mid = Math.min(low + width, length);
+                int high = Math.min(low + 2 * width, length);
+                int left = low;
+                int right = mid;
+                int index = low;
+                while (left < mid && right < high) {
+                    merged[index++] = keys[order[right]] < keys[order[left]] ? order[right++] : order[left++];
+                }
+                while (left < mid) {
+                    merged[index++] = order[left++];
+                }
+                while (right < high) {
+                    merged[index++] = order[right++];
+                }
+            }
+            int[] tmp = order;
+            order = merged;
+            merged = tmp;
+        }
+        return order;
+    }
+
+    /**
+     * Get the timestamp of an event, in nanoseconds. The value of the first
+     * <code>"ts":</code> key of the event is used.
+     *
+     * @param data
+     *            the buffer containing the event
+     * @param start
+     *            the start of the event in the buffer
+     * @param end
+     *            the end of the event in the buffer
+     * @return the timestamp in nanoseconds, or -1 us if the event has no valid
+     *         timestamp
+     */
+    private static long parseTimestamp(byte[] data, int start, int end) {
+        int keyIndex = indexOf(data, start, end, TS_KEY);
+        if (keyIndex < 0) {
+            return MISSING_TS;
+        }
+        int valueStart = keyIndex + TS_KEY.length;
+        int pos = skipWhitespaceAndQuotes(data, valueStart, end);
+        boolean negative = pos < end && data[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        long integer = 0;
+        int digits = 0;
+        while (pos < end && isDigit(data[pos])) {
+            integer = integer * 10 + (data[pos++] - '0');
+            digits++;
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        if (pos < end && data[pos] == '.') {
+            pos++;
+            while (pos < end && isDigit(data[pos])) {
+                if (fractionDigits < 3) {
+                    fraction = fraction * 10 + (data[pos] - '0');
+                    fractionDigits++;
+                }
+                pos++;
+            }
+        }
+        pos = skipWhitespaceAndQuotes(data, pos, end);
+        if (digits > 0 && digits <= MAX_FAST_DIGITS && pos < end && (data[pos] == ',' || data[pos] == '}')) {
+            for (int i = fractionDigits; i < 3; i++) {
+                fraction *= 10;
+            }
+            long ts = integer * MICRO_TO_NANO + fraction;
+            return negative ? -ts : ts;
+        }
+        return parseTimestampSlow(data, valueStart, end);
+    }
+
+    /**
+     * Parse the timestamps that are not plain decimal numbers, like the JSON
+     * trace sorting job does
+     */
+    private static long parseTimestampSlow(byte[] data, int start, int end) {
+        int valueEnd = indexOf(data, start, end, new byte[] { ',' });
+        if (valueEnd < 0) {
+            valueEnd = indexOf(data, start, end, new byte[] { '}' });
+        }
+        if (valueEnd < 0) {
+            return MISSING_TS;
+        }
+        String number = new String(data, start, valueEnd - start, StandardCharsets.ISO_8859_1).trim().replace("\"", ""); //$NON-NLS-1$ //$NON-NLS-2$
+        try {
+            return new BigDecimal(number).movePointRight(3).setScale(0, RoundingMode.DOWN).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            return MISSING_TS;
+        }
+    }
+
+    private static int skipWhitespaceAndQuotes(byte[] data, int start, int end) {
+        int pos = start;
+        while (pos < end && (data[pos] == '"' || data[pos] == ' ' || data[pos] == '\t' || data[pos] == '\n' || data[pos] == '\r')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static int indexOf(byte[] data, int start, int end, byte[] pattern) {
+        int last = end - pattern.length;
+        outer: for (int i = start; i <= last; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private long getEventsOffset(File input) throws IOException {
+        if (fPathToEvents.isEmpty()) {
+            return 0;
+        }
+        try (BufferedRandomAccessFile rafile = new BufferedRandomAccessFile(input, "r")) { //$NON-NLS-1$
+            TraceEventTrace.goToCorrectStart(rafile);
+            return rafile.getFilePointer();
+        }
+    }
+
+    private static void deleteDirectory(File dir) {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) {
+                    Activator.getInstance().logWarning("Could not delete temporary file " + file); //$NON-NLS-1$
+                }
+            }
+        }
+        if (!dir.delete()) {
+            Activator.getInstance().logWarning("Could not delete temporary directory " + dir); //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * Events read from the trace, to be sorted together
+     */
+    private static final class Chunk {
+        private final byte[] fData;
+        private final int[] fStarts;
+        private final int[] fEnds;
+        private final int fCount;
+
+        public Chunk(byte[] data, int[] starts, int[] ends, int count) {
+            fData = data;
+            fStarts = starts;
+            fEnds = ends;
+            fCount = count;
+        }
+    }
+
+    /**
+     * Reads the events array and splits it in chunks of complete events. An
+     * event is a top-level object of the array, the scanner keeps track of the
+     * nesting and of the strings to find where each event ends.
+     */
+    private static final class EventScanner {
+        private final FileChannel fChannel;
+        private final int fChunkSize;
+        private byte[] fBuffer;
+        private int fFill = 0;
+        private int fScanned = 0;
+        private long fBytesRead = 0;
+        private boolean fEnded = false;
+
+        private boolean fInEvent = false;
+        private boolean fInString = false;
+        private boolean fEscaped = false;
+        private int fDepth = 0;
+        private int fEventStart = 0;
+
+        private int[] fStarts = new int[KB];
+        private int[] fEnds = new int[KB];
+        private int fCount = 0;
+
+        public EventScanner(FileChannel channel, int chunkSize) {
+            fChannel = channel;
+            fChunkSize = chunkSize;
+            fBuffer = new byte[chunkSize];
+        }
+
+        public long getBytesRead() {
+            return fBytesRead;
+        }
+
+        /**
+         * Get the next chunk of events
+         *
+         * @return the chunk, or null at the end of the events array
+         */
+        public @Nullable Chunk next() throws IOException {
+            while (!fEnded) {
+                if (fScanned == fFill) {
+                    if (fFill == fBuffer.length) {
+                        Chunk chunk = takeChunk();
+                        if (chunk != null) {
+                            return chunk;
+                        }
+                        makeRoom();
+                    }
+                    int read = fChannel.read(ByteBuffer.wrap(fBuffer, fFill, fBuffer.length - fFill));
+                    if (read < 0) {
+                        fEnded = true;
+                        break;
+                    }
+                    fFill += read;
+                    fBytesRead += read;
+                }
+                scan();
+            }
+            return takeChunk();
+        }
+
+        private void scan() {
+            byte[] buffer = fBuffer;
+            for (int i = fScanned; i < fFill; i++) {
+                byte b = buffer[i];
+                if (!fInEvent) {
+                    if (b == '{') {
+                        fInEvent = true;
+                        fDepth = 1;
+                        fEventStart = i;
+                    } else if (b == ']') {
+                        // End of the events array
+                        fEnded = true;
+                        fScanned = i + 1;
+                        return;
+                    }
+                } else if (fInString) {
+                    if (fEscaped) {
+                        fEscaped = false;
+                    } else if (b == '\\') {
+                        fEscaped = true;
+                    } else if (b == '"') {
+                        fInString = false;
+                    }
+                } else if (b == '"') {
+                    fInString = true;
+                } else if (b == '{' || b == '[') {
+                    fDepth++;
+                } else if ((b == '}' || b == ']') && --fDepth == 0) {
+                    addEvent(fEventStart, i + 1);
+                    fInEvent = false;
+                }
+            }
+            fScanned = fFill;
+        }
+
+        private void addEvent(int start, int end) {
+            if (fCount == fStarts.length) {
+                fStarts = Arrays.copyOf(fStarts, fCount * 2);
+                fEnds = Arrays.copyOf(fEnds, fCount * 2);
+            }
+            fStarts[fCount] = start;
+            fEnds[fCount] = end;
+            fCount++;
+        }
+
+        /**
+         * Take the complete events of the buffer, the incomplete event at the
+         * end of the buffer is moved to a new buffer
+         */
+        private @Nullable Chunk takeChunk() {
+            if (fCount == 0) {
+                return null;
+            }
+            Chunk chunk = new Chunk(fBuffer, fStarts, fEnds, fCount);
+            int keep = (fInEvent && !fEnded) ? fFill - fEventStart : 0;
+            byte[] buffer = new byte[Math.max(fChunkSize, keep * 2)];
+            System.arraycopy(fBuffer, fFill - keep, buffer, 0, keep);
+            fBuffer = buffer;
+            fFill = keep;
+            fScanned = keep;
+            fEventStart = 0;
+            fStarts = new int[fStarts.length];
+            fEnds = new int[fEnds.length];
+            fCount = 0;
+            return chunk;
+        }
+
+        /**
+         * Make room in a full buffer that has no complete event
+         */
+        private void makeRoom() {
+            if (!fInEvent) {
+                fFill = 0;
+                fScanned = 0;
+            } else if (fEventStart > 0) {
+                int keep = fFill - fEventStart;
+                System.arraycopy(fBuffer, fEventStart, fBuffer, 0, keep);
+                fFill = keep;
+                fScanned = keep;
+                fEventStart = 0;
+            } else {
+                // The event is larger than the buffer
+                fBuffer = Arrays.copyOf(fBuffer, fBuffer.length * 2);
+            }
+        }
     }
 
+    /**
+     * Receives the merged events
+     */
+    private interface EventSink {
+        void write(long key, byte[] data, int offset, int length) throws IOException;
+    }
+
+    /**
+     * Writes sorted events with their key, to be merged
+     */
+    private static final class RunWriter implements EventSink, Closeable {
+        private final DataOutputStream fOutput;
+
+        public RunWriter(File file) throws IOException {
+            fOutput = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), IO_BUFFER_SIZE));
+        }
+
+        @Override
+        public void write(long key, byte[] data, int offset, int length) throws IOException {
+            fOutput.writeLong(key);
+            fOutput.writeInt(length);
+            fOutput.write(data, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            fOutput.close();
+        }
+    }
+
+    /**
+     * Writes the sorted events as a JSON array
+     */
+    private static final class JsonArrayWriter implements EventSink, Closeable {
+        private final OutputStream fOutput;
+        private boolean fFirst = true;
+
+        public JsonArrayWriter(File file) throws IOException {
+            fOutput = new BufferedOutputStream(new FileOutputStream(file), IO_BUFFER_SIZE);
+            fOutput.write('[');
+        }
+
+        @Override
+        public void write(long key, byte[] data, int offset, int length) throws IOException {
+            if (!fFirst) {
+                fOutput.write(',');
+            }
+            fFirst = false;
+            fOutput.write(data, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                fOutput.write(']');
+            } finally {
+                fOutput.close();
+            }
+        }
+    }
 }
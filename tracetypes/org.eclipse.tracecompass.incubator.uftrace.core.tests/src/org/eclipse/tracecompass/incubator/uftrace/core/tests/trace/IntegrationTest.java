@@ -13,18 +13,27 @@ package org.eclipse.tracecompass.incubator.uftrace.core.tests.trace;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.DatEvent;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.UfCheckpointIndex;
 import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.Uftrace;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
 import org.eclipse.tracecompass.tmf.core.exceptions.TmfTraceException;
+import org.eclipse.tracecompass.tmf.core.symbols.ISymbolProvider;
+import org.eclipse.tracecompass.tmf.core.symbols.TmfResolvedSymbol;
 import org.eclipse.tracecompass.tmf.core.timestamp.ITmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestamp;
 import org.eclipse.tracecompass.tmf.core.timestamp.TmfTimestampFormat;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
+import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -122,4 +131,85 @@ public class IntegrationTest {
         assertEquals("Timestamp", "2024", ts.toString(new TmfTimestampFormat("yyyy")));
     }
 
-}
\ No newline at end of file
+    /**
+     * Seek locations of the trace, using the checkpoint index, and check that
+     * the events read are the same as when reading the trace from the start
+     *
+     * @throws TmfTraceException
+     *             something went wrong
+     */
+    @Test
+    public void seekTrace() throws TmfTraceException {
+        Uftrace uftrace = fUft;
+        assertNotNull(uftrace);
+        uftrace.initTrace(null, "res/uftrace-ls", TmfEvent.class);
+        List<ITmfLocation> locations = new ArrayList<>();
+        List<ITmfEvent> events = new ArrayList<>();
+        ITmfContext ctx = uftrace.seekEvent(0);
+        ITmfEvent event = null;
+        while (true) {
+            ITmfLocation location = ctx.getLocation();
+            event = uftrace.getNext(ctx);
+            if (event == null) {
+                break;
+            }
+            locations.add(location);
+            events.add(event);
+        }
+        assertEquals("event count", 113751, events.size());
+
+        int interval = UfCheckpointIndex.DEFAULT_INTERVAL;
+        int[] ranks = { 1, interval - 1, interval, interval + 1, 10 * interval + 17, events.size() - 1 };
+        for (int rank : ranks) {
+            ctx = uftrace.seekEvent(locations.get(rank));
+            assertEquals("rank", rank, ctx.getRank());
+            for (int i = rank; i < Math.min(rank + 3, events.size()); i++) {
+                event = uftrace.getNext(ctx);
+                assertNotNull(event);
+                ITmfEvent expected = events.get(i);
+                assertEquals("timestamp at " + i, expected.getTimestamp(), event.getTimestamp());
+                DatEvent expectedData = (DatEvent) expected.getContent().getValue();
+                DatEvent data = (DatEvent) event.getContent().getValue();
+                assertEquals("tid at " + i, expectedData.getTid(), data.getTid());
+                assertEquals("address at " + i, expectedData.getAddress(), data.getAddress());
+                assertEquals("type at " + i, expectedData.getType(), data.getType());
+            }
+        }
+        assertNull(uftrace.getNext(ctx));
+    }
+
+    /**
+     * Resolve the symbols of the addresses of the events twice, the second
+     * time from the cache of the symbol provider, and check that they match
+     *
+     * @throws TmfTraceException
+     *             something went wrong
+     */
+    @Test
+    public void resolveSymbols() throws TmfTraceException {
+        Uftrace uftrace = fUft;
+        assertNotNull(uftrace);
+        uftrace.initTrace(null, "res/uftrace-ls", TmfEvent.class);
+        ISymbolProvider symbolProvider = uftrace.getSymbolProvider();
+        ITmfContext ctx = uftrace.seekEvent(0);
+        int[] tids = new int[100];
+        long[] addresses = new long[tids.length];
+        TmfResolvedSymbol[] symbols = new TmfResolvedSymbol[tids.length];
+        for (int i = 0; i < tids.length; i++) {
+            ITmfEvent event = uftrace.getNext(ctx);
+            assertNotNull(event);
+            DatEvent data = (DatEvent) event.getContent().getValue();
+            tids[i] = data.getTid();
+            addresses[i] = data.getAddress();
+            symbols[i] = symbolProvider.getSymbol(tids[i], 0, addresses[i]);
+        }
+        TmfResolvedSymbol first = symbols[0];
+        assertNotNull(first);
+        assertEquals("__monstartup", first.getSymbolName());
+
+        for (int i = 0; i < tids.length; i++) {
+            assertSame("symbol at " + i, symbols[i], symbolProvider.getSymbol(tids[i], 0, addresses[i]));
+        }
+    }
+
+}
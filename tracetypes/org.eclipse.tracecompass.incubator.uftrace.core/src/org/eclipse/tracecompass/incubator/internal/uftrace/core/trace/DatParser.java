@@ -45,6 +45,9 @@ import com.google.common.collect.PeekingIterator;
  */
 public class DatParser implements Iterable<DatEvent> {
 
+    /** The size of a record: a timestamp and a payload */
+    public static final int RECORD_SIZE = Long.BYTES * 2;
+
     private long fUtcOffset;
     private final File fFile;
     private final long fStart;
@@ -76,50 +79,126 @@ public class DatParser implements Iterable<DatEvent> {
     }
 
     @Override
-    public PeekingIterator<DatEvent> iterator() {
+    public DatIterator iterator() {
+        return iterator(-1, 0);
+    }
 
+    /**
+     * Get an iterator that resumes reading the file at a given position. The
+     * record before that position, if any, is read again as the current record
+     * of the iterator, so that the iterator is in the same state as the one
+     * whose {@link DatIterator#getPosition()} was saved.
+     *
+     * @param stream
+     *            the index of this data file in the merge of the data files,
+     *            or -1 if the iterator is not merged
+     * @param position
+     *            the position of the next record to read, relative to the
+     *            start offset
+     * @return the iterator
+     */
+    public DatIterator iterator(int stream, long position) {
         try (FileChannel fc = FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
             MappedByteBuffer bb = fc.map(FileChannel.MapMode.READ_ONLY, fStart, fc.size());
             if (bb == null) {
                 throw new IllegalStateException("cannot create a byte buffer!"); //$NON-NLS-1$
             }
-            return new PeekingIterator<DatEvent>() {
-
-                DatEvent fCurrent = null;
-
-                @Override
-                public DatEvent next() {
-                    if (!hasNext()) {
-                        throw new NoSuchElementException("no more data"); //$NON-NLS-1$
-                    }
-                    fCurrent = DatEvent.create(bb,
-                            NumberUtils.toInt(fFile.getName().substring(0, fFile.getName().length() - 4)), fUtcOffset);
-                    return fCurrent;
-                }
-
-                @Override
-                public boolean hasNext() {
-                    return bb.remaining() > Long.BYTES * 2;
-                }
-
-                @Override
-                public DatEvent peek() {
-                    if (fCurrent == null && hasNext()) {
-                        return next();
-                    }
-                    return fCurrent;
-                }
-
-                @Override
-                public void remove() {
-                    throw new UnsupportedOperationException("can't"); //$NON-NLS-1$
-                }
-            };
+            DatIterator iterator = new DatIterator(bb, stream);
+            if (position > 0) {
+                bb.position((int) (position - RECORD_SIZE));
+                iterator.next();
+            }
+            return iterator;
         } catch (IOException e) {
             throw new IllegalStateException(e);
         }
     }
 
+    /**
+     * Iterator on the records of a data file. The position of the iterator in
+     * the file can be saved to create an iterator in the same state later.
+     */
+    public class DatIterator implements PeekingIterator<DatEvent> {
+
+        private final MappedByteBuffer fBuffer;
+        private final int fTid;
+        private final int fStream;
+        private DatEvent fCurrent = null;
+
+        private DatIterator(MappedByteBuffer bb, int stream) {
+            fBuffer = bb;
+            fStream = stream;
+            fTid = NumberUtils.toInt(fFile.getName().substring(0, fFile.getName().length() - 4));
+        }
+
+        @Override
+        public DatEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("no more data"); //$NON-NLS-1$
+            }
+            fCurrent = DatEvent.create(fBuffer, fTid, fUtcOffset);
+            return fCurrent;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return fBuffer.remaining() > RECORD_SIZE;
+        }
+
+        @Override
+        public DatEvent peek() {
+            if (fCurrent == null && hasNext()) {
+                return next();
+            }
+            return fCurrent;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("can't"); //$NON-NLS-1$
+        }
+
+        /**
+         * Get the position of the next record to read, relative to the start
+         * offset
+         *
+         * @return the position
+         */
+        public long getPosition() {
+            return fBuffer.position();
+        }
+
+        /**
+         * Whether a record was read and is the current record of the iterator.
+         * Only then can the iterator be restored from its position.
+         *
+         * @return true if the iterator has a current record
+         */
+        public boolean hasCurrent() {
+            return fCurrent != null;
+        }
+
+        /**
+         * Get the index of the data file of this iterator in the merge of the
+         * data files
+         *
+         * @return the index of the data file, or -1 if the iterator is not
+         *         merged
+         */
+        public int getStream() {
+            return fStream;
+        }
+    }
+
+    /**
+     * Get the data file
+     *
+     * @return the file
+     */
+    public File getFile() {
+        return fFile;
+    }
+
     /**
      * Set new utc offset
      *
@@ -13,6 +13,8 @@ package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map.Entry;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.regex.Matcher;
@@ -20,6 +22,7 @@ import java.util.regex.Pattern;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.LineIterator;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * The session id a random 16-character string (or 8-byte hex number) and it's
@@ -40,6 +43,9 @@ public class MapParser {
             "^\\s*([a-fA-F0-9]+)\\-([a-fA-F0-9]+)\\s+([rxwps-]+)\\s+([a-fA-F0-9]+)\\s+([a-fA-F0-9]+)\\:([a-fA-F0-9]+)\\s+([a-fA-F0-9]+)\\s*(\\S*)\\s*(\\S*)"); //$NON-NLS-1$
     private final long fSessionId;
     private final NavigableMap<Long, MapEntry> fData;
+    /** The low addresses of the entries, sorted, for binary searches */
+    private final long[] fAddresses;
+    private final MapEntry[] fEntries;
 
     /**
      * Map parser builder
@@ -82,6 +88,14 @@ public class MapParser {
     private MapParser(long sessionId, NavigableMap<Long, MapEntry> data) {
         fSessionId = sessionId;
         fData = data;
+        fAddresses = new long[data.size()];
+        fEntries = new MapEntry[data.size()];
+        int i = 0;
+        for (Entry<Long, MapEntry> entry : data.entrySet()) {
+            fAddresses[i] = entry.getKey();
+            fEntries[i] = entry.getValue();
+            i++;
+        }
     }
 
     /**
@@ -93,6 +107,23 @@ public class MapParser {
         return fData;
     }
 
+    /**
+     * Get the entry whose low address is the greatest one less than or equal
+     * to an address. This is a binary search in the sorted low addresses of
+     * the entries, without boxing.
+     *
+     * @param address
+     *            the address
+     * @return the entry, or null if the address is before the first entry
+     */
+    public @Nullable MapEntry floor(long address) {
+        int index = Arrays.binarySearch(fAddresses, address);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index < 0 ? null : fEntries[index];
+    }
+
     /**
      * Get the session ID
      *
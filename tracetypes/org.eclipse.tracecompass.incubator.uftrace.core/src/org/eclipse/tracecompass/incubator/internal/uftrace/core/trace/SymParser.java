@@ -13,6 +13,8 @@ package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map.Entry;
 import java.util.NavigableMap;
 import java.util.TreeMap;
 import java.util.regex.Matcher;
@@ -20,6 +22,7 @@ import java.util.regex.Pattern;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.LineIterator;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
  *
@@ -68,6 +71,9 @@ public class SymParser {
     }
 
     private final NavigableMap<Long, Symbol> fMap = new TreeMap<>();
+    /** The addresses of the symbols, sorted, for binary searches */
+    private long[] fAddresses = new long[0];
+    private Symbol[] fSymbols = new Symbol[0];
 
     /**
      * Parse a file to get a symbol
@@ -97,6 +103,14 @@ public class SymParser {
                 Symbol sym = new Symbol(c, name);
                 sp.fMap.put(range, sym);
             }
+            sp.fAddresses = new long[sp.fMap.size()];
+            sp.fSymbols = new Symbol[sp.fMap.size()];
+            int i = 0;
+            for (Entry<Long, Symbol> entry : sp.fMap.entrySet()) {
+                sp.fAddresses[i] = entry.getKey();
+                sp.fSymbols[i] = entry.getValue();
+                i++;
+            }
             return sp;
         }
     }
@@ -109,4 +123,21 @@ public class SymParser {
     public NavigableMap<Long, Symbol> getMap() {
         return fMap;
     }
+
+    /**
+     * Get the symbol containing an address, that is the symbol with the
+     * greatest address less than or equal to it. This is a binary search in
+     * the sorted addresses of the symbols, without boxing.
+     *
+     * @param address
+     *            the address, relative to the start of the module
+     * @return the symbol, or null if the address is before the first symbol
+     */
+    public @Nullable Symbol floor(long address) {
+        int index = Arrays.binarySearch(fAddresses, address);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        return index < 0 ? null : fSymbols[index];
+    }
 }
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.Activator;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
+
+/**
+ * Checkpoints of the merge of the data files of a UFTrace, kept in the
+ * supplementary folder of the trace.
+ * <p>
+ * A checkpoint is saved every {@link #getInterval()} records of the merge, with
+ * the position of the next record of each data file. Seeking a record then
+ * restores the context from the checkpoint before it and reads at most an
+ * interval of records, instead of merging all the records from the start of the
+ * trace.
+ * <p>
+ * A checkpoint has the stream index and position of each data file that is not
+ * completely read, so 16 bytes per data file. The interval grows with the
+ * number of data files, see {@link #getDefaultInterval(int)}, so that the index
+ * is at most one byte per record, a sixteenth of the size of the data files.
+ * <p>
+ * The index is only used if the data files have the same names, in the same
+ * order, sizes and modification times as when it was written.
+ */
+public final class UfCheckpointIndex {
+
+    /** The name of the index file in the supplementary folder */
+    public static final String FILE_NAME = "uftrace-checkpoints.idx"; //$NON-NLS-1$
+
+    /** The default number of records between checkpoints */
+    public static final int DEFAULT_INTERVAL = 4096;
+
+    private static final int MAGIC = 0x55464350; // UFCP
+    private static final int VERSION = 1;
+
+    private final int fInterval;
+    /** The state of the merge at each checkpoint, null if not restorable */
+    private final List<long @Nullable []> fCheckpoints;
+
+    private UfCheckpointIndex(int interval, List<long @Nullable []> checkpoints) {
+        fInterval = interval;
+        fCheckpoints = checkpoints;
+    }
+
+    /**
+     * Get the number of records between checkpoints for a number of data
+     * files, so that the size of the checkpoints is at most one byte per
+     * record
+     *
+     * @param datCount
+     *            the number of data files
+     * @return the interval, at least {@link #DEFAULT_INTERVAL}
+     */
+    public static int getDefaultInterval(int datCount) {
+        return Math.max(DEFAULT_INTERVAL, datCount * DatParser.RECORD_SIZE);
+    }
+
+    /**
+     * Build the index by merging all the records of the data files
+     *
+     * @param dats
+     *            the data files
+     * @param trace
+     *            the trace
+     * @param interval
+     *            the number of records between checkpoints
+     * @return the index
+     */
+    public static UfCheckpointIndex build(List<DatParser> dats, ITmfTrace trace, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Invalid checkpoint interval: " + interval); //$NON-NLS-1$
+        }
+        List<long @Nullable []> checkpoints = new ArrayList<>();
+        // The first checkpoint is the start of the trace
+        checkpoints.add(null);
+        UfContext context = new UfContext(dats, trace);
+        while (context.advance()) {
+            if (context.getIndex() % interval == 0) {
+                checkpoints.add(context.getState());
+            }
+        }
+        return new UfCheckpointIndex(interval, checkpoints);
+    }
+
+    /**
+     * Get the number of records between checkpoints
+     *
+     * @return the interval
+     */
+    public int getInterval() {
+        return fInterval;
+    }
+
+    /**
+     * Get a context positioned at a record of the merge. The context is
+     * restored from the last checkpoint before the record, then the records
+     * in between are skipped. If the trace has fewer records, the context is
+     * at the end of the trace.
+     *
+     * @param dats
+     *            the data files
+     * @param trace
+     *            the trace
+     * @param index
+     *            the number of records before the record to seek
+     * @return the context
+     */
+    public UfContext seek(List<DatParser> dats, ITmfTrace trace, long index) {
+        UfContext context = null;
+        int checkpoint = (int) Math.min(index / fInterval, fCheckpoints.size() - 1L);
+        for (; checkpoint > 0 && context == null; checkpoint--) {
+            long[] state = fCheckpoints.get(checkpoint);
+            if (state != null) {
+                context = new UfContext(dats, trace, checkpoint * (long) fInterval, state);
+            }
+        }
+        if (context == null) {
+            context = new UfContext(dats, trace);
+        }
+        while (context.getIndex() < index && context.advance()) {
+            // skip the records before the one to seek
+        }
+        context.setLocation(new TmfLongLocation(context.getIndex() * DatParser.RECORD_SIZE));
+        context.setRank(context.getIndex());
+        return context;
+    }
+
+    /**
+     * Read the index from a file
+     *
+     * @param indexFile
+     *            the index file
+     * @param dats
+     *            the data files, in the order of the merge
+     * @return the index, or null if the file does not exist or does not
+     *         match the data files
+     */
+    public static @Nullable UfCheckpointIndex read(File indexFile, List<DatParser> dats) {
+        if (!indexFile.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unknown checkpoint index format"); //$NON-NLS-1$
+            }
+            int interval = in.readInt();
+            int datCount = in.readInt();
+            if (interval < 1 || datCount != dats.size()) {
+                return null;
+            }
+            for (DatParser dat : dats) {
+                File datFile = dat.getFile();
+                if (!in.readUTF().equals(datFile.getName()) || in.readLong() != datFile.length() || in.readLong() != datFile.lastModified()) {
+                    // The trace was modified, the index is rebuilt silently
+                    return null;
+                }
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Invalid checkpoint count: " + count); //$NON-NLS-1$
+            }
+            List<long @Nullable []> checkpoints = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int length = in.readInt();
+                if (length < 0) {
+                    checkpoints.add(null);
+                    continue;
+                }
+                if (length % 2 != 0 || length > datCount * 2) {
+                    throw new IOException("Invalid checkpoint size: " + length); //$NON-NLS-1$
+                }
+                long[] state = new long[length];
+                for (int j = 0; j < length; j++) {
+                    state[j] = in.readLong();
+                }
+                for (int j = 0; j < length; j += 2) {
+                    if (state[j] < 0 || state[j] >= datCount) {
+                        throw new IOException("Invalid data file index: " + state[j]); //$NON-NLS-1$
+                    }
+                }
+                checkpoints.add(state);
+            }
+            return new UfCheckpointIndex(interval, checkpoints);
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("The checkpoint index of the UFTrace is invalid and will be rebuilt: " + indexFile, e); //$NON-NLS-1$
+            return null;
+        }
+    }
+
+    /**
+     * Write the index to a file. Failing to write the index is not an error,
+     * it will be built again next time.
+     *
+     * @param indexFile
+     *            the index file
+     * @param dats
+     *            the data files, in the order of the merge
+     */
+    public void save(File indexFile, List<DatParser> dats) {
+        File tmpFile = new File(indexFile.getPath() + ".tmp"); //$NON-NLS-1$
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmpFile.toPath())))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(fInterval);
+                out.writeInt(dats.size());
+                for (DatParser dat : dats) {
+                    File datFile = dat.getFile();
+                    out.writeUTF(datFile.getName());
+                    out.writeLong(datFile.length());
+                    out.writeLong(datFile.lastModified());
+                }
+                out.writeInt(fCheckpoints.size());
+                for (long[] state : fCheckpoints) {
+                    if (state == null) {
+                        out.writeInt(-1);
+                        continue;
+                    }
+                    out.writeInt(state.length);
+                    for (long value : state) {
+                        out.writeLong(value);
+                    }
+                }
+            }
+            Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Activator.getInstance().logWarning("Cannot write the checkpoint index of the UFTrace: " + indexFile, e); //$NON-NLS-1$
+            tmpFile.delete();
+        }
+    }
+}
@@ -11,9 +11,12 @@
 
 package org.eclipse.tracecompass.incubator.internal.uftrace.core.trace;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.PriorityQueue;
 
 import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.uftrace.core.trace.DatParser.DatIterator;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEvent;
 import org.eclipse.tracecompass.tmf.core.event.ITmfEventField;
 import org.eclipse.tracecompass.tmf.core.event.TmfEvent;
@@ -22,19 +25,24 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.TmfContext;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
 
-import com.google.common.collect.PeekingIterator;
-
 /**
- * Naive context
+ * Context merging the records of the data files by time.
+ * <p>
+ * The location of the context is the number of records read from the merge
+ * times {@link DatParser#RECORD_SIZE}. The state of the merge can be saved with
+ * {@link #getState()} and a context restored from it, which is what the
+ * checkpoints of {@link UfCheckpointIndex} are made of.
  *
  * @author Matthew Khouzam
  *
  */
 public class UfContext extends TmfContext {
 
-    private PriorityQueue<PeekingIterator<DatEvent>> fQueue = new PriorityQueue<>(
+    private PriorityQueue<DatIterator> fQueue = new PriorityQueue<>(
             (o1, o2) -> Long.compare(o1.peek().getTime(), o2.peek().getTime()));
     private ITmfTrace fTrace;
+    private long fIndex = 0;
+    private @Nullable DatEvent fRecord = null;
 
     /**
      * Constructor
@@ -46,12 +54,43 @@ public class UfContext extends TmfContext {
      */
     public UfContext(Iterable<DatParser> dats, ITmfTrace trace) {
         fTrace = trace;
+        int stream = 0;
         for (DatParser dp : dats) {
-            PeekingIterator<DatEvent> iterator = dp.iterator();
+            DatIterator iterator = dp.iterator(stream++, 0);
             if (iterator.hasNext()) {
                 fQueue.add(iterator);
             }
         }
+        setLocation(new TmfLongLocation(0L));
+        setRank(0);
+    }
+
+    /**
+     * Constructor restoring a saved state of the merge
+     *
+     * @param dats
+     *            data streams, in the same order as when the state was saved
+     * @param trace
+     *            trace
+     * @param index
+     *            the number of records read when the state was saved
+     * @param state
+     *            the state, from {@link #getState()}
+     */
+    public UfContext(List<DatParser> dats, ITmfTrace trace, long index, long[] state) {
+        fTrace = trace;
+        fIndex = index;
+        /*
+         * The iterators are added in the order of the saved heap, which is a
+         * valid heap, so the queue is rebuilt identically and records with the
+         * same time are merged in the same order as when it was saved.
+         */
+        for (int i = 0; i < state.length; i += 2) {
+            int stream = (int) state[i];
+            fQueue.add(dats.get(stream).iterator(stream, state[i + 1]));
+        }
+        setLocation(new TmfLongLocation(index * DatParser.RECORD_SIZE));
+        setRank(index);
     }
 
     @Override
@@ -59,30 +98,68 @@ public class UfContext extends TmfContext {
         return (@Nullable TmfLongLocation) super.getLocation();
     }
 
+    /**
+     * Get the number of records read from the merge
+     *
+     * @return the number of records read
+     */
+    public long getIndex() {
+        return fIndex;
+    }
+
+    /**
+     * Save the state of the merge: the data stream and position of each
+     * iterator, in the order of the heap of the queue. The state has two
+     * values for each data stream that is not completely read.
+     *
+     * @return the state, or null if an iterator has no current record and its
+     *         state cannot be restored
+     */
+    public long @Nullable [] getState() {
+        Object[] iterators = fQueue.toArray();
+        long[] state = new long[iterators.length * 2];
+        for (int i = 0; i < iterators.length; i++) {
+            DatIterator iterator = (DatIterator) iterators[i];
+            if (!iterator.hasCurrent()) {
+                return null;
+            }
+            state[i * 2] = iterator.getStream();
+            state[i * 2 + 1] = iterator.getPosition();
+        }
+        return state;
+    }
+
+    /**
+     * Read the next record of the merge without creating an event
+     *
+     * @return true if a record was read, false at the end of the data streams
+     */
+    public boolean advance() {
+        DatIterator eventSource = fQueue.poll();
+        if (eventSource == null) {
+            return false;
+        }
+        fRecord = eventSource.next();
+        if (eventSource.hasNext()) {
+            fQueue.add(eventSource);
+        }
+        fIndex++;
+        return true;
+    }
+
     /**
      * Get next event, like an iterator
      *
      * @return the next event or null
      */
-    public ITmfEvent getNext() {
-        PeekingIterator<DatEvent> eventSource = fQueue.poll();
-        if (eventSource != null) {
-            DatEvent event = eventSource.next();
-            if (eventSource.hasNext()) {
-                fQueue.add(eventSource);
-            }
-            TmfEvent tmfEvent = new TmfEvent(fTrace, getRank(), fTrace.createTimestamp(event.getTime()),
-                    UfEventType.lookup(event.getType()),
-                    new TmfEventField(ITmfEventField.ROOT_FIELD_ID, event, null));
-            TmfLongLocation location = getLocation();
-            if (location != null) {
-                setLocation(new TmfLongLocation(location.getLocationInfo() + Long.BYTES * 2));
-            } else {
-                setLocation(new TmfLongLocation(Long.BYTES * 2));
-            }
-            return tmfEvent;
+    public @Nullable ITmfEvent getNext() {
+        if (!advance()) {
+            return null;
         }
-        return null;
+        DatEvent event = Objects.requireNonNull(fRecord);
+        return new TmfEvent(fTrace, getRank(), fTrace.createTimestamp(event.getTime()),
+                UfEventType.lookup(event.getType()),
+                new TmfEventField(ITmfEventField.ROOT_FIELD_ID, event, null));
     }
 
 }
@@ -16,15 +16,13 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.FilenameUtils;
 import org.eclipse.cdt.utils.CPPFilt;
@@ -55,6 +53,7 @@ import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTraceKnownSize;
 import org.eclipse.tracecompass.tmf.core.trace.ITmfTraceWithPreDefinedEvents;
 import org.eclipse.tracecompass.tmf.core.trace.TmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceManager;
 import org.eclipse.tracecompass.tmf.core.trace.TraceValidationStatus;
 import org.eclipse.tracecompass.tmf.core.trace.location.ITmfLocation;
 import org.eclipse.tracecompass.tmf.core.trace.location.TmfLongLocation;
@@ -80,7 +79,7 @@ import com.google.common.collect.Iterables;
 public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
         ITmfTraceKnownSize, ITmfTraceWithPreDefinedEvents {
 
-    private Collection<DatParser> fDats = new ArrayList<>();
+    private List<DatParser> fDats = new ArrayList<>();
     private Map<Long, MapParser> fMap = new HashMap<>();
     private Map<String, SymParser> fSyms = new HashMap<>();
     private TaskParser fTasks;
@@ -88,6 +87,7 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
     private InfoParser fInfo;
 
     private long fSize;
+    private @Nullable UfCheckpointIndex fCheckpointIndex = null;
 
     private final ISymbolProvider fSymbolProvider = new UfTraceSymbolProvider(this);
 
@@ -263,32 +263,46 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
 
     @Override
     public double getLocationRatio(ITmfLocation location) {
-        return (long) location.getLocationInfo() / fSize;
+        if (fSize == 0) {
+            return 0;
+        }
+        return ((Long) location.getLocationInfo()).doubleValue() / fSize;
     }
 
     @Override
     public ITmfContext seekEvent(ITmfLocation location) {
-        UfContext context = new UfContext(fDats, this);
         if (location == null) {
-            return context;
+            return new UfContext(fDats, this);
         }
         if (location instanceof TmfLongLocation) {
-            TmfLongLocation longLocation = (TmfLongLocation) location;
-            if (longLocation.getLocationInfo().longValue() == 0) {
-                return context;
+            long index = ((TmfLongLocation) location).getLocationInfo() / DatParser.RECORD_SIZE;
+            if (index <= 0) {
+                return new UfContext(fDats, this);
             }
-            while (context.getLocation() != null && Long.compare(longLocation.getLocationInfo(), Objects.requireNonNull(context.getLocation()).getLocationInfo()) >= 0) {
-                ITmfEvent next = context.getNext();
-                if (next == null) {
-                    break;
-                }
-                updateAttributes(context, next);
-                if (context.getLocation() == null) {
-                    return context;
-                }
+            return getCheckpointIndex().seek(fDats, this, index);
+        }
+        return new UfContext(fDats, this);
+    }
+
+    /**
+     * Get the checkpoint index of the merge of the data files, reading it
+     * from the supplementary folder or building and saving it the first time
+     * it is needed.
+     *
+     * @return the checkpoint index
+     */
+    private synchronized UfCheckpointIndex getCheckpointIndex() {
+        UfCheckpointIndex index = fCheckpointIndex;
+        if (index == null) {
+            File indexFile = new File(TmfTraceManager.getSupplementaryFileDir(this), UfCheckpointIndex.FILE_NAME);
+            index = UfCheckpointIndex.read(indexFile, fDats);
+            if (index == null) {
+                index = UfCheckpointIndex.build(fDats, this, UfCheckpointIndex.getDefaultInterval(fDats.size()));
+                index.save(indexFile, fDats);
             }
+            fCheckpointIndex = index;
         }
-        return context;
+        return index;
     }
 
     @Override
@@ -302,13 +316,12 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
         if (context == null) {
             context = seekEvent(0);
         }
-        if (ctx instanceof UfContext) {
-            UfContext ufContext = (UfContext) ctx;
+        if (context instanceof UfContext) {
+            UfContext ufContext = (UfContext) context;
             ITmfEvent tmfEvent = ufContext.getNext();
             if (tmfEvent != null) {
-                fCurrentLoc = new TmfLongLocation(fCurrentLoc.getLocationInfo() + Long.BYTES * 2);
-                ctx.setLocation(fCurrentLoc);
-                updateAttributes(context, tmfEvent);
+                // The location of the context is updated by getNext()
+                fCurrentLoc = new TmfLongLocation(ufContext.getIndex() * DatParser.RECORD_SIZE);
                 return tmfEvent;
             }
         }
@@ -485,15 +498,30 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
     }
 
     /**
-     * overly complicated, should clean up
+     * Symbol provider resolving an address of a task with the memory map of
+     * its session and the symbol file of the module mapped at that address.
+     * Resolved symbols are kept in a bounded cache, since the same addresses
+     * are resolved over and over by the views, and each symbol name is
+     * demangled only once.
      *
      * @author Matthew Khouzam
      *
      */
     private static class UfTraceSymbolProvider implements ISymbolProvider {
 
+        private static final int CACHE_SIZE = 65536;
+
         private Uftrace fTrace;
         private CPPFilt fCppFilt;
+        private final Map<SymbolKey, @Nullable TmfResolvedSymbol> fCache = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SymbolKey, @Nullable TmfResolvedSymbol> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        };
+        private final Map<Symbol, String> fDemangledNames = new ConcurrentHashMap<>();
 
         public UfTraceSymbolProvider(Uftrace trace) {
             fTrace = trace;
@@ -506,6 +534,21 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
 
         @Override
         public TmfResolvedSymbol getSymbol(int tid, long timestamp, long address) {
+            SymbolKey key = new SymbolKey(tid, address);
+            synchronized (fCache) {
+                if (fCache.containsKey(key)) {
+                    return fCache.get(key);
+                }
+            }
+            MapParser mapParser = getMapParser(tid);
+            TmfResolvedSymbol symbol = mapParser == null ? null : resolve(mapParser, address);
+            synchronized (fCache) {
+                fCache.put(key, symbol);
+            }
+            return symbol;
+        }
+
+        private @Nullable MapParser getMapParser(int tid) {
             String execName = fTrace.getTasks().getExecName(tid);
             if (execName == null) {
                 return null;
@@ -514,35 +557,40 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
             if (session == null) {
                 return null;
             }
-            MapParser mapParser = fTrace.getMap().get(session);
-            if (mapParser == null) {
-                return null;
-            }
-            Entry<Long, MapEntry> key = mapParser.getData().floorEntry(address);
-            if (key == null) {
+            return fTrace.getMap().get(session);
+        }
+
+        private @Nullable TmfResolvedSymbol resolve(MapParser mapParser, long address) {
+            MapEntry mapEntry = mapParser.floor(address);
+            if (mapEntry == null) {
                 return null;
             }
-            long offset = address - key.getValue().getAddrLow();
-            String pathName = key.getValue().getPathName();
+            long offset = address - mapEntry.getAddrLow();
+            String pathName = mapEntry.getPathName();
             String substring = pathName.substring(pathName.lastIndexOf(File.separator) + 1);
             SymParser sym = fTrace.getSyms().get(substring);
             if (sym == null) {
                 return null;
             }
-            Entry<Long, Symbol> floorEntry = sym.getMap().floorEntry(offset);
-            if (floorEntry != null) {
-                Symbol value = floorEntry.getValue();
-                if (value != null) {
-                    String name = String.valueOf(value.getName());
-                    if(fCppFilt != null) {
-                        name = FunctionNameMapper.nameFromCppFilt(fCppFilt, name);
-                    }
-                    return new TmfResolvedSymbol(address, name);
-                }
+            Symbol value = sym.floor(offset);
+            if (value != null) {
+                return new TmfResolvedSymbol(address, fDemangledNames.computeIfAbsent(value, this::demangle));
             }
             return null;
         }
 
+        private String demangle(Symbol symbol) {
+            String name = String.valueOf(symbol.getName());
+            CPPFilt cppFilt = fCppFilt;
+            if (cppFilt != null) {
+                // The c++filt process reads and writes one name at a time
+                synchronized (cppFilt) {
+                    name = FunctionNameMapper.nameFromCppFilt(cppFilt, name);
+                }
+            }
+            return name;
+        }
+
         /* needed for ISymbolProvider */
         @Override
         public @NonNull ITmfTrace getTrace() {
@@ -561,4 +609,31 @@ public class Uftrace extends TmfTrace implements ITmfPropertiesProvider,
 
     }
 
+    /**
+     * Key of the symbol cache: an address in a task
+     */
+    private static final class SymbolKey {
+        private final int fTid;
+        private final long fAddress;
+
+        public SymbolKey(int tid, long address) {
+            fTid = tid;
+            fAddress = address;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * fTid + Long.hashCode(fAddress);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (!(obj instanceof SymbolKey)) {
+                return false;
+            }
+            SymbolKey other = (SymbolKey) obj;
+            return fTid == other.fTid && fAddress == other.fAddress;
+        }
+    }
+
 }
@@ -0,0 +1,283 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.virtual.machine.analysis.core.tests.fused;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.analysis.os.linux.core.kernel.KernelAnalysisModule;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused.FusedAttributes;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused.FusedVMResourcesDataProvider;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused.FusedVMTopology;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused.FusedVMTopology.Machine;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused.FusedVirtualMachineAnalysis;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.virtual.resources.Messages;
+import org.eclipse.tracecompass.incubator.virtual.machine.analysis.core.tests.shared.vm.VmTestExperiment;
+import org.eclipse.tracecompass.incubator.virtual.machine.analysis.core.tests.shared.vm.VmTraces;
+import org.eclipse.tracecompass.internal.tmf.core.model.filters.FetchParametersUtils;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
+import org.eclipse.tracecompass.statesystem.core.statevalue.ITmfStateValue;
+import org.eclipse.tracecompass.tmf.core.model.filters.SelectionTimeQueryFilter;
+import org.eclipse.tracecompass.tmf.core.model.filters.TimeQueryFilter;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphEntryModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.tree.TmfTreeModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceOpenedSignal;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
+import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the {@link FusedVMResourcesDataProvider} with the experiment of a host
+ * running one virtual machine
+ */
+@SuppressWarnings("restriction")
+public class FusedVMResourcesDataProviderTest {
+
+    private static final long START = 1;
+    private static final long END = 375;
+    /** The times where the guest runs on the physical CPU 0 */
+    private static final long[][] GUEST_ON_CPU0 = { { 155, 194 }, { 210, 244 }, { 260, 294 }, { 355, 375 } };
+
+    private @Nullable TmfExperiment fExperiment;
+    private @Nullable FusedVirtualMachineAnalysis fModule;
+
+    /**
+     * Open the experiment and run the fused analysis
+     */
+    @Before
+    public void setUp() {
+        TmfExperiment experiment = VmTestExperiment.ONE_QEMUKVM.getExperiment(true);
+        fExperiment = experiment;
+        for (ITmfTrace trace : experiment.getTraces()) {
+            ((TmfTrace) trace).traceOpened(new TmfTraceOpenedSignal(this, trace, null));
+        }
+        for (ITmfTrace trace : experiment.getTraces()) {
+            for (KernelAnalysisModule module : TmfTraceUtils.getAnalysisModulesOfClass(trace, KernelAnalysisModule.class)) {
+                module.schedule();
+                module.waitForCompletion();
+            }
+        }
+        experiment.traceOpened(new TmfTraceOpenedSignal(this, experiment, null));
+        FusedVirtualMachineAnalysis module = TmfTraceUtils.getAnalysisModuleOfClass(experiment, FusedVirtualMachineAnalysis.class, FusedVirtualMachineAnalysis.ID);
+        assertNotNull(module);
+        module.schedule();
+        assertTrue(module.waitForCompletion());
+        fModule = module;
+    }
+
+    /**
+     * Clean up
+     */
+    @After
+    public void tearDown() {
+        TmfExperiment experiment = fExperiment;
+        if (experiment != null) {
+            experiment.dispose();
+        }
+    }
+
+    private FusedVMResourcesDataProvider getProvider() {
+        TmfExperiment experiment = fExperiment;
+        FusedVirtualMachineAnalysis module = fModule;
+        assertNotNull(experiment);
+        assertNotNull(module);
+        return new FusedVMResourcesDataProvider(experiment, module);
+    }
+
+    private ITmfStateSystem getStateSystem() {
+        FusedVirtualMachineAnalysis module = fModule;
+        assertNotNull(module);
+        ITmfStateSystem ss = module.getStateSystem();
+        assertNotNull(ss);
+        return ss;
+    }
+
+    private static List<TimeGraphEntryModel> fetchTree(FusedVMResourcesDataProvider provider) {
+        TmfModelResponse<TmfTreeModel<TimeGraphEntryModel>> response = provider.fetchTree(FetchParametersUtils.timeQueryToMap(new TimeQueryFilter(0, Long.MAX_VALUE, 2)), new NullProgressMonitor());
+        assertEquals(ITmfResponse.Status.COMPLETED, response.getStatus());
+        TmfTreeModel<TimeGraphEntryModel> model = response.getModel();
+        assertNotNull(model);
+        return model.getEntries();
+    }
+
+    private static TimeGraphEntryModel findEntry(List<TimeGraphEntryModel> entries, long parentId, @Nullable String name) {
+        for (TimeGraphEntryModel entry : entries) {
+            if (entry.getParentId() == parentId && entry.getName().equals(name)) {
+                return entry;
+            }
+        }
+        throw new AssertionError("No entry " + name + " under " + parentId);
+    }
+
+    private static TimeGraphEntryModel getRoot(List<TimeGraphEntryModel> entries) {
+        for (TimeGraphEntryModel entry : entries) {
+            if (entry.getParentId() == -1) {
+                return entry;
+            }
+        }
+        throw new AssertionError("No root entry");
+    }
+
+    /** Get the entry of the physical CPU 0 */
+    private static TimeGraphEntryModel getCpu0(List<TimeGraphEntryModel> entries) {
+        TimeGraphEntryModel cpus = findEntry(entries, getRoot(entries).getId(), Messages.getMessage(Messages.FusedVMResourcesDataProvider_PhysicalCpus));
+        return findEntry(entries, cpus.getId(), "CPU 0");
+    }
+
+    /** Get the entry of the physical CPU 0 when it runs the guest */
+    private TimeGraphEntryModel getGuestCpu0(List<TimeGraphEntryModel> entries) throws StateSystemDisposedException {
+        Machine guest = FusedVMTopology.get(getStateSystem()).getMachine(VmTraces.GUEST_ONE_QEMUKVM.getHostId());
+        assertNotNull(guest);
+        TimeGraphEntryModel vms = findEntry(entries, getRoot(entries).getId(), Messages.getMessage(Messages.FusedVMResourcesDataProvider_VirtualMachines));
+        TimeGraphEntryModel vm = findEntry(entries, vms.getId(), guest.getName());
+        TimeGraphEntryModel pcpus = findEntry(entries, vm.getId(), Messages.getMessage(Messages.FusedVMResourcesDataProvider_PhysicalCpus));
+        return findEntry(entries, pcpus.getId(), "CPU 0");
+    }
+
+    private static List<ITimeGraphState> fetchRow(FusedVMResourcesDataProvider provider, long id) {
+        TmfModelResponse<TimeGraphModel> response = provider.fetchRowModel(FetchParametersUtils.selectionTimeQueryToMap(
+                new SelectionTimeQueryFilter(START, END, (int) (END - START + 1), Collections.singletonList(id))), new NullProgressMonitor());
+        assertEquals(ITmfResponse.Status.COMPLETED, response.getStatus());
+        TimeGraphModel model = response.getModel();
+        assertNotNull(model);
+        List<ITimeGraphRowModel> rows = model.getRows();
+        assertEquals(1, rows.size());
+        assertEquals(id, rows.get(0).getEntryID());
+        return rows.get(0).getStates();
+    }
+
+    private static Map<String, String> fetchTooltip(FusedVMResourcesDataProvider provider, long id, long time) {
+        TmfModelResponse<Map<String, String>> response = provider.fetchTooltip(FetchParametersUtils.selectionTimeQueryToMap(
+                new SelectionTimeQueryFilter(Collections.singletonList(time), Collections.singletonList(id))), new NullProgressMonitor());
+        assertEquals(ITmfResponse.Status.COMPLETED, response.getStatus());
+        Map<String, String> tooltip = response.getModel();
+        assertNotNull(tooltip);
+        return tooltip;
+    }
+
+    private ITmfStateValue query(long time, String... path) throws StateSystemDisposedException {
+        ITmfStateSystem ss = getStateSystem();
+        return ss.querySingleState(time, ss.getQuarkAbsolute(path)).getStateValue();
+    }
+
+    /**
+     * Test the tree of the physical CPUs and of the virtual machine
+     *
+     * @throws StateSystemDisposedException
+     *             If the state system is disposed
+     */
+    @Test
+    public void testTree() throws StateSystemDisposedException {
+        FusedVMResourcesDataProvider provider = getProvider();
+        List<TimeGraphEntryModel> entries = fetchTree(provider);
+        assertTrue(getCpu0(entries).hasRowModel());
+        assertTrue(getGuestCpu0(entries).hasRowModel());
+
+        // The IDs are the same when the tree is fetched again
+        List<Long> ids = new ArrayList<>();
+        entries.forEach(entry -> ids.add(entry.getId()));
+        List<Long> otherIds = new ArrayList<>();
+        fetchTree(provider).forEach(entry -> otherIds.add(entry.getId()));
+        assertEquals(ids, otherIds);
+    }
+
+    /**
+     * Test that the states of a physical CPU follow the status of the CPU in
+     * the state system, and that the states of the CPU of the virtual machine
+     * are only when the CPU runs the virtual machine
+     *
+     * @throws StateSystemDisposedException
+     *             If the state system is disposed
+     */
+    @Test
+    public void testRowModel() throws StateSystemDisposedException {
+        FusedVMResourcesDataProvider provider = getProvider();
+        List<TimeGraphEntryModel> entries = fetchTree(provider);
+        String guestId = VmTraces.GUEST_ONE_QEMUKVM.getHostId();
+
+        List<ITimeGraphState> states = fetchRow(provider, getCpu0(entries).getId());
+        assertFalse(states.isEmpty());
+        long previousEnd = -1;
+        for (ITimeGraphState state : states) {
+            long end = state.getStartTime() + state.getDuration() - 1;
+            assertTrue(state.getStartTime() > previousEnd);
+            // A state does not span a change of status
+            assertEquals(query(state.getStartTime(), FusedAttributes.CPUS, "0", FusedAttributes.STATUS),
+                    query(end, FusedAttributes.CPUS, "0", FusedAttributes.STATUS));
+            previousEnd = end;
+        }
+
+        states = fetchRow(provider, getGuestCpu0(entries).getId());
+        long duration = 0;
+        for (ITimeGraphState state : states) {
+            long end = state.getStartTime() + state.getDuration() - 1;
+            assertEquals(guestId, query(state.getStartTime(), FusedAttributes.CPUS, "0", FusedAttributes.MACHINE_NAME).unboxStr());
+            assertEquals(guestId, query(end, FusedAttributes.CPUS, "0", FusedAttributes.MACHINE_NAME).unboxStr());
+            duration += state.getDuration();
+        }
+        long expected = 0;
+        for (long[] interval : GUEST_ON_CPU0) {
+            expected += interval[1] - interval[0] + 1;
+        }
+        assertEquals(expected, duration);
+    }
+
+    /**
+     * Test the tooltips of a physical CPU when it runs the host and the
+     * virtual machine
+     *
+     * @throws StateSystemDisposedException
+     *             If the state system is disposed
+     */
+    @Test
+    public void testTooltip() throws StateSystemDisposedException {
+        FusedVMResourcesDataProvider provider = getProvider();
+        List<TimeGraphEntryModel> entries = fetchTree(provider);
+        long cpu0 = getCpu0(entries).getId();
+        String machineKey = Messages.getMessage(Messages.FusedVMResourcesDataProvider_Machine);
+        String tidKey = Messages.getMessage(Messages.FusedVMResourcesDataProvider_Tid);
+
+        Machine host = FusedVMTopology.get(getStateSystem()).getHost();
+        assertNotNull(host);
+        Map<String, String> tooltip = fetchTooltip(provider, cpu0, 120);
+        assertEquals(host.getName(), tooltip.get(machineKey));
+        assertEquals("30", tooltip.get(tidKey));
+
+        Machine guest = FusedVMTopology.get(getStateSystem()).getMachine(VmTraces.GUEST_ONE_QEMUKVM.getHostId());
+        assertNotNull(guest);
+        tooltip = fetchTooltip(provider, cpu0, 160);
+        assertEquals(guest.getName(), tooltip.get(machineKey));
+        assertEquals("131", tooltip.get(tidKey));
+
+        // Before any machine runs on the CPU
+        assertTrue(fetchTooltip(provider, cpu0, 10).isEmpty());
+    }
+}
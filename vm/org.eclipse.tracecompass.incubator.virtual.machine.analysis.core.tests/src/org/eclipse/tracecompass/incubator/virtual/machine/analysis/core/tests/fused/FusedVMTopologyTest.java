@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.virtual.machine.analysis.core.tests.fused;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.analysis.os.linux.core.kernel.KernelAnalysisModule;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused.FusedVMInformationProvider;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused.FusedVMTopology;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused.FusedVMTopology.Machine;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused.FusedVirtualMachineAnalysis;
+import org.eclipse.tracecompass.incubator.virtual.machine.analysis.core.tests.shared.vm.VmTestExperiment;
+import org.eclipse.tracecompass.incubator.virtual.machine.analysis.core.tests.shared.vm.VmTraces;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
+import org.eclipse.tracecompass.tmf.core.signal.TmfTraceOpenedSignal;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTrace;
+import org.eclipse.tracecompass.tmf.core.trace.TmfTraceUtils;
+import org.eclipse.tracecompass.tmf.core.trace.experiment.TmfExperiment;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test the topology of the machines and processors built from the fused
+ * virtual machine analysis, used by the virtual resources view
+ */
+public class FusedVMTopologyTest {
+
+    private @Nullable TmfExperiment fExperiment;
+    private @Nullable ITmfStateSystem fStateSystem;
+
+    /**
+     * Open the experiment and run the fused analysis
+     */
+    @Before
+    public void setUp() {
+        TmfExperiment experiment = VmTestExperiment.ONE_QEMUKVM.getExperiment(true);
+        fExperiment = experiment;
+        for (ITmfTrace trace : experiment.getTraces()) {
+            ((TmfTrace) trace).traceOpened(new TmfTraceOpenedSignal(this, trace, null));
+        }
+        for (ITmfTrace trace : experiment.getTraces()) {
+            for (KernelAnalysisModule module : TmfTraceUtils.getAnalysisModulesOfClass(trace, KernelAnalysisModule.class)) {
+                module.schedule();
+                module.waitForCompletion();
+            }
+        }
+        experiment.traceOpened(new TmfTraceOpenedSignal(this, experiment, null));
+        FusedVirtualMachineAnalysis module = TmfTraceUtils.getAnalysisModuleOfClass(experiment, FusedVirtualMachineAnalysis.class, FusedVirtualMachineAnalysis.ID);
+        assertNotNull(module);
+        module.schedule();
+        assertTrue(module.waitForCompletion());
+        fStateSystem = module.getStateSystem();
+    }
+
+    private ITmfStateSystem getStateSystem() {
+        ITmfStateSystem ss = fStateSystem;
+        assertNotNull(ss);
+        return ss;
+    }
+
+    /**
+     * Clean up
+     */
+    @After
+    public void tearDown() {
+        TmfExperiment experiment = fExperiment;
+        if (experiment != null) {
+            experiment.dispose();
+        }
+    }
+
+    /**
+     * Test the machines and processors of the topology
+     *
+     * @throws StateSystemDisposedException
+     *             If the state system is disposed
+     */
+    @Test
+    public void testTopology() throws StateSystemDisposedException {
+        ITmfStateSystem ss = getStateSystem();
+        FusedVMTopology topology = FusedVMTopology.get(ss);
+        assertSame(topology, FusedVMTopology.get(ss));
+
+        String hostId = VmTraces.HOST_ONE_QEMUKVM.getHostId();
+        String guestId = VmTraces.GUEST_ONE_QEMUKVM.getHostId();
+        Machine host = topology.getHost();
+        assertNotNull(host);
+        assertEquals(hostId, host.getHostId());
+
+        Machine guest = topology.getMachine(guestId);
+        assertNotNull(guest);
+        assertEquals(hostId, guest.getParentHostId());
+        assertFalse(guest.isContainer());
+        assertEquals(Collections.singletonList(guest), host.getVirtualMachines());
+        assertTrue(topology.isInsideMachine(guestId, hostId));
+        assertFalse(topology.isInsideMachine(hostId, guestId));
+
+        assertNotNull(topology.getCpu(0));
+    }
+
+    /**
+     * Test the machines running on a physical processor
+     */
+    @Test
+    public void testAllMachines() {
+        ITmfStateSystem ss = getStateSystem();
+        String hostId = VmTraces.HOST_ONE_QEMUKVM.getHostId();
+        String guestId = VmTraces.GUEST_ONE_QEMUKVM.getHostId();
+
+        assertEquals(Collections.singletonList(hostId), FusedVMInformationProvider.getAllMachines(ss, 0, 100));
+
+        List<String> machines = FusedVMInformationProvider.getAllMachines(ss, 0, 160);
+        assertFalse(machines.isEmpty());
+        assertEquals(guestId, machines.get(machines.size() - 1));
+
+        assertTrue(FusedVMInformationProvider.getAllMachines(ss, 42, 160).isEmpty());
+    }
+}
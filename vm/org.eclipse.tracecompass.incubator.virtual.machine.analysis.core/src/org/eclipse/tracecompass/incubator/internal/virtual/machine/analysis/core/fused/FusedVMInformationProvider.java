@@ -227,7 +227,9 @@ public final class FusedVMInformationProvider {
 
     /**
      * Get the list of machine names, sorted from the closest to hardware to
-     * most virtual, that were involved on a given CPU at a certain time
+     * most virtual, that were involved on a given CPU at a certain time. The
+     * machines are looked up in the cached {@link FusedVMTopology} of the
+     * state system.
      *
      * @param ssq
      *            The state system used by this analysis
@@ -240,102 +242,12 @@ public final class FusedVMInformationProvider {
      *         virtual layer.
      */
     public static List<String> getAllMachines(ITmfStateSystem ssq, int physicalCpu, long time) {
-        List<String> machines = new ArrayList<>();
-        // We'll need a few values, so query the full state at the time and get
-        // the values from there
         try {
-            List<ITmfStateInterval> states = ssq.queryFullState(time);
-            // Get the thread on the CPU
-            int quarkCurrentThread = ssq.optQuarkAbsolute(FusedAttributes.CPUS, String.valueOf(physicalCpu), FusedAttributes.CURRENT_THREAD);
-            if (quarkCurrentThread == ITmfStateSystem.INVALID_ATTRIBUTE) {
-                return machines;
-            }
-            int tid = states.get(quarkCurrentThread).getStateValue().unboxInt();
-            if (tid < 0) {
-                return machines;
-            }
-            int quarkCurrentMachine = ssq.optQuarkAbsolute(FusedAttributes.CPUS, String.valueOf(physicalCpu), FusedAttributes.MACHINE_NAME);
-            if (quarkCurrentMachine == ITmfStateSystem.INVALID_ATTRIBUTE) {
-                return machines;
-            }
-            ITmfStateValue stateValue = states.get(quarkCurrentMachine).getStateValue();
-            if (stateValue.isNull()) {
-                return machines;
-            }
-            machines.add(stateValue.unboxStr());
-
-            // Follow this thread's namespaces
-            machines.addAll(getContainersOf(ssq, stateValue.unboxStr(), tid, states));
-
-            // Follow the CPU through virtual machines
-            int quarkCpuState = ssq.optQuarkAbsolute(FusedAttributes.CPUS, String.valueOf(physicalCpu), FusedAttributes.CONDITION);
-            int quarkVirtualCpu = ssq.optQuarkAbsolute(FusedAttributes.CPUS, String.valueOf(physicalCpu), FusedAttributes.VIRTUAL_CPU);
-
-            if (quarkCpuState == ITmfStateSystem.INVALID_ATTRIBUTE || quarkVirtualCpu == ITmfStateSystem.INVALID_ATTRIBUTE) {
-                return machines;
-            }
-            int vmCondition = states.get(quarkCpuState).getStateValue().unboxInt();
-            if (vmCondition == StateValues.CONDITION_IN_VM) {
-                machines.addAll(0, getParentMachines(ssq, stateValue.unboxStr(), states.get(quarkVirtualCpu).getStateValue().unboxInt(), states));
-            }
-
+            return FusedVMTopology.get(ssq).getAllMachines(ssq, physicalCpu, time);
         } catch (StateSystemDisposedException e) {
             // Nothing to do, about to be disposed
         }
-
-        return machines;
-    }
-
-    private static Collection<String> getParentMachines(ITmfStateSystem ssq, String hostId, int vcpu, List<ITmfStateInterval> states) {
-        List<String> machines = new ArrayList<>();
-        int machineQuark = ssq.optQuarkAbsolute(FusedAttributes.HOSTS, hostId);
-        if (machineQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
-            return machines;
-        }
-        int quarkParent = ssq.optQuarkRelative(machineQuark, FusedAttributes.PARENT);
-        int quarkVCpu = ssq.optQuarkRelative(machineQuark, FusedAttributes.CPUS, String.valueOf(vcpu));
-        if (quarkParent == ITmfStateSystem.INVALID_ATTRIBUTE || quarkVCpu == ITmfStateSystem.INVALID_ATTRIBUTE) {
-            return machines;
-        }
-        ITmfStateValue parentValue = states.get(quarkParent).getStateValue();
-        if (parentValue.isNull()) {
-            return machines;
-        }
-        machines.add(parentValue.unboxStr());
-        ITmfStateValue vcpuValue = states.get(quarkVCpu).getStateValue();
-        if (vcpuValue.isNull()) {
-            return machines;
-        }
-        machines.addAll(getContainersOf(ssq, parentValue.unboxStr(), vcpuValue.unboxInt(), states));
-        return machines;
-    }
-
-    private static List<String> getContainersOf(ITmfStateSystem ssq, String machine, int tid, List<ITmfStateInterval> states) {
-        List<String> containers = new ArrayList<>();
-        int threadQuark = ssq.optQuarkAbsolute(FusedAttributes.THREADS, machine, String.valueOf(tid));
-        if (threadQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
-            return containers;
-        }
-        int quarkMaxLv = ssq.optQuarkRelative(threadQuark, FusedAttributes.NS_MAX_LEVEL);
-        if (quarkMaxLv == ITmfStateSystem.INVALID_ATTRIBUTE) {
-            return containers;
-        }
-        int maxLv = states.get(quarkMaxLv).getStateValue().unboxInt();
-        // Start at lv 1, as level 0 is the main host
-        for (int i = 1; i < maxLv; i++) {
-            threadQuark = ssq.optQuarkRelative(threadQuark, FusedAttributes.VTID);
-            int inumQuark = ssq.optQuarkRelative(threadQuark, FusedAttributes.NS_INUM);
-            if (threadQuark == ITmfStateSystem.INVALID_ATTRIBUTE || inumQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
-                break;
-            }
-            ITmfStateValue inumValue = states.get(inumQuark).getStateValue();
-            if (inumValue.isNull()) {
-                continue;
-            }
-            containers.add(String.valueOf(inumValue.unboxLong()));
-        }
-
-        return containers;
+        return new ArrayList<>();
     }
 
     /**
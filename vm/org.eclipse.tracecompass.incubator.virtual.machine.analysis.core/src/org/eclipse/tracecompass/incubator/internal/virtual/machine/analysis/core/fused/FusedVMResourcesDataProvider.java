@@ -0,0 +1,516 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused.FusedVMTopology.Cpu;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused.FusedVMTopology.Machine;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.virtual.resources.Messages;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.virtual.resources.StateValues;
+import org.eclipse.tracecompass.internal.tmf.core.model.filters.FetchParametersUtils;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
+import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
+import org.eclipse.tracecompass.statesystem.core.statevalue.ITmfStateValue;
+import org.eclipse.tracecompass.tmf.core.dataprovider.DataProviderParameterUtils;
+import org.eclipse.tracecompass.tmf.core.dataprovider.X11ColorUtils;
+import org.eclipse.tracecompass.tmf.core.model.CommonStatusMessage;
+import org.eclipse.tracecompass.tmf.core.model.IOutputStyleProvider;
+import org.eclipse.tracecompass.tmf.core.model.OutputElementStyle;
+import org.eclipse.tracecompass.tmf.core.model.OutputStyleModel;
+import org.eclipse.tracecompass.tmf.core.model.StyleProperties;
+import org.eclipse.tracecompass.tmf.core.model.filters.SelectionTimeQueryFilter;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.AbstractTimeGraphDataProvider;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphArrow;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.ITimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphEntryModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphRowModel;
+import org.eclipse.tracecompass.tmf.core.model.timegraph.TimeGraphState;
+import org.eclipse.tracecompass.tmf.core.model.tree.TmfTreeModel;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse;
+import org.eclipse.tracecompass.tmf.core.response.ITmfResponse.Status;
+import org.eclipse.tracecompass.tmf.core.response.TmfModelResponse;
+import org.eclipse.tracecompass.tmf.core.trace.ITmfTrace;
+
+import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.TreeMultimap;
+
+/**
+ * Data provider for the virtual resources view, showing the physical CPUs of
+ * the fused virtual machine state system, and for each virtual machine and
+ * container, the physical CPUs when they run it.
+ * <p>
+ * The rows only query the attributes of their CPU, with a single 2D query for
+ * all the requested rows at the requested resolution. The machines and
+ * containers are taken from the {@link FusedVMTopology} of the state system.
+ */
+@SuppressWarnings("restriction")
+public class FusedVMResourcesDataProvider extends AbstractTimeGraphDataProvider<FusedVirtualMachineAnalysis, TimeGraphEntryModel>
+        implements IOutputStyleProvider {
+
+    /**
+     * The ID of this data provider
+     */
+    public static final String ID = "org.eclipse.tracecompass.incubator.virtual.machine.analysis.core.fused.resources.dataprovider"; //$NON-NLS-1$
+
+    private static final String IDLE = "Idle"; //$NON-NLS-1$
+    private static final String USERMODE = "Usermode"; //$NON-NLS-1$
+    private static final String SYSCALL = "System call"; //$NON-NLS-1$
+    private static final String IRQ = "Interrupt"; //$NON-NLS-1$
+    private static final String SOFT_IRQ = "Soft interrupt"; //$NON-NLS-1$
+    private static final String SOFT_IRQ_RAISED = "Soft interrupt raised"; //$NON-NLS-1$
+    private static final String IN_VM = "In virtual machine"; //$NON-NLS-1$
+
+    /* The map of basic styles, with the colors of the virtual resources view */
+    private static final Map<String, OutputElementStyle> STATE_MAP;
+    /*
+     * A map of styles names to a style that has the basic style as parent, to
+     * avoid returning complete styles for each state
+     */
+    private static final Map<String, OutputElementStyle> STYLE_MAP = new ConcurrentHashMap<>();
+
+    static {
+        ImmutableMap.Builder<String, OutputElementStyle> builder = new ImmutableMap.Builder<>();
+        builder.put(IDLE, createStyle(IDLE, 200, 200, 200));
+        builder.put(USERMODE, createStyle(USERMODE, 0, 200, 0));
+        builder.put(SYSCALL, createStyle(SYSCALL, 0, 0, 200));
+        builder.put(IRQ, createStyle(IRQ, 200, 0, 100));
+        builder.put(SOFT_IRQ, createStyle(SOFT_IRQ, 200, 150, 100));
+        builder.put(SOFT_IRQ_RAISED, createStyle(SOFT_IRQ_RAISED, 200, 200, 0));
+        builder.put(IN_VM, createStyle(IN_VM, 200, 0, 200));
+        STATE_MAP = builder.build();
+    }
+
+    private enum Type {
+        CPU,
+        IRQ,
+        SOFT_IRQ,
+        PCPU_VM,
+        PCPU_CONTAINER
+    }
+
+    /**
+     * What a row shows: the quarks to query and the machine to filter on
+     */
+    private static final class Row {
+        private final Type fType;
+        private final Cpu fCpu;
+        private final int fQuark;
+        private final @Nullable Machine fMachine;
+
+        public Row(Type type, Cpu cpu, int quark, @Nullable Machine machine) {
+            fType = type;
+            fCpu = cpu;
+            fQuark = quark;
+            fMachine = machine;
+        }
+    }
+
+    private final Map<String, Long> fPathIds = new ConcurrentHashMap<>();
+    private final Map<Long, Row> fRows = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor
+     *
+     * @param trace
+     *            the trace this provider represents
+     * @param analysisModule
+     *            the analysis encapsulated by this provider
+     */
+    public FusedVMResourcesDataProvider(ITmfTrace trace, FusedVirtualMachineAnalysis analysisModule) {
+        super(trace, analysisModule);
+    }
+
+    @Override
+    public String getId() {
+        return ID;
+    }
+
+    private static OutputElementStyle createStyle(String name, int red, int green, int blue) {
+        return new OutputElementStyle(null, ImmutableMap.of(StyleProperties.STYLE_NAME, name,
+                StyleProperties.BACKGROUND_COLOR, String.valueOf(X11ColorUtils.toHexColor(red, green, blue))));
+    }
+
+    private long getPathId(String path) {
+        return fPathIds.computeIfAbsent(path, p -> getEntryId());
+    }
+
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    protected TmfTreeModel<TimeGraphEntryModel> getTree(ITmfStateSystem ss, Map<String, Object> parameters, @Nullable IProgressMonitor monitor) throws StateSystemDisposedException {
+        FusedVMTopology topology = FusedVMTopology.get(ss);
+        long start = ss.getStartTime();
+        long end = ss.getCurrentEndTime();
+
+        Builder<TimeGraphEntryModel> builder = new Builder<>();
+        long rootId = getId(ITmfStateSystem.ROOT_ATTRIBUTE);
+        builder.add(new TimeGraphEntryModel(rootId, -1, String.valueOf(getTrace().getName()), start, end));
+
+        long cpusId = getPathId("CPUs"); //$NON-NLS-1$
+        builder.add(new TimeGraphEntryModel(cpusId, rootId, Messages.getMessage(Messages.FusedVMResourcesDataProvider_PhysicalCpus), start, end, false));
+        for (Cpu cpu : topology.getCpus()) {
+            String cpuPath = "CPUs/" + cpu.getNumber(); //$NON-NLS-1$
+            long cpuId = getPathId(cpuPath);
+            fRows.put(cpuId, new Row(Type.CPU, cpu, cpu.getQuark(), null));
+            builder.add(new TimeGraphEntryModel(cpuId, cpusId, NLS.bind(Messages.getMessage(Messages.FusedVMResourcesDataProvider_Cpu), cpu.getNumber()), start, end));
+            for (Map.Entry<Integer, Integer> irq : cpu.getIrqQuarks().entrySet()) {
+                long irqId = getPathId(cpuPath + "/IRQs/" + irq.getKey()); //$NON-NLS-1$
+                fRows.put(irqId, new Row(Type.IRQ, cpu, irq.getValue(), null));
+                builder.add(new TimeGraphEntryModel(irqId, cpuId, NLS.bind(Messages.getMessage(Messages.FusedVMResourcesDataProvider_Irq), irq.getKey()), start, end));
+            }
+            for (Map.Entry<Integer, Integer> softIrq : cpu.getSoftIrqQuarks().entrySet()) {
+                long softIrqId = getPathId(cpuPath + "/Soft_IRQs/" + softIrq.getKey()); //$NON-NLS-1$
+                fRows.put(softIrqId, new Row(Type.SOFT_IRQ, cpu, softIrq.getValue(), null));
+                builder.add(new TimeGraphEntryModel(softIrqId, cpuId, NLS.bind(Messages.getMessage(Messages.FusedVMResourcesDataProvider_SoftIrq), softIrq.getKey()), start, end));
+            }
+        }
+
+        Machine host = topology.getHost();
+        if (host != null) {
+            addMachineEntries(builder, topology, host, "Hosts/" + host.getHostId(), rootId, start, end); //$NON-NLS-1$
+        }
+        return new TmfTreeModel<>(Collections.emptyList(), builder.build());
+    }
+
+    private void addMachineEntries(Builder<TimeGraphEntryModel> builder, FusedVMTopology topology, Machine machine, String path, long parentId, long start, long end) {
+        List<Machine> vms = machine.getVirtualMachines();
+        if (!vms.isEmpty()) {
+            long vmsId = getPathId(path + "/VMs"); //$NON-NLS-1$
+            builder.add(new TimeGraphEntryModel(vmsId, parentId, Messages.getMessage(Messages.FusedVMResourcesDataProvider_VirtualMachines), start, end, false));
+            for (Machine vm : vms) {
+                String vmPath = path + "/VMs/" + vm.getHostId(); //$NON-NLS-1$
+                long vmId = getPathId(vmPath);
+                builder.add(new TimeGraphEntryModel(vmId, vmsId, vm.getName(), start, end, false));
+                addMachineEntries(builder, topology, vm, vmPath, vmId, start, end);
+            }
+        }
+
+        List<Machine> containers = machine.getContainers();
+        if (!containers.isEmpty()) {
+            long containersId = getPathId(path + "/Containers"); //$NON-NLS-1$
+            builder.add(new TimeGraphEntryModel(containersId, parentId, Messages.getMessage(Messages.FusedVMResourcesDataProvider_Containers), start, end, false));
+            for (Machine container : containers) {
+                String containerPath = path + "/Containers/" + container.getName(); //$NON-NLS-1$
+                long containerId = getPathId(containerPath);
+                builder.add(new TimeGraphEntryModel(containerId, containersId, container.getName(), start, end, false));
+                addMachineEntries(builder, topology, container, containerPath, containerId, start, end);
+            }
+        }
+
+        if (machine == topology.getHost() || machine.getPhysicalCpus().isEmpty()) {
+            return;
+        }
+        long pcpusId = getPathId(path + "/pCPUs"); //$NON-NLS-1$
+        builder.add(new TimeGraphEntryModel(pcpusId, parentId, Messages.getMessage(Messages.FusedVMResourcesDataProvider_PhysicalCpus), start, end, false));
+        Type type = machine.isContainer() ? Type.PCPU_CONTAINER : Type.PCPU_VM;
+        for (Integer pcpu : machine.getPhysicalCpus()) {
+            Cpu cpu = topology.getCpu(pcpu);
+            if (cpu == null) {
+                continue;
+            }
+            long pcpuId = getPathId(path + "/pCPUs/" + pcpu); //$NON-NLS-1$
+            fRows.put(pcpuId, new Row(type, cpu, cpu.getQuark(), machine));
+            builder.add(new TimeGraphEntryModel(pcpuId, pcpusId, NLS.bind(Messages.getMessage(Messages.FusedVMResourcesDataProvider_Cpu), pcpu), start, end));
+        }
+    }
+
+    @Override
+    protected @Nullable TimeGraphModel getRowModel(ITmfStateSystem ss, Map<String, Object> parameters, @Nullable IProgressMonitor monitor) throws StateSystemDisposedException {
+        SelectionTimeQueryFilter filter = FetchParametersUtils.createSelectionTimeQuery(parameters);
+        if (filter == null) {
+            return null;
+        }
+        Map<Long, Row> rows = new LinkedHashMap<>();
+        Set<Integer> quarks = new HashSet<>();
+        for (Long id : filter.getSelectedItems()) {
+            Row row = fRows.get(id);
+            if (row == null) {
+                continue;
+            }
+            rows.put(id, row);
+            if (row.fType == Type.IRQ || row.fType == Type.SOFT_IRQ) {
+                quarks.add(row.fQuark);
+            } else {
+                addIfValid(quarks, row.fCpu.getStatusQuark());
+                addIfValid(quarks, row.fCpu.getMachineNameQuark());
+                addIfValid(quarks, row.fCpu.getCurrentThreadQuark());
+            }
+        }
+
+        /* Query only the attributes of the requested rows, at the resolution */
+        TreeMultimap<Integer, ITmfStateInterval> intervals = TreeMultimap.create(Comparator.naturalOrder(),
+                Comparator.comparing(ITmfStateInterval::getStartTime));
+        Collection<Long> times = getTimes(filter, ss.getStartTime(), ss.getCurrentEndTime());
+        for (ITmfStateInterval interval : ss.query2D(quarks, times)) {
+            if (monitor != null && monitor.isCanceled()) {
+                return new TimeGraphModel(Collections.emptyList());
+            }
+            intervals.put(interval.getAttribute(), interval);
+        }
+
+        Map<Integer, Predicate<Multimap<String, Object>>> predicates = new HashMap<>();
+        Multimap<Integer, String> regexesMap = DataProviderParameterUtils.extractRegexFilter(parameters);
+        if (regexesMap != null) {
+            predicates.putAll(computeRegexPredicate(regexesMap));
+        }
+        FusedVMTopology topology = FusedVMTopology.get(ss);
+        List<ITimeGraphRowModel> rowModels = new ArrayList<>();
+        for (Map.Entry<Long, Row> entry : rows.entrySet()) {
+            if (monitor != null && monitor.isCanceled()) {
+                return new TimeGraphModel(Collections.emptyList());
+            }
+            Long id = entry.getKey();
+            Row row = entry.getValue();
+            List<ITimeGraphState> states = new ArrayList<>();
+            if (row.fType == Type.IRQ || row.fType == Type.SOFT_IRQ) {
+                for (ITmfStateInterval interval : intervals.get(row.fQuark)) {
+                    ITimeGraphState state = createIrqState(row, interval);
+                    applyFilterAndAddState(states, state, id, predicates, monitor);
+                }
+            } else if (row.fCpu.getStatusQuark() != ITmfStateSystem.INVALID_ATTRIBUTE) {
+                for (ITimeGraphState state : createCpuStates(topology, row, intervals)) {
+                    applyFilterAndAddState(states, state, id, predicates, monitor);
+                }
+            }
+            rowModels.add(new TimeGraphRowModel(id, states));
+        }
+        return new TimeGraphModel(rowModels);
+    }
+
+    private static ITimeGraphState createIrqState(Row row, ITmfStateInterval interval) {
+        long startTime = interval.getStartTime();
+        long duration = interval.getEndTime() - startTime + 1;
+        ITmfStateValue value = interval.getStateValue();
+        if (value.isNull()) {
+            return new TimeGraphState(startTime, duration, Integer.MIN_VALUE);
+        }
+        String style = (row.fType == Type.IRQ) ? IRQ : (value.unboxInt() == StateValues.CPU_STATUS_SOFT_IRQ_RAISED) ? SOFT_IRQ_RAISED : SOFT_IRQ;
+        return new TimeGraphState(startTime, duration, null, STYLE_MAP.computeIfAbsent(style, OutputElementStyle::new));
+    }
+
+    /**
+     * Create the states of a CPU row. A state is created for each change of
+     * the status, the machine or the thread of the CPU, so that a state is
+     * either entirely in or out of the machine or container of the row.
+     */
+    private static List<ITimeGraphState> createCpuStates(FusedVMTopology topology, Row row, Multimap<Integer, ITmfStateInterval> intervals) {
+        Cpu cpu = row.fCpu;
+        List<List<ITmfStateInterval>> lists = new ArrayList<>();
+        lists.add(new ArrayList<>(intervals.get(cpu.getStatusQuark())));
+        int machineIndex = addIntervals(lists, intervals, cpu.getMachineNameQuark());
+        int threadIndex = addIntervals(lists, intervals, cpu.getCurrentThreadQuark());
+        if (row.fType != Type.CPU && (machineIndex < 0 || (row.fType == Type.PCPU_CONTAINER && threadIndex < 0))) {
+            return Collections.emptyList();
+        }
+
+        List<ITimeGraphState> states = new ArrayList<>();
+        int[] indexes = new int[lists.size()];
+        ITmfStateInterval[] current = new ITmfStateInterval[lists.size()];
+        while (true) {
+            long start = Long.MIN_VALUE;
+            long end = Long.MAX_VALUE;
+            for (int i = 0; i < lists.size(); i++) {
+                if (indexes[i] >= lists.get(i).size()) {
+                    return states;
+                }
+                current[i] = lists.get(i).get(indexes[i]);
+                start = Math.max(start, current[i].getStartTime());
+                end = Math.min(end, current[i].getEndTime());
+            }
+            if (start <= end && isInMachine(topology, row, current, machineIndex, threadIndex)) {
+                states.add(createCpuState(start, end - start + 1, current[0].getStateValue()));
+            }
+            for (int i = 0; i < lists.size(); i++) {
+                if (current[i].getEndTime() == end) {
+                    indexes[i]++;
+                }
+            }
+        }
+    }
+
+    private static int addIntervals(List<List<ITmfStateInterval>> lists, Multimap<Integer, ITmfStateInterval> intervals, int quark) {
+        if (quark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            return -1;
+        }
+        lists.add(new ArrayList<>(intervals.get(quark)));
+        return lists.size() - 1;
+    }
+
+    private static boolean isInMachine(FusedVMTopology topology, Row row, ITmfStateInterval[] current, int machineIndex, int threadIndex) {
+        Machine machine = row.fMachine;
+        if (row.fType == Type.CPU || machine == null) {
+            return true;
+        }
+        ITmfStateValue machineValue = current[machineIndex].getStateValue();
+        if (machineValue.isNull()) {
+            return false;
+        }
+        if (row.fType == Type.PCPU_VM) {
+            return topology.isInsideMachine(machineValue.unboxStr(), machine.getHostId());
+        }
+        /* A container's thread runs on the machine of the container */
+        return machineValue.unboxStr().equals(machine.getHostId())
+                && machine.containsThread(current[threadIndex].getStateValue().unboxInt());
+    }
+
+    private static ITimeGraphState createCpuState(long startTime, long duration, ITmfStateValue value) {
+        if (value.isNull()) {
+            return new TimeGraphState(startTime, duration, Integer.MIN_VALUE);
+        }
+        int status = value.unboxInt();
+        String style = getCpuStyle(status);
+        if (style == null) {
+            return new TimeGraphState(startTime, duration, status);
+        }
+        return new TimeGraphState(startTime, duration, null, STYLE_MAP.computeIfAbsent(style, OutputElementStyle::new));
+    }
+
+    private static @Nullable String getCpuStyle(int status) {
+        switch (status) {
+        case StateValues.CPU_STATUS_IDLE:
+            return IDLE;
+        case StateValues.CPU_STATUS_RUN_USERMODE:
+            return USERMODE;
+        case StateValues.CPU_STATUS_RUN_SYSCALL:
+            return SYSCALL;
+        case StateValues.CPU_STATUS_IRQ:
+            return IRQ;
+        case StateValues.CPU_STATUS_SOFTIRQ:
+            return SOFT_IRQ;
+        case StateValues.CPU_STATUS_SOFT_IRQ_RAISED:
+            return SOFT_IRQ_RAISED;
+        case StateValues.CPU_STATUS_IN_VM:
+            return IN_VM;
+        default:
+            return null;
+        }
+    }
+
+    private static void addIfValid(Collection<Integer> quarks, int quark) {
+        if (quark != ITmfStateSystem.INVALID_ATTRIBUTE) {
+            quarks.add(quark);
+        }
+    }
+
+    @Override
+    public TmfModelResponse<List<ITimeGraphArrow>> fetchArrows(Map<String, Object> fetchParameters, @Nullable IProgressMonitor monitor) {
+        return new TmfModelResponse<>(null, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+    }
+
+    @Override
+    public TmfModelResponse<Map<String, String>> fetchTooltip(Map<String, Object> fetchParameters, @Nullable IProgressMonitor monitor) {
+        ITmfStateSystem ss = getAnalysisModule().getStateSystem();
+        SelectionTimeQueryFilter filter = FetchParametersUtils.createSelectionTimeQuery(fetchParameters);
+        if (filter == null) {
+            return new TmfModelResponse<>(null, ITmfResponse.Status.FAILED, CommonStatusMessage.INCORRECT_QUERY_PARAMETERS);
+        }
+        Map<String, String> retMap = new LinkedHashMap<>();
+        Collection<Long> ids = filter.getSelectedItems();
+        long time = filter.getStart();
+        if (ss == null || ids.size() != 1 || !getAnalysisModule().isQueryable(time)) {
+            return new TmfModelResponse<>(retMap, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+        }
+        Row row = fRows.get(ids.iterator().next());
+        if (row == null) {
+            return new TmfModelResponse<>(retMap, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+        }
+        try {
+            if (row.fType == Type.IRQ || row.fType == Type.SOFT_IRQ) {
+                ITmfStateValue value = ss.querySingleState(time, row.fQuark).getStateValue();
+                if (!value.isNull() && value.unboxInt() >= 0) {
+                    retMap.put(Messages.getMessage(Messages.FusedVMView_attributeCpuName), String.valueOf(value.unboxInt()));
+                }
+                return new TmfModelResponse<>(retMap, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+            }
+            addCpuTooltip(ss, row.fCpu, time, retMap);
+        } catch (StateSystemDisposedException e) {
+            // Ignore, nothing to do
+        }
+        return new TmfModelResponse<>(retMap, ITmfResponse.Status.COMPLETED, CommonStatusMessage.COMPLETED);
+    }
+
+    private static void addCpuTooltip(ITmfStateSystem ss, Cpu cpu, long time, Map<String, String> retMap) throws StateSystemDisposedException {
+        List<Integer> quarks = new ArrayList<>();
+        addIfValid(quarks, cpu.getMachineNameQuark());
+        addIfValid(quarks, cpu.getConditionQuark());
+        addIfValid(quarks, cpu.getVirtualCpuQuark());
+        addIfValid(quarks, cpu.getCurrentThreadQuark());
+        if (quarks.isEmpty()) {
+            return;
+        }
+        Map<Integer, ITmfStateValue> values = new HashMap<>();
+        for (ITmfStateInterval interval : ss.query2D(quarks, time, time)) {
+            values.put(interval.getAttribute(), interval.getStateValue());
+        }
+
+        ITmfStateValue machineValue = values.get(cpu.getMachineNameQuark());
+        if (machineValue == null || machineValue.isNull()) {
+            return;
+        }
+        String hostId = machineValue.unboxStr();
+        Machine machine = FusedVMTopology.get(ss).getMachine(hostId);
+        retMap.put(Messages.getMessage(Messages.FusedVMResourcesDataProvider_Machine), machine == null ? hostId : machine.getName());
+
+        ITmfStateValue condition = values.get(cpu.getConditionQuark());
+        ITmfStateValue vcpu = values.get(cpu.getVirtualCpuQuark());
+        if (condition != null && vcpu != null && !vcpu.isNull() && condition.unboxInt() == StateValues.CONDITION_IN_VM) {
+            retMap.put(Messages.getMessage(Messages.FusedVMResourcesDataProvider_VirtualCpu), String.valueOf(vcpu.unboxInt()));
+        }
+
+        ITmfStateValue thread = values.get(cpu.getCurrentThreadQuark());
+        if (thread == null || thread.isNull()) {
+            return;
+        }
+        int tid = thread.unboxInt();
+        retMap.put(Messages.getMessage(Messages.FusedVMResourcesDataProvider_Tid), String.valueOf(tid));
+        if (tid <= 0) {
+            /* The idle threads are per CPU of the machine, they have no name */
+            return;
+        }
+        int execNameQuark = ss.optQuarkAbsolute(FusedAttributes.THREADS, hostId, String.valueOf(tid), FusedAttributes.EXEC_NAME);
+        if (execNameQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
+            ITmfStateValue execName = ss.querySingleState(time, execNameQuark).getStateValue();
+            if (!execName.isNull()) {
+                retMap.put(Messages.getMessage(Messages.FusedVMResourcesDataProvider_Process), execName.unboxStr());
+            }
+        }
+    }
+
+    @Override
+    public TmfModelResponse<OutputStyleModel> fetchStyle(Map<String, Object> fetchParameters, @Nullable IProgressMonitor monitor) {
+        return new TmfModelResponse<>(new OutputStyleModel(STATE_MAP), Status.COMPLETED, CommonStatusMessage.COMPLETED);
+    }
+
+}
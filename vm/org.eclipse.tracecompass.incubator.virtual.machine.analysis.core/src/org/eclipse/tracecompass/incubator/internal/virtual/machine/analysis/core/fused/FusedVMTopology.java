@@ -0,0 +1,654 @@
+/*******************************************************************************
+ * Copyright (c) 2025 Ericsson
+ *
+ * All rights reserved. This program and the accompanying materials are
+ * made available under the terms of the Eclipse Public License 2.0 which
+ * accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+
+package org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.fused;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.model.IVirtualMachineModel;
+import org.eclipse.tracecompass.incubator.internal.virtual.machine.analysis.core.virtual.resources.StateValues;
+import org.eclipse.tracecompass.statesystem.core.ITmfStateSystem;
+import org.eclipse.tracecompass.statesystem.core.exceptions.StateSystemDisposedException;
+import org.eclipse.tracecompass.statesystem.core.interval.ITmfStateInterval;
+import org.eclipse.tracecompass.statesystem.core.statevalue.ITmfStateValue;
+import org.eclipse.tracecompass.statesystem.core.statevalue.TmfStateValue;
+
+/**
+ * An index of the machines, containers and CPUs of the fused virtual machine
+ * state system, with the quarks of their attributes. Building it reads the
+ * attribute tree and the values that describe the machines at the start of the
+ * state system, so it is cached per state system and built again only when
+ * attributes are added to the state system.
+ * <p>
+ * The index does not keep a reference to the state system, the methods that
+ * query values take it as parameter.
+ */
+public final class FusedVMTopology {
+
+    private static final Map<ITmfStateSystem, FusedVMTopology> TOPOLOGIES = new WeakHashMap<>();
+
+    private final int fNbAttributes;
+    private final Map<String, Machine> fMachines = new LinkedHashMap<>();
+    private final Map<Integer, Cpu> fCpus = new TreeMap<>();
+    private @Nullable Machine fHost = null;
+
+    /**
+     * A machine traced, either a physical machine, a virtual machine or a
+     * container
+     */
+    public static final class Machine {
+        private final String fHostId;
+        private final String fName;
+        private final int fType;
+        private final int fQuark;
+        private final String fParentHostId;
+        private final List<Integer> fPhysicalCpus = new ArrayList<>();
+        private final List<Machine> fVirtualMachines = new ArrayList<>();
+        private final List<Machine> fContainers = new ArrayList<>();
+        private final Set<Integer> fThreads = new HashSet<>();
+
+        private Machine(String hostId, String name, int type, int quark, String parentHostId) {
+            fHostId = hostId;
+            fName = name;
+            fType = type;
+            fQuark = quark;
+            fParentHostId = parentHostId;
+        }
+
+        /**
+         * Get the host ID of the machine. For a container, it is the host ID
+         * of the machine running it.
+         *
+         * @return The host ID
+         */
+        public String getHostId() {
+            return fHostId;
+        }
+
+        /**
+         * Get the name of the machine, or the ID of a container
+         *
+         * @return The name
+         */
+        public String getName() {
+            return fName;
+        }
+
+        /**
+         * Get the type of the machine, a combination of the
+         * <code>MACHINE_*</code> values of {@link StateValues}
+         *
+         * @return The type of the machine
+         */
+        public int getType() {
+            return fType;
+        }
+
+        /**
+         * Get whether this machine is a container
+         *
+         * @return <code>true</code> if this machine is a container
+         */
+        public boolean isContainer() {
+            return fType == StateValues.MACHINE_CONTAINER;
+        }
+
+        /**
+         * Get the quark of the machine or container attribute
+         *
+         * @return The quark
+         */
+        public int getQuark() {
+            return fQuark;
+        }
+
+        /**
+         * Get the host ID of the machine running this virtual machine
+         *
+         * @return The parent host ID, or an empty string if the machine is not
+         *         a virtual machine
+         */
+        public String getParentHostId() {
+            return fParentHostId;
+        }
+
+        /**
+         * Get the physical CPUs this machine or container ran on
+         *
+         * @return The physical CPU numbers
+         */
+        public List<Integer> getPhysicalCpus() {
+            return fPhysicalCpus;
+        }
+
+        /**
+         * Get the virtual machines running on this machine
+         *
+         * @return The virtual machines
+         */
+        public List<Machine> getVirtualMachines() {
+            return fVirtualMachines;
+        }
+
+        /**
+         * Get the containers directly in this machine or container
+         *
+         * @return The containers
+         */
+        public List<Machine> getContainers() {
+            return fContainers;
+        }
+
+        /**
+         * Get whether a thread, identified by its TID in the machine running
+         * the container, belongs to this container
+         *
+         * @param tid
+         *            The thread ID
+         * @return <code>true</code> if the thread is in this container
+         */
+        public boolean containsThread(int tid) {
+            return fThreads.contains(tid);
+        }
+
+        @Override
+        public String toString() {
+            return fName + " (" + fHostId + ')'; //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * The quarks of the attributes of a physical CPU
+     */
+    public static final class Cpu {
+        private final int fNumber;
+        private final int fQuark;
+        private final int fStatusQuark;
+        private final int fCurrentThreadQuark;
+        private final int fMachineNameQuark;
+        private final int fConditionQuark;
+        private final int fVirtualCpuQuark;
+        private final Map<Integer, Integer> fIrqQuarks = new TreeMap<>();
+        private final Map<Integer, Integer> fSoftIrqQuarks = new TreeMap<>();
+
+        private Cpu(ITmfStateSystem ss, int number, int quark) {
+            fNumber = number;
+            fQuark = quark;
+            fStatusQuark = ss.optQuarkRelative(quark, FusedAttributes.STATUS);
+            fCurrentThreadQuark = ss.optQuarkRelative(quark, FusedAttributes.CURRENT_THREAD);
+            fMachineNameQuark = ss.optQuarkRelative(quark, FusedAttributes.MACHINE_NAME);
+            fConditionQuark = ss.optQuarkRelative(quark, FusedAttributes.CONDITION);
+            fVirtualCpuQuark = ss.optQuarkRelative(quark, FusedAttributes.VIRTUAL_CPU);
+            addNumberedQuarks(ss, ss.getQuarks(quark, FusedAttributes.IRQS, "*"), fIrqQuarks); //$NON-NLS-1$
+            addNumberedQuarks(ss, ss.getQuarks(quark, FusedAttributes.SOFT_IRQS, "*"), fSoftIrqQuarks); //$NON-NLS-1$
+        }
+
+        /**
+         * Get the number of the CPU
+         *
+         * @return The CPU number
+         */
+        public int getNumber() {
+            return fNumber;
+        }
+
+        /**
+         * Get the quark of the CPU attribute
+         *
+         * @return The quark
+         */
+        public int getQuark() {
+            return fQuark;
+        }
+
+        /**
+         * Get the quark of the status of the CPU
+         *
+         * @return The quark, or {@link ITmfStateSystem#INVALID_ATTRIBUTE}
+         */
+        public int getStatusQuark() {
+            return fStatusQuark;
+        }
+
+        /**
+         * Get the quark of the thread running on the CPU
+         *
+         * @return The quark, or {@link ITmfStateSystem#INVALID_ATTRIBUTE}
+         */
+        public int getCurrentThreadQuark() {
+            return fCurrentThreadQuark;
+        }
+
+        /**
+         * Get the quark of the host ID of the machine running on the CPU
+         *
+         * @return The quark, or {@link ITmfStateSystem#INVALID_ATTRIBUTE}
+         */
+        public int getMachineNameQuark() {
+            return fMachineNameQuark;
+        }
+
+        /**
+         * Get the quark telling whether the CPU runs a virtual machine
+         *
+         * @return The quark, or {@link ITmfStateSystem#INVALID_ATTRIBUTE}
+         */
+        public int getConditionQuark() {
+            return fConditionQuark;
+        }
+
+        /**
+         * Get the quark of the virtual CPU running on the CPU
+         *
+         * @return The quark, or {@link ITmfStateSystem#INVALID_ATTRIBUTE}
+         */
+        public int getVirtualCpuQuark() {
+            return fVirtualCpuQuark;
+        }
+
+        /**
+         * Get the quarks of the IRQs of this CPU
+         *
+         * @return The quarks, by IRQ number
+         */
+        public Map<Integer, Integer> getIrqQuarks() {
+            return fIrqQuarks;
+        }
+
+        /**
+         * Get the quarks of the soft IRQs of this CPU
+         *
+         * @return The quarks, by soft IRQ number
+         */
+        public Map<Integer, Integer> getSoftIrqQuarks() {
+            return fSoftIrqQuarks;
+        }
+    }
+
+    private FusedVMTopology(ITmfStateSystem ss, int nbAttributes) throws StateSystemDisposedException {
+        fNbAttributes = nbAttributes;
+        long start = ss.getStartTime();
+
+        for (Integer cpuQuark : ss.getQuarks(FusedAttributes.CPUS, "*")) { //$NON-NLS-1$
+            Integer cpu = parseInt(ss.getAttributeName(cpuQuark));
+            if (cpu != null) {
+                fCpus.put(cpu, new Cpu(ss, cpu, cpuQuark));
+            }
+        }
+
+        /* The values describing the machines are set when they are added */
+        List<Integer> machineQuarks = ss.getQuarks(FusedAttributes.HOSTS, "*"); //$NON-NLS-1$
+        List<Integer> toQuery = new ArrayList<>(machineQuarks);
+        for (Integer machineQuark : machineQuarks) {
+            addIfValid(toQuery, ss.optQuarkRelative(machineQuark, FusedAttributes.MACHINE_NAME));
+            addIfValid(toQuery, ss.optQuarkRelative(machineQuark, FusedAttributes.PARENT));
+            for (Integer containerQuark : ss.getQuarks(machineQuark, FusedAttributes.CONTAINERS, "*")) { //$NON-NLS-1$
+                addIfValid(toQuery, ss.optQuarkRelative(containerQuark, FusedAttributes.PARENT));
+            }
+        }
+        Map<Integer, ITmfStateInterval> states = query(ss, toQuery, start);
+
+        List<Machine> guests = new ArrayList<>();
+        for (Integer machineQuark : machineQuarks) {
+            int type = getValue(states, machineQuark).unboxInt();
+            if (type < 0) {
+                continue;
+            }
+            String hostId = ss.getAttributeName(machineQuark);
+            ITmfStateValue name = getValue(states, ss.optQuarkRelative(machineQuark, FusedAttributes.MACHINE_NAME));
+            ITmfStateValue parent = getValue(states, ss.optQuarkRelative(machineQuark, FusedAttributes.PARENT));
+            Machine machine = new Machine(hostId, name.isNull() ? hostId : name.unboxStr(),
+                    type, machineQuark, parent.isNull() ? "" : parent.unboxStr()); //$NON-NLS-1$
+            if ((type & StateValues.MACHINE_GUEST) == StateValues.MACHINE_GUEST) {
+                addNumbers(ss, ss.getQuarks(machineQuark, FusedAttributes.PCPUS, "*"), machine.fPhysicalCpus); //$NON-NLS-1$
+                guests.add(machine);
+            } else if (type == StateValues.MACHINE_HOST) {
+                addNumbers(ss, ss.getQuarks(machineQuark, FusedAttributes.CPUS, "*"), machine.fPhysicalCpus); //$NON-NLS-1$
+                if (fHost == null) {
+                    fHost = machine;
+                }
+            } else {
+                continue;
+            }
+            fMachines.put(hostId, machine);
+            addContainers(ss, machine, states);
+        }
+        for (Machine guest : guests) {
+            Machine parent = fMachines.get(guest.fParentHostId);
+            if (parent != null) {
+                parent.fVirtualMachines.add(guest);
+            }
+        }
+    }
+
+    private static void addContainers(ITmfStateSystem ss, Machine machine, Map<Integer, ITmfStateInterval> states) {
+        Map<Long, Machine> containers = new LinkedHashMap<>();
+        Map<Long, Long> parents = new HashMap<>();
+        /* Containers whose parent is unknown are not part of the hierarchy */
+        for (Integer containerQuark : ss.getQuarks(machine.fQuark, FusedAttributes.CONTAINERS, "*")) { //$NON-NLS-1$
+            String id = ss.getAttributeName(containerQuark);
+            Long inum = parseLong(id);
+            if (inum == null) {
+                continue;
+            }
+            Machine container = new Machine(machine.fHostId, id, StateValues.MACHINE_CONTAINER, containerQuark, machine.fParentHostId);
+            addNumbers(ss, ss.getQuarks(containerQuark, FusedAttributes.PCPUS, "*"), container.fPhysicalCpus); //$NON-NLS-1$
+            addNumbers(ss, ss.getQuarks(containerQuark, FusedAttributes.THREADS, "*"), container.fThreads); //$NON-NLS-1$
+            ITmfStateValue parent = getValue(states, ss.optQuarkRelative(containerQuark, FusedAttributes.PARENT));
+            parents.put(inum, parent.isNull() ? -1L : parent.unboxLong());
+            containers.put(inum, container);
+        }
+        for (Map.Entry<Long, Machine> entry : containers.entrySet()) {
+            Machine parent = containers.get(parents.get(entry.getKey()));
+            if (parent != null) {
+                parent.fContainers.add(entry.getValue());
+            } else if (parents.get(entry.getKey()) == IVirtualMachineModel.ROOT_NAMESPACE) {
+                machine.fContainers.add(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Get the topology of a fused virtual machine state system. The topology
+     * is built again if attributes were added to the state system since it was
+     * last built.
+     *
+     * @param ss
+     *            The state system of the fused virtual machine analysis
+     * @return The topology
+     * @throws StateSystemDisposedException
+     *             If the state system is disposed
+     */
+    public static FusedVMTopology get(ITmfStateSystem ss) throws StateSystemDisposedException {
+        synchronized (TOPOLOGIES) {
+            int nbAttributes = ss.getNbAttributes();
+            FusedVMTopology topology = TOPOLOGIES.get(ss);
+            if (topology == null || topology.fNbAttributes != nbAttributes) {
+                topology = new FusedVMTopology(ss, nbAttributes);
+                TOPOLOGIES.put(ss, topology);
+            }
+            return topology;
+        }
+    }
+
+    /**
+     * Get the physical machine
+     *
+     * @return The physical machine, or <code>null</code> if there is none
+     */
+    public @Nullable Machine getHost() {
+        return fHost;
+    }
+
+    /**
+     * Get the physical and virtual machines traced
+     *
+     * @return The machines, in the order of the state system
+     */
+    public Collection<Machine> getMachines() {
+        return Collections.unmodifiableCollection(fMachines.values());
+    }
+
+    /**
+     * Get a physical or virtual machine
+     *
+     * @param hostId
+     *            The host ID of the machine
+     * @return The machine, or <code>null</code> if it was not traced
+     */
+    public @Nullable Machine getMachine(String hostId) {
+        return fMachines.get(hostId);
+    }
+
+    /**
+     * Get the physical CPUs
+     *
+     * @return The CPUs, sorted by number
+     */
+    public Collection<Cpu> getCpus() {
+        return Collections.unmodifiableCollection(fCpus.values());
+    }
+
+    /**
+     * Get a physical CPU
+     *
+     * @param cpu
+     *            The CPU number
+     * @return The CPU, or <code>null</code> if it is not in the state system
+     */
+    public @Nullable Cpu getCpu(int cpu) {
+        return fCpus.get(cpu);
+    }
+
+    /**
+     * Get whether a machine is a virtual machine, at any level, of another
+     * machine, or the machine itself
+     *
+     * @param hostId
+     *            The host ID of the machine to look for
+     * @param parentHostId
+     *            The host ID of the machine that may run the first one
+     * @return <code>true</code> if the first machine runs inside the second
+     */
+    public boolean isInsideMachine(String hostId, String parentHostId) {
+        String current = hostId;
+        Set<String> visited = new HashSet<>();
+        while (visited.add(current)) {
+            if (current.equals(parentHostId)) {
+                return true;
+            }
+            Machine machine = fMachines.get(current);
+            if (machine == null) {
+                return false;
+            }
+            current = machine.fParentHostId;
+        }
+        return false;
+    }
+
+    /**
+     * Get the list of machine names, sorted from the closest to hardware to
+     * most virtual, that were involved on a given CPU at a certain time. Only
+     * the attributes of this CPU and of the threads running on it are queried.
+     *
+     * @param ss
+     *            The state system of the fused virtual machine analysis
+     * @param physicalCpu
+     *            The number of the physical processor to query
+     * @param time
+     *            The time at which to query the machines
+     * @return The list of machine names involved on the CPU at the requested
+     *         time. The list of sorted from the physical machine to the most
+     *         virtual layer.
+     * @throws StateSystemDisposedException
+     *             If the state system is disposed
+     */
+    public List<String> getAllMachines(ITmfStateSystem ss, int physicalCpu, long time) throws StateSystemDisposedException {
+        List<String> machines = new ArrayList<>();
+        Cpu cpu = fCpus.get(physicalCpu);
+        if (cpu == null || cpu.fCurrentThreadQuark == ITmfStateSystem.INVALID_ATTRIBUTE || cpu.fMachineNameQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            return machines;
+        }
+        List<Integer> quarks = new ArrayList<>();
+        quarks.add(cpu.fCurrentThreadQuark);
+        quarks.add(cpu.fMachineNameQuark);
+        addIfValid(quarks, cpu.fConditionQuark);
+        addIfValid(quarks, cpu.fVirtualCpuQuark);
+        Map<Integer, ITmfStateInterval> states = query(ss, quarks, time);
+
+        int tid = getValue(states, cpu.fCurrentThreadQuark).unboxInt();
+        ITmfStateValue machineValue = getValue(states, cpu.fMachineNameQuark);
+        if (tid < 0 || machineValue.isNull()) {
+            return machines;
+        }
+        String machine = machineValue.unboxStr();
+        boolean inVm = cpu.fConditionQuark != ITmfStateSystem.INVALID_ATTRIBUTE && cpu.fVirtualCpuQuark != ITmfStateSystem.INVALID_ATTRIBUTE
+                && getValue(states, cpu.fConditionQuark).unboxInt() == StateValues.CONDITION_IN_VM;
+
+        /* Query the namespaces of the thread and the parent machine at once */
+        NamespaceQuarks namespaces = new NamespaceQuarks(ss, machine, tid);
+        quarks.clear();
+        namespaces.addQuarks(quarks);
+        int parentQuark = ITmfStateSystem.INVALID_ATTRIBUTE;
+        int vcpuQuark = ITmfStateSystem.INVALID_ATTRIBUTE;
+        int guestQuark = ss.optQuarkAbsolute(FusedAttributes.HOSTS, machine);
+        if (inVm && guestQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
+            parentQuark = ss.optQuarkRelative(guestQuark, FusedAttributes.PARENT);
+            vcpuQuark = ss.optQuarkRelative(guestQuark, FusedAttributes.CPUS, String.valueOf(getValue(states, cpu.fVirtualCpuQuark).unboxInt()));
+            if (parentQuark != ITmfStateSystem.INVALID_ATTRIBUTE && vcpuQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
+                quarks.add(parentQuark);
+                quarks.add(vcpuQuark);
+            }
+        }
+        states = query(ss, quarks, time);
+        machines.add(machine);
+        machines.addAll(namespaces.getContainers(states));
+
+        if (parentQuark == ITmfStateSystem.INVALID_ATTRIBUTE || vcpuQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+            return machines;
+        }
+        ITmfStateValue parentValue = getValue(states, parentQuark);
+        if (parentValue.isNull()) {
+            return machines;
+        }
+        List<String> parents = new ArrayList<>();
+        parents.add(parentValue.unboxStr());
+        ITmfStateValue vcpuValue = getValue(states, vcpuQuark);
+        if (!vcpuValue.isNull()) {
+            NamespaceQuarks parentNamespaces = new NamespaceQuarks(ss, parentValue.unboxStr(), vcpuValue.unboxInt());
+            quarks.clear();
+            parentNamespaces.addQuarks(quarks);
+            parents.addAll(parentNamespaces.getContainers(query(ss, quarks, time)));
+        }
+        machines.addAll(0, parents);
+        return machines;
+    }
+
+    /**
+     * The quarks of the namespaces of a thread, to get the containers it is
+     * in
+     */
+    private static final class NamespaceQuarks {
+        private final int fMaxLevelQuark;
+        private final List<Integer> fInumQuarks = new ArrayList<>();
+
+        public NamespaceQuarks(ITmfStateSystem ss, String machine, int tid) {
+            int threadQuark = ss.optQuarkAbsolute(FusedAttributes.THREADS, machine, String.valueOf(tid));
+            fMaxLevelQuark = threadQuark == ITmfStateSystem.INVALID_ATTRIBUTE ? ITmfStateSystem.INVALID_ATTRIBUTE : ss.optQuarkRelative(threadQuark, FusedAttributes.NS_MAX_LEVEL);
+            if (fMaxLevelQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+                return;
+            }
+            // Start at level 1, as level 0 is the main host
+            int vtidQuark = ss.optQuarkRelative(threadQuark, FusedAttributes.VTID);
+            while (vtidQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
+                int inumQuark = ss.optQuarkRelative(vtidQuark, FusedAttributes.NS_INUM);
+                if (inumQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+                    break;
+                }
+                fInumQuarks.add(inumQuark);
+                vtidQuark = ss.optQuarkRelative(vtidQuark, FusedAttributes.VTID);
+            }
+        }
+
+        public void addQuarks(List<Integer> quarks) {
+            if (fMaxLevelQuark != ITmfStateSystem.INVALID_ATTRIBUTE) {
+                quarks.add(fMaxLevelQuark);
+                quarks.addAll(fInumQuarks);
+            }
+        }
+
+        public List<String> getContainers(Map<Integer, ITmfStateInterval> states) {
+            List<String> containers = new ArrayList<>();
+            if (fMaxLevelQuark == ITmfStateSystem.INVALID_ATTRIBUTE) {
+                return containers;
+            }
+            int maxLevel = getValue(states, fMaxLevelQuark).unboxInt();
+            for (int i = 1; i < maxLevel && i <= fInumQuarks.size(); i++) {
+                ITmfStateValue inumValue = getValue(states, fInumQuarks.get(i - 1));
+                if (!inumValue.isNull()) {
+                    containers.add(String.valueOf(inumValue.unboxLong()));
+                }
+            }
+            return containers;
+        }
+    }
+
+    /**
+     * Query the intervals of some attributes at a time, with a single query of
+     * the state system
+     */
+    private static Map<Integer, ITmfStateInterval> query(ITmfStateSystem ss, Collection<Integer> quarks, long time) throws StateSystemDisposedException {
+        Map<Integer, ITmfStateInterval> states = new HashMap<>();
+        if (quarks.isEmpty()) {
+            return states;
+        }
+        for (ITmfStateInterval interval : ss.query2D(quarks, time, time)) {
+            states.put(interval.getAttribute(), interval);
+        }
+        return states;
+    }
+
+    private static ITmfStateValue getValue(Map<Integer, ITmfStateInterval> states, int quark) {
+        ITmfStateInterval interval = states.get(quark);
+        return interval == null ? TmfStateValue.nullValue() : interval.getStateValue();
+    }
+
+    private static void addIfValid(List<Integer> quarks, int quark) {
+        if (quark != ITmfStateSystem.INVALID_ATTRIBUTE) {
+            quarks.add(quark);
+        }
+    }
+
+    private static void addNumberedQuarks(ITmfStateSystem ss, List<Integer> quarks, Map<Integer, Integer> map) {
+        for (Integer quark : quarks) {
+            Integer number = parseInt(ss.getAttributeName(quark));
+            if (number != null) {
+                map.put(number, quark);
+            }
+        }
+    }
+
+    private static void addNumbers(ITmfStateSystem ss, List<Integer> quarks, Collection<Integer> numbers) {
+        for (Integer quark : quarks) {
+            Integer number = parseInt(ss.getAttributeName(quark));
+            if (number != null) {
+                numbers.add(number);
+            }
+        }
+    }
+
+    private static @Nullable Integer parseInt(String name) {
+        try {
+            return Integer.parseInt(name);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static @Nullable Long parseLong(String name) {
+        try {
+            return Long.parseLong(name);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -45,6 +45,19 @@ public class Messages extends NLS {
     public static @Nullable String FusedVMView_attributeVirtualMachine;
     public static @Nullable String FusedVMView_attributeVirtualCpu;
 
+    public static @Nullable String FusedVMResourcesDataProvider_Title;
+    public static @Nullable String FusedVMResourcesDataProvider_Description;
+    public static @Nullable String FusedVMResourcesDataProvider_PhysicalCpus;
+    public static @Nullable String FusedVMResourcesDataProvider_VirtualMachines;
+    public static @Nullable String FusedVMResourcesDataProvider_Containers;
+    public static @Nullable String FusedVMResourcesDataProvider_Cpu;
+    public static @Nullable String FusedVMResourcesDataProvider_Irq;
+    public static @Nullable String FusedVMResourcesDataProvider_SoftIrq;
+    public static @Nullable String FusedVMResourcesDataProvider_Machine;
+    public static @Nullable String FusedVMResourcesDataProvider_VirtualCpu;
+    public static @Nullable String FusedVMResourcesDataProvider_Tid;
+    public static @Nullable String FusedVMResourcesDataProvider_Process;
+
     static {
         // initialize resource bundle
         NLS.initializeMessages(BUNDLE_NAME, Messages.class);